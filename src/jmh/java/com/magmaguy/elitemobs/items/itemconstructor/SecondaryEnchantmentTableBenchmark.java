@@ -0,0 +1,73 @@
+package com.magmaguy.elitemobs.items.itemconstructor;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Secondary enchantment roll of a sword and of a pickaxe, the pools with the most enchantments and the most coin flips.
+ * The tables are built by hand with the default max levels, so no server is needed.
+ * <p>
+ * This only measures the table roll, not ItemConstructor#constructItem as a whole. Building the item needs a live
+ * ItemFactory for its meta, and the catalog around the tables is compiled from the enchantment configs, which need the
+ * plugin loaded. Not run as part of the build, no results have been recorded yet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecondaryEnchantmentTableBenchmark {
+    //Item tier past the tier of the material
+    @Param({"1", "5", "20", "100"})
+    public double itemTier;
+    private SecondaryEnchantmentTable<String> sword;
+    private SecondaryEnchantmentTable<String> pickaxe;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+        sword = new SecondaryEnchantmentTable.Builder<String>()
+                .add("sharpness", 5)
+                .add("bane_of_arthropods", 5)
+                .add("smite", 5)
+                .add("unbreaking", 3)
+                .add("fire_aspect", 2)
+                .add("knockback", 2)
+                .add("looting", 3)
+                .add("mending", 1)
+                .add("sweeping_edge", 3)
+                .addCurse("vanishing_curse", 1)
+                .build();
+        pickaxe = new SecondaryEnchantmentTable.Builder<String>()
+                .add("efficiency", 5)
+                .addCoinFlip("fortune", 3, "silk_touch", 1)
+                .add("unbreaking", 3)
+                .add("mending", 1)
+                .addCurse("vanishing_curse", 1)
+                .build();
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public void rollSword(Blackhole blackhole) {
+        sword.roll(itemTier, random, (enchantment, level) -> blackhole.consume(level));
+    }
+
+    @Benchmark
+    public void rollPickaxe(Blackhole blackhole) {
+        pickaxe.roll(itemTier, random, (enchantment, level) -> blackhole.consume(level));
+    }
+
+    //What ProceduralEnchantmentCatalog does with every roll, for comparison with the bare roll
+    @Benchmark
+    public HashMap<String, Integer> rollSwordIntoMap() {
+        HashMap<String, Integer> enchantments = new HashMap<>();
+        sword.roll(itemTier, random, enchantments::put);
+        return enchantments;
+    }
+}
@@ -0,0 +1,158 @@
+package com.magmaguy.elitemobs.playerdata.database;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline player lookups against SQLite, the way leaderboards and /em pay read a player: five stats of one row.
+ * <p>
+ * The per column benchmarks do what PlayerData did before the connection pool, one string concatenated query per
+ * stat on a single shared connection. The pooled ones read the whole row once with a cached prepared statement, the
+ * same query PlayerDataRow uses. Each runs with one and with four reader threads, and the pooled read also runs next
+ * to a writer committing batched updates like PlayerDataWriter does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerDataReadBenchmark {
+    private static final String TABLE_NAME = "PlayerData";
+    private static final String[] COLUMNS = {"Currency", "GuildPrestigeLevel", "GuildActiveLevel", "Score", "Kills"};
+    private static final int ROWS = 5000;
+    @Param({"4"})
+    public int poolSize;
+    private final UUID[] uuids = new UUID[ROWS];
+    private File databaseFile;
+    private Connection sharedConnection;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        databaseFile = Files.createTempFile("elitemobs_benchmark", ".db").toFile();
+        PlayerDataConnectionPool.initialize(poolSize, () -> PlayerDataConnectionPool.openSQLiteConnection(databaseFile));
+        sharedConnection = PlayerDataConnectionPool.openSQLiteConnection(databaseFile);
+        try (Statement statement = sharedConnection.createStatement()) {
+            statement.execute("CREATE TABLE " + TABLE_NAME + " (PlayerUUID TEXT PRIMARY KEY NOT NULL, DisplayName TEXT," +
+                    " Currency REAL, GuildPrestigeLevel INT, GuildMaxLevel INT, GuildActiveLevel INT, Score INT, Kills INT," +
+                    " HighestLevelKilled INT, Deaths INT, QuestsCompleted INT);");
+        }
+        sharedConnection.setAutoCommit(false);
+        try (PreparedStatement statement = sharedConnection.prepareStatement("INSERT INTO " + TABLE_NAME +
+                " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);")) {
+            SplittableRandom random = new SplittableRandom(42);
+            for (int i = 0; i < ROWS; i++) {
+                uuids[i] = UUID.randomUUID();
+                statement.setString(1, uuids[i].toString());
+                statement.setString(2, "player" + i);
+                statement.setDouble(3, random.nextDouble(100000));
+                for (int column = 4; column <= 11; column++) statement.setInt(column, random.nextInt(1000));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        sharedConnection.commit();
+        sharedConnection.setAutoCommit(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        PlayerDataConnectionPool.shutdown();
+        sharedConnection.close();
+        databaseFile.delete();
+        new File(databaseFile.getPath() + "-wal").delete();
+        new File(databaseFile.getPath() + "-shm").delete();
+    }
+
+    private void readPerColumn(UUID uuid, Blackhole blackhole) throws Exception {
+        //The old code shared one connection between every thread
+        synchronized (sharedConnection) {
+            for (String column : COLUMNS)
+                try (Statement statement = sharedConnection.createStatement();
+                     ResultSet resultSet = statement.executeQuery("SELECT * FROM " + TABLE_NAME + " WHERE PlayerUUID = '" + uuid + "';")) {
+                    if (resultSet.next()) blackhole.consume(resultSet.getObject(column));
+                }
+        }
+    }
+
+    private void readPooledRow(UUID uuid, Blackhole blackhole) throws Exception {
+        try (PlayerDataConnectionPool.PooledConnection pooledConnection = PlayerDataConnectionPool.borrow()) {
+            PreparedStatement statement = pooledConnection.prepare("SELECT * FROM " + TABLE_NAME + " WHERE PlayerUUID = ?;");
+            statement.setString(1, uuid.toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next())
+                    for (String column : COLUMNS) blackhole.consume(resultSet.getObject(column));
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void perColumnSingleReader(ReaderState readerState, Blackhole blackhole) throws Exception {
+        readPerColumn(readerState.next(uuids), blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void perColumnConcurrentReaders(ReaderState readerState, Blackhole blackhole) throws Exception {
+        readPerColumn(readerState.next(uuids), blackhole);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void pooledRowSingleReader(ReaderState readerState, Blackhole blackhole) throws Exception {
+        readPooledRow(readerState.next(uuids), blackhole);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void pooledRowConcurrentReaders(ReaderState readerState, Blackhole blackhole) throws Exception {
+        readPooledRow(readerState.next(uuids), blackhole);
+    }
+
+    @Benchmark
+    @Group("pooledRowWithWriter")
+    @GroupThreads(4)
+    public void pooledRowNextToWriter(ReaderState readerState, Blackhole blackhole) throws Exception {
+        readPooledRow(readerState.next(uuids), blackhole);
+    }
+
+    //One write-behind flush of 20 dirty rows
+    @Benchmark
+    @Group("pooledRowWithWriter")
+    @GroupThreads(1)
+    public void writer(ReaderState readerState) throws Exception {
+        try (PlayerDataConnectionPool.PooledConnection pooledConnection = PlayerDataConnectionPool.borrow()) {
+            Connection connection = pooledConnection.getConnection();
+            connection.setAutoCommit(false);
+            PreparedStatement statement = pooledConnection.prepare("UPDATE " + TABLE_NAME + " SET Currency = ?, Kills = ? WHERE PlayerUUID = ?;");
+            for (int i = 0; i < 20; i++) {
+                statement.setDouble(1, readerState.random.nextDouble(100000));
+                statement.setInt(2, readerState.random.nextInt(1000));
+                statement.setString(3, readerState.next(uuids).toString());
+                statement.executeUpdate();
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ReaderState {
+        private final SplittableRandom random = new SplittableRandom();
+
+        private UUID next(UUID[] uuids) {
+            return uuids[random.nextInt(uuids.length)];
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.magmaguy.elitemobs.powers.scripts;
+
+import com.magmaguy.elitemobs.powers.scripts.caching.ScriptParticlesBlueprint;
+import com.magmaguy.elitemobs.powers.scripts.caching.ScriptRelativeVectorBlueprint;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Particle spawning of a script action over a zone, the hottest part of the premade boss powers: a dust particle that
+ * moves along a relative vector and a plain flame, visualized at every location of a 10 by 10 zone per run.
+ * <p>
+ * The particles are parsed from the same kind of map a script file gives, and the world is a stub that only hands the
+ * spawn arguments to a blackhole, so no server is needed. The relative vector goes from the action location to itself,
+ * as targets other than the action location need a loaded boss to resolve. The old path is a copy of what
+ * ScriptParticles did before the relative vectors and dust options got built at load, making both again for every
+ * particle. Dispatching whole actions is not covered, a ScriptAction can not be built without a loaded EliteScript.
+ * Not run as part of the build, results depend on the machine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScriptParticlesBenchmark {
+    private static final int ZONE_SIZE = 10;
+    private ScriptParticlesBlueprint particlesBlueprint;
+    private ScriptParticles scriptParticles;
+    private World world;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        particlesBlueprint = new ScriptParticlesBlueprint(List.of(
+                Map.of("particle", "DUST", "red", 200, "green", 20, "blue", 20, "amount", 0, "speed", 0.2,
+                        "relativeVector", Map.of(
+                                "SourceTarget", Map.of("targetType", "ACTION_TARGET"),
+                                "DestinationTarget", Map.of("targetType", "ACTION_TARGET"),
+                                "normalize", false,
+                                "multiplier", 0.5)),
+                Map.of("particle", "FLAME", "amount", 1, "speed", 0.05)),
+                "benchmark_particles", "benchmark.yml");
+        scriptParticles = new ScriptParticles(particlesBlueprint, null);
+        world = (World) Proxy.newProxyInstance(World.class.getClassLoader(), new Class[]{World.class}, (proxy, method, args) -> {
+            if (method.getName().equals("spawnParticle")) {
+                blackhole.consume(args);
+                return null;
+            }
+            if (method.getName().equals("hashCode")) return System.identityHashCode(proxy);
+            if (method.getName().equals("equals")) return proxy == args[0];
+            return null;
+        });
+    }
+
+    @Benchmark
+    public void compiledParticles() {
+        for (int x = 0; x < ZONE_SIZE; x++)
+            for (int z = 0; z < ZONE_SIZE; z++)
+                scriptParticles.visualize(null, new Location(world, x, 64, z));
+    }
+
+    @Benchmark
+    public void perRunWrappers() {
+        for (int x = 0; x < ZONE_SIZE; x++)
+            for (int z = 0; z < ZONE_SIZE; z++) {
+                Location location = new Location(world, x, 64, z);
+                for (ScriptParticlesBlueprint.ScriptParticleBlueprint particleBlueprint : particlesBlueprint.getParticleBlueprints())
+                    visualizeWithWrappers(particleBlueprint, location);
+            }
+    }
+
+    //The old ScriptParticle#visualize, minus the witch particle branch the benchmark does not use
+    private void visualizeWithWrappers(ScriptParticlesBlueprint.ScriptParticleBlueprint particleBlueprint, Location location) {
+        double x = particleBlueprint.getX().getValue();
+        double y = particleBlueprint.getY().getValue();
+        double z = particleBlueprint.getZ().getValue();
+        int amount = particleBlueprint.getAmount().getValue();
+        if (particleBlueprint.getRelativeVectorBlueprint() != null) {
+            Vector movementVector = new WrappedRelativeVector(particleBlueprint.getRelativeVectorBlueprint(), location).getVector();
+            amount = 0;
+            x = movementVector.getX();
+            y = movementVector.getY();
+            z = movementVector.getZ();
+        }
+        if (particleBlueprint.getParticle().equals(Particle.DUST))
+            world.spawnParticle(particleBlueprint.getParticle(), location.getX(), location.getY(), location.getZ(), amount, x, y, z,
+                    particleBlueprint.getSpeed().getValue(),
+                    new Particle.DustOptions(Color.fromRGB(
+                            particleBlueprint.getRed().getValue(),
+                            particleBlueprint.getGreen().getValue(),
+                            particleBlueprint.getBlue().getValue()), 1));
+        else
+            world.spawnParticle(particleBlueprint.getParticle(), location.getX(), location.getY(), location.getZ(), amount, x, y, z,
+                    (double) particleBlueprint.getSpeed().getValue());
+    }
+
+    //The old ScriptRelativeVector, built for every particle with the action location stored in it
+    private static class WrappedRelativeVector {
+        private final ScriptRelativeVectorBlueprint scriptRelativeVectorBlueprint;
+        private final Location actionLocation;
+
+        private WrappedRelativeVector(ScriptRelativeVectorBlueprint scriptRelativeVectorBlueprint, Location actionLocation) {
+            this.scriptRelativeVectorBlueprint = scriptRelativeVectorBlueprint;
+            this.actionLocation = actionLocation;
+        }
+
+        private Vector getVector() {
+            Location sourceLocation = actionLocation.clone();
+            Location destinationLocation = actionLocation.clone();
+            Vector vector = destinationLocation.clone().subtract(sourceLocation).toVector();
+            if (scriptRelativeVectorBlueprint.isNormalize()) vector.normalize();
+            vector.multiply(scriptRelativeVectorBlueprint.getMultiplier().getValue());
+            vector.add(scriptRelativeVectorBlueprint.getOffset().getValue());
+            return vector;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.magmaguy.elitemobs.utils;
+
+import com.google.common.collect.ArrayListMultimap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A player flying in a straight line through 10k chunks with a view distance of 10, loading a column of 21 chunks in
+ * front and unloading one behind every step, the way PersistentObjectHandler sees chunk events. Persistent objects are
+ * scattered along the path at about one per 50 chunks.
+ * <p>
+ * The old index is the string keyed multimap that copied the list of every chunk, the new one is the per world
+ * ChunkKeyedMap that only copies chunks that have something in them. Everything is keyed from plain coordinates, so no
+ * server is needed. Not run as part of the build, results depend on the machine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChunkKeyedMapBenchmark {
+    private static final int FLIGHT_LENGTH = 10000;
+    private static final int VIEW_DISTANCE = 10;
+    private static final int CHUNKS_PER_OBJECT = 50;
+    private final UUID worldUUID = UUID.randomUUID();
+    private ArrayListMultimap<String, Object> stringKeyedObjects;
+    private HashMap<UUID, ChunkKeyedMap<List<Object>>> chunkKeyedObjects;
+
+    @Setup
+    public void setup() {
+        stringKeyedObjects = ArrayListMultimap.create();
+        chunkKeyedObjects = new HashMap<>();
+        ChunkKeyedMap<List<Object>> worldChunks = new ChunkKeyedMap<>();
+        chunkKeyedObjects.put(worldUUID, worldChunks);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int x = -VIEW_DISTANCE - 1; x <= FLIGHT_LENGTH + VIEW_DISTANCE; x++)
+            for (int z = -VIEW_DISTANCE; z <= VIEW_DISTANCE; z++) {
+                if (random.nextInt(CHUNKS_PER_OBJECT) != 0) continue;
+                Object persistentObject = new Object();
+                stringKeyedObjects.put(ChunkVectorizer.hash(x, z, worldUUID) + "", persistentObject);
+                List<Object> objects = worldChunks.get(ChunkVectorizer.pack(x, z));
+                if (objects == null) {
+                    objects = new ArrayList<>(1);
+                    worldChunks.put(ChunkVectorizer.pack(x, z), objects);
+                }
+                objects.add(persistentObject);
+            }
+    }
+
+    @Benchmark
+    public void stringKeyedMultimap(Blackhole blackhole) {
+        for (int step = 0; step < FLIGHT_LENGTH; step++)
+            for (int z = -VIEW_DISTANCE; z <= VIEW_DISTANCE; z++) {
+                //Every chunk event made a key and copied the list, empty or not
+                blackhole.consume(new ArrayList<>(stringKeyedObjects.get(ChunkVectorizer.hash(step + VIEW_DISTANCE, z, worldUUID) + "")));
+                blackhole.consume(new ArrayList<>(stringKeyedObjects.get(ChunkVectorizer.hash(step - VIEW_DISTANCE - 1, z, worldUUID) + "")));
+            }
+    }
+
+    @Benchmark
+    public void chunkKeyedMap(Blackhole blackhole) {
+        for (int step = 0; step < FLIGHT_LENGTH; step++)
+            for (int z = -VIEW_DISTANCE; z <= VIEW_DISTANCE; z++) {
+                blackhole.consume(getCopy(step + VIEW_DISTANCE, z));
+                blackhole.consume(getCopy(step - VIEW_DISTANCE - 1, z));
+            }
+    }
+
+    //Same lookup as PersistentObjectHandler#getChunkObjects, followed by the copy the chunk events make
+    private List<Object> getCopy(int x, int z) {
+        ChunkKeyedMap<List<Object>> worldChunks = chunkKeyedObjects.get(worldUUID);
+        if (worldChunks == null) return null;
+        List<Object> objects = worldChunks.get(ChunkVectorizer.pack(x, z));
+        return objects == null ? null : new ArrayList<>(objects);
+    }
+}
@@ -28,15 +28,21 @@ import com.magmaguy.elitemobs.dungeons.EMPackage;
 import com.magmaguy.elitemobs.dungeons.EliteMobsWorld;
 import com.magmaguy.elitemobs.economy.VaultCompatibility;
 import com.magmaguy.elitemobs.entitytracker.CustomProjectileData;
+import com.magmaguy.elitemobs.entitytracker.EntitySpatialGrid;
 import com.magmaguy.elitemobs.entitytracker.EntityTracker;
 import com.magmaguy.elitemobs.events.ActionEvent;
 import com.magmaguy.elitemobs.events.TimedEvent;
 import com.magmaguy.elitemobs.explosionregen.Explosion;
 import com.magmaguy.elitemobs.instanced.MatchInstance;
+import com.magmaguy.elitemobs.instanced.dungeons.InstancedWorldPool;
+import com.magmaguy.elitemobs.items.ItemLootShower;
 import com.magmaguy.elitemobs.items.LootTables;
+import com.magmaguy.elitemobs.items.LoreTemplate;
 import com.magmaguy.elitemobs.items.customenchantments.CustomEnchantment;
 import com.magmaguy.elitemobs.items.customitems.CustomItem;
+import com.magmaguy.elitemobs.items.itemconstructor.ProceduralEnchantmentCatalog;
 import com.magmaguy.elitemobs.menus.ProceduralShopMenu;
+import com.magmaguy.elitemobs.mobconstructor.CustomSpawnLocationFinder;
 import com.magmaguy.elitemobs.mobconstructor.PersistentObjectHandler;
 import com.magmaguy.elitemobs.mobconstructor.custombosses.CustomBossEntity;
 import com.magmaguy.elitemobs.mobconstructor.custombosses.CustomMusic;
@@ -46,19 +52,24 @@ import com.magmaguy.elitemobs.mobconstructor.mobdata.PluginMobProperties;
 import com.magmaguy.elitemobs.npcs.NPCEntity;
 import com.magmaguy.elitemobs.pathfinding.Navigation;
 import com.magmaguy.elitemobs.playerdata.ElitePlayerInventory;
+import com.magmaguy.elitemobs.playerdata.ItemStatSnapshot;
 import com.magmaguy.elitemobs.playerdata.database.PlayerData;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTickScheduler;
 import com.magmaguy.elitemobs.powers.scripts.ScriptAction;
 import com.magmaguy.elitemobs.powerstances.MajorPowerStanceMath;
 import com.magmaguy.elitemobs.powerstances.MinorPowerStanceMath;
 import com.magmaguy.elitemobs.quests.DynamicQuest;
 import com.magmaguy.elitemobs.quests.QuestTracking;
+import com.magmaguy.elitemobs.tagger.EntityTagCache;
 import com.magmaguy.elitemobs.thirdparty.bstats.CustomCharts;
 import com.magmaguy.elitemobs.thirdparty.custommodels.CustomModel;
 import com.magmaguy.elitemobs.thirdparty.custommodels.modelengine.ModelEngineReservedAddresses;
 import com.magmaguy.elitemobs.thirdparty.placeholderapi.Placeholders;
 import com.magmaguy.elitemobs.thirdparty.worldguard.WorldGuardCompatibility;
+import com.magmaguy.elitemobs.thirdparty.worldguard.WorldGuardRegionCache;
 import com.magmaguy.elitemobs.treasurechest.TreasureChest;
 import com.magmaguy.elitemobs.utils.BossBarUtil;
+import com.magmaguy.elitemobs.utils.PlayerScanner;
 import com.magmaguy.elitemobs.versionnotifier.VersionChecker;
 import com.magmaguy.elitemobs.wormhole.Wormhole;
 import com.magmaguy.magmacore.MagmaCore;
@@ -101,6 +112,7 @@ public class EliteMobs extends JavaPlugin {
         new PowersConfig();
         MobPropertiesConfig.initializeConfigs();
         CustomEnchantment.initializeCustomEnchantments();
+        ProceduralEnchantmentCatalog.initialize();
 
         new MobCombatSettingsConfig();
         CommandsConfig.initializeConfigs();
@@ -156,6 +168,9 @@ public class EliteMobs extends JavaPlugin {
         //Remove entities that should not exist
         CrashFix.startupCheck();
 
+        //Started before anything else gets scheduled, see EntitySpatialGrid
+        EntitySpatialGrid.start();
+
         /*
         New config loading
          */
@@ -224,7 +239,6 @@ public class EliteMobs extends JavaPlugin {
         //Import custom items after potentially importing new items
         new CustomItemsConfig();
         CustomItem.initializeCustomItems();
-        LootTables.initialize();
 
         //Initialize em package content, such as world loading
         new ContentPackagesConfig();
@@ -249,6 +263,12 @@ public class EliteMobs extends JavaPlugin {
                 exception.printStackTrace();
             }
 
+        //Starts copying instanced dungeon worlds ahead of time, needs packages to be initialized
+        InstancedWorldPool.initialize();
+
+        //Restore blocks from elite explosions that were still regenerating when the server stopped, needs worlds to be loaded
+        Explosion.initialize();
+
 
         //Initialize custom spawn methods, this runs late because it compares loaded worlds against worlds listed in the config
         try {
@@ -265,6 +285,8 @@ public class EliteMobs extends JavaPlugin {
         CommandHandler.registerCommands();
 
         new SpecialItemSystemsConfig();
+        //Compiles the loot weights, needs custom items and the special item weights
+        LootTables.initialize();
 
         /*
         Check for new plugin version or for dungeon updates
@@ -308,6 +330,16 @@ public class EliteMobs extends JavaPlugin {
         NPCEntity.shutdown();
         PersistentObjectHandler.shutdown();
         EntityTracker.wipeShutdown();
+        EntityTagCache.shutdown();
+        EntitySpatialGrid.shutdown();
+        PlayerScanner.shutdown();
+        CustomSpawnLocationFinder.shutdown();
+        InstancedWorldPool.shutdown();
+        ItemStatSnapshot.shutdown();
+        LoreTemplate.shutdown();
+        ItemLootShower.shutdown();
+        if (worldGuardIsEnabled) WorldGuardRegionCache.shutdown();
+        PowerTickScheduler.shutdown();
         TimedEvent.shutdown();
         ActionEvent.shutdown();
         validWorldList.clear();
@@ -16,6 +16,8 @@ import com.magmaguy.elitemobs.config.*;
 import com.magmaguy.elitemobs.config.enchantments.EnchantmentsConfig;
 import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.dungeons.DungeonProtector;
+import com.magmaguy.elitemobs.entitytracker.EntityLifecycleTracker;
+import com.magmaguy.elitemobs.entitytracker.EntitySpatialGrid;
 import com.magmaguy.elitemobs.entitytracker.EntityTracker;
 import com.magmaguy.elitemobs.events.ActionEvent;
 import com.magmaguy.elitemobs.explosionregen.Explosion;
@@ -59,6 +61,7 @@ import com.magmaguy.elitemobs.quests.objectives.CustomFetchObjective;
 import com.magmaguy.elitemobs.quests.objectives.DialogObjective;
 import com.magmaguy.elitemobs.quests.objectives.KillObjective;
 import com.magmaguy.elitemobs.quests.playercooldowns.PlayerQuestCooldownsLogout;
+import com.magmaguy.elitemobs.tagger.EntityTagCache;
 import com.magmaguy.elitemobs.thirdparty.custommodels.CustomModel;
 import com.magmaguy.elitemobs.thirdparty.worldguard.WorldGuardDungeonFlag;
 import com.magmaguy.elitemobs.thirdparty.worldguard.WorldGuardEliteMobOnlySpawnFlag;
@@ -228,6 +231,9 @@ public class EventsRegistrer {
 
         //Natural EliteMobs Spawning
         register(new EntityTracker());
+        register(new EntityLifecycleTracker());
+        register(new EntitySpatialGrid());
+        register(new EntityTagCache());
         //Fix lingering entity after crashes
         register(new CrashFix());
 
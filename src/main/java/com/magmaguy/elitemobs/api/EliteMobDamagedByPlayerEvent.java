@@ -4,6 +4,7 @@ import com.magmaguy.elitemobs.EliteMobs;
 import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.adventurersguild.GuildRank;
 import com.magmaguy.elitemobs.api.utils.EliteItemManager;
+import com.magmaguy.elitemobs.combatsystem.DamagePipelineProfiler;
 import com.magmaguy.elitemobs.config.ItemSettingsConfig;
 import com.magmaguy.elitemobs.config.MobCombatSettingsConfig;
 import com.magmaguy.elitemobs.dungeons.EliteMobsWorld;
@@ -28,7 +29,10 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.ProjectileLaunchEvent;
+import org.bukkit.inventory.ItemStack;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class EliteMobDamagedByPlayerEvent extends EliteDamageEvent {
@@ -86,11 +90,15 @@ public class EliteMobDamagedByPlayerEvent extends EliteDamageEvent {
 
     //The thing that calls the event
     public static class EliteMobDamagedByPlayerEventFilter implements Listener {
+        //values() clones the array on every call
+        private static final EntityDamageEvent.DamageModifier[] DAMAGE_MODIFIERS = EntityDamageEvent.DamageModifier.values();
+        //Listeners of the API event can damage other elites, each nested hit gets its own context
+        private static final List<DamageContext> damageContexts = new ArrayList<>();
         public static boolean bypass = false;
+        private static int contextDepth = 0;
 
-        private static double getThornsDamage(Player player) {
+        private static double getThornsDamage(ElitePlayerInventory elitePlayerInventory) {
             if (!ItemSettingsConfig.isUseEliteEnchantments()) return 0D;
-            ElitePlayerInventory elitePlayerInventory = ElitePlayerInventory.getPlayer(player);
             int thornsLevel = 0;
             if (elitePlayerInventory.helmet.thornsLevel > Enchantment.THORNS.getMaxLevel())
                 thornsLevel += elitePlayerInventory.helmet.thornsLevel - Enchantment.THORNS.getMaxLevel();
@@ -109,17 +117,17 @@ public class EliteMobDamagedByPlayerEvent extends EliteDamageEvent {
          * @param player Damager
          * @return Bonus damage applied
          */
-        private static double getEliteMeleeDamage(Player player, LivingEntity livingEntity) {
-            if (player.getInventory().getItemInMainHand().getType().equals(Material.BOW) || player.getInventory().getItemInMainHand().getType().equals(Material.CROSSBOW))
+        private static double getEliteMeleeDamage(ElitePlayerInventory elitePlayerInventory, Player player, Material mainHandType, LivingEntity livingEntity) {
+            if (mainHandType.equals(Material.BOW) || mainHandType.equals(Material.CROSSBOW))
                 return 0.0;
-            double eliteDamage = ElitePlayerInventory.getPlayer(player).getEliteDamage(true);
-            double bonusEliteDamage = secondaryEnchantmentDamageIncrease(player, livingEntity);
+            double eliteDamage = elitePlayerInventory.getEliteDamage(true);
+            double bonusEliteDamage = secondaryEnchantmentDamageIncrease(elitePlayerInventory, livingEntity);
             return (eliteDamage + bonusEliteDamage) * player.getAttackCooldown();
         }
 
         private static double getEliteRangedDamage(Projectile arrow) {
             //note: the arrow velocity amplitude at full load is about 2.8
-            double arrowSpeedMultiplier = Math.sqrt(Math.pow(arrow.getVelocity().getX(), 2D) + Math.pow(arrow.getVelocity().getY(), 2D) + Math.pow(arrow.getVelocity().getZ(), 2D));
+            double arrowSpeedMultiplier = arrow.getVelocity().length();
             arrowSpeedMultiplier /= 4.0D;
             double arrowDamage = EliteItemManager.getArrowEliteDamage(arrow);
             return arrowSpeedMultiplier * arrowDamage;
@@ -131,16 +139,16 @@ public class EliteMobDamagedByPlayerEvent extends EliteDamageEvent {
             return ((CustomBossEntity) eliteEntity).getDamageModifier(itemStackType);
         }
 
-        private static double secondaryEnchantmentDamageIncrease(Player player, LivingEntity livingEntity) {
+        private static double secondaryEnchantmentDamageIncrease(ElitePlayerInventory elitePlayerInventory, LivingEntity livingEntity) {
             if (ItemSettingsConfig.isUseEliteEnchantments()) return 0D;
             if (livingEntity instanceof Spider || livingEntity instanceof Silverfish) {
-                int level = ElitePlayerInventory.playerInventories.get(player.getUniqueId()).mainhand.getDamageArthropodsLevel(player.getInventory().getItemInMainHand(), false);
+                int level = elitePlayerInventory.mainhand.damageArthropodsLevel;
                 level -= Enchantment.BANE_OF_ARTHROPODS.getMaxLevel();
                 if (level < 1) return 0D;
                 return level * 2.5D;
             }
             if (livingEntity instanceof Zombie || livingEntity instanceof Skeleton || livingEntity instanceof Wither || livingEntity instanceof SkeletonHorse || livingEntity instanceof ZombieHorse || livingEntity.getType().equals(EntityType.ZOMBIFIED_PIGLIN)) {
-                int level = ElitePlayerInventory.playerInventories.get(player.getUniqueId()).mainhand.getDamageUndeadLevel(player.getInventory().getItemInMainHand(), false);
+                int level = elitePlayerInventory.mainhand.damageUndeadLevel;
                 level -= Enchantment.SMITE.getMaxLevel();
                 if (level < 1) return 0D;
                 return level * 2.5D;
@@ -148,8 +156,8 @@ public class EliteMobDamagedByPlayerEvent extends EliteDamageEvent {
             return 0;
         }
 
-        private static boolean isCriticalHit(Player player) {
-            double criticalStrike = ElitePlayerInventory.playerInventories.get(player.getUniqueId()).getCritChance(false);
+        private static boolean isCriticalHit(ElitePlayerInventory elitePlayerInventory, Player player) {
+            double criticalStrike = elitePlayerInventory.getCritChance(false);
             criticalStrike += (GuildRank.critBonusValue(GuildRank.getGuildPrestigeRank(player), GuildRank.getActiveGuildRank(player)) / 100);
             return ThreadLocalRandom.current().nextDouble() < criticalStrike;
         }
@@ -162,97 +170,156 @@ public class EliteMobDamagedByPlayerEvent extends EliteDamageEvent {
 
         @EventHandler(ignoreCancelled = true)
         public void onEliteMobAttacked(EntityDamageByEntityEvent event) {
+            if (contextDepth == damageContexts.size()) damageContexts.add(new DamageContext());
+            DamageContext context = damageContexts.get(contextDepth++);
+            context.event = event;
+            try {
+                runPipeline(context);
+            } finally {
+                context.clear();
+                contextDepth--;
+            }
+        }
+
+        /**
+         * Runs each stage of the damage calculation in order, timing them for {@link DamagePipelineProfiler}. A stage
+         * returning false stops the hit from going further.
+         */
+        private void runPipeline(DamageContext context) {
+            long stageStart = System.nanoTime();
+            boolean handled = resolve(context);
+            stageStart = DamagePipelineProfiler.record(DamagePipelineProfiler.Stage.RESOLVE, stageStart);
+            if (!handled) return;
+
+            /*
+            From this point on, the damage is confirmed to be processed by EliteMobs
+             */
+
+            clearVanillaReductions(context.event);
+            stageStart = DamagePipelineProfiler.record(DamagePipelineProfiler.Stage.VANILLA_REDUCTIONS, stageStart);
+
+            calculateEliteDamage(context);
+            stageStart = DamagePipelineProfiler.record(DamagePipelineProfiler.Stage.ELITE_DAMAGE, stageStart);
+
+            applyDamageModifiers(context);
+            stageStart = DamagePipelineProfiler.record(DamagePipelineProfiler.Stage.DAMAGE_MODIFIERS, stageStart);
+
+            boolean notCancelled = callDamageEvent(context);
+            stageStart = DamagePipelineProfiler.record(DamagePipelineProfiler.Stage.API_EVENT, stageStart);
+            if (!notCancelled) return;
+
+            boolean applied = applyDamage(context);
+            stageStart = DamagePipelineProfiler.record(DamagePipelineProfiler.Stage.APPLY_DAMAGE, stageStart);
+            if (!applied) return;
+
+            runAntiexploit(context.eliteEntity, context.event, context.eliteMobDamagedByPlayerEvent);
+            DamagePipelineProfiler.record(DamagePipelineProfiler.Stage.ANTI_EXPLOIT, stageStart);
+        }
+
+        private boolean resolve(DamageContext context) {
+            EntityDamageByEntityEvent event = context.event;
             if (event.getEntity().getType().equals(EntityType.ENDER_DRAGON) && ((EnderDragon) event.getEntity()).getPhase().equals(EnderDragon.Phase.DYING))
-                return;
+                return false;
             LivingEntity livingEntity = EntityFinder.filterRangedDamagers(event.getDamager());
-            if (livingEntity == null) return;
-            if (!livingEntity.getType().equals(EntityType.PLAYER)) return;
+            if (livingEntity == null) return false;
+            if (!livingEntity.getType().equals(EntityType.PLAYER)) return false;
             Player player = (Player) livingEntity;
             EliteEntity eliteEntity = EntityTracker.getEliteMobEntity(event.getEntity());
             //Living entity is sometimes null when the damage is dealt to an already dead entity - might happen with mcmmo due to DOTs and stuff
-            if (eliteEntity == null || !eliteEntity.isValid()) return;
+            if (eliteEntity == null || !eliteEntity.isValid()) return false;
+            context.cause = event.getCause();
+            context.projectile = event.getDamager() instanceof Projectile projectile ? projectile : null;
             //There's at least 1 gun plugin that makes players the projectile themselves.
-            if (event.getCause().equals(EntityDamageEvent.DamageCause.PROJECTILE) && !(event.getDamager() instanceof Projectile))
-                return;
-
-            /*
-            From this point on, the damage is confirmed to be processed by EliteMobs
-             */
+            if (context.cause.equals(EntityDamageEvent.DamageCause.PROJECTILE) && context.projectile == null)
+                return false;
+            context.damager = livingEntity;
+            context.player = player;
+            context.eliteEntity = eliteEntity;
+            //Sometimes players are "fake" due to npc plugins
+            context.elitePlayerInventory = player.hasMetadata("NPC") ? null : ElitePlayerInventory.getPlayer(player);
+            return true;
+        }
 
-            //nullify vanilla reductions, this is needed because boss armor is just cosmetic
-            for (EntityDamageEvent.DamageModifier modifier : EntityDamageByEntityEvent.DamageModifier.values())
-                if (event.isApplicable(modifier) && modifier != EntityDamageEvent.DamageModifier.BASE)
+        //nullify vanilla reductions, this is needed because boss armor is just cosmetic
+        private void clearVanillaReductions(EntityDamageByEntityEvent event) {
+            for (EntityDamageEvent.DamageModifier modifier : DAMAGE_MODIFIERS)
+                if (modifier != EntityDamageEvent.DamageModifier.BASE && event.isApplicable(modifier))
                     event.setDamage(modifier, 0);
+        }
 
+        private void calculateEliteDamage(DamageContext context) {
             //If the damage wasn't caused by an elite item, just allow the event to go as raw
-            double damage = event.getDamage();
-            double eliteDamage = 0;
-            //Sometimes players are "fake" due to npc plugins
-            boolean validPlayer = !player.hasMetadata("NPC") && ElitePlayerInventory.getPlayer(player) != null;
-
-            if (validPlayer && event.getCause().equals(EntityDamageEvent.DamageCause.THORNS))
+            context.damage = context.event.getDamage();
+            ElitePlayerInventory elitePlayerInventory = context.elitePlayerInventory;
+            if (elitePlayerInventory != null && context.cause.equals(EntityDamageEvent.DamageCause.THORNS))
                 //Thorns are their own kind of damage
-                eliteDamage = getThornsDamage(player);
-            else if (validPlayer && (event.getCause().equals(EntityDamageEvent.DamageCause.ENTITY_ATTACK) || event.getCause().equals(EntityDamageEvent.DamageCause.ENTITY_SWEEP_ATTACK) && EliteItemManager.isEliteMobsItem(player.getInventory().getItemInMainHand())))
-                eliteDamage = getEliteMeleeDamage(player, livingEntity);
-            else if (event.getCause().equals(EntityDamageEvent.DamageCause.PROJECTILE))
+                context.eliteDamage = getThornsDamage(elitePlayerInventory);
+            else if (elitePlayerInventory != null && (context.cause.equals(EntityDamageEvent.DamageCause.ENTITY_ATTACK) || context.cause.equals(EntityDamageEvent.DamageCause.ENTITY_SWEEP_ATTACK))) {
+                ItemStack mainHand = context.player.getInventory().getItemInMainHand();
+                if (context.cause.equals(EntityDamageEvent.DamageCause.ENTITY_ATTACK) || EliteItemManager.isEliteMobsItem(mainHand))
+                    context.eliteDamage = getEliteMeleeDamage(elitePlayerInventory, context.player, mainHand.getType(), context.damager);
+            } else if (context.projectile != null && context.cause.equals(EntityDamageEvent.DamageCause.PROJECTILE))
                 //Scan arrow for arrow damage
-                eliteDamage = getEliteRangedDamage((Projectile) event.getDamager());
-
-            double damageModifier = 1;
-            if (event.getCause().equals(EntityDamageEvent.DamageCause.PROJECTILE))
-                if (CustomProjectileData.getCustomProjectileDataHashMap().get((Projectile) event.getDamager()) == null)
-                    damageModifier = getCustomDamageModifier(eliteEntity, null);
-                else
-                    damageModifier = getCustomDamageModifier(eliteEntity, CustomProjectileData.getCustomProjectileDataHashMap().get(event.getDamager()).getProjectileShooterMaterial());
-            else getCustomDamageModifier(eliteEntity, player.getInventory().getItemInMainHand().getType());
-
-            if (eliteEntity instanceof CustomBossEntity customBossEntity && customBossEntity.isNormalizedCombat())
-                damage = Round.twoDecimalPlaces((damage + eliteDamage) * damageModifier * MobCombatSettingsConfig.getNormalizedDamageToEliteMultiplier());
-            else
-                damage = Round.twoDecimalPlaces((damage + eliteDamage) * damageModifier * MobCombatSettingsConfig.getDamageToEliteMultiplier());
+                context.eliteDamage = getEliteRangedDamage(context.projectile);
+        }
 
-            boolean criticalHit = false;
+        private void applyDamageModifiers(DamageContext context) {
+            //Only ranged attacks use the boss' damage modifiers
+            if (context.projectile != null && context.cause.equals(EntityDamageEvent.DamageCause.PROJECTILE)) {
+                CustomProjectileData customProjectileData = CustomProjectileData.getCustomProjectileDataHashMap().get(context.projectile);
+                context.damageModifier = getCustomDamageModifier(context.eliteEntity, customProjectileData == null ? null : customProjectileData.getProjectileShooterMaterial());
+            }
+
+            if (context.eliteEntity instanceof CustomBossEntity customBossEntity && customBossEntity.isNormalizedCombat())
+                context.damage = Round.twoDecimalPlaces((context.damage + context.eliteDamage) * context.damageModifier * MobCombatSettingsConfig.getNormalizedDamageToEliteMultiplier());
+            else
+                context.damage = Round.twoDecimalPlaces((context.damage + context.eliteDamage) * context.damageModifier * MobCombatSettingsConfig.getDamageToEliteMultiplier());
 
-            if (validPlayer) {
-                criticalHit = isCriticalHit(player);
-                if (criticalHit) damage *= 1.5;
+            if (context.elitePlayerInventory != null) {
+                context.criticalHit = isCriticalHit(context.elitePlayerInventory, context.player);
+                if (context.criticalHit) context.damage *= 1.5;
             }
+        }
 
-            EliteMobDamagedByPlayerEvent eliteMobDamagedByPlayerEvent = new EliteMobDamagedByPlayerEvent(eliteEntity, player, event, damage, criticalHit, bypass, damageModifier);
+        private boolean callDamageEvent(DamageContext context) {
+            context.eliteMobDamagedByPlayerEvent = new EliteMobDamagedByPlayerEvent(context.eliteEntity, context.player, context.event, context.damage, context.criticalHit, bypass, context.damageModifier);
 
-            new EventCaller(eliteMobDamagedByPlayerEvent);
+            new EventCaller(context.eliteMobDamagedByPlayerEvent);
 
-            if (eliteMobDamagedByPlayerEvent.isCancelled()) {
-                event.setCancelled(true);
-                return;
+            if (context.eliteMobDamagedByPlayerEvent.isCancelled()) {
+                context.event.setCancelled(true);
+                return false;
             }
 
             //In case things got modified along the way
-            damage = eliteMobDamagedByPlayerEvent.getDamage();
+            context.damage = context.eliteMobDamagedByPlayerEvent.getDamage();
+            return true;
+        }
 
-            if (validPlayer) {
+        private boolean applyDamage(DamageContext context) {
+            EliteEntity eliteEntity = context.eliteEntity;
+            double damage = context.damage;
+
+            if (context.elitePlayerInventory != null) {
                 //Time to deal custom damage!
-                eliteEntity.addDamager(player, damage);
+                eliteEntity.addDamager(context.player, damage);
             }
 
             //Dragons need special handling due to their custom deaths
             if (eliteEntity.getLivingEntity() != null && eliteEntity.getLivingEntity().getType().equals(EntityType.ENDER_DRAGON) && eliteEntity.getLivingEntity().getHealth() - damage < 1) {
-                if (eliteEntity.isDying()) return;
+                if (eliteEntity.isDying()) return false;
                 damage = 0;
-                event.setCancelled(true);
+                context.event.setCancelled(true);
                 ((EnderDragon) eliteEntity.getLivingEntity()).setPhase(EnderDragon.Phase.DYING);
                 eliteEntity.setDying(true);
                 //remove the dragon after it is done with the light show, this death doesn't show up on events
                 Bukkit.getScheduler().runTaskLater(MetadataHandler.PLUGIN, () -> new EventCaller(new EliteMobDeathEvent(eliteEntity)), 200);
             }
 
-            event.setDamage(EntityDamageEvent.DamageModifier.BASE, damage);
-
-            eliteEntity.syncPluginHealth(((LivingEntity) event.getEntity()).getHealth());
-
+            context.event.setDamage(EntityDamageEvent.DamageModifier.BASE, damage);
 
-            runAntiexploit(eliteEntity, event, eliteMobDamagedByPlayerEvent);
+            eliteEntity.syncPluginHealth(((LivingEntity) context.event.getEntity()).getHealth());
+            return true;
         }
 
         private void runAntiexploit(EliteEntity eliteEntity, EntityDamageByEntityEvent event, EliteMobDamagedByPlayerEvent eliteMobDamagedByPlayerEvent) {
@@ -272,4 +339,39 @@ public class EliteMobDamagedByPlayerEvent extends EliteDamageEvent {
         }
     }
 
+
+    /**
+     * State of a single hit as it goes through the damage pipeline. Contexts get reused between hits, so nothing in
+     * here may be kept once the hit is processed.
+     */
+    private static class DamageContext {
+        private EntityDamageByEntityEvent event;
+        private EntityDamageEvent.DamageCause cause;
+        private LivingEntity damager;
+        private Player player;
+        private Projectile projectile;
+        private EliteEntity eliteEntity;
+        //Null for players without EliteMobs data, like NPCs
+        private ElitePlayerInventory elitePlayerInventory;
+        private EliteMobDamagedByPlayerEvent eliteMobDamagedByPlayerEvent;
+        private double damage;
+        private double eliteDamage;
+        private double damageModifier = 1;
+        private boolean criticalHit;
+
+        private void clear() {
+            event = null;
+            cause = null;
+            damager = null;
+            player = null;
+            projectile = null;
+            eliteEntity = null;
+            elitePlayerInventory = null;
+            eliteMobDamagedByPlayerEvent = null;
+            damage = 0;
+            eliteDamage = 0;
+            damageModifier = 1;
+            criticalHit = false;
+        }
+    }
 }
@@ -0,0 +1,117 @@
+package com.magmaguy.elitemobs.combatsystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Latency histograms for each stage of the player to elite damage pipeline, see
+ * {@link com.magmaguy.elitemobs.api.EliteMobDamagedByPlayerEvent.EliteMobDamagedByPlayerEventFilter}.
+ * <p>
+ * Each stage counts its runs in power of two buckets of nanoseconds, so recording a hit is a few array writes and the
+ * percentiles in the report are accurate to within a factor of two. Only meant to be used from the main thread.
+ */
+public class DamagePipelineProfiler {
+    //Bucket i holds durations from 2^i up to 2^(i+1) nanoseconds, the last one holds everything above ~0.5 seconds
+    private static final int BUCKET_COUNT = 30;
+    private static final StageHistogram[] histograms = new StageHistogram[Stage.values().length];
+
+    static {
+        for (Stage stage : Stage.values()) histograms[stage.ordinal()] = new StageHistogram();
+    }
+
+    private DamagePipelineProfiler() {
+    }
+
+    /**
+     * Records the time spent in a stage.
+     *
+     * @param stage      Stage that just finished
+     * @param stageStart {@link System#nanoTime()} when the stage started
+     * @return The current {@link System#nanoTime()}, which is when the next stage starts
+     */
+    public static long record(Stage stage, long stageStart) {
+        long now = System.nanoTime();
+        histograms[stage.ordinal()].add(now - stageStart);
+        return now;
+    }
+
+    public static void reset() {
+        for (StageHistogram histogram : histograms) histogram.reset();
+    }
+
+    /**
+     * @return One line per stage with its run count, average, 50th, 99th percentile and maximum time
+     */
+    public static List<String> getReport() {
+        List<String> report = new ArrayList<>();
+        for (Stage stage : Stage.values()) {
+            StageHistogram histogram = histograms[stage.ordinal()];
+            if (histogram.runs == 0) {
+                report.add(stage.name() + ": no runs");
+                continue;
+            }
+            report.add(stage.name() + ": " + histogram.runs + " runs, avg " + format(histogram.totalNanos / histogram.runs)
+                    + ", p50 " + format(histogram.percentile(0.5))
+                    + ", p99 " + format(histogram.percentile(0.99))
+                    + ", max " + format(histogram.maxNanos));
+        }
+        return report;
+    }
+
+    private static String format(long nanos) {
+        if (nanos < 1000) return nanos + "ns";
+        if (nanos < 1000000) return String.format("%.1fus", nanos / 1000D);
+        return String.format("%.2fms", nanos / 1000000D);
+    }
+
+    public enum Stage {
+        //Finding the player and the elite, filtering out damage EliteMobs does not handle
+        RESOLVE,
+        //Removing vanilla armor and enchantment reductions
+        VANILLA_REDUCTIONS,
+        //Elite melee, ranged or thorns damage of the player's gear
+        ELITE_DAMAGE,
+        //Boss damage modifiers, combat multipliers and critical hits
+        DAMAGE_MODIFIERS,
+        //The EliteMobDamagedByPlayerEvent, including the time spent in its listeners
+        API_EVENT,
+        //Damager tracking, dragon deaths and writing the damage back to the Minecraft event
+        APPLY_DAMAGE,
+        //Anti-exploit checks and event
+        ANTI_EXPLOIT
+    }
+
+    private static class StageHistogram {
+        private final long[] buckets = new long[BUCKET_COUNT];
+        private long runs = 0;
+        private long totalNanos = 0;
+        private long maxNanos = 0;
+
+        private void add(long nanos) {
+            if (nanos < 0) nanos = 0;
+            int bucket = nanos == 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+            buckets[Math.min(bucket, BUCKET_COUNT - 1)]++;
+            runs++;
+            totalNanos += nanos;
+            if (nanos > maxNanos) maxNanos = nanos;
+        }
+
+        //Upper bound of the bucket the percentile lands in
+        private long percentile(double percentile) {
+            long target = (long) Math.ceil(runs * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += buckets[i];
+                if (seen >= target) return Math.min(maxNanos, (1L << (i + 1)) - 1);
+            }
+            return maxNanos;
+        }
+
+        private void reset() {
+            for (int i = 0; i < BUCKET_COUNT; i++) buckets[i] = 0;
+            runs = 0;
+            totalNanos = 0;
+            maxNanos = 0;
+        }
+    }
+}
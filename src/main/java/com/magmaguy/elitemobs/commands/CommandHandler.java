@@ -26,11 +26,13 @@ public class CommandHandler {
         emCommand.registerCommand(new RemoveCommand());
         emCommand.registerCommand(new EventCommand());
         emCommand.registerCommand(new StatsCommand());
+        emCommand.registerCommand(new DamageStatsCommand());
         emCommand.registerCommand(new LootMenuCommand());
         emCommand.registerCommand(new LootGiveCommand());
         emCommand.registerCommand(new LootRandomCommand());
         emCommand.registerCommand(new LootSimulateMultipleCommand());
         emCommand.registerCommand(new LootSimulateCommand());
+        emCommand.registerCommand(new LootReportCommand());
         emCommand.registerCommand(new VersionCommand());
         emCommand.registerCommand(new ReloadCommand());
         emCommand.registerCommand(new KillCommand());
@@ -0,0 +1,32 @@
+package com.magmaguy.elitemobs.commands;
+
+import com.magmaguy.elitemobs.combatsystem.DamagePipelineProfiler;
+import com.magmaguy.magmacore.command.AdvancedCommand;
+import com.magmaguy.magmacore.command.CommandData;
+import com.magmaguy.magmacore.command.arguments.ListStringCommandArgument;
+import com.magmaguy.magmacore.util.Logger;
+
+import java.util.List;
+
+public class DamageStatsCommand extends AdvancedCommand {
+    public DamageStatsCommand() {
+        super(List.of("stats"));
+        addLiteral("damage");
+        addArgument("action", new ListStringCommandArgument(List.of("show", "reset"), "<show/reset>"));
+        setUsage("/em stats damage <show/reset>");
+        setPermission("elitemobs.stats");
+        setDescription("Displays how long each stage of player damage against elites takes, or resets the timings.");
+    }
+
+    @Override
+    public void execute(CommandData commandData) {
+        if (commandData.getStringArgument("action").equalsIgnoreCase("reset")) {
+            DamagePipelineProfiler.reset();
+            Logger.sendMessage(commandData.getCommandSender(), "Damage stage timings reset.");
+            return;
+        }
+        Logger.sendMessage(commandData.getCommandSender(), "Player damage to elites, time per stage:");
+        for (String line : DamagePipelineProfiler.getReport())
+            commandData.getCommandSender().sendMessage(" - " + line);
+    }
+}
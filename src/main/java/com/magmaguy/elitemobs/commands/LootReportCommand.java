@@ -0,0 +1,28 @@
+package com.magmaguy.elitemobs.commands;
+
+import com.magmaguy.elitemobs.commands.admin.SimLootCommand;
+import com.magmaguy.magmacore.command.AdvancedCommand;
+import com.magmaguy.magmacore.command.CommandData;
+import com.magmaguy.magmacore.command.arguments.IntegerCommandArgument;
+
+import java.util.List;
+
+public class LootReportCommand extends AdvancedCommand {
+    public LootReportCommand() {
+        super(List.of("loot"));
+        addLiteral("report");
+        addArgument("level", new IntegerCommandArgument("<level>"));
+        addArgument("times", new IntegerCommandArgument("<times>"));
+        setUsage("/em loot report <level> <times>");
+        setPermission("elitemobs.loot.admin");
+        setDescription("Simulates killing elites of the specified level the specified amount of times and writes the loot statistics to a report file, without dropping any items.");
+    }
+
+    @Override
+    public void execute(CommandData commandData) {
+        SimLootCommand.report(
+                commandData.getCommandSender(),
+                commandData.getIntegerArgument("level"),
+                commandData.getIntegerArgument("times"));
+    }
+}
@@ -2,6 +2,7 @@ package com.magmaguy.elitemobs.commands.admin;
 
 import com.magmaguy.elitemobs.config.ItemSettingsConfig;
 import com.magmaguy.elitemobs.items.EliteItemLore;
+import com.magmaguy.elitemobs.items.LootSimulator;
 import com.magmaguy.elitemobs.items.LootTables;
 import com.magmaguy.magmacore.util.ChatColorConverter;
 import com.magmaguy.magmacore.util.Logger;
@@ -49,6 +50,13 @@ public class SimLootCommand {
         player.sendMessage("[EliteMobs] Finished running simulation command for player " + playerName + " " + timesToRun + " times at level " + level + " .");
     }
 
+    /**
+     * Simulates the loot of many kills off the main thread and writes the statistics to a file, no items get dropped.
+     */
+    public static void report(CommandSender commandSender, int level, int timesToRun) {
+        LootSimulator.simulate(commandSender, level, timesToRun);
+    }
+
     public static boolean run(Player player, int level, boolean message) {
         try {
             ItemStack itemStack = LootTables.generateLoot(level, player.getLocation(), player);
@@ -3,9 +3,17 @@ package com.magmaguy.elitemobs.commands.admin;
 import com.magmaguy.elitemobs.EliteMobs;
 import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.adventurersguild.GuildRank;
+import com.magmaguy.elitemobs.entitytracker.EntityLifecycleTracker;
+import com.magmaguy.elitemobs.entitytracker.EntitySpatialGrid;
 import com.magmaguy.elitemobs.entitytracker.EntityTracker;
+import com.magmaguy.elitemobs.instanced.dungeons.InstancedWorldPool;
+import com.magmaguy.elitemobs.items.LoreTemplate;
+import com.magmaguy.elitemobs.mobconstructor.custombosses.DynamicLevelEngine;
 import com.magmaguy.elitemobs.mobconstructor.custombosses.RegionalBossEntity;
 import com.magmaguy.elitemobs.playerdata.ElitePlayerInventory;
+import com.magmaguy.elitemobs.playerdata.ItemStatSnapshot;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTickScheduler;
+import com.magmaguy.elitemobs.thirdparty.worldguard.WorldGuardRegionCache;
 import com.magmaguy.magmacore.util.ChatColorConverter;
 import com.magmaguy.magmacore.util.Round;
 import org.bukkit.Bukkit;
@@ -91,6 +99,32 @@ public class StatsCommand {
                 "§5§m-----------------------------------------------------"));
         commandSender.sendMessage("Tracked boss count: " + EntityTracker.getEliteMobEntities().size());
         commandSender.sendMessage("Tracked NPC count: " + EntityTracker.getNpcEntities().size());
+        commandSender.sendMessage("Indexed entity chunks: " + EntityLifecycleTracker.getIndexedChunkCount());
+        commandSender.sendMessage("Last watchdog scan: " + EntityLifecycleTracker.getLastScanCheckedEntities() + " entities in "
+                + Round.twoDecimalPlaces(EntityLifecycleTracker.getLastScanNanos() / 1000000D) + "ms (last full sweep "
+                + Round.twoDecimalPlaces(EntityLifecycleTracker.getLastFullSweepNanos() / 1000000D) + "ms)");
+        commandSender.sendMessage("Watchdog chunk scans: " + EntityLifecycleTracker.getTotalChunkScans()
+                + ", removals: " + EntityLifecycleTracker.getTotalWatchdogRemovals());
+        commandSender.sendMessage("Scheduled power tasks: " + PowerTickScheduler.getScheduledTaskCount()
+                + ", last tick " + Round.twoDecimalPlaces(PowerTickScheduler.getLastTickNanos() / 1000000D) + "ms"
+                + ", deferred runs: " + PowerTickScheduler.getDeferredTaskRuns());
+        for (String powerCost : PowerTickScheduler.getCostReport(5))
+            commandSender.sendMessage(" - " + powerCost);
+        commandSender.sendMessage("Entity grid queries: " + EntitySpatialGrid.getQueries()
+                + ", snapshots built: " + EntitySpatialGrid.getSnapshotBuilds());
+        commandSender.sendMessage("Item stat snapshots cached: " + ItemStatSnapshot.getCachedItemCount()
+                + ", hits: " + ItemStatSnapshot.getCacheHits() + ", misses: " + ItemStatSnapshot.getCacheMisses());
+        commandSender.sendMessage("Item lore rebuilds: " + LoreTemplate.getRebuilds()
+                + " (" + Round.twoDecimalPlaces(LoreTemplate.getRebuildsPerSecond()) + "/s), average "
+                + Round.twoDecimalPlaces(LoreTemplate.getRebuilds() == 0 ? 0 : LoreTemplate.getRebuildNanos() / 1000000D / LoreTemplate.getRebuilds()) + "ms"
+                + ", cached lore fragments: " + LoreTemplate.getCachedFragmentCount());
+        commandSender.sendMessage("Dynamic level bosses: " + DynamicLevelEngine.getBossCount()
+                + ", checked last cycle: " + DynamicLevelEngine.getLastCycleChecks() + ", updated: " + DynamicLevelEngine.getLastCycleUpdates());
+        commandSender.sendMessage("Instanced worlds ready: " + InstancedWorldPool.getReadyWorldCount()
+                + ", pool hits: " + InstancedWorldPool.getPoolHits() + ", misses: " + InstancedWorldPool.getPoolMisses());
+        if (EliteMobs.worldGuardIsEnabled)
+            commandSender.sendMessage("WorldGuard sections cached: " + WorldGuardRegionCache.getCachedSectionCount()
+                    + ", cache hits: " + WorldGuardRegionCache.getCacheHits() + ", WorldGuard queries: " + WorldGuardRegionCache.getWorldGuardQueries());
         int loadedCounter = 0;
         for (RegionalBossEntity regionalBossEntity : RegionalBossEntity.getRegionalBossEntities())
             if (regionalBossEntity.isValid())
@@ -20,6 +20,10 @@ public class DatabaseConfig extends ConfigurationFile {
     public static String mysqlPassword;
     @Getter
     public static boolean useSSL;
+    @Getter
+    public static int writeBehindIntervalTicks;
+    @Getter
+    public static int connectionPoolSize;
 
     public DatabaseConfig() {
         super("Database.yml");
@@ -34,5 +38,7 @@ public class DatabaseConfig extends ConfigurationFile {
         mysqlUsername = ConfigurationEngine.setString(List.of("The username for MySQl"), file, fileConfiguration, "mysqlUsername", "your_username_mysql_here", false);
         mysqlPassword = ConfigurationEngine.setString(List.of("The password for your MysSQL database"), file, fileConfiguration, "mysqlPassword", "your_mysql_password_here", false);
         useSSL = ConfigurationEngine.setBoolean(List.of("Whether to use SSL"), fileConfiguration, "useSSL", true);
+        writeBehindIntervalTicks = ConfigurationEngine.setInt(List.of("How often, in ticks, pending player data changes get written to the database. Changes are always written when players log out and when the server shuts down."), fileConfiguration, "writeBehindIntervalTicks", 100);
+        connectionPoolSize = ConfigurationEngine.setInt(List.of("How many database connections EliteMobs keeps open for player data. More connections let more offline lookups run at the same time."), fileConfiguration, "connectionPoolSize", 4);
     }
 }
@@ -47,6 +47,8 @@ public class DefaultConfig extends ConfigurationFile {
     @Getter
     private static boolean doRegenerateContainers;
     @Getter
+    private static int explosionRegenBlocksPerTick;
+    @Getter
     private static int defaultTransitiveBlockLimiter;
     @Getter
     private static boolean onlyUseBedrockMenus;
@@ -79,6 +81,8 @@ public class DefaultConfig extends ConfigurationFile {
     @Getter
     private static boolean forceMenuUnicode;
     @Getter
+    private static double powerTickBudgetMilliseconds;
+    @Getter
     private static String enchantmentChallengeFailureMessage;
     @Getter
     private static String enchantmentChallengeSuccessMessage;
@@ -181,7 +185,13 @@ public class DefaultConfig extends ConfigurationFile {
         doRegenerateContainers = ConfigurationEngine.setBoolean(
                 List.of("Sets if the explosion regen will also regenerate the contents of containers such as chests.", "Turning it to false will make elite explosions not blow up containers."),
                 fileConfiguration, "doRegenerateContainers", true);
+        explosionRegenBlocksPerTick = ConfigurationEngine.setInt(
+                List.of("Sets how many blocks the explosion regen can restore per tick in total.", "Each explosion restores one block per tick, this only slows things down when more explosions than this regenerate at once."),
+                fileConfiguration, "explosionRegenBlocksPerTick", 20);
         defaultTransitiveBlockLimiter = ConfigurationEngine.setInt(fileConfiguration, "defaultTransitiveBlockLimiter", 500);
+        powerTickBudgetMilliseconds = ConfigurationEngine.setDouble(
+                List.of("Sets how many milliseconds per tick power and enchantment animations can use.", "Animations that do not fit in a tick get delayed to the next one. Set to 0 to disable the limit."),
+                fileConfiguration, "powerTickBudgetMilliseconds", 10D);
         onlyUseBedrockMenus = ConfigurationEngine.setBoolean(
                 List.of("Sets whether the /em menu will only use the inventory-based menu style which is compatible with bedrock.", "As a reminder, players can otherwise do the command /em alt to switch between /em menu styles"),
                 fileConfiguration, "onlyUseBedrockMenus", false);
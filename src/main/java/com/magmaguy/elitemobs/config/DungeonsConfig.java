@@ -33,6 +33,8 @@ public class DungeonsConfig extends ConfigurationFile {
     private static double poisonDamageMultiplier;
     @Getter
     private static double witherDamageMultiplier;
+    @Getter
+    private static int instancedWorldPoolSize;
 
     public DungeonsConfig() {
         super("dungeons.yml");
@@ -93,5 +95,9 @@ public class DungeonsConfig extends ConfigurationFile {
                 List.of("Sets the damage multiplier for fire damage in dungeons",
                         "This is important for balance as by default the damage is a bit too high for the dungeons as we design them"),
                 fileConfiguration, "poisonDamageMultiplier", 0.5);
+        instancedWorldPoolSize = ConfigurationEngine.setInt(
+                List.of("Sets how many copies of each installed instanced dungeon world are kept ready ahead of time",
+                        "Dungeons start faster when a copy is ready, as the world does not need to be copied when a player joins. Each copy takes as much disk space as the dungeon world. Set to 0 to disable."),
+                fileConfiguration, "instancedWorldPoolSize", 1);
     }
 }
@@ -25,6 +25,10 @@ public class EconomySettingsConfig extends ConfigurationFile {
     @Getter
     private static double currencyShowerMultiplier;
     @Getter
+    private static boolean useCoinPiles;
+    @Getter
+    private static int coinPileBatchTicks;
+    @Getter
     private static String chatCurrencyShowerMessage;
     @Getter
     private static String actionBarCurrencyShowerMessage;
@@ -128,6 +132,13 @@ public class EconomySettingsConfig extends ConfigurationFile {
         currencyShowerMultiplier = ConfigurationEngine.setDouble(
                 List.of("Sets the multiplier for the currency dropped by elites."),
                 fileConfiguration, "currencyShowerTierMultiplier", 1D);
+        useCoinPiles = ConfigurationEngine.setBoolean(
+                List.of("Sets if the currency shower drops a single coin pile worth the whole amount instead of one coin per denomination.",
+                        "Recommended for servers with large raids, as it cuts down on the amount of dropped items."),
+                fileConfiguration, "useCoinPiles", false);
+        coinPileBatchTicks = ConfigurationEngine.setInt(
+                List.of("Sets how long, in ticks, currency dropped for the same player gets added to the same coin pile. Only used when useCoinPiles is true."),
+                fileConfiguration, "coinPileBatchTicks", 20);
         chatCurrencyShowerMessage = ConfigurationEngine.setString(
                 List.of("Sets the message sent when players pick up elite currency."),
                 file, fileConfiguration, "chatCurrencyShowerMessage", "&7[EM] You've picked up &a$amount $currency_name!", true);
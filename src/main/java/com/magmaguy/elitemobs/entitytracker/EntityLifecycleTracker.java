@@ -0,0 +1,288 @@
+package com.magmaguy.elitemobs.entitytracker;
+
+import com.magmaguy.elitemobs.MetadataHandler;
+import com.magmaguy.elitemobs.api.internal.RemovalReason;
+import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
+import com.magmaguy.elitemobs.npcs.NPCEntity;
+import com.magmaguy.elitemobs.utils.ChunkVectorizer;
+import lombok.Getter;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityRemoveEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the elites and NPCs in {@link EntityTracker} indexed by world and chunk, so that validity checks only run for
+ * entities in chunks that just unloaded or lost an entity instead of scanning every tracked entity every tick.
+ * <p>
+ * Entities move, so the index can drift from where they really are. A slow full sweep rebuilds it from the tracker
+ * and catches anything the chunk events missed.
+ */
+public class EntityLifecycleTracker implements Listener {
+    private static final int FULL_SWEEP_INTERVAL_TICKS = 100;
+    //World UUID -> packed chunk key -> tracked UUIDs. Entries are pruned lazily once the tracker no longer has them.
+    private static final HashMap<UUID, HashMap<Long, Set<UUID>>> eliteIndex = new HashMap<>();
+    private static final HashMap<UUID, HashMap<Long, Set<UUID>>> npcIndex = new HashMap<>();
+    private static final HashMap<UUID, Set<Long>> dirtyChunks = new HashMap<>();
+    //Tracked entities that were just removed from the world, checked directly as the index may not have their chunk
+    private static final Set<EliteEntity> removedElites = new HashSet<>();
+    private static final Set<NPCEntity> removedNPCs = new HashSet<>();
+    private static BukkitTask watchdogTask = null;
+    private static int ticksSinceFullSweep = 0;
+
+    @Getter
+    private static long lastScanNanos = 0;
+    @Getter
+    private static int lastScanCheckedEntities = 0;
+    @Getter
+    private static long lastFullSweepNanos = 0;
+    @Getter
+    private static long totalChunkScans = 0;
+    @Getter
+    private static long totalWatchdogRemovals = 0;
+
+    private static long chunkKey(Location location) {
+        return ChunkVectorizer.pack(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    public static void trackElite(EliteEntity eliteEntity, LivingEntity livingEntity) {
+        if (livingEntity == null) return;
+        index(eliteIndex, eliteEntity.getEliteUUID(), livingEntity.getLocation());
+    }
+
+    public static void trackNPC(NPCEntity npcEntity) {
+        if (npcEntity.getVillager() == null) return;
+        index(npcIndex, npcEntity.getUuid(), npcEntity.getVillager().getLocation());
+    }
+
+    private static void index(HashMap<UUID, HashMap<Long, Set<UUID>>> index, UUID uuid, Location location) {
+        if (location.getWorld() == null) return;
+        index.computeIfAbsent(location.getWorld().getUID(), k -> new HashMap<>())
+                .computeIfAbsent(chunkKey(location), k -> new HashSet<>())
+                .add(uuid);
+    }
+
+    public static void markDirty(World world, int chunkX, int chunkZ) {
+        dirtyChunks.computeIfAbsent(world.getUID(), k -> new HashSet<>()).add(ChunkVectorizer.pack(chunkX, chunkZ));
+    }
+
+    public static void markDirty(World world) {
+        Set<Long> worldChunks = dirtyChunks.computeIfAbsent(world.getUID(), k -> new HashSet<>());
+        HashMap<Long, Set<UUID>> eliteChunks = eliteIndex.get(world.getUID());
+        if (eliteChunks != null) worldChunks.addAll(eliteChunks.keySet());
+        HashMap<Long, Set<UUID>> npcChunks = npcIndex.get(world.getUID());
+        if (npcChunks != null) worldChunks.addAll(npcChunks.keySet());
+    }
+
+    public static int getIndexedChunkCount() {
+        int count = 0;
+        for (HashMap<Long, Set<UUID>> chunks : eliteIndex.values()) count += chunks.size();
+        for (HashMap<Long, Set<UUID>> chunks : npcIndex.values()) count += chunks.size();
+        return count;
+    }
+
+    public static void start() {
+        if (watchdogTask != null) watchdogTask.cancel();
+        rebuildIndex();
+        watchdogTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                if (++ticksSinceFullSweep >= FULL_SWEEP_INTERVAL_TICKS) {
+                    ticksSinceFullSweep = 0;
+                    fullSweep();
+                } else if (!dirtyChunks.isEmpty() || !removedElites.isEmpty() || !removedNPCs.isEmpty())
+                    scanDirtyChunks();
+            }
+        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+    }
+
+    public static void shutdown() {
+        if (watchdogTask != null) {
+            watchdogTask.cancel();
+            watchdogTask = null;
+        }
+        eliteIndex.clear();
+        npcIndex.clear();
+        dirtyChunks.clear();
+        removedElites.clear();
+        removedNPCs.clear();
+        ticksSinceFullSweep = 0;
+    }
+
+    private static void scanDirtyChunks() {
+        long startTime = System.nanoTime();
+        HashMap<UUID, Set<Long>> toScan = new HashMap<>(dirtyChunks);
+        dirtyChunks.clear();
+        List<EliteEntity> invalidElites = new ArrayList<>();
+        List<NPCEntity> invalidNPCs = new ArrayList<>();
+        List<EliteEntity> movedElites = new ArrayList<>();
+        List<NPCEntity> movedNPCs = new ArrayList<>();
+        int checked = 0;
+        for (Map.Entry<UUID, Set<Long>> worldEntry : toScan.entrySet()) {
+            HashMap<Long, Set<UUID>> eliteChunks = eliteIndex.get(worldEntry.getKey());
+            HashMap<Long, Set<UUID>> npcChunks = npcIndex.get(worldEntry.getKey());
+            for (Long chunkKey : worldEntry.getValue()) {
+                totalChunkScans++;
+                if (eliteChunks != null) {
+                    Set<UUID> uuids = eliteChunks.get(chunkKey);
+                    if (uuids != null) {
+                        Iterator<UUID> iterator = uuids.iterator();
+                        while (iterator.hasNext()) {
+                            EliteEntity eliteEntity = EntityTracker.getEliteMobEntities().get(iterator.next());
+                            if (eliteEntity == null) {
+                                iterator.remove();
+                                continue;
+                            }
+                            checked++;
+                            LivingEntity livingEntity = eliteEntity.getLivingEntity();
+                            if (livingEntity == null) continue;
+                            if (!livingEntity.isValid()) {
+                                iterator.remove();
+                                invalidElites.add(eliteEntity);
+                            } else if (chunkKey(livingEntity.getLocation()) != chunkKey) {
+                                iterator.remove();
+                                movedElites.add(eliteEntity);
+                            }
+                        }
+                        if (uuids.isEmpty()) eliteChunks.remove(chunkKey);
+                    }
+                }
+                if (npcChunks != null) {
+                    Set<UUID> uuids = npcChunks.get(chunkKey);
+                    if (uuids != null) {
+                        Iterator<UUID> iterator = uuids.iterator();
+                        while (iterator.hasNext()) {
+                            NPCEntity npcEntity = EntityTracker.getNpcEntities().get(iterator.next());
+                            if (npcEntity == null) {
+                                iterator.remove();
+                                continue;
+                            }
+                            checked++;
+                            LivingEntity villager = npcEntity.getVillager();
+                            if (villager == null) continue;
+                            if (!villager.isValid()) {
+                                iterator.remove();
+                                invalidNPCs.add(npcEntity);
+                            } else if (chunkKey(villager.getLocation()) != chunkKey) {
+                                iterator.remove();
+                                movedNPCs.add(npcEntity);
+                            }
+                        }
+                        if (uuids.isEmpty()) npcChunks.remove(chunkKey);
+                    }
+                }
+            }
+        }
+        for (EliteEntity eliteEntity : removedElites) {
+            checked++;
+            if (eliteEntity.getLivingEntity() != null && !eliteEntity.getLivingEntity().isValid())
+                invalidElites.add(eliteEntity);
+        }
+        removedElites.clear();
+        for (NPCEntity npcEntity : removedNPCs) {
+            checked++;
+            if (npcEntity.getVillager() != null && !npcEntity.getVillager().isValid())
+                invalidNPCs.add(npcEntity);
+        }
+        removedNPCs.clear();
+        //Removal and re-indexing happen after the scan, as removing an entity can touch the tracker maps
+        for (EliteEntity eliteEntity : movedElites) trackElite(eliteEntity, eliteEntity.getLivingEntity());
+        for (NPCEntity npcEntity : movedNPCs) trackNPC(npcEntity);
+        removeInvalid(invalidElites, invalidNPCs);
+        lastScanCheckedEntities = checked;
+        lastScanNanos = System.nanoTime() - startTime;
+    }
+
+    private static void fullSweep() {
+        long startTime = System.nanoTime();
+        dirtyChunks.clear();
+        removedElites.clear();
+        removedNPCs.clear();
+        List<EliteEntity> invalidElites = new ArrayList<>();
+        List<NPCEntity> invalidNPCs = new ArrayList<>();
+        for (EliteEntity eliteEntity : EntityTracker.getEliteMobEntities().values())
+            if (eliteEntity.getLivingEntity() != null && !eliteEntity.getLivingEntity().isValid())
+                invalidElites.add(eliteEntity);
+        for (NPCEntity npcEntity : EntityTracker.getNpcEntities().values())
+            if (npcEntity.getVillager() != null && !npcEntity.getVillager().isValid())
+                invalidNPCs.add(npcEntity);
+        removeInvalid(invalidElites, invalidNPCs);
+        rebuildIndex();
+        lastScanCheckedEntities = EntityTracker.getEliteMobEntities().size() + EntityTracker.getNpcEntities().size();
+        lastFullSweepNanos = lastScanNanos = System.nanoTime() - startTime;
+    }
+
+    private static void rebuildIndex() {
+        eliteIndex.clear();
+        npcIndex.clear();
+        for (EliteEntity eliteEntity : EntityTracker.getEliteMobEntities().values())
+            trackElite(eliteEntity, eliteEntity.getLivingEntity());
+        for (NPCEntity npcEntity : EntityTracker.getNpcEntities().values())
+            trackNPC(npcEntity);
+    }
+
+    private static void removeInvalid(List<EliteEntity> invalidElites, List<NPCEntity> invalidNPCs) {
+        for (EliteEntity eliteEntity : invalidElites) {
+            //Another removal earlier in this batch may already have handled it
+            if (eliteEntity.getLivingEntity() == null) continue;
+            eliteEntity.remove(RemovalReason.CHUNK_UNLOAD);
+            totalWatchdogRemovals++;
+        }
+        for (NPCEntity npcEntity : invalidNPCs) {
+            if (npcEntity.getVillager() == null) continue;
+            npcEntity.remove(RemovalReason.CHUNK_UNLOAD);
+            totalWatchdogRemovals++;
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        markDirty(chunk.getWorld(), chunk.getX(), chunk.getZ());
+    }
+
+    //Entities unload separately from chunks on modern servers
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        Chunk chunk = event.getChunk();
+        markDirty(chunk.getWorld(), chunk.getX(), chunk.getZ());
+    }
+
+    //Runs before the tag cache drops the entity at MONITOR
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onEntityRemove(EntityRemoveEvent event) {
+        Entity entity = event.getEntity();
+        if (!(entity instanceof LivingEntity)) return;
+        EliteEntity eliteEntity = EntityTracker.getEliteMobEntity(entity);
+        if (eliteEntity != null) {
+            removedElites.add(eliteEntity);
+            return;
+        }
+        NPCEntity npcEntity = EntityTracker.getNPCEntity(entity);
+        if (npcEntity != null) removedNPCs.add(npcEntity);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        markDirty(event.getWorld());
+    }
+}
@@ -0,0 +1,220 @@
+package com.magmaguy.elitemobs.entitytracker;
+
+import com.magmaguy.elitemobs.MetadataHandler;
+import com.magmaguy.elitemobs.utils.ChunkKeyedMap;
+import com.magmaguy.elitemobs.utils.ChunkVectorizer;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntitySpawnEvent;
+import org.bukkit.event.entity.EntityTeleportEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Per-tick snapshot of the living entities of a world, bucketed in a grid of 16x16 columns. The first query of a tick
+ * walks the world's entities once and every other query in that tick, from script zones, zone listeners or nearby
+ * targets, only looks at the cells around the area it asks for.
+ * <p>
+ * Snapshots are thrown away when a new tick starts, or earlier when a living entity spawns or teleports in the world,
+ * so scripts that summon and then target entities in the same tick still see them.
+ */
+public class EntitySpatialGrid implements Listener {
+    private static final int CELL_SHIFT = 4;
+    private static final HashMap<UUID, Snapshot> snapshots = new HashMap<>();
+    private static BukkitTask tickTask = null;
+    //Plugin tick counter, also used by other per-tick caches
+    @Getter
+    private static long currentTick = 0;
+    @Getter
+    private static long snapshotBuilds = 0;
+    @Getter
+    private static long queries = 0;
+
+    /**
+     * Starts the tick counter. Started during enable so it runs before the plugin's other tasks every tick.
+     */
+    public static void start() {
+        if (tickTask != null) tickTask.cancel();
+        tickTask = Bukkit.getScheduler().runTaskTimer(MetadataHandler.PLUGIN, () -> {
+            currentTick++;
+            //Drop the old entity references instead of keeping them until the next query
+            if (!snapshots.isEmpty()) snapshots.clear();
+        }, 0, 1);
+    }
+
+    public static void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        snapshots.clear();
+    }
+
+    /**
+     * Living entities whose bounding box overlaps the area, same as {@link World#getNearbyEntities(BoundingBox)}.
+     */
+    public static List<LivingEntity> getLivingEntities(World world, BoundingBox area) {
+        List<LivingEntity> livingEntities = new ArrayList<>();
+        query(world, area, false, false, livingEntities::add);
+        return livingEntities;
+    }
+
+    /**
+     * Players whose bounding box overlaps the area.
+     */
+    public static List<Player> getPlayers(World world, BoundingBox area) {
+        List<Player> players = new ArrayList<>();
+        query(world, area, false, true, livingEntity -> players.add((Player) livingEntity));
+        return players;
+    }
+
+    /**
+     * Living entities that could be inside a shape with these bounds. Each entity is padded by half its height, as
+     * shapes measure from points like the eye or the feet instead of the bounding box, so callers still have to check
+     * the shape itself. A null area returns every living entity in the world.
+     */
+    public static void forEachCandidate(World world, BoundingBox area, boolean playersOnly, Consumer<LivingEntity> consumer) {
+        query(world, area, true, playersOnly, consumer);
+    }
+
+    private static Snapshot getSnapshot(World world) {
+        Snapshot snapshot = snapshots.get(world.getUID());
+        if (snapshot != null && snapshot.tick == currentTick) return snapshot;
+        snapshot = new Snapshot(world);
+        snapshots.put(world.getUID(), snapshot);
+        snapshotBuilds++;
+        return snapshot;
+    }
+
+    private static void query(World world, BoundingBox area, boolean padded, boolean playersOnly, Consumer<LivingEntity> consumer) {
+        queries++;
+        Snapshot snapshot = getSnapshot(world);
+        if (area == null) {
+            for (Entry entry : snapshot.entries)
+                if (entry.matches(null, padded, playersOnly)) consumer.accept(entry.livingEntity);
+            return;
+        }
+        //Entities are bucketed by their position, look far enough around the area to reach the biggest one
+        double reach = snapshot.maximumReach;
+        int minCellX = (int) Math.floor(area.getMinX() - reach) >> CELL_SHIFT;
+        int maxCellX = (int) Math.floor(area.getMaxX() + reach) >> CELL_SHIFT;
+        int minCellZ = (int) Math.floor(area.getMinZ() - reach) >> CELL_SHIFT;
+        int maxCellZ = (int) Math.floor(area.getMaxZ() + reach) >> CELL_SHIFT;
+        //Huge areas are cheaper to handle by going through the entities directly
+        if ((long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1) > snapshot.cells.size()) {
+            for (Entry entry : snapshot.entries)
+                if (entry.matches(area, padded, playersOnly)) consumer.accept(entry.livingEntity);
+            return;
+        }
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++)
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                List<Entry> cell = snapshot.cells.get(ChunkVectorizer.pack(cellX, cellZ));
+                if (cell == null) continue;
+                for (Entry entry : cell)
+                    if (entry.matches(area, padded, playersOnly)) consumer.accept(entry.livingEntity);
+            }
+    }
+
+    private static void invalidate(World world) {
+        if (world != null && !snapshots.isEmpty()) snapshots.remove(world.getUID());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSpawn(EntitySpawnEvent event) {
+        if (event.getEntity() instanceof LivingEntity) invalidate(event.getLocation().getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(EntityTeleportEvent event) {
+        invalidate(event.getFrom().getWorld());
+        if (event.getTo() != null) invalidate(event.getTo().getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        invalidate(event.getFrom().getWorld());
+        if (event.getTo() != null) invalidate(event.getTo().getWorld());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        invalidate(event.getWorld());
+    }
+
+    private static class Snapshot {
+        private final long tick = currentTick;
+        private final List<Entry> entries;
+        private final ChunkKeyedMap<List<Entry>> cells = new ChunkKeyedMap<>();
+        private double maximumReach = 0;
+
+        private Snapshot(World world) {
+            List<LivingEntity> livingEntities = world.getLivingEntities();
+            entries = new ArrayList<>(livingEntities.size());
+            for (LivingEntity livingEntity : livingEntities) {
+                Entry entry = new Entry(livingEntity);
+                entries.add(entry);
+                long key = ChunkVectorizer.pack((int) Math.floor(entry.x) >> CELL_SHIFT, (int) Math.floor(entry.z) >> CELL_SHIFT);
+                List<Entry> cell = cells.get(key);
+                if (cell == null) {
+                    cell = new ArrayList<>();
+                    cells.put(key, cell);
+                }
+                cell.add(entry);
+                maximumReach = Math.max(maximumReach, entry.reach());
+            }
+        }
+    }
+
+    private static class Entry {
+        private final LivingEntity livingEntity;
+        private final boolean player;
+        private final double x;
+        private final double z;
+        private final double minX, minY, minZ, maxX, maxY, maxZ;
+        private final double padding;
+
+        private Entry(LivingEntity livingEntity) {
+            this.livingEntity = livingEntity;
+            this.player = livingEntity instanceof Player;
+            BoundingBox boundingBox = livingEntity.getBoundingBox();
+            this.minX = boundingBox.getMinX();
+            this.minY = boundingBox.getMinY();
+            this.minZ = boundingBox.getMinZ();
+            this.maxX = boundingBox.getMaxX();
+            this.maxY = boundingBox.getMaxY();
+            this.maxZ = boundingBox.getMaxZ();
+            this.x = boundingBox.getCenterX();
+            this.z = boundingBox.getCenterZ();
+            this.padding = boundingBox.getHeight() / 2D;
+        }
+
+        //How far the padded bounding box reaches from the position the entity is bucketed at
+        private double reach() {
+            return Math.max(maxX - x, maxZ - z) + padding;
+        }
+
+        private boolean matches(BoundingBox area, boolean padded, boolean playersOnly) {
+            if (playersOnly && !player) return false;
+            if (!livingEntity.isValid()) return false;
+            if (area == null) return true;
+            double pad = padded ? padding : 0;
+            return minX - pad < area.getMaxX() && maxX + pad > area.getMinX() &&
+                    minY - pad < area.getMaxY() && maxY + pad > area.getMinY() &&
+                    minZ - pad < area.getMaxZ() && maxZ + pad > area.getMinZ();
+        }
+    }
+}
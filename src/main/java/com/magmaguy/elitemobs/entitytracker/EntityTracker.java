@@ -26,7 +26,6 @@ import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.entity.EntityRemoveEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import javax.annotation.Nullable;
 import java.util.HashMap;
@@ -48,6 +47,7 @@ public class EntityTracker implements Listener {
         if (eliteMobSpawnEvent.isCancelled()) return;
         PersistentTagger.tagElite(eliteEntity.getLivingEntity(), eliteEntity.getEliteUUID());
         eliteMobEntities.put(eliteEntity.getEliteUUID(), eliteEntity);
+        EntityLifecycleTracker.trackElite(eliteEntity, eliteEntity.getLivingEntity());
     }
 
     public static void registerEliteMob(EliteEntity eliteEntity, LivingEntity livingEntity) {
@@ -56,6 +56,7 @@ public class EntityTracker implements Listener {
         if (eliteMobSpawnEvent.isCancelled()) return;
         PersistentTagger.tagElite(livingEntity, eliteEntity.getEliteUUID());
         eliteMobEntities.put(eliteEntity.getEliteUUID(), eliteEntity);
+        EntityLifecycleTracker.trackElite(eliteEntity, livingEntity);
     }
 
     public static boolean isEliteMob(Entity entity) {
@@ -67,8 +68,6 @@ public class EntityTracker implements Listener {
         return PersistentTagger.getEliteEntity(entity);
     }
 
-    private static BukkitTask ManagedEntityTask = null;
-
     public static void registerVisualEffects(Entity entity) {
         PersistentTagger.tagVisualEffect(entity);
     }
@@ -91,6 +90,7 @@ public class EntityTracker implements Listener {
         if (npcEntitySpawnEvent.isCancelled()) return;
         npcEntities.put(npc.getUuid(), npc);
         PersistentTagger.tagNPC(npc.getVillager(), npc.getUuid());
+        EntityLifecycleTracker.trackNPC(npc);
     }
 
     public static boolean isNPCEntity(Entity entity) {
@@ -197,8 +197,7 @@ public class EntityTracker implements Listener {
 //    }
 
     public static void wipeShutdown() {
-        if (ManagedEntityTask != null)
-            ManagedEntityTask.cancel();
+        EntityLifecycleTracker.shutdown();
         for (EliteEntity eliteEntity : ((HashMap<UUID, EliteEntity>) eliteMobEntities.clone()).values())
             eliteEntity.remove(RemovalReason.SHUTDOWN);
         getEliteMobEntities().clear();
@@ -231,25 +230,9 @@ public class EntityTracker implements Listener {
 
     //After many years of trying to make the chunk unload event work, I gave up and am now using a clock instead.
     //There's just too many bugs with how the chunk unloading works, unfortunately
+    //The clock now only rechecks entities in chunks flagged by chunk events, with a slow full sweep as the safety net
     public static void managedEntityWatchdog() {
-        ManagedEntityTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                // Safely iterate over eliteMobEntities by cloning the values first to avoid CME
-                new HashSet<>(eliteMobEntities.values()).forEach(value -> {
-                    if (value.getLivingEntity() != null && !value.getLivingEntity().isValid()) {
-                        value.remove(RemovalReason.CHUNK_UNLOAD);
-                    }
-                });
-
-                // Safely iterate over npcEntities by cloning the values first to avoid CME
-                new HashSet<>(npcEntities.values()).forEach(value -> {
-                    if (value.getVillager() != null && !value.getVillager().isValid()) {
-                        value.remove(RemovalReason.CHUNK_UNLOAD);
-                    }
-                });
-            }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0,1);
+        EntityLifecycleTracker.start();
     }
 
     @EventHandler(ignoreCancelled = true)
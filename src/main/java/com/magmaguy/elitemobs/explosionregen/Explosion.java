@@ -11,6 +11,7 @@ import com.magmaguy.elitemobs.entitytracker.EntityTracker;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.thirdparty.worldguard.WorldGuardFlagChecker;
 import com.magmaguy.elitemobs.utils.EntityFinder;
+import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -27,37 +28,108 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.*;
 
+/**
+ * Blocks blown up by elites, restored bottom to top after a delay.
+ * <p>
+ * All pending explosions share a single regeneration task, which restores up to a configured amount of blocks per tick
+ * spread evenly between the explosions that are due. Pending explosions are also written to the
+ * {@link ExplosionRegenJournal} so they still get restored if the server stops without a normal shutdown.
+ */
 public class Explosion {
 
-    private static final HashSet<Explosion> explosions = new HashSet<>();
+    private static final List<Explosion> explosions = new ArrayList<>();
+    private static int regenerationCursor = 0;
+    private static final long delayBeforeRegenMillis = 2 * 60 * 1000L;
+    private static BukkitTask regenerationTask = null;
+    private static long nextId = 0;
     public final List<BlockState> detonatedBlocks = new ArrayList<>();
-    private final int delayBeforeRegen = 2;
+    @Getter
+    private long id;
+    @Getter
     private UUID worldUUID;
+    //Blocks are restored in list order, everything before this index is already back
+    @Getter
+    private int restoredBlocks = 0;
+    private long regenerationTime;
+    private boolean progressed = false;
 
     public Explosion(List<BlockState> detonatedBlocks) {
         if (detonatedBlocks == null || detonatedBlocks.isEmpty()) return;
         //sort blocks bottom to top
-        HashMap<BlockState, Integer> unsortedBlocks = new HashMap<>();
-        for (BlockState blockState : detonatedBlocks)
-            unsortedBlocks.put(blockState, blockState.getY());
-
-        unsortedBlocks.entrySet().stream().sorted(Map.Entry.comparingByValue())
-                .forEachOrdered(x -> this.detonatedBlocks.add(x.getKey()));
+        this.detonatedBlocks.addAll(detonatedBlocks);
+        this.detonatedBlocks.sort(Comparator.comparingInt(BlockState::getY));
 
+        id = nextId++;
         worldUUID = detonatedBlocks.get(0).getWorld().getUID();
+        regenerationTime = System.currentTimeMillis() + delayBeforeRegenMillis;
 
         explosions.add(this);
-        regenerate();
+        ExplosionRegenJournal.logExplosion(this);
+        ExplosionRegenJournal.flush();
+        startRegenerationTask();
+    }
+
+    /**
+     * Restores the explosions that were still pending when the server last stopped. Runs once worlds are loaded.
+     */
+    public static void initialize() {
+        ExplosionRegenJournal.initialize();
     }
 
     public static void regenerateAllPendingBlocks() {
         for (Explosion explosion : explosions)
             explosion.resetAllBlocks();
+        explosions.clear();
+        if (regenerationTask != null) regenerationTask.cancel();
+        regenerationTask = null;
+        ExplosionRegenJournal.shutdown();
+    }
+
+    private static void startRegenerationTask() {
+        if (regenerationTask != null) return;
+        regenerationTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                regenerationTick();
+            }
+        }.runTaskTimer(MetadataHandler.PLUGIN, 1, 1);
+    }
+
+    private static void regenerationTick() {
+        long now = System.currentTimeMillis();
+        int budget = Math.max(1, DefaultConfig.getExplosionRegenBlocksPerTick());
+        //Each due explosion restores one block per tick like it always did, the budget only caps the total when many
+        //explosions regenerate at once. The starting point rotates so explosions past the budget do not wait forever.
+        int size = explosions.size();
+        int start = size == 0 ? 0 : regenerationCursor % size;
+        for (int i = 0; i < size && budget > 0; i++) {
+            Explosion explosion = explosions.get((start + i) % size);
+            if (explosion.regenerationTime > now || explosion.isDone()) continue;
+            explosion.restoreNextBlock();
+            budget--;
+            regenerationCursor = start + i + 1;
+        }
+
+        Iterator<Explosion> iterator = explosions.iterator();
+        while (iterator.hasNext()) {
+            Explosion explosion = iterator.next();
+            if (!explosion.progressed) continue;
+            explosion.progressed = false;
+            ExplosionRegenJournal.logProgress(explosion);
+            if (explosion.isDone()) iterator.remove();
+        }
+
+        if (explosions.isEmpty()) {
+            regenerationTask.cancel();
+            regenerationTask = null;
+            ExplosionRegenJournal.reset();
+        } else ExplosionRegenJournal.flush();
     }
 
     public static void generateFakeExplosion(List<Block> blockList, Entity entity, PowersConfigFields powersConfigFields, Location explosionSourceLocation) {
@@ -80,6 +152,7 @@ public class Explosion {
             return;
 
         ArrayList<BlockState> blockStates = new ArrayList<>();
+        HashSet<Long> scannedBlocks = new HashSet<>();
 
         for (Block block : blockList) {
             if (block.getType().isAir() ||
@@ -87,7 +160,7 @@ public class Explosion {
                     block.isLiquid() ||
                     EntityTracker.isTemporaryBlock(block))
                 continue;
-            nearbyBlockScan(blockStates, block.getState());
+            nearbyBlockScan(blockStates, scannedBlocks, block);
         }
 
         Entity shooter = EntityFinder.filterRangedDamagers(entity);
@@ -131,25 +204,36 @@ public class Explosion {
      * This scans the blocks adjacent to the block getting blown up. This is because certain blocks like ladders will break
      * when lacking the support of the source block
      *
-     * @param blockState
+     * @param scannedBlocks Positions already queued by this explosion, see {@link #packBlock(Block)}
      */
-    private static void nearbyBlockScan(ArrayList<BlockState> blockStates, BlockState blockState) {
-        queueBlock(blockStates, blockState);
-        for (int x = -1; x < 2; x++)
-            for (int y = -1; y < 2; y++)
-                for (int z = -1; z < 2; z++) {
-                    Location blockLocation = blockState.getLocation().clone().add(new Vector(x, y, z));
-                    BlockState iteratedBlockState = blockLocation.getBlock().getState();
-                    if (blockStates.contains(iteratedBlockState)) continue;
-                    if (!isCodependentBlock(iteratedBlockState, y)) continue;
-                    nearbyBlockScan(blockStates, iteratedBlockState);
-                }
+    private static void nearbyBlockScan(ArrayList<BlockState> blockStates, HashSet<Long> scannedBlocks, Block sourceBlock) {
+        if (!scannedBlocks.add(packBlock(sourceBlock))) return;
+        ArrayDeque<Block> pendingBlocks = new ArrayDeque<>();
+        pendingBlocks.add(sourceBlock);
+        while (!pendingBlocks.isEmpty()) {
+            Block block = pendingBlocks.poll();
+            queueBlock(blockStates, block.getState());
+            for (int x = -1; x < 2; x++)
+                for (int y = -1; y < 2; y++)
+                    for (int z = -1; z < 2; z++) {
+                        Block iteratedBlock = block.getRelative(x, y, z);
+                        //Only the type is needed to check codependency, block states are only made for queued blocks
+                        if (!isCodependentBlock(iteratedBlock.getType(), y)) continue;
+                        if (!scannedBlocks.add(packBlock(iteratedBlock))) continue;
+                        pendingBlocks.add(iteratedBlock);
+                    }
+        }
     }
 
-    private static boolean isCodependentBlock(BlockState blockState, int y) {
+    //Same layout as Minecraft's own block positions, 26 bits for x and z and 12 for y
+    private static long packBlock(Block block) {
+        return ((long) block.getX() & 0x3FFFFFFL) << 38 | ((long) block.getZ() & 0x3FFFFFFL) << 12 | (block.getY() & 0xFFFL);
+    }
+
+    private static boolean isCodependentBlock(Material material, int y) {
         //Getter for blocks that will break if the block below breaks
         if (y == 1) {
-            switch (blockState.getType()) {
+            switch (material) {
                 case SUGAR_CANE:
                 case STRUCTURE_BLOCK:
                 case TALL_GRASS:
@@ -204,13 +288,13 @@ public class Explosion {
 
         //Getter for blocks that will break if the block above goes away
         if (y == -1) {
-            if (blockState.getType() == Material.VINE) {
+            if (material == Material.VINE) {
                 return true;
             }
         }
 
         //Generic getter for codependent blocks, blocks that would break if the adjacent block breaks
-        switch (blockState.getType()) {
+        switch (material) {
             case PAINTING:
             case LADDER:
             case LANTERN:
@@ -253,33 +337,23 @@ public class Explosion {
     }
 
     public void resetAllBlocks() {
-        for (BlockState blockState : detonatedBlocks)
-            fullBlockRestore(blockState, true);
+        while (!isDone())
+            restoreNextBlock();
         detonatedBlocks.clear();
+        restoredBlocks = 0;
     }
 
-    public void regenerate() {
-
-        Explosion explosion = this;
-
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (detonatedBlocks.isEmpty()) {
-                    explosions.remove(explosion);
-                    cancel();
-                    return;
-                }
-
-                BlockState firstBlock = detonatedBlocks.get(0);
-                fullBlockRestore(firstBlock, false);
-
-            }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 20 * 60 * delayBeforeRegen, 1);
+    private boolean isDone() {
+        return restoredBlocks >= detonatedBlocks.size();
+    }
 
+    private void restoreNextBlock() {
+        fullBlockRestore(detonatedBlocks.get(restoredBlocks));
+        restoredBlocks++;
+        progressed = true;
     }
 
-    private void fullBlockRestore(BlockState blockState, boolean isShutdown) {
+    private void fullBlockRestore(BlockState blockState) {
 
         //Things like instanced dungeons can unload in the meanwhile
         if (Bukkit.getWorld(worldUUID) == null) return;
@@ -313,8 +387,6 @@ public class Explosion {
         }
 
         blockState.update(true);
-        if (!isShutdown)
-            detonatedBlocks.remove(blockState);
     }
 
     public static class ExplosionEvent implements Listener {
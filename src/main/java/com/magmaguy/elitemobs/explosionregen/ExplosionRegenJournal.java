@@ -0,0 +1,270 @@
+package com.magmaguy.elitemobs.explosionregen;
+
+import com.magmaguy.elitemobs.MetadataHandler;
+import com.magmaguy.magmacore.util.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Container;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Append-only file of the explosions that are still regenerating, so a crash does not leave craters behind.
+ * <p>
+ * Each explosion is written once, with the original state of all of its blocks, when it happens. As blocks get restored
+ * the journal only gets the number of blocks of that explosion restored so far. On startup any explosion that did not
+ * finish gets restored right away and the journal starts over empty. It also starts over whenever every explosion is
+ * done regenerating, so it never grows past the explosions that are currently pending.
+ * <p>
+ * Only block data and container contents are kept. Other block entity data, like sign text, is lost if the server stops
+ * without going through a normal shutdown.
+ */
+public class ExplosionRegenJournal {
+    private static final byte[] MAGIC = {'E', 'M', 'R'};
+    private static final byte VERSION = 1;
+    private static final byte EXPLOSION = 1;
+    private static final byte PROGRESS = 2;
+    private static DataOutputStream outputStream = null;
+    private static boolean dirty = false;
+
+    private ExplosionRegenJournal() {
+    }
+
+    private static File getFile() {
+        return new File(MetadataHandler.PLUGIN.getDataFolder(), "data" + File.separatorChar + "explosion_regen.journal");
+    }
+
+    /**
+     * Restores the explosions left over by the last run and opens a fresh journal. Worlds must be loaded at this point.
+     */
+    public static void initialize() {
+        File file = getFile();
+        if (file.exists()) replay(file);
+        reset();
+    }
+
+    public static void logExplosion(Explosion explosion) {
+        if (outputStream == null) return;
+        try {
+            //Written to memory first so a failure halfway through never leaves a partial record in the file
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            DataOutputStream recordStream = new DataOutputStream(record);
+            recordStream.writeByte(EXPLOSION);
+            recordStream.writeLong(explosion.getId());
+            recordStream.writeLong(explosion.getWorldUUID().getMostSignificantBits());
+            recordStream.writeLong(explosion.getWorldUUID().getLeastSignificantBits());
+            recordStream.writeInt(explosion.detonatedBlocks.size());
+            for (BlockState blockState : explosion.detonatedBlocks) {
+                recordStream.writeInt(blockState.getX());
+                recordStream.writeInt(blockState.getY());
+                recordStream.writeInt(blockState.getZ());
+                recordStream.writeUTF(blockState.getBlockData().getAsString());
+                if (blockState instanceof Container container) {
+                    byte[] contents = writeContents(container.getSnapshotInventory().getContents());
+                    recordStream.writeInt(contents.length);
+                    recordStream.write(contents);
+                } else recordStream.writeInt(-1);
+            }
+            recordStream.close();
+            record.writeTo(outputStream);
+            dirty = true;
+        } catch (IOException exception) {
+            fail(exception);
+        }
+    }
+
+    public static void logProgress(Explosion explosion) {
+        if (outputStream == null) return;
+        try {
+            outputStream.writeByte(PROGRESS);
+            outputStream.writeLong(explosion.getId());
+            outputStream.writeInt(explosion.getRestoredBlocks());
+            dirty = true;
+        } catch (IOException exception) {
+            fail(exception);
+        }
+    }
+
+    /**
+     * Writes what was logged since the last flush to the file. Called once per tick by the regeneration task.
+     */
+    public static void flush() {
+        if (outputStream == null || !dirty) return;
+        try {
+            outputStream.flush();
+            dirty = false;
+        } catch (IOException exception) {
+            fail(exception);
+        }
+    }
+
+    /**
+     * Empties the journal. Only call when no explosion is pending.
+     */
+    public static void reset() {
+        close();
+        File file = getFile();
+        file.getParentFile().mkdirs();
+        try {
+            outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, false)));
+            outputStream.write(MAGIC);
+            outputStream.writeByte(VERSION);
+            outputStream.flush();
+        } catch (IOException exception) {
+            fail(exception);
+        }
+    }
+
+    /**
+     * Closes the journal and deletes it. Only call once every pending block has been restored.
+     */
+    public static void shutdown() {
+        close();
+        File file = getFile();
+        if (file.exists() && !file.delete())
+            Logger.warn("Failed to delete the explosion regen journal, blocks it lists may get restored again on the next startup.");
+    }
+
+    private static void close() {
+        if (outputStream == null) return;
+        try {
+            outputStream.close();
+        } catch (IOException exception) {
+            Logger.warn("Failed to close the explosion regen journal: " + exception.getMessage());
+        }
+        outputStream = null;
+        dirty = false;
+    }
+
+    private static void fail(IOException exception) {
+        Logger.warn("Failed to write the explosion regen journal, pending explosions will not be restored if the server crashes: " + exception.getMessage());
+        close();
+    }
+
+    private static void replay(File file) {
+        HashMap<Long, PendingExplosion> pendingExplosions = new HashMap<>();
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            for (byte magicByte : MAGIC)
+                if (inputStream.readByte() != magicByte) throw new IOException("not an explosion regen journal");
+            byte version = inputStream.readByte();
+            if (version > VERSION)
+                throw new IOException("journal was written by a newer EliteMobs version (format " + version + ")");
+            //The last record can be cut short if the server crashed while writing it, everything before it is still good
+            try {
+                while (true) {
+                    byte recordType = inputStream.readByte();
+                    if (recordType == EXPLOSION) {
+                        PendingExplosion pendingExplosion = readExplosion(inputStream);
+                        pendingExplosions.put(pendingExplosion.id, pendingExplosion);
+                    } else if (recordType == PROGRESS) {
+                        long id = inputStream.readLong();
+                        int restoredBlocks = inputStream.readInt();
+                        PendingExplosion pendingExplosion = pendingExplosions.get(id);
+                        if (pendingExplosion != null) pendingExplosion.restoredBlocks = restoredBlocks;
+                    } else throw new IOException("unknown record type " + recordType);
+                }
+            } catch (EOFException ignored) {
+                //End of the journal
+            }
+        } catch (IOException exception) {
+            Logger.warn("Failed to read the explosion regen journal, some blocks might not be restored: " + exception.getMessage());
+        }
+
+        int restoredBlockCount = 0;
+        for (PendingExplosion pendingExplosion : pendingExplosions.values())
+            restoredBlockCount += pendingExplosion.restore();
+        if (restoredBlockCount > 0)
+            Logger.info("Restored " + restoredBlockCount + " blocks from elite explosions that had not regenerated before the last shutdown.");
+    }
+
+    private static PendingExplosion readExplosion(DataInputStream inputStream) throws IOException {
+        PendingExplosion pendingExplosion = new PendingExplosion(inputStream.readLong(), new UUID(inputStream.readLong(), inputStream.readLong()));
+        int blockCount = inputStream.readInt();
+        for (int i = 0; i < blockCount; i++) {
+            PendingBlock pendingBlock = new PendingBlock(inputStream.readInt(), inputStream.readInt(), inputStream.readInt(), inputStream.readUTF());
+            int contentsLength = inputStream.readInt();
+            if (contentsLength >= 0) {
+                pendingBlock.contents = new byte[contentsLength];
+                inputStream.readFully(pendingBlock.contents);
+            }
+            pendingExplosion.blocks.add(pendingBlock);
+        }
+        return pendingExplosion;
+    }
+
+    private static byte[] writeContents(ItemStack[] contents) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        BukkitObjectOutputStream dataOutput = new BukkitObjectOutputStream(byteArrayOutputStream);
+        dataOutput.writeInt(contents.length);
+        for (ItemStack itemStack : contents) dataOutput.writeObject(itemStack);
+        dataOutput.close();
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    private static ItemStack[] readContents(byte[] contents) throws IOException {
+        try (BukkitObjectInputStream dataInput = new BukkitObjectInputStream(new ByteArrayInputStream(contents))) {
+            ItemStack[] itemStacks = new ItemStack[dataInput.readInt()];
+            for (int i = 0; i < itemStacks.length; i++) itemStacks[i] = (ItemStack) dataInput.readObject();
+            return itemStacks;
+        } catch (ClassNotFoundException exception) {
+            throw new IOException("Unable to decode class type.", exception);
+        }
+    }
+
+    private static class PendingExplosion {
+        private final long id;
+        private final UUID worldUUID;
+        private final List<PendingBlock> blocks = new ArrayList<>();
+        private int restoredBlocks = 0;
+
+        private PendingExplosion(long id, UUID worldUUID) {
+            this.id = id;
+            this.worldUUID = worldUUID;
+        }
+
+        private int restore() {
+            //Things like instanced dungeons do not come back after a restart
+            World world = Bukkit.getWorld(worldUUID);
+            if (world == null) return 0;
+            int count = 0;
+            //Blocks are stored bottom to top, same as the regular regeneration order
+            for (int i = restoredBlocks; i < blocks.size(); i++) {
+                PendingBlock pendingBlock = blocks.get(i);
+                try {
+                    Block block = world.getBlockAt(pendingBlock.x, pendingBlock.y, pendingBlock.z);
+                    block.setBlockData(Bukkit.createBlockData(pendingBlock.blockData), false);
+                    if (pendingBlock.contents != null && block.getState() instanceof Container container)
+                        container.getInventory().setContents(readContents(pendingBlock.contents));
+                    count++;
+                } catch (Exception exception) {
+                    Logger.warn("Failed to restore block " + pendingBlock.blockData + " at " + pendingBlock.x + ", " + pendingBlock.y + ", " + pendingBlock.z + " from the explosion regen journal: " + exception.getMessage());
+                }
+            }
+            return count;
+        }
+    }
+
+    private static class PendingBlock {
+        private final int x;
+        private final int y;
+        private final int z;
+        private final String blockData;
+        private byte[] contents = null;
+
+        private PendingBlock(int x, int y, int z, String blockData) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.blockData = blockData;
+        }
+    }
+}
@@ -14,11 +14,61 @@ import com.magmaguy.elitemobs.utils.AttributeManager;
 import com.magmaguy.elitemobs.utils.EventCaller;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 
+import java.util.*;
+
 public class InstancePlayerManager {
 
+    //Instance each player or spectator is in, kept in sync with the player and spectator sets of the instances
+    private static final HashMap<UUID, MatchInstance> playerInstances = new HashMap<>();
+    //Instances by the world of their start location, arenas can share a world
+    private static final HashMap<UUID, List<MatchInstance>> worldInstances = new HashMap<>();
+
+    static MatchInstance getInstance(Player player) {
+        return playerInstances.get(player.getUniqueId());
+    }
+
+    static List<MatchInstance> getWorldInstances(World world) {
+        if (world == null) return Collections.emptyList();
+        return worldInstances.getOrDefault(world.getUID(), Collections.emptyList());
+    }
+
+    static void registerInstance(MatchInstance matchInstance) {
+        World world = matchInstance.getRegionWorld();
+        if (world == null) return;
+        worldInstances.computeIfAbsent(world.getUID(), k -> new ArrayList<>()).add(matchInstance);
+    }
+
+    static void unregisterInstance(MatchInstance matchInstance) {
+        World world = matchInstance.getRegionWorld();
+        if (world == null) return;
+        List<MatchInstance> matchInstances = worldInstances.get(world.getUID());
+        if (matchInstances == null) return;
+        matchInstances.remove(matchInstance);
+        if (matchInstances.isEmpty()) worldInstances.remove(world.getUID());
+    }
+
+    static void shutdown() {
+        playerInstances.clear();
+        worldInstances.clear();
+    }
+
+    private static void updateIndex(Player player, MatchInstance matchInstance) {
+        if (matchInstance.players.contains(player) || matchInstance.spectators.contains(player))
+            playerInstances.put(player.getUniqueId(), matchInstance);
+        else playerInstances.remove(player.getUniqueId(), matchInstance);
+    }
+
+    static void clearPlayers(MatchInstance matchInstance) {
+        matchInstance.players.forEach(player -> playerInstances.remove(player.getUniqueId(), matchInstance));
+        matchInstance.spectators.forEach(player -> playerInstances.remove(player.getUniqueId(), matchInstance));
+        matchInstance.players.clear();
+        matchInstance.spectators.clear();
+    }
+
     public static boolean addNewPlayer(Player player, MatchInstance matchInstance) {
         MatchJoinEvent event = new MatchJoinEvent(matchInstance, player);
         if (event.isCancelled()) return false;
@@ -40,6 +90,7 @@ public class InstancePlayerManager {
         //Add the player to the relevant fields
         matchInstance.participants.add(player);
         matchInstance.players.add(player);
+        updateIndex(player, matchInstance);
         PlayerData.setMatchInstance(player, matchInstance);
         player.sendMessage(ArenasConfig.getArenaJoinPlayerMessage().replace("$count", matchInstance.minPlayers + ""));
         player.sendTitle(ArenasConfig.getJoinPlayerTitle(), ArenasConfig.getJoinPlayerSubtitle(), 60, 60 * 3, 60);
@@ -76,6 +127,7 @@ public class InstancePlayerManager {
         //Remove match instance where needed
         PlayerData.setMatchInstance(player, null);
         matchInstance.players.remove(player);
+        updateIndex(player, matchInstance);
         if (!matchInstance.spectators.contains(player)) {
             matchInstance.participants.remove(player);
             PlayerData.setMatchInstance(player, null);
@@ -111,6 +163,7 @@ public class InstancePlayerManager {
         AlternativeDurabilityLoss.doDurabilityLoss(player);
         AttributeManager.setAttribute(player, "generic_max_health", AttributeManager.getAttributeBaseValue(player, "generic_max_health"));
         matchInstance.players.remove(player);
+        updateIndex(player, matchInstance);
         if (matchInstance.players.isEmpty()) {
             matchInstance.defeat();
             MatchInstance.MatchInstanceEvents.teleportBypass = true;
@@ -131,6 +184,7 @@ public class InstancePlayerManager {
         matchInstance.players.add(player);
         player.setGameMode(GameMode.SURVIVAL);
         matchInstance.spectators.remove(player);
+        updateIndex(player, matchInstance);
         MatchInstance.MatchInstanceEvents.teleportBypass = true;
         player.teleport(deathLocation.getBannerBlock().getLocation());
         PlayerData.setMatchInstance(player, matchInstance);
@@ -144,6 +198,7 @@ public class InstancePlayerManager {
         player.sendMessage(ArenasConfig.getArenaJoinSpectatorMessage());
         player.sendTitle(ArenasConfig.getJoinSpectatorTitle(), ArenasConfig.getJoinSpectatorSubtitle(), 60, 60 * 3, 60);
         matchInstance.spectators.add(player);
+        updateIndex(player, matchInstance);
         player.setGameMode(GameMode.SPECTATOR);
         if (!wasPlayer) {
             MatchInstance.MatchInstanceEvents.teleportBypass = true;
@@ -154,6 +209,7 @@ public class InstancePlayerManager {
 
     public static void removeSpectator(MatchInstance matchInstance, Player player) {
         matchInstance.spectators.remove(player);
+        updateIndex(player, matchInstance);
         if (!matchInstance.players.contains(player)) {
             PlayerData.setMatchInstance(player, null);
             matchInstance.participants.remove(player);
@@ -176,6 +232,7 @@ public class InstancePlayerManager {
         if (matchInstance.players.contains(player)) matchInstance.removePlayer(player);
         if (matchInstance.spectators.contains(player)) matchInstance.removeSpectator(player);
         matchInstance.participants.remove(player);
+        updateIndex(player, matchInstance);
         PlayerData.setMatchInstance(player, null);
     }
 
@@ -11,7 +11,6 @@ import com.magmaguy.elitemobs.config.DefaultConfig;
 import com.magmaguy.elitemobs.playerdata.database.PlayerData;
 import com.magmaguy.magmacore.util.ChatColorConverter;
 import lombok.Getter;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.block.Block;
@@ -23,10 +22,14 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockDamageEvent;
 import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -34,6 +37,7 @@ import java.util.Map;
 public abstract class MatchInstance {
 
     protected static final HashSet<MatchInstance> instances = new HashSet<>();
+    private static BukkitTask watchdogTask = null;
     @Getter
     protected final HashMap<Block, InstanceDeathLocation> deathBanners = new HashMap<>();
     @Getter
@@ -70,41 +74,71 @@ public abstract class MatchInstance {
         this.minPlayers = minPlayers;
         this.maxPlayers = maxPlayers;
 
-        startWatchdogs();
+        startWatchdog();
         instanceMessages();
         instances.add(this);
+        InstancePlayerManager.registerInstance(this);
     }
 
     public static void shutdown() {
         HashSet<MatchInstance> cloneInstance = new HashSet<>(instances);
         cloneInstance.forEach(MatchInstance::destroyMatch);
         instances.clear();
+        InstancePlayerManager.shutdown();
+        watchdogTask = null;
     }
 
     public static MatchInstance getPlayerInstance(Player player) {
-        for (MatchInstance matchInstance : instances)
-            for (Player iteratedPlayer : matchInstance.players)
-                if (iteratedPlayer.equals(player)) return matchInstance;
+        MatchInstance matchInstance = InstancePlayerManager.getInstance(player);
+        if (matchInstance != null && matchInstance.players.contains(player)) return matchInstance;
         return null;
     }
 
     public static MatchInstance getSpectatorInstance(Player player) {
-        for (MatchInstance matchInstance : instances)
-            for (Player iteratedPlayer : matchInstance.spectators)
-                if (iteratedPlayer.equals(player)) return matchInstance;
+        MatchInstance matchInstance = InstancePlayerManager.getInstance(player);
+        if (matchInstance != null && matchInstance.spectators.contains(player)) return matchInstance;
         return null;
     }
 
     public static MatchInstance getAnyPlayerInstance(Player player) {
-        for (MatchInstance matchInstance : instances) {
-            for (Player iteratedPlayer : matchInstance.players)
-                if (iteratedPlayer.equals(player)) return matchInstance;
-            for (Player iteratedPlayer : matchInstance.spectators)
-                if (iteratedPlayer.equals(player)) return matchInstance;
-        }
+        return InstancePlayerManager.getInstance(player);
+    }
+
+    /**
+     * Finds the ongoing instance a player would be intruding on at a location, if any.
+     */
+    private static MatchInstance getIntrudedInstance(Player player, Location location) {
+        if (location == null) return null;
+        for (MatchInstance matchInstance : InstancePlayerManager.getWorldInstances(location.getWorld()))
+            if (matchInstance.isIntruder(player, location)) return matchInstance;
         return null;
     }
 
+    private static void startWatchdog() {
+        if (watchdogTask != null) return;
+        watchdogTask = new WatchdogTask().runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+    }
+
+    /**
+     * World the instance takes place in, used to look up the instances a location can be in.
+     */
+    World getRegionWorld() {
+        return startLocation == null ? null : startLocation.getWorld();
+    }
+
+    /**
+     * Instances that span their whole world can only be entered by teleporting or changing worlds, which is caught by
+     * events. Others, like arenas, can be walked into and get their world checked for intruders every tick.
+     */
+    protected boolean coversWholeWorld() {
+        return false;
+    }
+
+    protected void removeFromInstances() {
+        instances.remove(this);
+        InstancePlayerManager.unregisterInstance(this);
+    }
+
     public boolean addNewPlayer(Player player) {
         new MatchJoinEvent(this, player);
         return InstancePlayerManager.addNewPlayer(player, this);
@@ -137,10 +171,6 @@ public abstract class MatchInstance {
         InstancePlayerManager.removeAnyKind(this, player);
     }
 
-    private void startWatchdogs() {
-        new WatchdogTask().runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
-    }
-
     public void countdownMatch() {
         if (state != InstancedRegionState.WAITING) return;
         if (players.size() < minPlayers) {
@@ -173,18 +203,28 @@ public abstract class MatchInstance {
 
     private void intruderWatchdog() {
         if (state != InstancedRegionState.ONGOING) return;
-        for (Player player : Bukkit.getOnlinePlayers())
-            if (!players.contains(player) &&
-                    !spectators.contains(player) &&
-                    !player.hasPermission("elitemobs.*") &&
-                    isInRegion(player.getLocation())) {
-                MatchInstanceEvents.teleportBypass = true;
-                if (exitLocation != null) player.teleport(exitLocation);
-                else if (PlayerData.getBackTeleportLocation(player) != null)
-                    player.teleport(PlayerData.getBackTeleportLocation(player));
-                else if (DefaultConfig.getDefaultSpawnLocation() != null && DefaultConfig.getDefaultSpawnLocation().getWorld() != null)
-                    player.teleport(DefaultConfig.getDefaultSpawnLocation());
-            }
+        World regionWorld = getRegionWorld();
+        if (regionWorld == null) return;
+        for (Player player : regionWorld.getPlayers())
+            if (isIntruder(player, player.getLocation()))
+                removeIntruder(player);
+    }
+
+    private boolean isIntruder(Player player, Location location) {
+        return state == InstancedRegionState.ONGOING &&
+                !players.contains(player) &&
+                !spectators.contains(player) &&
+                isInRegion(location) &&
+                !player.hasPermission("elitemobs.*");
+    }
+
+    private void removeIntruder(Player player) {
+        MatchInstanceEvents.teleportBypass = true;
+        if (exitLocation != null) player.teleport(exitLocation);
+        else if (PlayerData.getBackTeleportLocation(player) != null)
+            player.teleport(PlayerData.getBackTeleportLocation(player));
+        else if (DefaultConfig.getDefaultSpawnLocation() != null && DefaultConfig.getDefaultSpawnLocation().getWorld() != null)
+            player.teleport(DefaultConfig.getDefaultSpawnLocation());
     }
 
     private void instanceMessages() {
@@ -201,12 +241,15 @@ public abstract class MatchInstance {
         participants.forEach(player -> player.sendMessage(ChatColorConverter.convert(message)));
     }
 
-    private class WatchdogTask extends BukkitRunnable {
+    //One task for all instances, instead of one per instance
+    private static class WatchdogTask extends BukkitRunnable {
         @Override
         public void run() {
-            playerWatchdog();
-            spectatorWatchdog();
-            intruderWatchdog();
+            for (MatchInstance matchInstance : new ArrayList<>(instances)) {
+                matchInstance.playerWatchdog();
+                matchInstance.spectatorWatchdog();
+                if (!matchInstance.coversWholeWorld()) matchInstance.intruderWatchdog();
+            }
         }
     }
 
@@ -271,8 +314,7 @@ public abstract class MatchInstance {
         state = InstancedRegionState.WAITING;
         HashSet<Player> copy = new HashSet<>(participants);
         copy.forEach(this::removeAnyKind);
-        players.clear();
-        spectators.clear();
+        InstancePlayerManager.clearPlayers(this);
         deathBanners.values().forEach(deathLocation -> deathLocation.clear(false));
         deathBanners.clear();
         new MatchDestroyEvent(this);
@@ -294,24 +336,37 @@ public abstract class MatchInstance {
 
         @EventHandler
         public void onPlayerLeave(PlayerQuitEvent event) {
-            HashSet<MatchInstance> copy = new HashSet<>(instances);
-            copy.forEach(instance -> instance.removeAnyKind(event.getPlayer()));
+            MatchInstance matchInstance = InstancePlayerManager.getInstance(event.getPlayer());
+            if (matchInstance != null) matchInstance.removeAnyKind(event.getPlayer());
         }
 
         @EventHandler
         public void onPlayerBreakBlockEvent(BlockBreakEvent event) {
-            for (MatchInstance matchInstance : instances)
-                if (matchInstance.state.equals(InstancedRegionState.ONGOING))
-                    if (matchInstance.getDeathBanners().get(event.getBlock()) != null)
-                        matchInstance.getDeathBanners().get(event.getBlock()).clear(true);
+            clearDeathBanner(event.getBlock());
         }
 
         @EventHandler
         public void onPlayerHitFlagEvent(BlockDamageEvent event) {
-            for (MatchInstance matchInstance : instances)
+            clearDeathBanner(event.getBlock());
+        }
+
+        private void clearDeathBanner(Block block) {
+            for (MatchInstance matchInstance : new ArrayList<>(InstancePlayerManager.getWorldInstances(block.getWorld())))
                 if (matchInstance.state.equals(InstancedRegionState.ONGOING))
-                    if (matchInstance.getDeathBanners().get(event.getBlock()) != null)
-                        matchInstance.getDeathBanners().get(event.getBlock()).clear(true);
+                    if (matchInstance.getDeathBanners().get(block) != null)
+                        matchInstance.getDeathBanners().get(block).clear(true);
+        }
+
+        @EventHandler
+        public void onPlayerChangeWorld(PlayerChangedWorldEvent event) {
+            MatchInstance matchInstance = getIntrudedInstance(event.getPlayer(), event.getPlayer().getLocation());
+            if (matchInstance != null) matchInstance.removeIntruder(event.getPlayer());
+        }
+
+        @EventHandler
+        public void onPlayerJoin(PlayerJoinEvent event) {
+            MatchInstance matchInstance = getIntrudedInstance(event.getPlayer(), event.getPlayer().getLocation());
+            if (matchInstance != null) matchInstance.removeIntruder(event.getPlayer());
         }
 
         /**
@@ -338,12 +393,10 @@ public abstract class MatchInstance {
                 return;
             }
 
-            for (MatchInstance instance : instances) {
-                if (instance.world == null) continue;
-                if (instance.world.equals(event.getFrom()) || instance.world.equals(event.getTo())) {
-                    event.setCancelled(true);
-                    return;
-                }
+            //Players can not teleport into an ongoing instance they are not a part of
+            if (getIntrudedInstance(event.getPlayer(), event.getTo()) != null) {
+                event.setCancelled(true);
+                return;
             }
 
             MatchInstance matchInstance = PlayerData.getMatchInstance(event.getPlayer());
@@ -90,12 +90,17 @@ public class DungeonInstance extends MatchInstance {
                 return;
             }
 
-        String instancedWorldName = WorldInstantiator.getNewWorldName(instancedDungeonsConfigFields.getWorldName());
+        File pooledWorldFile = InstancedWorldPool.take(instancedDungeonsConfigFields);
+        String instancedWorldName = pooledWorldFile != null ?
+                pooledWorldFile.getName() :
+                WorldInstantiator.getNewWorldName(instancedDungeonsConfigFields.getWorldName());
 
-        if (!launchEvent(instancedDungeonsConfigFields, instancedWorldName, player)) return;
+        if (!launchEvent(instancedDungeonsConfigFields, instancedWorldName, player)) {
+            InstancedWorldPool.giveBack(instancedDungeonsConfigFields, pooledWorldFile);
+            return;
+        }
 
-        CompletableFuture<File> future = CompletableFuture.supplyAsync(() ->
-                cloneWorldFiles(instancedDungeonsConfigFields, instancedWorldName, player));
+        CompletableFuture<File> future = getWorldFiles(instancedDungeonsConfigFields, instancedWorldName, pooledWorldFile, player);
         future.thenAccept(file -> {
             if (file == null) return;
             new InitializeInstancedWorldTask(instancedDungeonsConfigFields, instancedWorldName, player, file, difficultyName).runTask(MetadataHandler.PLUGIN);
@@ -115,6 +120,14 @@ public class DungeonInstance extends MatchInstance {
         return true;
     }
 
+    /**
+     * Uses the pooled copy of the world if there is one, otherwise copies the blueprint off the main thread.
+     */
+    protected static CompletableFuture<File> getWorldFiles(ContentPackagesConfigFields instancedDungeonsConfigFields, String instancedWordName, File pooledWorldFile, Player player) {
+        if (pooledWorldFile != null) return CompletableFuture.completedFuture(pooledWorldFile);
+        return CompletableFuture.supplyAsync(() -> cloneWorldFiles(instancedDungeonsConfigFields, instancedWordName, player));
+    }
+
     protected static File cloneWorldFiles(ContentPackagesConfigFields instancedDungeonsConfigFields, String instancedWordName, Player player) {
         File targetFile = WorldInstantiator.cloneWorld(instancedDungeonsConfigFields.getWorldName(), instancedWordName, instancedDungeonsConfigFields.getDungeonConfigFolderName());
         if (targetFile == null) {
@@ -205,7 +218,7 @@ public class DungeonInstance extends MatchInstance {
         participants.forEach(player -> player.sendMessage(DungeonsConfig.getInstancedDungeonClosingInstanceMessage()));
         HashSet<Player> participants = new HashSet<>(this.participants);
         participants.forEach(this::removeAnyKind);
-        instances.remove(this);
+        removeFromInstances();
         DungeonInstance dungeonInstance = this;
         if (world == null) {
             Logger.warn("Instanced dungeon's world was already unloaded before removing the entities in it! This shouldn't happen, but doesn't break anything.");
@@ -252,6 +265,11 @@ public class DungeonInstance extends MatchInstance {
         return location.getWorld().equals(startLocation.getWorld());
     }
 
+    @Override
+    protected boolean coversWholeWorld() {
+        return true;
+    }
+
     private static class InitializeInstancedWorldTask extends BukkitRunnable {
         private final ContentPackagesConfigFields instancedDungeonsConfigFields;
         private final String instancedWorldName;
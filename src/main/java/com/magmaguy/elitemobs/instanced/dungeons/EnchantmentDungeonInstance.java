@@ -58,12 +58,17 @@ public class EnchantmentDungeonInstance extends DungeonInstance {
             return false;
         }
         ContentPackagesConfigFields contentPackagesConfigFields = contentPackagesConfigFieldsList.get(ThreadLocalRandom.current().nextInt(0, contentPackagesConfigFieldsList.size()));
-        String instancedWordName = WorldInstantiator.getNewWorldName(contentPackagesConfigFields.getWorldName());
+        File pooledWorldFile = InstancedWorldPool.take(contentPackagesConfigFields);
+        String instancedWordName = pooledWorldFile != null ?
+                pooledWorldFile.getName() :
+                WorldInstantiator.getNewWorldName(contentPackagesConfigFields.getWorldName());
 
-        if (!launchEvent(contentPackagesConfigFields, instancedWordName, player)) return false;
+        if (!launchEvent(contentPackagesConfigFields, instancedWordName, player)) {
+            InstancedWorldPool.giveBack(contentPackagesConfigFields, pooledWorldFile);
+            return false;
+        }
 
-        CompletableFuture<File> future = CompletableFuture.supplyAsync(() ->
-                cloneWorldFiles(contentPackagesConfigFields, instancedWordName, player));
+        CompletableFuture<File> future = getWorldFiles(contentPackagesConfigFields, instancedWordName, pooledWorldFile, player);
         future.thenAccept(file -> {
             if (file == null) return;
             new BukkitRunnable() {
@@ -0,0 +1,137 @@
+package com.magmaguy.elitemobs.instanced.dungeons;
+
+import com.magmaguy.elitemobs.MetadataHandler;
+import com.magmaguy.elitemobs.config.DungeonsConfig;
+import com.magmaguy.elitemobs.config.contentpackages.ContentPackagesConfigFields;
+import com.magmaguy.elitemobs.dungeons.EMPackage;
+import com.magmaguy.elitemobs.dungeons.WorldInstancedDungeonPackage;
+import com.magmaguy.elitemobs.utils.WorldInstantiator;
+import com.magmaguy.magmacore.util.Logger;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Copies of instanced dungeon worlds made ahead of time, so starting a dungeon does not have to wait for its blueprint
+ * to be copied.
+ * <p>
+ * Each installed instanced dungeon keeps up to {@link DungeonsConfig#getInstancedWorldPoolSize()} ready copies. Copies
+ * are only made on disk and not loaded, an idle loaded world would cost memory and tick time. The pool gets refilled
+ * one copy at a time in the background, starting shortly after startup and again every time a copy is taken.
+ * <p>
+ * Copies are named like regular instances, so any that are left over when the server stops get removed on the next
+ * startup along with other leftover instanced worlds.
+ */
+public class InstancedWorldPool {
+    private static final HashMap<String, ArrayDeque<File>> readyWorlds = new HashMap<>();
+    private static boolean refilling = false;
+    //Changes on shutdown so that copies finishing after a reload get thrown away instead of pooled
+    private static volatile int generation = 0;
+    @Getter
+    private static long poolHits = 0;
+    @Getter
+    private static long poolMisses = 0;
+
+    private InstancedWorldPool() {
+    }
+
+    public static void initialize() {
+        //Leave the disk to the server while it finishes starting up
+        Bukkit.getScheduler().runTaskLater(MetadataHandler.PLUGIN, InstancedWorldPool::refill, 20 * 30L);
+    }
+
+    public static void shutdown() {
+        generation++;
+        refilling = false;
+        readyWorlds.clear();
+    }
+
+    public static int getReadyWorldCount() {
+        int count = 0;
+        for (ArrayDeque<File> worlds : readyWorlds.values()) count += worlds.size();
+        return count;
+    }
+
+    /**
+     * Takes a ready copy of the world of a dungeon. Only call from the main thread.
+     *
+     * @return The folder of the copy, already in the world container, or null if there is no copy ready
+     */
+    static File take(ContentPackagesConfigFields contentPackagesConfigFields) {
+        ArrayDeque<File> worlds = readyWorlds.get(contentPackagesConfigFields.getFilename());
+        File worldFile = null;
+        if (worlds != null)
+            do worldFile = worlds.poll();
+            while (worldFile != null && !worldFile.exists());
+        if (worldFile == null) poolMisses++;
+        else poolHits++;
+        refill();
+        return worldFile;
+    }
+
+    /**
+     * Puts back a copy that was taken but ended up not being used.
+     */
+    static void giveBack(ContentPackagesConfigFields contentPackagesConfigFields, File worldFile) {
+        if (worldFile == null) return;
+        readyWorlds.computeIfAbsent(contentPackagesConfigFields.getFilename(), k -> new ArrayDeque<>()).addFirst(worldFile);
+    }
+
+    private static void refill() {
+        if (refilling) return;
+        int poolSize = DungeonsConfig.getInstancedWorldPoolSize();
+        if (poolSize <= 0) return;
+        for (EMPackage emPackage : EMPackage.getEmPackages().values()) {
+            if (!(emPackage instanceof WorldInstancedDungeonPackage) || !emPackage.isInstalled()) continue;
+            ContentPackagesConfigFields contentPackagesConfigFields = emPackage.getContentPackagesConfigFields();
+            ArrayDeque<File> worlds = readyWorlds.computeIfAbsent(contentPackagesConfigFields.getFilename(), k -> new ArrayDeque<>());
+            if (worlds.size() >= poolSize) continue;
+            copyWorld(contentPackagesConfigFields, worlds);
+            return;
+        }
+    }
+
+    private static void copyWorld(ContentPackagesConfigFields contentPackagesConfigFields, ArrayDeque<File> worlds) {
+        refilling = true;
+        int copyGeneration = generation;
+        String worldName = WorldInstantiator.getNewWorldName(contentPackagesConfigFields.getWorldName());
+        //Claims the name right away, so dungeons starting while the copy runs do not pick the same one
+        File reservedFile = new File(Bukkit.getWorldContainer(), worldName);
+        reservedFile.mkdirs();
+        CompletableFuture.supplyAsync(() -> WorldInstantiator.cloneWorld(
+                        contentPackagesConfigFields.getWorldName(), worldName, contentPackagesConfigFields.getDungeonConfigFolderName()))
+                .whenComplete((file, throwable) -> {
+                    if (throwable != null) {
+                        Logger.warn("Failed to copy a world for the instanced dungeon pool: " + throwable.getMessage());
+                        throwable.printStackTrace();
+                    }
+                    if (copyGeneration != generation || !MetadataHandler.PLUGIN.isEnabled()) {
+                        if (reservedFile.exists()) WorldInstantiator.recursivelyDelete(reservedFile);
+                        return;
+                    }
+                    Bukkit.getScheduler().runTask(MetadataHandler.PLUGIN, () -> {
+                        if (copyGeneration != generation) {
+                            CompletableFuture.runAsync(() -> WorldInstantiator.recursivelyDelete(reservedFile));
+                            return;
+                        }
+                        refilling = false;
+                        //Failed copy or missing blueprint, already reported. Stops here until the next dungeon start.
+                        if (throwable != null) {
+                            //Whatever got copied before the failure is of no use
+                            CompletableFuture.runAsync(() -> WorldInstantiator.recursivelyDelete(reservedFile));
+                            return;
+                        }
+                        if (file == null) {
+                            reservedFile.delete();
+                            return;
+                        }
+                        worlds.add(file);
+                        refill();
+                    });
+                });
+    }
+}
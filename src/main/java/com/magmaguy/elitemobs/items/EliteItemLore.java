@@ -1,10 +1,8 @@
 package com.magmaguy.elitemobs.items;
 
 import com.magmaguy.elitemobs.api.utils.EliteItemManager;
-import com.magmaguy.elitemobs.config.EconomySettingsConfig;
 import com.magmaguy.elitemobs.config.ItemSettingsConfig;
 import com.magmaguy.elitemobs.config.enchantments.EnchantmentsConfig;
-import com.magmaguy.elitemobs.config.potioneffects.PotionEffectsConfig;
 import com.magmaguy.elitemobs.items.customenchantments.CustomEnchantment;
 import com.magmaguy.elitemobs.items.customenchantments.SoulbindEnchantment;
 import com.magmaguy.elitemobs.items.potioneffects.ElitePotionEffect;
@@ -14,7 +12,6 @@ import com.magmaguy.magmacore.util.ChatColorConverter;
 import com.magmaguy.magmacore.util.Logger;
 import com.magmaguy.magmacore.util.Round;
 import lombok.Getter;
-import org.bukkit.ChatColor;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemFlag;
@@ -24,7 +21,7 @@ import org.bukkit.inventory.meta.ItemMeta;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 
 public class EliteItemLore {
 
@@ -48,6 +45,7 @@ public class EliteItemLore {
     private int prestigeLevel = 0;
     private int enchantmentCount = 0;
     private List<String> thirdPartyLore = null;
+    private LoreTemplate loreTemplate;
 
     public EliteItemLore(ItemStack itemStack, boolean showItemWorth) {
         initialize(itemStack, showItemWorth);
@@ -71,6 +69,8 @@ public class EliteItemLore {
             return;
         }
 
+        long startTime = System.nanoTime();
+        this.loreTemplate = LoreTemplate.getInstance();
         this.itemStack = itemStack;
         this.itemMeta = itemStack.getItemMeta();
         this.lore = new ArrayList<>();
@@ -101,19 +101,13 @@ public class EliteItemLore {
         this.itemMeta.setLore(lore);
         ItemTagger.registerEnchantmentCount(itemMeta, enchantmentCount);
         this.itemStack.setItemMeta(this.itemMeta);
+        LoreTemplate.recordRebuild(System.nanoTime() - startTime);
     }
 
     private void constructVanillaEnchantments() {
-        for (Enchantment enchantment : itemMeta.getEnchants().keySet()) {
-            if (enchantment.getName().contains("CURSE"))
-                vanillaEnchantmentsLore.add(ChatColorConverter.convert(
-                        "&c" + EnchantmentsConfig.getEnchantment(enchantment).getName() + " "
-                                + itemMeta.getEnchants().get(enchantment)));
-            else
-                vanillaEnchantmentsLore.add(ChatColorConverter.convert(
-                        "&7" + EnchantmentsConfig.getEnchantment(enchantment).getName() + " "
-                                + itemMeta.getEnchants().get(enchantment)));
-            enchantmentCount += itemMeta.getEnchantLevel(enchantment);
+        for (Map.Entry<Enchantment, Integer> entry : itemMeta.getEnchants().entrySet()) {
+            vanillaEnchantmentsLore.add(loreTemplate.getVanillaEnchantmentLine(entry.getKey(), entry.getValue()));
+            enchantmentCount += entry.getValue();
         }
     }
 
@@ -139,11 +133,8 @@ public class EliteItemLore {
     }
 
     private void constructEliteEnchantments() {
-        for (Enchantment enchantment : eliteVanillaEnchantments.keySet())
-            eliteVanillaEnchantmentsLore.add(ChatColorConverter.convert(
-                    "&7" + ItemSettingsConfig.getEliteEnchantLoreString() + " "
-                            + EnchantmentsConfig.getEnchantment(enchantment).getName()
-                            + " " + eliteVanillaEnchantments.get(enchantment)));
+        for (Map.Entry<Enchantment, Integer> entry : eliteVanillaEnchantments.entrySet())
+            eliteVanillaEnchantmentsLore.add(loreTemplate.getEliteEnchantmentLine(entry.getKey(), entry.getValue()));
 
     }
 
@@ -161,16 +152,14 @@ public class EliteItemLore {
     }
 
     private void constructCustomEnchantments() {
-        for (CustomEnchantment customEnchantment : customEnchantments.keySet())
-            customEnchantmentLore.add(ChatColorConverter.convert
-                    ("&6" + customEnchantment.getEnchantmentsConfigFields().getName() + " "
-                            + customEnchantments.get(customEnchantment)));
+        for (Map.Entry<CustomEnchantment, Integer> entry : customEnchantments.entrySet())
+            customEnchantmentLore.add(loreTemplate.getCustomEnchantmentLine(entry.getKey(), entry.getValue()));
     }
 
     private void constructSoulbindEntry() {
         Player player = SoulbindEnchantment.getSoulboundPlayer(itemMeta);
         if (player == null) {
-            soulbindInfo = ChatColorConverter.convert(ItemSettingsConfig.getNoSoulbindLore());
+            soulbindInfo = loreTemplate.getNoSoulbindLine();
             return;
         }
         soulbindInfo = ChatColorConverter.convert(
@@ -190,13 +179,9 @@ public class EliteItemLore {
         ItemTagger.writeItemValue(itemStack, soulboundPlayer);
         itemMeta = itemStack.getItemMeta();
         if (showItemWorth)
-            itemWorth = ItemSettingsConfig.getLoreWorth()
-                    .replace("$worth", ItemWorthCalculator.determineItemWorth(itemStack, soulboundPlayer) + "")
-                    .replace("$currencyName", EconomySettingsConfig.getCurrencyName());
+            itemWorth = loreTemplate.getItemWorthLine(ItemWorthCalculator.determineItemWorth(itemStack, soulboundPlayer));
         else
-            itemWorth = ItemSettingsConfig.getLoreResale()
-                    .replace("$resale", ItemWorthCalculator.determineResaleWorth(itemStack, soulboundPlayer) + "")
-                    .replace("$currencyName", EconomySettingsConfig.getCurrencyName());
+            itemWorth = loreTemplate.getItemResaleLine(ItemWorthCalculator.determineResaleWorth(itemStack, soulboundPlayer));
     }
 
     private void constructSoulboundOwner() {
@@ -213,94 +198,73 @@ public class EliteItemLore {
 
     private void constructPotionEffects() {
         for (ElitePotionEffect elitePotionEffect : ElitePotionEffectContainer.getElitePotionEffectContainer(itemMeta, ItemTagger.continuousPotionEffectKey))
-            potionListLore.add(ChatColorConverter.convert(PotionEffectsConfig.getPotionEffect(
-                    elitePotionEffect.getPotionEffect().getType().getKey().getKey().toLowerCase(Locale.ROOT) + ".yml").getName()
-                    + ItemSettingsConfig.getPotionEffectContinuousLore() + " " + (elitePotionEffect.getPotionEffect().getAmplifier() + 1)));
+            potionListLore.add(loreTemplate.getContinuousPotionEffectLine(
+                    elitePotionEffect.getPotionEffect().getType(), elitePotionEffect.getPotionEffect().getAmplifier() + 1));
         for (ElitePotionEffect elitePotionEffect : ElitePotionEffectContainer.getElitePotionEffectContainer(itemMeta, ItemTagger.onHitPotionEffectKey))
-            if (elitePotionEffect.getTarget().equals(ElitePotionEffect.Target.SELF))
-                potionListLore.add(ChatColorConverter.convert(PotionEffectsConfig.getPotionEffect(
-                        elitePotionEffect.getPotionEffect().getType().getKey().getKey().toLowerCase(Locale.ROOT) + ".yml").getName()
-                        + ItemSettingsConfig.getPotionEffectOnHitSelfLore() + " " + (elitePotionEffect.getPotionEffect().getAmplifier() + 1)));
-            else
-                potionListLore.add(ChatColorConverter.convert(PotionEffectsConfig.getPotionEffect(
-                        elitePotionEffect.getPotionEffect().getType().getKey().getKey().toLowerCase(Locale.ROOT) + ".yml").getName()
-                        + ItemSettingsConfig.getPotionEffectOnHitTargetLore() + " " + (elitePotionEffect.getPotionEffect().getAmplifier() + 1)));
+            potionListLore.add(loreTemplate.getOnHitPotionEffectLine(
+                    elitePotionEffect.getPotionEffect().getType(), elitePotionEffect.getPotionEffect().getAmplifier() + 1,
+                    elitePotionEffect.getTarget().equals(ElitePotionEffect.Target.SELF)));
     }
 
     private void writeNewLore() {
         if (thirdPartyLore != null)
             lore.addAll(thirdPartyLore);
 
-        for (String string : ItemSettingsConfig.getLoreStructure()) {
+        //Stats are the same for every line, so they only get worked out once
+        String[] statValues = null;
+        if (loreTemplate.usesStats())
+            statValues = new String[]{
+                    Round.twoDecimalPlaces(EliteItemManager.getDPS(itemStack)) + "",
+                    Round.twoDecimalPlaces(EliteItemManager.getEliteDefense(itemStack) + EliteItemManager.getBonusEliteDefense(itemStack)) + "",
+                    prestigeLevel + "",
+                    EliteItemManager.getRoundedItemLevel(itemStack) + ""};
 
-            if (string.contains("$weaponOrArmorStats")) {
-                if (EliteItemManager.isWeapon(itemStack))
-                    string = ItemSettingsConfig.getWeaponEntry();
-                else if (EliteItemManager.isArmor(itemStack))
-                    string = ItemSettingsConfig.getArmorEntry();
-                else
-                    string = "";
+        for (LoreTemplate.Line line : loreTemplate.getLines()) {
+
+            if (line.getType() == LoreTemplate.LineType.WEAPON_OR_ARMOR_STATS) {
+                line = loreTemplate.getWeaponOrArmorLine(EliteItemManager.isWeapon(itemStack), EliteItemManager.isArmor(itemStack));
+                if (line == null) continue;
             }
 
-            string = stringReplacer(string, "$EDPS", Round.twoDecimalPlaces(EliteItemManager.getDPS(itemStack)));
-            string = stringReplacer(string, "$EDEF", Round.twoDecimalPlaces(EliteItemManager.getEliteDefense(itemStack) + EliteItemManager.getBonusEliteDefense(itemStack)));
-            string = stringReplacer(string, "$prestigeLevel", prestigeLevel);
-            string = stringReplacer(string, "$itemLevel", EliteItemManager.getRoundedItemLevel(itemStack));
-
-
-            if (string.contains("$enchantments")) {
-                for (String entry : vanillaEnchantmentsLore)
-                    lore.add(ChatColorConverter.convert(ItemSettingsConfig.getVanillaEnchantmentColor() + entry));
-            } else if (string.contains("$eliteEnchantments")) {
-                for (String entry : eliteVanillaEnchantmentsLore)
-                    lore.add(ChatColorConverter.convert(ItemSettingsConfig.getEliteEnchantmentColor() + ChatColor.stripColor(entry)));
-            } else if (string.contains("$itemSource")) {
-                if (itemSource != null)
-                    lore.add(itemSource);
-            } else if (string.contains("$potionEffect")) {
-                for (String entry : potionListLore)
-                    lore.add(ChatColorConverter.convert(ItemSettingsConfig.getPotionEffectColor() + entry));
-            } else if (string.contains("$customEnchantments")) {
-                for (String entry : customEnchantmentLore)
-                    lore.add(ChatColorConverter.convert(ItemSettingsConfig.getCustomEnchantmentColor() + ChatColor.stripColor(entry)));
-            } else if (string.contains("$loreResaleValue")) {
-                lore.add(itemWorth);
-            } else if (string.contains("$customLore")) {
-                for (String entry : customLore)
-                    lore.add(ChatColorConverter.convert(entry));
-            } else if (string.contains("$soulbindInfo")) {
-                lore.add(soulbindInfo);
+            switch (line.getType()) {
+                case ENCHANTMENTS -> lore.addAll(vanillaEnchantmentsLore);
+                case ELITE_ENCHANTMENTS -> lore.addAll(eliteVanillaEnchantmentsLore);
+                case ITEM_SOURCE -> {
+                    if (itemSource != null)
+                        lore.add(itemSource);
+                }
+                case POTION_EFFECTS -> lore.addAll(potionListLore);
+                case CUSTOM_ENCHANTMENTS -> lore.addAll(customEnchantmentLore);
+                case ITEM_WORTH -> lore.add(itemWorth);
+                case CUSTOM_LORE -> {
+                    for (String entry : customLore)
+                        lore.add(ChatColorConverter.convert(entry));
+                }
+                case SOULBIND_INFO -> lore.add(soulbindInfo);
                 //bypasses in case of conditional formatting
-            } else if (string.contains("$ifPotionEffects")) {
-                if (!potionListLore.isEmpty())
-                    lore.add(string.replace("$ifPotionEffects", ""));
-            } else if (string.contains("$ifEnchantments")) {
-                if (!vanillaEnchantmentsLore.isEmpty())
-                    lore.add(string.replace("$ifEnchantments", ""));
-            } else if (string.contains("$ifLore")) {
-                if (!customLore.isEmpty())
-                    lore.add(string.replace("$ifLore", ""));
-            } else if (string.contains("$ifCustomEnchantments")) {
-                if (!customEnchantments.isEmpty())
-                    lore.add(string.replace("$ifCustomEnchantments", ""));
-            } else if (!string.isEmpty())
-                lore.add(ChatColorConverter.convert(string));
+                case IF_POTION_EFFECTS -> {
+                    if (!potionListLore.isEmpty())
+                        lore.add(line.render(statValues));
+                }
+                case IF_ENCHANTMENTS -> {
+                    if (!vanillaEnchantmentsLore.isEmpty())
+                        lore.add(line.render(statValues));
+                }
+                case IF_LORE -> {
+                    if (!customLore.isEmpty())
+                        lore.add(line.render(statValues));
+                }
+                case IF_CUSTOM_ENCHANTMENTS -> {
+                    if (!customEnchantments.isEmpty())
+                        lore.add(line.render(statValues));
+                }
+                default -> {
+                    String text = line.renderText(statValues);
+                    if (!text.isEmpty())
+                        lore.add(text);
+                }
+            }
         }
     }
 
-    private String stringReplacer(String originalString, String placeholder, int value) {
-        return stringReplacer(originalString, placeholder, value + "");
-    }
-
-    private String stringReplacer(String originalString, String placeholder, double value) {
-        return stringReplacer(originalString, placeholder, value + "");
-    }
-
-    private String stringReplacer(String originalString, String placeholder, String replacement) {
-        String processedString = originalString;
-        if (originalString.contains(placeholder))
-            processedString = originalString.replace(placeholder, replacement);
-        return processedString;
-    }
-
 }
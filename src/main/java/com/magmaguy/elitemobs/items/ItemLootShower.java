@@ -35,12 +35,16 @@ import org.bukkit.util.Vector;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class ItemLootShower implements Listener {
 
     private static final HashMap<Player, Double> playerCurrencyPickup = new HashMap<>();
+    private static final int[] COIN_DENOMINATIONS = {1000, 500, 100, 50, 20, 10, 5, 1};
+    //Coin piles still collecting currency, by player
+    private static final HashMap<UUID, CoinPile> pendingCoinPiles = new HashMap<>();
     public static HashMap<UUID, Coin> coinValues = new HashMap<>();
     private final Player player;
 
@@ -124,6 +128,10 @@ public class ItemLootShower implements Listener {
     }
 
     private void addIndirectly(Location location, int currencyAmount2) {
+        if (EconomySettingsConfig.isUseCoinPiles()) {
+            addToCoinPile(location, currencyAmount2);
+            return;
+        }
         new BukkitRunnable() {
             int currencyAmount = currencyAmount2;
 
@@ -189,6 +197,71 @@ public class ItemLootShower implements Listener {
         }.runTaskTimer(MetadataHandler.PLUGIN, 2, 2);
     }
 
+    /**
+     * Everything a player gets within the batch window drops as one coin worth the whole amount, where the first
+     * payout of the window happened. Picking it up goes through the same pickup handler as the regular coins.
+     */
+    private void addToCoinPile(Location location, int currencyAmount) {
+        if (currencyAmount <= 0) return;
+        CoinPile coinPile = pendingCoinPiles.get(player.getUniqueId());
+        //A pile whose drop task is gone would never drop, so it gets replaced
+        if (coinPile != null && Bukkit.getScheduler().isQueued(coinPile.taskId)) {
+            coinPile.amount += currencyAmount;
+            return;
+        }
+        CoinPile newCoinPile = new CoinPile(location.clone(), currencyAmount);
+        if (coinPile != null) newCoinPile.amount += coinPile.amount;
+        pendingCoinPiles.put(player.getUniqueId(), newCoinPile);
+        newCoinPile.taskId = new BukkitRunnable() {
+            @Override
+            public void run() {
+                if (pendingCoinPiles.get(player.getUniqueId()) != newCoinPile) return;
+                pendingCoinPiles.remove(player.getUniqueId());
+                dropCoinPile(newCoinPile.location, newCoinPile.amount);
+            }
+        }.runTaskLater(MetadataHandler.PLUGIN, Math.max(1, EconomySettingsConfig.getCoinPileBatchTicks())).getTaskId();
+    }
+
+    /**
+     * Pays out the coin piles that have not dropped yet straight into the players' balance, since their drop tasks get
+     * cancelled on shutdown.
+     */
+    public static void shutdown() {
+        for (Map.Entry<UUID, CoinPile> entry : pendingCoinPiles.entrySet())
+            EconomyHandler.addCurrency(entry.getKey(), entry.getValue().amount);
+        pendingCoinPiles.clear();
+    }
+
+    private void dropCoinPile(Location location, int amount) {
+        //The pile looks like the biggest coin that fits in it
+        int denomination = 1;
+        for (int coinDenomination : COIN_DENOMINATIONS)
+            if (amount >= coinDenomination) {
+                denomination = coinDenomination;
+                break;
+            }
+        Item currencyItem = generateCurrencyItem(getCoinMaterial(denomination), location, denomination, amount);
+        currencyItem.setCustomName(ChatColorConverter.convert("&6" + amount + " " + EconomySettingsConfig.getCurrencyName()));
+        currencyItem.setCustomNameVisible(true);
+    }
+
+    private Material getCoinMaterial(int denomination) {
+        String materialName = switch (denomination) {
+            case 1000 -> EconomySettingsConfig.getLootShowerMaterial1000();
+            case 500 -> EconomySettingsConfig.getLootShowerMaterial500();
+            case 100 -> EconomySettingsConfig.getLootShowerMaterial100();
+            case 50 -> EconomySettingsConfig.getLootShowerMaterial50();
+            case 20 -> EconomySettingsConfig.getLootShowerMaterial20();
+            case 10 -> EconomySettingsConfig.getLootShowerMaterial10();
+            case 5 -> EconomySettingsConfig.getLootShowerMaterial5();
+            default -> EconomySettingsConfig.getLootShowerMaterial1();
+        };
+        Material material = materialName == null ? null : Material.getMaterial(materialName);
+        if (material != null) return material;
+        Logger.warn("Material for EliteMob shower " + denomination + " is invalid. Defaulting to gold nugget.");
+        return Material.GOLD_NUGGET;
+    }
+
     private int getCurrencyAmount(double eliteMobTier) {
         return (int) (eliteMobTier / 2D * EconomySettingsConfig.getCurrencyShowerMultiplier() *
                 GuildRank.currencyBonusMultiplier(GuildRank.getGuildPrestigeRank(player)));
@@ -202,18 +275,22 @@ public class ItemLootShower implements Listener {
     }
 
     private Item generateCurrencyItem(Material material, Location location, double value) {
+        return generateCurrencyItem(material, location, (int) value, value);
+    }
+
+    private Item generateCurrencyItem(Material material, Location location, int denomination, double value) {
 
         ItemStack currencyItemStack = SoulbindEnchantment.addEnchantment(ItemStackGenerator.generateItemStack(material, "",
                 new ArrayList<>(List.of("EliteMobsCurrencyItem", value + "", ThreadLocalRandom.current().nextDouble() + ""))), player);
         String model = null;
         try {
-            model = EconomySettingsConfig.getThisConfiguration().getString("lootShowerDataV2." + (int) value);
+            model = EconomySettingsConfig.getThisConfiguration().getString("lootShowerDataV2." + denomination);
         } catch (Exception ex) {
-            Logger.warn("Failed to get coin model for value " + value + " !");
+            Logger.warn("Failed to get coin model for value " + denomination + " !");
             ex.printStackTrace();
         }
 
-        if (model == null) Logger.warn("No model found for value " + value + " !");
+        if (model == null) Logger.warn("No model found for value " + denomination + " !");
         else setCoinModel(currencyItemStack, model);
         Item currencyItem = location.getWorld().dropItem(location.clone().add(new Vector(0, 1, 0)), currencyItemStack);
         EntityTracker.registerVisualEffects(currencyItem);
@@ -392,6 +469,17 @@ public class ItemLootShower implements Listener {
         }
     }
 
+    private static class CoinPile {
+        private final Location location;
+        private int amount;
+        private int taskId = -1;
+
+        private CoinPile(Location location, int amount) {
+            this.location = location;
+            this.amount = amount;
+        }
+    }
+
     private class Coin {
         UUID player;
         UUID item;
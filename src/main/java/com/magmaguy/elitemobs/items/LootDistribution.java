@@ -0,0 +1,139 @@
+package com.magmaguy.elitemobs.items;
+
+import com.magmaguy.elitemobs.config.ItemSettingsConfig;
+import com.magmaguy.elitemobs.config.ProceduralItemGenerationSettingsConfig;
+import com.magmaguy.elitemobs.config.SpecialItemSystemsConfig;
+import com.magmaguy.elitemobs.items.customitems.CustomItem;
+import com.magmaguy.elitemobs.utils.AliasTable;
+import com.magmaguy.magmacore.util.Logger;
+import lombok.Getter;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Snapshot of the loot settings, compiled once by {@link LootTables#initialize()} so drops do not have to work out the
+ * weights every time.
+ * <p>
+ * The only loot system whose availability depends on the item tier is the fixed one, so there is one loot system table
+ * for the tiers that have no fixed items and one per tier that does. Nothing in here changes after compiling, and the
+ * picks take the random generator as an argument, so a distribution can be used from any thread.
+ */
+public class LootDistribution {
+    @Getter
+    private final double flatDropRate;
+    @Getter
+    private final double regionalBossNonUniqueDropRate;
+    @Getter
+    private final double levelIncreaseDropRate;
+    private final AliasTable<LootSystem> baseLootSystems;
+    private final Map<Integer, AliasTable<LootSystem>> tierLootSystems;
+    @Getter
+    private final AliasTable<ItemStack> weighedFixedItems;
+    private final Map<Integer, List<CustomItem>> fixedItems;
+    @Getter
+    private final AliasTable<CustomItem> specialItems;
+
+    private LootDistribution() {
+        flatDropRate = ItemSettingsConfig.getFlatDropRate();
+        regionalBossNonUniqueDropRate = ItemSettingsConfig.getRegionalBossNonUniqueDropRate();
+        levelIncreaseDropRate = ItemSettingsConfig.getLevelIncreaseDropRate();
+
+        HashMap<ItemStack, Double> weighedFixedItemWeights = new HashMap<>();
+        for (Map.Entry<ItemStack, Double> entry : CustomItem.getWeighedFixedItems().entrySet()) {
+            if (entry.getValue() == null)
+                Logger.warn("Item " + entry.getKey().getItemMeta().getDisplayName() + " reported a null weight!");
+            weighedFixedItemWeights.put(entry.getKey(), entry.getValue());
+        }
+        weighedFixedItems = AliasTable.of(weighedFixedItemWeights);
+
+        HashMap<Integer, List<CustomItem>> fixedItemsCopy = new HashMap<>();
+        for (Map.Entry<Integer, ArrayList<CustomItem>> entry : CustomItem.getFixedItems().entrySet())
+            if (!entry.getValue().isEmpty()) fixedItemsCopy.put(entry.getKey(), List.copyOf(entry.getValue()));
+        fixedItems = Map.copyOf(fixedItemsCopy);
+
+        specialItems = AliasTable.of(SpecialItemSystemsConfig.getSpecialValues());
+
+        EnumMap<LootSystem, Double> lootSystemWeights = new EnumMap<>(LootSystem.class);
+        if (ProceduralItemGenerationSettingsConfig.isDoProceduralItemDrops())
+            lootSystemWeights.put(LootSystem.PROCEDURAL, ItemSettingsConfig.getProceduralItemWeight());
+        if (ItemSettingsConfig.isDoEliteMobsLoot() && !CustomItem.getCustomItemStackList().isEmpty()) {
+            if (weighedFixedItems != null)
+                lootSystemWeights.put(LootSystem.WEIGHED, ItemSettingsConfig.getWeighedItemWeight());
+            if (!CustomItem.getLimitedItems().isEmpty())
+                lootSystemWeights.put(LootSystem.LIMITED, ItemSettingsConfig.getLimitedItemWeight());
+            if (!CustomItem.getScalableItems().isEmpty())
+                lootSystemWeights.put(LootSystem.SCALABLE, ItemSettingsConfig.getScalableItemWeight());
+        }
+        baseLootSystems = AliasTable.of(lootSystemWeights);
+
+        HashMap<Integer, AliasTable<LootSystem>> tierLootSystemsCopy = new HashMap<>();
+        if (ItemSettingsConfig.isDoEliteMobsLoot() && !CustomItem.getCustomItemStackList().isEmpty()) {
+            lootSystemWeights.put(LootSystem.FIXED, ItemSettingsConfig.getFixedItemWeight());
+            AliasTable<LootSystem> fixedLootSystems = AliasTable.of(lootSystemWeights);
+            //Every tier with fixed items has the same weights, so they can all share one table
+            if (fixedLootSystems != null)
+                for (Integer itemTier : fixedItems.keySet()) tierLootSystemsCopy.put(itemTier, fixedLootSystems);
+        }
+        tierLootSystems = Map.copyOf(tierLootSystemsCopy);
+    }
+
+    /**
+     * Reads the current loot settings. Only call from the main thread, after custom items and the special item systems
+     * config have been loaded.
+     */
+    static LootDistribution compile() {
+        return new LootDistribution();
+    }
+
+    public double getDropChance(int itemTier, boolean regionalBoss) {
+        return (regionalBoss ? regionalBossNonUniqueDropRate : flatDropRate) + levelIncreaseDropRate * itemTier;
+    }
+
+    /**
+     * @return The loot system a drop of this tier uses, or null if the configuration has every loot system turned off
+     */
+    public LootSystem pickLootSystem(int itemTier, RandomGenerator random) {
+        AliasTable<LootSystem> lootSystems = getLootSystems(itemTier);
+        return lootSystems == null ? null : lootSystems.pick(random);
+    }
+
+    public AliasTable<LootSystem> getLootSystems(int itemTier) {
+        AliasTable<LootSystem> lootSystems = tierLootSystems.get(itemTier);
+        return lootSystems != null ? lootSystems : baseLootSystems;
+    }
+
+    /**
+     * @return The weighed fixed item template, to be cloned before it gets handed out
+     */
+    public ItemStack pickWeighedFixedItem(RandomGenerator random) {
+        return weighedFixedItems == null ? null : weighedFixedItems.pick(random);
+    }
+
+    public CustomItem pickFixedItem(int itemTier, RandomGenerator random) {
+        List<CustomItem> tierItems = fixedItems.get(itemTier);
+        if (tierItems == null) return null;
+        return tierItems.get(random.nextInt(tierItems.size()));
+    }
+
+    public List<CustomItem> getFixedItems(int itemTier) {
+        return fixedItems.getOrDefault(itemTier, List.of());
+    }
+
+    public CustomItem pickSpecialItem(RandomGenerator random) {
+        return specialItems == null ? null : specialItems.pick(random);
+    }
+
+    public enum LootSystem {
+        PROCEDURAL,
+        WEIGHED,
+        FIXED,
+        LIMITED,
+        SCALABLE
+    }
+}
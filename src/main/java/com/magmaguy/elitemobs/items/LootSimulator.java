@@ -0,0 +1,459 @@
+package com.magmaguy.elitemobs.items;
+
+import com.magmaguy.elitemobs.MetadataHandler;
+import com.magmaguy.elitemobs.adventurersguild.GuildRank;
+import com.magmaguy.elitemobs.config.AdventurersGuildConfig;
+import com.magmaguy.elitemobs.config.EconomySettingsConfig;
+import com.magmaguy.elitemobs.config.ItemSettingsConfig;
+import com.magmaguy.elitemobs.items.customenchantments.SoulbindEnchantment;
+import com.magmaguy.elitemobs.items.customitems.CustomItem;
+import com.magmaguy.elitemobs.items.itemconstructor.MaterialGenerator;
+import com.magmaguy.elitemobs.items.itemconstructor.ProceduralEnchantmentCatalog;
+import com.magmaguy.elitemobs.utils.AliasTable;
+import com.magmaguy.magmacore.util.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.command.CommandSender;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Simulates the loot players get from killing elites without generating any items, to check drop rates after changing
+ * the loot settings.
+ * <p>
+ * Everything the simulation needs gets copied from the configs on the main thread first, then the kills run on a
+ * fork-join pool. Each half of a split gets its own split of the random generator, so the same seed always gives the
+ * same report no matter how the work gets scheduled. The report is written to the reports folder.
+ * <p>
+ * Kills follow {@link LootTables#generatePlayerLoot} for a non-regional elite with random loot, so the item
+ * tier gets randomized like it does for real drops. Item permissions, the level difference lockout of the currency
+ * shower and special loot are not taken into account.
+ */
+public class LootSimulator {
+    private static final int RUNS_PER_TASK = 10000;
+    private static volatile boolean running = false;
+
+    private LootSimulator() {
+    }
+
+    /**
+     * Starts a simulation. Only call from the main thread.
+     *
+     * @param commandSender Gets told where the report is. If it is a player, their guild rank and prestige get used.
+     * @param eliteLevel    Level of the elites being killed
+     * @param runs          Amount of kills
+     */
+    public static void simulate(CommandSender commandSender, int eliteLevel, int runs) {
+        if (running) {
+            commandSender.sendMessage("[EliteMobs] A loot simulation is already running, wait for it to finish first.");
+            return;
+        }
+        if (eliteLevel < 0 || runs < 1) {
+            commandSender.sendMessage("[EliteMobs] The level can not be negative and the amount of runs has to be at least 1.");
+            return;
+        }
+        LootDistribution lootDistribution = LootTables.getLootDistribution();
+        if (lootDistribution == null) {
+            commandSender.sendMessage("[EliteMobs] Loot has not been initialized yet!");
+            return;
+        }
+
+        Snapshot snapshot = new Snapshot(commandSender, eliteLevel, lootDistribution);
+        long seed = ThreadLocalRandom.current().nextLong();
+        running = true;
+        commandSender.sendMessage("[EliteMobs] Simulating " + runs + " kills of level " + eliteLevel + " elites, the report will be ready shortly.");
+
+        long startTime = System.currentTimeMillis();
+        CompletableFuture.supplyAsync(() -> {
+            ForkJoinPool forkJoinPool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+            try {
+                return forkJoinPool.invoke(new SimulationTask(snapshot, new SplittableRandom(seed), 0, runs));
+            } finally {
+                forkJoinPool.shutdown();
+            }
+        }).thenApply(result -> writeReport(snapshot, result, seed, System.currentTimeMillis() - startTime)).whenComplete((file, throwable) -> {
+            running = false;
+            if (throwable != null) {
+                Logger.warn("Loot simulation failed: " + throwable.getMessage());
+                throwable.printStackTrace();
+            }
+            if (!MetadataHandler.PLUGIN.isEnabled()) return;
+            Bukkit.getScheduler().runTask(MetadataHandler.PLUGIN, () -> {
+                if (throwable != null)
+                    commandSender.sendMessage("[EliteMobs] The loot simulation failed, check the console for details.");
+                else
+                    commandSender.sendMessage("[EliteMobs] Loot simulation done! The report is in " + file.getPath());
+            });
+        });
+    }
+
+    private static void runKill(Snapshot snapshot, SplittableRandom random, Result result) {
+        result.runs++;
+
+        double itemLevel = LootTables.setItemTier(snapshot.eliteLevel, snapshot.maximumItemLevel, random);
+        if (snapshot.guildLootCap >= 0 && itemLevel > snapshot.guildLootCap) itemLevel = snapshot.guildLootCap;
+
+        if (snapshot.currencyShower)
+            result.addCoins((int) (itemLevel / 2D * snapshot.currencyMultiplier * snapshot.guildCurrencyMultiplier));
+
+        if (snapshot.eliteScrollChance > 0 && random.nextDouble() < snapshot.eliteScrollChance) result.eliteScrolls++;
+
+        int itemTier = snapshot.guildLootCap >= 0 ?
+                (int) Math.floor(itemLevel) :
+                (int) LootTables.setItemTier(snapshot.mobTier, snapshot.maximumItemLevel, random);
+        long[] tierCounts = result.tiers.computeIfAbsent(itemTier, k -> new long[2]);
+        tierCounts[0]++;
+
+        if (random.nextDouble() > snapshot.lootDistribution.getDropChance(itemTier, false)) return;
+        LootDistribution.LootSystem lootSystem = snapshot.lootDistribution.pickLootSystem(itemTier, random);
+        if (lootSystem == null) {
+            result.noLootSystem++;
+            return;
+        }
+
+        TierData tierData = snapshot.getTier(itemTier);
+        String itemName;
+        Map<String, Integer> enchantments;
+        switch (lootSystem) {
+            case PROCEDURAL -> {
+                if (tierData.materials.isEmpty()) {
+                    result.failedDrops++;
+                    return;
+                }
+                Material material = tierData.materials.get(random.nextInt(tierData.materials.size()));
+                itemName = "procedural " + material.name().toLowerCase(Locale.ROOT);
+                enchantments = rollProceduralEnchantments(snapshot, itemTier, material, random);
+            }
+            case WEIGHED -> {
+                if (snapshot.weighedItems == null) {
+                    result.failedDrops++;
+                    return;
+                }
+                SimulatedItem simulatedItem = snapshot.weighedItems.pick(random);
+                itemName = simulatedItem.filename;
+                enchantments = simulatedItem.enchantments;
+            }
+            case FIXED -> {
+                SimulatedItem simulatedItem = tierData.fixedItems.get(random.nextInt(tierData.fixedItems.size()));
+                itemName = simulatedItem.filename;
+                enchantments = simulatedItem.enchantments;
+            }
+            case LIMITED -> {
+                if (tierData.limitedItems.isEmpty()) {
+                    result.failedDrops++;
+                    return;
+                }
+                SimulatedItem simulatedItem = tierData.limitedItems.get(random.nextInt(tierData.limitedItems.size()));
+                itemName = simulatedItem.filename;
+                enchantments = ScalableItemConstructor.updateDynamicEnchantments(simulatedItem.enchantments, random);
+            }
+            case SCALABLE -> {
+                if (snapshot.scalableItems.isEmpty()) {
+                    result.failedDrops++;
+                    return;
+                }
+                SimulatedItem simulatedItem = snapshot.scalableItems.get(random.nextInt(snapshot.scalableItems.size()));
+                itemName = simulatedItem.filename;
+                enchantments = ScalableItemConstructor.updateDynamicEnchantments(simulatedItem.enchantments, random);
+            }
+            default -> {
+                return;
+            }
+        }
+
+        tierCounts[1]++;
+        result.lootSystems.merge(lootSystem, 1L, Long::sum);
+        result.items.merge(itemName, 1L, Long::sum);
+        for (Map.Entry<String, Integer> entry : enchantments.entrySet()) {
+            long[] enchantmentCounts = result.enchantments.computeIfAbsent(entry.getKey(), k -> new long[3]);
+            enchantmentCounts[0]++;
+            enchantmentCounts[1] += entry.getValue();
+            enchantmentCounts[2] = Math.max(enchantmentCounts[2], entry.getValue());
+        }
+    }
+
+    //Same rolls as EnchantmentGenerator#generateEnchantments and #generateCustomEnchantments, minus applying them
+    private static Map<String, Integer> rollProceduralEnchantments(Snapshot snapshot, int itemTier, Material material, SplittableRandom random) {
+        HashMap<String, Integer> enchantments = snapshot.enchantmentCatalog.rollEnchantmentNames(material, itemTier, random);
+        enchantments.putAll(snapshot.enchantmentCatalog.rollCustomEnchantments(material, itemTier, random));
+        return enchantments;
+    }
+
+    private static File writeReport(Snapshot snapshot, Result result, long seed, long durationMillis) {
+        String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+        File file = new File(MetadataHandler.PLUGIN.getDataFolder(), "reports" + File.separatorChar + "loot_simulation_" + timestamp + ".txt");
+        file.getParentFile().mkdirs();
+        try (PrintWriter writer = new PrintWriter(file, StandardCharsets.UTF_8)) {
+            writer.println("EliteMobs loot simulation");
+            writer.println("Elite level: " + snapshot.eliteLevel + " | Kills: " + result.runs + " | Seed: " + seed + " | Took " + durationMillis + "ms");
+            writer.println("Simulated for: " + snapshot.senderName +
+                    (snapshot.guildLootCap >= 0 ? " | Guild loot limit: " + (int) snapshot.guildLootCap : "") +
+                    " | Currency multiplier: " + format(snapshot.currencyMultiplier * snapshot.guildCurrencyMultiplier));
+            writer.println("Ranges are 95% confidence intervals.");
+
+            long drops = result.getDrops();
+            writer.println();
+            writer.println("== Items ==");
+            writer.println("Kills with an item drop: " + drops + " (" + percentage(drops, result.runs) + ")");
+            if (result.noLootSystem > 0)
+                writer.println("Drops lost because every loot system is turned off: " + result.noLootSystem);
+            if (result.failedDrops > 0)
+                writer.println("Drops lost because the loot system had nothing to give: " + result.failedDrops);
+            if (snapshot.eliteScrollChance > 0)
+                writer.println("Elite scrolls: " + result.eliteScrolls + " (" + percentage(result.eliteScrolls, result.runs) + ")");
+
+            writer.println();
+            writer.println("== Loot systems (share of item drops) ==");
+            for (LootDistribution.LootSystem lootSystem : LootDistribution.LootSystem.values()) {
+                long count = result.lootSystems.getOrDefault(lootSystem, 0L);
+                if (count > 0)
+                    writer.println(lootSystem.name().toLowerCase(Locale.ROOT) + ": " + count + " (" + percentage(count, drops) + ")");
+            }
+
+            writer.println();
+            writer.println("== Item tiers ==");
+            for (Map.Entry<Integer, long[]> entry : result.tiers.entrySet()) {
+                long rolls = entry.getValue()[0];
+                writer.println("Tier " + entry.getKey() + ": rolled " + rolls + " times (" + format(100D * rolls / result.runs) + "%)" +
+                        ", dropped " + entry.getValue()[1] + " items (" + percentage(entry.getValue()[1], rolls) + ")" +
+                        ", configured drop chance " + format(100 * Math.min(1, snapshot.lootDistribution.getDropChance(entry.getKey(), false))) + "%");
+            }
+
+            writer.println();
+            writer.println("== Items dropped ==");
+            result.items.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .forEach(entry -> writer.println(entry.getKey() + ": " + entry.getValue() + " (" + percentage(entry.getValue(), drops) + ")"));
+
+            writer.println();
+            writer.println("== Enchantments (share of item drops that have them) ==");
+            for (Map.Entry<String, long[]> entry : result.enchantments.entrySet()) {
+                long[] counts = entry.getValue();
+                writer.println(entry.getKey() + ": " + counts[0] + " (" + percentage(counts[0], drops) + ")" +
+                        ", average level " + format((double) counts[1] / counts[0]) + ", highest level " + counts[2]);
+            }
+
+            writer.println();
+            writer.println("== Coins ==");
+            if (!snapshot.currencyShower) writer.println("The currency shower is turned off.");
+            else if (result.runs > 0) {
+                double mean = (double) result.coinTotal / result.runs;
+                double variance = Math.max(0, result.coinSquaredTotal / result.runs - mean * mean);
+                double margin = 1.96 * Math.sqrt(variance / result.runs);
+                writer.println("Coins per kill: " + format(mean) + " (" + format(mean - margin) + " to " + format(mean + margin) + ")" +
+                        ", standard deviation " + format(Math.sqrt(variance)));
+                writer.println("Lowest: " + result.minimumCoins + " | Highest: " + result.maximumCoins + " | Total: " + result.coinTotal);
+            }
+        } catch (IOException exception) {
+            throw new RuntimeException("Failed to write the loot simulation report to " + file.getPath(), exception);
+        }
+        return file;
+    }
+
+    //Percentage with a normal approximation 95% confidence interval
+    private static String percentage(long count, long total) {
+        if (total == 0) return "0%";
+        double share = (double) count / total;
+        double margin = 1.96 * Math.sqrt(share * (1 - share) / total);
+        return format(100 * share) + "%, " + format(100 * Math.max(0, share - margin)) + "% to " + format(100 * Math.min(1, share + margin)) + "%";
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static class SimulationTask extends RecursiveTask<Result> {
+        private final Snapshot snapshot;
+        private final SplittableRandom random;
+        private final int start;
+        private final int end;
+
+        private SimulationTask(Snapshot snapshot, SplittableRandom random, int start, int end) {
+            this.snapshot = snapshot;
+            this.random = random;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Result compute() {
+            if (end - start <= RUNS_PER_TASK) {
+                Result result = new Result();
+                for (int i = start; i < end; i++) runKill(snapshot, random, result);
+                return result;
+            }
+            int middle = start + (end - start) / 2;
+            SimulationTask left = new SimulationTask(snapshot, random.split(), start, middle);
+            SimulationTask right = new SimulationTask(snapshot, random, middle, end);
+            left.fork();
+            Result result = right.compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+
+    /**
+     * Copy of everything the simulated kills read, taken on the main thread.
+     */
+    private static class Snapshot {
+        private final String senderName;
+        private final int eliteLevel;
+        private final int mobTier;
+        private final int maximumItemLevel;
+        //Negative when the guild loot limiter does not apply
+        private final double guildLootCap;
+        private final boolean currencyShower;
+        private final double currencyMultiplier;
+        private final double guildCurrencyMultiplier;
+        private final double eliteScrollChance;
+        private final LootDistribution lootDistribution;
+        private final ProceduralEnchantmentCatalog enchantmentCatalog;
+        private final AliasTable<SimulatedItem> weighedItems;
+        private final List<SimulatedItem> scalableItems;
+        private final TierData[] tiers;
+
+        private Snapshot(CommandSender commandSender, int eliteLevel, LootDistribution lootDistribution) {
+            this.senderName = commandSender.getName();
+            this.eliteLevel = eliteLevel;
+            this.mobTier = (int) MobTierCalculator.findMobTier(eliteLevel);
+            this.maximumItemLevel = ItemSettingsConfig.getMaximumItemLevel();
+            if (AdventurersGuildConfig.isGuildLootLimiter() && commandSender instanceof Player player)
+                this.guildLootCap = GuildRank.getActiveGuildRank(player) * 10D;
+            else
+                this.guildLootCap = -1;
+            this.currencyShower = EconomySettingsConfig.isEnableCurrencyShower() && SoulbindEnchantment.isEnabled;
+            this.currencyMultiplier = EconomySettingsConfig.getCurrencyShowerMultiplier();
+            this.guildCurrencyMultiplier = commandSender instanceof Player player ?
+                    GuildRank.currencyBonusMultiplier(GuildRank.getGuildPrestigeRank(player)) :
+                    GuildRank.currencyBonusMultiplier(0);
+            this.eliteScrollChance = ItemSettingsConfig.isUseEliteItemScrolls() ? ItemSettingsConfig.getEliteItemScrollChance() : 0;
+            this.lootDistribution = lootDistribution;
+            this.enchantmentCatalog = ProceduralEnchantmentCatalog.getInstance();
+
+            HashMap<SimulatedItem, Double> weighedItemWeights = new HashMap<>();
+            HashMap<CustomItem, SimulatedItem> simulatedItems = new HashMap<>();
+            for (CustomItem customItem : CustomItem.getCustomItems().values()) {
+                SimulatedItem simulatedItem = new SimulatedItem(customItem);
+                simulatedItems.put(customItem, simulatedItem);
+                //Same check as the one that puts items in CustomItem#getWeighedFixedItems
+                if (customItem.getScalability() == CustomItem.Scalability.FIXED && customItem.getDropWeight() > 0)
+                    weighedItemWeights.put(simulatedItem, customItem.getDropWeight());
+            }
+            this.weighedItems = AliasTable.of(weighedItemWeights);
+            List<SimulatedItem> scalableItemList = new ArrayList<>();
+            for (CustomItem customItem : CustomItem.getScalableItems())
+                scalableItemList.add(simulatedItems.computeIfAbsent(customItem, SimulatedItem::new));
+            this.scalableItems = List.copyOf(scalableItemList);
+
+            //Item tiers can not go over one above the level used to roll them
+            int highestTier = Math.max(Math.max(eliteLevel, mobTier), (int) Math.max(0, guildLootCap)) + 1;
+            this.tiers = new TierData[highestTier + 1];
+            List<SimulatedItem> limitedItems = new ArrayList<>();
+            for (int tier = 0; tier <= highestTier; tier++) {
+                List<SimulatedItem> fixedItems = new ArrayList<>();
+                for (CustomItem customItem : lootDistribution.getFixedItems(tier))
+                    fixedItems.add(simulatedItems.computeIfAbsent(customItem, SimulatedItem::new));
+                tiers[tier] = new TierData(MaterialGenerator.getValidMaterials(tier), fixedItems, limitedItems);
+                //Limited items of a tier are available from the next tier on, see ScalableItemConstructor#randomizeLimitedItem
+                if (CustomItem.getLimitedItems().containsKey(tier))
+                    for (CustomItem customItem : CustomItem.getLimitedItems().get(tier))
+                        limitedItems.add(simulatedItems.computeIfAbsent(customItem, SimulatedItem::new));
+            }
+        }
+
+        private TierData getTier(int itemTier) {
+            return tiers[Math.max(0, Math.min(tiers.length - 1, itemTier))];
+        }
+    }
+
+    private static class TierData {
+        private final List<Material> materials;
+        private final List<SimulatedItem> fixedItems;
+        //Limited items of all lower tiers
+        private final List<SimulatedItem> limitedItems;
+
+        private TierData(List<Material> materials, List<SimulatedItem> fixedItems, List<SimulatedItem> limitedItems) {
+            this.materials = List.copyOf(materials);
+            this.fixedItems = List.copyOf(fixedItems);
+            this.limitedItems = List.copyOf(limitedItems);
+        }
+    }
+
+    private static class SimulatedItem {
+        private final String filename;
+        private final Map<String, Integer> enchantments;
+
+        private SimulatedItem(CustomItem customItem) {
+            this.filename = customItem.getCustomItemsConfigFields().getFilename();
+            HashMap<String, Integer> enchantmentLevels = new HashMap<>(customItem.getCustomEnchantments());
+            for (Map.Entry<Enchantment, Integer> entry : customItem.getEnchantments().entrySet())
+                enchantmentLevels.put(entry.getKey().getKey().getKey().toLowerCase(Locale.ROOT), entry.getValue());
+            this.enchantments = Map.copyOf(enchantmentLevels);
+        }
+    }
+
+    private static class Result {
+        private final EnumMap<LootDistribution.LootSystem, Long> lootSystems = new EnumMap<>(LootDistribution.LootSystem.class);
+        //Times each item tier got rolled and times it dropped an item
+        private final TreeMap<Integer, long[]> tiers = new TreeMap<>();
+        private final HashMap<String, Long> items = new HashMap<>();
+        //Items with the enchantment, sum of their levels and highest level
+        private final TreeMap<String, long[]> enchantments = new TreeMap<>();
+        private long runs = 0;
+        private long noLootSystem = 0;
+        private long failedDrops = 0;
+        private long eliteScrolls = 0;
+        private long coinTotal = 0;
+        private double coinSquaredTotal = 0;
+        private long minimumCoins = Long.MAX_VALUE;
+        private long maximumCoins = 0;
+
+        private void addCoins(int coins) {
+            coinTotal += coins;
+            coinSquaredTotal += (double) coins * coins;
+            minimumCoins = Math.min(minimumCoins, coins);
+            maximumCoins = Math.max(maximumCoins, coins);
+        }
+
+        private long getDrops() {
+            long drops = 0;
+            for (long count : lootSystems.values()) drops += count;
+            return drops;
+        }
+
+        private void merge(Result other) {
+            other.lootSystems.forEach((key, value) -> lootSystems.merge(key, value, Long::sum));
+            other.tiers.forEach((key, value) -> {
+                long[] counts = tiers.computeIfAbsent(key, k -> new long[2]);
+                counts[0] += value[0];
+                counts[1] += value[1];
+            });
+            other.items.forEach((key, value) -> items.merge(key, value, Long::sum));
+            other.enchantments.forEach((key, value) -> {
+                long[] counts = enchantments.computeIfAbsent(key, k -> new long[3]);
+                counts[0] += value[0];
+                counts[1] += value[1];
+                counts[2] = Math.max(counts[2], value[2]);
+            });
+            runs += other.runs;
+            noLootSystem += other.noLootSystem;
+            failedDrops += other.failedDrops;
+            eliteScrolls += other.eliteScrolls;
+            coinTotal += other.coinTotal;
+            coinSquaredTotal += other.coinSquaredTotal;
+            minimumCoins = Math.min(minimumCoins, other.minimumCoins);
+            maximumCoins = Math.max(maximumCoins, other.maximumCoins);
+        }
+    }
+}
@@ -5,7 +5,6 @@ import com.magmaguy.elitemobs.adventurersguild.GuildRank;
 import com.magmaguy.elitemobs.api.EliteMobDeathEvent;
 import com.magmaguy.elitemobs.config.AdventurersGuildConfig;
 import com.magmaguy.elitemobs.config.ItemSettingsConfig;
-import com.magmaguy.elitemobs.config.ProceduralItemGenerationSettingsConfig;
 import com.magmaguy.elitemobs.config.SpecialItemSystemsConfig;
 import com.magmaguy.elitemobs.items.customenchantments.SoulbindEnchantment;
 import com.magmaguy.elitemobs.items.customitems.CustomItem;
@@ -14,8 +13,8 @@ import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.mobconstructor.custombosses.CustomBossEntity;
 import com.magmaguy.elitemobs.mobconstructor.custombosses.RegionalBossEntity;
 import com.magmaguy.elitemobs.playerdata.database.PlayerData;
-import com.magmaguy.elitemobs.utils.WeightedProbability;
 import com.magmaguy.magmacore.util.Logger;
+import lombok.Getter;
 import net.md_5.bungee.api.ChatMessageType;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.Location;
@@ -26,22 +25,17 @@ import org.bukkit.event.Listener;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
 
-import java.util.HashMap;
 import java.util.concurrent.ThreadLocalRandom;
-
-import static com.magmaguy.elitemobs.utils.WeightedProbability.pickWeighedProbability;
+import java.util.random.RandomGenerator;
 
 /**
  * Created by MagmaGuy on 04/06/2017.
  */
 public class LootTables implements Listener {
 
-    private static boolean proceduralItemsOn;
-    private static boolean customItemsOn;
-    private static boolean weighedItemsExist;
-    private static boolean fixedItemsExist;
-    private static boolean limitedItemsExist;
-    private static boolean scalableItemsExist;
+    //Replaced as a whole on reload, never modified, so it can be handed to other threads
+    @Getter
+    private static volatile LootDistribution lootDistribution = null;
 
     public static void generatePlayerLoot(EliteEntity eliteEntity) {
         if (eliteEntity.isTriggeredAntiExploit()) return;
@@ -94,13 +88,11 @@ public class LootTables implements Listener {
     }
 
 
+    /**
+     * Compiles the loot settings. Needs custom items and the special item systems config to be loaded.
+     */
     public static void initialize() {
-        proceduralItemsOn = ProceduralItemGenerationSettingsConfig.isDoProceduralItemDrops();
-        customItemsOn = ItemSettingsConfig.isDoEliteMobsLoot() && !CustomItem.getCustomItemStackList().isEmpty();
-        weighedItemsExist = CustomItem.getWeighedFixedItems() != null && !CustomItem.getWeighedFixedItems().isEmpty();
-        fixedItemsExist = CustomItem.getFixedItems() != null && !CustomItem.getFixedItems().isEmpty();
-        limitedItemsExist = CustomItem.getLimitedItems() != null && !CustomItem.getLimitedItems().isEmpty();
-        scalableItemsExist = CustomItem.getScalableItems() != null && !CustomItem.getScalableItems().isEmpty();
+        lootDistribution = LootDistribution.compile();
     }
 
     private static ItemStack generateLoot(EliteEntity eliteEntity, Player player) {
@@ -121,24 +113,10 @@ public class LootTables implements Listener {
          /*
         Handle the odds of an item dropping
          */
-        double baseChance = ItemSettingsConfig.getFlatDropRate();
-        if (eliteEntity instanceof RegionalBossEntity)
-            baseChance = ItemSettingsConfig.getRegionalBossNonUniqueDropRate();
-        double dropChanceBonus = ItemSettingsConfig.getLevelIncreaseDropRate() * itemTier;
-
-        if (ThreadLocalRandom.current().nextDouble() > baseChance + dropChanceBonus) return null;
-
-        HashMap<String, Double> weightedProbability = new HashMap<>();
-        if (proceduralItemsOn) weightedProbability.put("procedural", ItemSettingsConfig.getProceduralItemWeight());
-        if (customItemsOn) {
-            if (weighedItemsExist) weightedProbability.put("weighed", ItemSettingsConfig.getWeighedItemWeight());
-            if (fixedItemsExist) if (CustomItem.getFixedItems().containsKey(itemTier))
-                weightedProbability.put("fixed", ItemSettingsConfig.getFixedItemWeight());
-            if (limitedItemsExist) weightedProbability.put("limited", ItemSettingsConfig.getLimitedItemWeight());
-            if (scalableItemsExist) weightedProbability.put("scalable", ItemSettingsConfig.getScalableItemWeight());
-        }
+        if (ThreadLocalRandom.current().nextDouble() > lootDistribution.getDropChance(itemTier, eliteEntity instanceof RegionalBossEntity))
+            return null;
 
-        String selectedLootSystem = pickWeighedProbability(weightedProbability);
+        LootDistribution.LootSystem selectedLootSystem = lootDistribution.pickLootSystem(itemTier, ThreadLocalRandom.current());
 
         if (selectedLootSystem == null) {
             Logger.info("Your EliteMobs loot configuration resulted in no loot getting dropped. This is not a bug. " + "If you want! players to be able to progress at all in the EliteMobs plugin, review your configuration settings.");
@@ -146,15 +124,15 @@ public class LootTables implements Listener {
         }
 
         switch (selectedLootSystem) {
-            case "procedural":
+            case PROCEDURAL:
                 return dropProcedurallyGeneratedItem(itemTier, eliteEntity, player);
-            case "weighed":
+            case WEIGHED:
                 return dropWeighedFixedItem(eliteEntity, player);
-            case "fixed":
+            case FIXED:
                 return dropFixedItem(eliteEntity, itemTier, player);
-            case "limited":
+            case LIMITED:
                 return dropLimitedItem(eliteEntity, itemTier, player);
-            case "scalable":
+            case SCALABLE:
                 return dropScalableItem(eliteEntity, itemTier, player);
         }
 
@@ -175,33 +153,21 @@ public class LootTables implements Listener {
          /*
         Handle the odds of an item dropping
          */
-        double baseChance = ItemSettingsConfig.getFlatDropRate();
-        double dropChanceBonus = ItemSettingsConfig.getLevelIncreaseDropRate() * itemLevel;
-
-        if (ThreadLocalRandom.current().nextDouble() > baseChance + dropChanceBonus) return null;
-
-        HashMap<String, Double> weightedProbability = new HashMap<>();
-        if (proceduralItemsOn) weightedProbability.put("procedural", ItemSettingsConfig.getProceduralItemWeight());
-        if (customItemsOn) {
-            if (weighedItemsExist) weightedProbability.put("weighed", ItemSettingsConfig.getWeighedItemWeight());
-            if (fixedItemsExist) if (CustomItem.getFixedItems().containsKey(itemLevel))
-                weightedProbability.put("fixed", ItemSettingsConfig.getFixedItemWeight());
-            if (limitedItemsExist) weightedProbability.put("limited", ItemSettingsConfig.getLimitedItemWeight());
-            if (scalableItemsExist) weightedProbability.put("scalable", ItemSettingsConfig.getScalableItemWeight());
-        }
+        if (ThreadLocalRandom.current().nextDouble() > lootDistribution.getDropChance(itemLevel, false)) return null;
 
-        String selectedLootSystem = pickWeighedProbability(weightedProbability);
+        LootDistribution.LootSystem selectedLootSystem = lootDistribution.pickLootSystem(itemLevel, ThreadLocalRandom.current());
+        if (selectedLootSystem == null) return null;
 
         switch (selectedLootSystem) {
-            case "procedural":
+            case PROCEDURAL:
                 return dropProcedurallyGeneratedItem(itemLevel, location, player);
-            case "weighed":
+            case WEIGHED:
                 return dropWeighedFixedItem(location, player);
-            case "fixed":
+            case FIXED:
                 return dropFixedItem(location, itemLevel, player);
-            case "limited":
+            case LIMITED:
                 return dropLimitedItem(location, itemLevel, player);
-            case "scalable":
+            case SCALABLE:
                 return dropScalableItem(location, itemLevel, player);
         }
 
@@ -211,28 +177,19 @@ public class LootTables implements Listener {
 
     public static ItemStack generateItemStack(int itemTier, Player player, EliteEntity eliteEntity) {
 
-        HashMap<String, Double> weightedProbability = new HashMap<>();
-        if (proceduralItemsOn) weightedProbability.put("procedural", ItemSettingsConfig.getProceduralItemWeight());
-        if (customItemsOn) {
-            if (weighedItemsExist) weightedProbability.put("weighed", ItemSettingsConfig.getWeighedItemWeight());
-            if (fixedItemsExist) if (CustomItem.getFixedItems().containsKey(itemTier))
-                weightedProbability.put("fixed", ItemSettingsConfig.getFixedItemWeight());
-            if (limitedItemsExist) weightedProbability.put("limited", ItemSettingsConfig.getLimitedItemWeight());
-            if (scalableItemsExist) weightedProbability.put("scalable", ItemSettingsConfig.getScalableItemWeight());
-        }
-
-        String selectedLootSystem = pickWeighedProbability(weightedProbability);
+        LootDistribution.LootSystem selectedLootSystem = lootDistribution.pickLootSystem(itemTier, ThreadLocalRandom.current());
+        if (selectedLootSystem == null) return null;
 
         switch (selectedLootSystem) {
-            case "procedural":
+            case PROCEDURAL:
                 return generateProcedurallyGeneratedItem(itemTier, player, eliteEntity);
-            case "weighed":
+            case WEIGHED:
                 return generateWeighedFixedItemStack(player);
-            case "fixed":
+            case FIXED:
                 return generateFixedItem(itemTier, player, eliteEntity);
-            case "limited":
+            case LIMITED:
                 return generateLimitedItem(itemTier, player, eliteEntity);
-            case "scalable":
+            case SCALABLE:
                 return generateScalableItem(itemTier, player, eliteEntity);
         }
 
@@ -241,13 +198,17 @@ public class LootTables implements Listener {
     }
 
     public static double setItemTier(int mobTier) {
+        return setItemTier(mobTier, ItemSettingsConfig.getMaximumItemLevel(), ThreadLocalRandom.current());
+    }
+
+    static double setItemTier(int mobTier, int maximumItemLevel, RandomGenerator random) {
 
-        double chanceToUpgradeTier = 10 / (double) mobTier * ItemSettingsConfig.getMaximumItemLevel();
+        double chanceToUpgradeTier = 10 / (double) mobTier * maximumItemLevel;
 
-        if (ThreadLocalRandom.current().nextDouble() * 100 < chanceToUpgradeTier) return mobTier + 1D;
+        if (random.nextDouble() * 100 < chanceToUpgradeTier) return mobTier + 1D;
 
 
-        double diceRoll = ThreadLocalRandom.current().nextDouble();
+        double diceRoll = random.nextDouble();
 
         /*
         10% of the time, give an item a tier below what the player is wearing
@@ -280,24 +241,8 @@ public class LootTables implements Listener {
     }
 
     private static ItemStack generateWeighedFixedItemStack(Player player) {
-        double totalWeight = 0;
-
-        for (ItemStack itemStack : CustomItem.getWeighedFixedItems().keySet()) {
-            Double shouldntBeNull = CustomItem.getWeighedFixedItems().get(itemStack);
-            if (shouldntBeNull != null) totalWeight += CustomItem.getWeighedFixedItems().get(itemStack);
-            else Logger.warn("Item " + itemStack.getItemMeta().getDisplayName() + " reported a null weight!");
-        }
-
-        ItemStack generatedItemStack = null;
-        double random = Math.random() * totalWeight;
-
-        for (ItemStack itemStack : CustomItem.getWeighedFixedItems().keySet()) {
-            random -= CustomItem.getWeighedFixedItems().get(itemStack);
-            if (random <= 0) {
-                generatedItemStack = itemStack.clone();
-                break;
-            }
-        }
+        ItemStack generatedItemStack = lootDistribution.pickWeighedFixedItem(ThreadLocalRandom.current());
+        if (generatedItemStack != null) generatedItemStack = generatedItemStack.clone();
 
         SoulbindEnchantment.addEnchantment(generatedItemStack, player);
         return generatedItemStack;
@@ -372,7 +317,7 @@ public class LootTables implements Listener {
     }
 
     private static ItemStack generateFixedItem(int itemTier, Player player, EliteEntity eliteEntity) {
-        return CustomItem.getFixedItems().get(itemTier).get(ThreadLocalRandom.current().nextInt(CustomItem.getFixedItems().get(itemTier).size())).generateDefaultsItemStack(player, false, eliteEntity);
+        return lootDistribution.pickFixedItem(itemTier, ThreadLocalRandom.current()).generateDefaultsItemStack(player, false, eliteEntity);
     }
 
     private static void processPhysicalItem(Location location, ItemStack itemStack, Player player) {
@@ -386,7 +331,7 @@ public class LootTables implements Listener {
     }
 
     public static void generateSpecialLoot(Player player, int level, EliteEntity eliteEntity) {
-        CustomItem customItem = WeightedProbability.pickWeighedProbabilityFromCustomItems(SpecialItemSystemsConfig.getSpecialValues());
+        CustomItem customItem = lootDistribution.pickSpecialItem(ThreadLocalRandom.current());
         if (customItem == null) return;
         player.getWorld().dropItem(player.getLocation(), customItem.generateItemStack(level, player, eliteEntity));
     }
@@ -0,0 +1,291 @@
+package com.magmaguy.elitemobs.items;
+
+import com.magmaguy.elitemobs.config.EconomySettingsConfig;
+import com.magmaguy.elitemobs.config.ItemSettingsConfig;
+import com.magmaguy.elitemobs.config.enchantments.EnchantmentsConfig;
+import com.magmaguy.elitemobs.config.potioneffects.PotionEffectsConfig;
+import com.magmaguy.elitemobs.items.customenchantments.CustomEnchantment;
+import com.magmaguy.magmacore.util.ChatColorConverter;
+import lombok.Getter;
+import org.bukkit.ChatColor;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * The lore structure from ItemSettings.yml, compiled once so that rebuilding the lore of an item does not have to run
+ * every placeholder of every line through {@link String#replace}.
+ * <p>
+ * Each line of the structure gets sorted into the kind of entry it expands to and, if it has item stat placeholders,
+ * split into the text around them. Lines without placeholders get their colors converted once. The lore lines of
+ * enchantments and potion effects only depend on their level and the configs, so they get rendered the first time they
+ * show up and reused after that. Everything in here comes from the configs, so it gets thrown away on shutdown and
+ * compiled again on the next use.
+ */
+public class LoreTemplate {
+    private static LoreTemplate instance = null;
+    @Getter
+    private static long rebuilds = 0;
+    @Getter
+    private static long rebuildNanos = 0;
+    private static long countingSince = System.nanoTime();
+
+    private final Line[] lines;
+    //What $weaponOrArmorStats turns into
+    private final Line weaponLine;
+    private final Line armorLine;
+    private final boolean usesStats;
+    private final String noSoulbindLine;
+    private final String itemWorthTemplate;
+    private final String itemResaleTemplate;
+    private final HashMap<Enchantment, HashMap<Integer, String>> vanillaEnchantmentLines = new HashMap<>();
+    private final HashMap<Enchantment, HashMap<Integer, String>> eliteEnchantmentLines = new HashMap<>();
+    private final HashMap<CustomEnchantment, HashMap<Integer, String>> customEnchantmentLines = new HashMap<>();
+    private final HashMap<PotionEffectType, HashMap<Integer, String>> continuousPotionEffectLines = new HashMap<>();
+    private final HashMap<PotionEffectType, HashMap<Integer, String>> onHitSelfPotionEffectLines = new HashMap<>();
+    private final HashMap<PotionEffectType, HashMap<Integer, String>> onHitTargetPotionEffectLines = new HashMap<>();
+
+    private LoreTemplate() {
+        List<Line> compiledLines = new ArrayList<>();
+        for (String string : ItemSettingsConfig.getLoreStructure())
+            compiledLines.add(string.contains("$weaponOrArmorStats") ?
+                    new Line(LineType.WEAPON_OR_ARMOR_STATS, "") :
+                    Line.compile(string));
+        lines = compiledLines.toArray(new Line[0]);
+        weaponLine = Line.compile(ItemSettingsConfig.getWeaponEntry());
+        armorLine = Line.compile(ItemSettingsConfig.getArmorEntry());
+        boolean stats = weaponLine.stats.length > 0 || armorLine.stats.length > 0;
+        for (Line line : lines) stats |= line.stats.length > 0;
+        usesStats = stats;
+        noSoulbindLine = ChatColorConverter.convert(ItemSettingsConfig.getNoSoulbindLore());
+        itemWorthTemplate = ItemSettingsConfig.getLoreWorth().replace("$currencyName", EconomySettingsConfig.getCurrencyName());
+        itemResaleTemplate = ItemSettingsConfig.getLoreResale().replace("$currencyName", EconomySettingsConfig.getCurrencyName());
+    }
+
+    static LoreTemplate getInstance() {
+        if (instance == null) instance = new LoreTemplate();
+        return instance;
+    }
+
+    public static void shutdown() {
+        instance = null;
+        rebuilds = 0;
+        rebuildNanos = 0;
+        countingSince = System.nanoTime();
+    }
+
+    static void recordRebuild(long nanos) {
+        rebuilds++;
+        rebuildNanos += nanos;
+    }
+
+    public static double getRebuildsPerSecond() {
+        double seconds = (System.nanoTime() - countingSince) / 1000000000D;
+        return seconds > 0 ? rebuilds / seconds : 0;
+    }
+
+    public static int getCachedFragmentCount() {
+        if (instance == null) return 0;
+        return countFragments(instance.vanillaEnchantmentLines) + countFragments(instance.eliteEnchantmentLines) +
+                countFragments(instance.customEnchantmentLines) + countFragments(instance.continuousPotionEffectLines) +
+                countFragments(instance.onHitSelfPotionEffectLines) + countFragments(instance.onHitTargetPotionEffectLines);
+    }
+
+    private static int countFragments(HashMap<?, HashMap<Integer, String>> fragments) {
+        int count = 0;
+        for (HashMap<Integer, String> levels : fragments.values()) count += levels.size();
+        return count;
+    }
+
+    private static <K> String getFragment(HashMap<K, HashMap<Integer, String>> fragments, K key, int level, Function<Integer, String> renderer) {
+        return fragments.computeIfAbsent(key, k -> new HashMap<>()).computeIfAbsent(level, renderer);
+    }
+
+    Line[] getLines() {
+        return lines;
+    }
+
+    /**
+     * @return The line $weaponOrArmorStats turns into, null for items that are neither
+     */
+    Line getWeaponOrArmorLine(boolean weapon, boolean armor) {
+        if (weapon) return weaponLine;
+        if (armor) return armorLine;
+        return null;
+    }
+
+    /**
+     * @return Whether the item stats need to be worked out for {@link Line#render(String[])}
+     */
+    boolean usesStats() {
+        return usesStats;
+    }
+
+    String getNoSoulbindLine() {
+        return noSoulbindLine;
+    }
+
+    String getItemWorthLine(double worth) {
+        return itemWorthTemplate.replace("$worth", worth + "");
+    }
+
+    String getItemResaleLine(double resale) {
+        return itemResaleTemplate.replace("$resale", resale + "");
+    }
+
+    String getVanillaEnchantmentLine(Enchantment enchantment, int level) {
+        return getFragment(vanillaEnchantmentLines, enchantment, level, key -> ChatColorConverter.convert(
+                ItemSettingsConfig.getVanillaEnchantmentColor() + ChatColorConverter.convert(
+                        (enchantment.getName().contains("CURSE") ? "&c" : "&7")
+                                + EnchantmentsConfig.getEnchantment(enchantment).getName() + " " + level)));
+    }
+
+    String getEliteEnchantmentLine(Enchantment enchantment, int eliteLevel) {
+        return getFragment(eliteEnchantmentLines, enchantment, eliteLevel, key -> ChatColorConverter.convert(
+                ItemSettingsConfig.getEliteEnchantmentColor() + ChatColor.stripColor(ChatColorConverter.convert(
+                        "&7" + ItemSettingsConfig.getEliteEnchantLoreString() + " "
+                                + EnchantmentsConfig.getEnchantment(enchantment).getName() + " " + eliteLevel))));
+    }
+
+    String getCustomEnchantmentLine(CustomEnchantment customEnchantment, int level) {
+        return getFragment(customEnchantmentLines, customEnchantment, level, key -> ChatColorConverter.convert(
+                ItemSettingsConfig.getCustomEnchantmentColor() + ChatColor.stripColor(ChatColorConverter.convert(
+                        "&6" + customEnchantment.getEnchantmentsConfigFields().getName() + " " + level))));
+    }
+
+    String getContinuousPotionEffectLine(PotionEffectType potionEffectType, int level) {
+        return getPotionEffectLine(continuousPotionEffectLines, potionEffectType, level, ItemSettingsConfig.getPotionEffectContinuousLore());
+    }
+
+    String getOnHitPotionEffectLine(PotionEffectType potionEffectType, int level, boolean self) {
+        if (self)
+            return getPotionEffectLine(onHitSelfPotionEffectLines, potionEffectType, level, ItemSettingsConfig.getPotionEffectOnHitSelfLore());
+        return getPotionEffectLine(onHitTargetPotionEffectLines, potionEffectType, level, ItemSettingsConfig.getPotionEffectOnHitTargetLore());
+    }
+
+    private String getPotionEffectLine(HashMap<PotionEffectType, HashMap<Integer, String>> fragments, PotionEffectType potionEffectType, int level, String loreString) {
+        return getFragment(fragments, potionEffectType, level, key -> ChatColorConverter.convert(
+                ItemSettingsConfig.getPotionEffectColor() + ChatColorConverter.convert(PotionEffectsConfig.getPotionEffect(
+                        potionEffectType.getKey().getKey().toLowerCase(Locale.ROOT) + ".yml").getName()
+                        + loreString + " " + level)));
+    }
+
+    /**
+     * Item stats a lore line can show, in the order {@link Line#render(String[])} expects their values
+     */
+    enum Stat {
+        EDPS("$EDPS"),
+        EDEF("$EDEF"),
+        PRESTIGE_LEVEL("$prestigeLevel"),
+        ITEM_LEVEL("$itemLevel");
+
+        private final String placeholder;
+
+        Stat(String placeholder) {
+            this.placeholder = placeholder;
+        }
+    }
+
+    /**
+     * What a line of the lore structure expands to. When a line has several of these placeholders the first one in
+     * this order wins.
+     */
+    enum LineType {
+        TEXT,
+        WEAPON_OR_ARMOR_STATS,
+        ENCHANTMENTS,
+        ELITE_ENCHANTMENTS,
+        ITEM_SOURCE,
+        POTION_EFFECTS,
+        CUSTOM_ENCHANTMENTS,
+        ITEM_WORTH,
+        CUSTOM_LORE,
+        SOULBIND_INFO,
+        IF_POTION_EFFECTS,
+        IF_ENCHANTMENTS,
+        IF_LORE,
+        IF_CUSTOM_ENCHANTMENTS
+    }
+
+    static class Line {
+        @Getter
+        private final LineType type;
+        //Text around the stat placeholders, always one more segment than stats
+        private final String[] segments;
+        private final Stat[] stats;
+        //Color converted text, only for text lines without stat placeholders
+        private final String convertedText;
+
+        private Line(LineType type, String text) {
+            this.type = type;
+            List<String> segmentList = new ArrayList<>();
+            List<Stat> statList = new ArrayList<>();
+            int start = 0;
+            while (true) {
+                int next = -1;
+                Stat nextStat = null;
+                for (Stat stat : Stat.values()) {
+                    int index = text.indexOf(stat.placeholder, start);
+                    if (index >= 0 && (next < 0 || index < next)) {
+                        next = index;
+                        nextStat = stat;
+                    }
+                }
+                if (nextStat == null) break;
+                segmentList.add(text.substring(start, next));
+                statList.add(nextStat);
+                start = next + nextStat.placeholder.length();
+            }
+            segmentList.add(text.substring(start));
+            this.segments = segmentList.toArray(new String[0]);
+            this.stats = statList.toArray(new Stat[0]);
+            this.convertedText = type == LineType.TEXT && stats.length == 0 ? ChatColorConverter.convert(text) : null;
+        }
+
+        private static Line compile(String string) {
+            if (string.contains("$enchantments")) return new Line(LineType.ENCHANTMENTS, "");
+            if (string.contains("$eliteEnchantments")) return new Line(LineType.ELITE_ENCHANTMENTS, "");
+            if (string.contains("$itemSource")) return new Line(LineType.ITEM_SOURCE, "");
+            if (string.contains("$potionEffect")) return new Line(LineType.POTION_EFFECTS, "");
+            if (string.contains("$customEnchantments")) return new Line(LineType.CUSTOM_ENCHANTMENTS, "");
+            if (string.contains("$loreResaleValue")) return new Line(LineType.ITEM_WORTH, "");
+            if (string.contains("$customLore")) return new Line(LineType.CUSTOM_LORE, "");
+            if (string.contains("$soulbindInfo")) return new Line(LineType.SOULBIND_INFO, "");
+            //Conditional lines only show up if the item has what they are about
+            if (string.contains("$ifPotionEffects"))
+                return new Line(LineType.IF_POTION_EFFECTS, string.replace("$ifPotionEffects", ""));
+            if (string.contains("$ifEnchantments"))
+                return new Line(LineType.IF_ENCHANTMENTS, string.replace("$ifEnchantments", ""));
+            if (string.contains("$ifLore"))
+                return new Line(LineType.IF_LORE, string.replace("$ifLore", ""));
+            if (string.contains("$ifCustomEnchantments"))
+                return new Line(LineType.IF_CUSTOM_ENCHANTMENTS, string.replace("$ifCustomEnchantments", ""));
+            return new Line(LineType.TEXT, string);
+        }
+
+        /**
+         * @param statValues Values of the stats, see {@link Stat}. Can be null if {@link LoreTemplate#usesStats()} is false
+         * @return The line with its stat placeholders filled in
+         */
+        String render(String[] statValues) {
+            if (stats.length == 0) return segments[0];
+            StringBuilder stringBuilder = new StringBuilder(segments[0]);
+            for (int i = 0; i < stats.length; i++)
+                stringBuilder.append(statValues[stats[i].ordinal()]).append(segments[i + 1]);
+            return stringBuilder.toString();
+        }
+
+        /**
+         * Same as {@link #render(String[])}, with the colors converted
+         */
+        String renderText(String[] statValues) {
+            if (convertedText != null) return convertedText;
+            return ChatColorConverter.convert(render(statValues));
+        }
+    }
+}
@@ -12,7 +12,9 @@ import org.bukkit.inventory.ItemStack;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class ScalableItemConstructor {
 
@@ -26,7 +28,7 @@ public class ScalableItemConstructor {
 
     public static ItemStack constructScalableItem(int itemTier, CustomItem customItem, Player player, EliteEntity eliteEntity) {
         if (!customItem.getPermission().isEmpty() && !player.hasPermission(customItem.getPermission())) return null;
-        HashMap<Enchantment, Integer> newEnchantmentList = updateDynamicEnchantments(customItem.getEnchantments());
+        HashMap<Enchantment, Integer> newEnchantmentList = updateDynamicEnchantments(customItem.getEnchantments(), ThreadLocalRandom.current());
         return ItemConstructor.constructItem(
                 itemTier,
                 customItem.getCustomItemsConfigFields().getName(),
@@ -44,16 +46,19 @@ public class ScalableItemConstructor {
         );
     }
 
-    private static HashMap<Enchantment, Integer> updateDynamicEnchantments(HashMap<Enchantment, Integer> enchantmentsList) {
-        List<Enchantment> enchantmentsArray = new ArrayList<>();
-        for (Enchantment enchantment : enchantmentsList.keySet())
+    /**
+     * Scalable and limited items get a random share of the enchantment levels of their config.
+     */
+    static <T> HashMap<T, Integer> updateDynamicEnchantments(Map<T, Integer> enchantmentsList, RandomGenerator randomGenerator) {
+        List<T> enchantmentsArray = new ArrayList<>();
+        for (T enchantment : enchantmentsList.keySet())
             for (int i = 0; i < enchantmentsList.get(enchantment); i++)
                 enchantmentsArray.add(enchantment);
 
-        HashMap<Enchantment, Integer> newEnchantmentList = new HashMap<>();
+        HashMap<T, Integer> newEnchantmentList = new HashMap<>();
 
         for (int i = 0; i < enchantmentsArray.size(); i++) {
-            int random = ThreadLocalRandom.current().nextInt(0, enchantmentsArray.size());
+            int random = randomGenerator.nextInt(0, enchantmentsArray.size());
             if (!newEnchantmentList.containsKey(enchantmentsArray.get(random)))
                 newEnchantmentList.put(enchantmentsArray.get(random), 1);
             else {
@@ -97,7 +102,7 @@ public class ScalableItemConstructor {
     public static ItemStack constructLimitedItem(int itemTier, CustomItem customItem, Player player, EliteEntity eliteEntity) {
         int adjustedItemLevel = Math.min(itemTier, customItem.getItemLevel());
 
-        HashMap<Enchantment, Integer> newEnchantmentList = updateDynamicEnchantments(customItem.getEnchantments());
+        HashMap<Enchantment, Integer> newEnchantmentList = updateDynamicEnchantments(customItem.getEnchantments(), ThreadLocalRandom.current());
 
         return ItemConstructor.constructItem(
                 adjustedItemLevel,
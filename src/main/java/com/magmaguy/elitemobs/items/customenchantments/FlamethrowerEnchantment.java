@@ -1,9 +1,9 @@
 package com.magmaguy.elitemobs.items.customenchantments;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.config.enchantments.EnchantmentsConfig;
 import com.magmaguy.elitemobs.events.BossCustomAttackDamage;
 import com.magmaguy.elitemobs.playerdata.ElitePlayerInventory;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import com.magmaguy.elitemobs.utils.CooldownHandler;
 import org.apache.commons.math3.exception.NotFiniteNumberException;
 import org.bukkit.Location;
@@ -19,7 +19,6 @@ import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
@@ -93,7 +92,7 @@ public class FlamethrowerEnchantment extends CustomEnchantment {
 
         private void doFlamethrowerPhase1(Player player, Location targetLocation) {
 
-            new BukkitRunnable() {
+            new PowerTask() {
                 int counter = 0;
 
                 @Override
@@ -113,7 +112,7 @@ public class FlamethrowerEnchantment extends CustomEnchantment {
 
                 }
 
-            }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+            }.runTaskTimer(0, 1);
 
         }
 
@@ -132,7 +131,7 @@ public class FlamethrowerEnchantment extends CustomEnchantment {
          */
         private void doFlamethrowerPhase2(Player player, Location target) {
             List<Location> damagePoints = generateDamagePoints(player, target);
-            new BukkitRunnable() {
+            new PowerTask() {
                 int timer = 0;
 
                 @Override
@@ -148,7 +147,7 @@ public class FlamethrowerEnchantment extends CustomEnchantment {
                     doFlamethrowerPhase3(player, target);
                     cancel();
                 }
-            }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+            }.runTaskTimer(0, 1);
         }
 
 
@@ -158,7 +157,7 @@ public class FlamethrowerEnchantment extends CustomEnchantment {
          * @param player
          */
         private void doFlamethrowerPhase3(Player player, Location fixedPlayerLocation) {
-            new BukkitRunnable() {
+            new PowerTask() {
                 int timer = 0;
 
                 @Override
@@ -172,7 +171,7 @@ public class FlamethrowerEnchantment extends CustomEnchantment {
                     if (timer < 20) return;
                     cancel();
                 }
-            }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+            }.runTaskTimer(0, 1);
         }
     }
 
@@ -1,7 +1,7 @@
 package com.magmaguy.elitemobs.items.customenchantments;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.items.ItemTagger;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.AbstractArrow;
@@ -14,7 +14,6 @@ import org.bukkit.event.entity.EntityShootBowEvent;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 public class GrapplingHookEnchantment extends CustomEnchantment {
@@ -29,7 +28,7 @@ public class GrapplingHookEnchantment extends CustomEnchantment {
     }
 
     public static void trackGrapplingHook(AbstractArrow arrow, Player player) {
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -47,12 +46,12 @@ public class GrapplingHookEnchantment extends CustomEnchantment {
                 }
                 counter++;
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 1, 1);
+        }.runTaskTimer(1, 1);
     }
 
     private static void zipline(Player player, Location location) {
         player.addPotionEffect(new PotionEffect(PotionEffectType.LEVITATION, 20 * 10, 1));
-        new BukkitRunnable() {
+        new PowerTask() {
             int timer = 0;
 
             @Override
@@ -67,7 +66,7 @@ public class GrapplingHookEnchantment extends CustomEnchantment {
                 player.setVelocity(location.clone().subtract(player.getLocation()).toVector().normalize().multiply(.5));
                 timer++;
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 1L, 1L);
+        }.runTaskTimer(1L, 1L);
     }
 
     private static Location getTargetBlock(Location airLocation) {
@@ -1,10 +1,5 @@
 package com.magmaguy.elitemobs.items.customenchantments;
 
-import com.magmaguy.elitemobs.playerdata.ElitePlayerInventory;
-import org.bukkit.entity.Player;
-
-import java.util.List;
-
 public class HunterEnchantment extends CustomEnchantment {
 
     public static String key = "hunter";
@@ -13,11 +8,4 @@ public class HunterEnchantment extends CustomEnchantment {
         super(key, false);
     }
 
-    public static double getHuntingGearBonus(List<Player> players) {
-        double huntingGearChanceAdder = 0;
-        for (Player player : players)
-            huntingGearChanceAdder += ElitePlayerInventory.playerInventories.get(player.getUniqueId()).getHunterChance(true);
-        return huntingGearChanceAdder;
-    }
-
 }
@@ -2,6 +2,7 @@ package com.magmaguy.elitemobs.items.customenchantments;
 
 import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.items.ItemTagger;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
 import org.bukkit.Particle;
@@ -11,7 +12,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerInteractEvent;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.concurrent.ThreadLocalRandom;
@@ -25,7 +25,7 @@ public class MeteorShowerEnchantment extends CustomEnchantment {
     }
 
     public static void doMeteorShower(Player player) {
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -52,7 +52,7 @@ public class MeteorShowerEnchantment extends CustomEnchantment {
                 }
 
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private static void doCloudEffect(Location location) {
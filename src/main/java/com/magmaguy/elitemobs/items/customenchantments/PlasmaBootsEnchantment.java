@@ -2,6 +2,7 @@ package com.magmaguy.elitemobs.items.customenchantments;
 
 import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.playerdata.ElitePlayerInventory;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.Bukkit;
 import org.bukkit.Color;
 import org.bukkit.Location;
@@ -14,7 +15,6 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerToggleSneakEvent;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.HashSet;
@@ -64,7 +64,7 @@ public class PlasmaBootsEnchantment extends CustomEnchantment {
     }
 
     private static void createProjectile(Vector shotVector, Location sourceLocation, Player player) {
-        new BukkitRunnable() {
+        new PowerTask() {
             final Location currentLocation = sourceLocation.clone();
             int counter = 0;
 
@@ -91,7 +91,7 @@ public class PlasmaBootsEnchantment extends CustomEnchantment {
                     cancel();
                 }
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private static void doDamage(Player player, LivingEntity livingEntity) {
@@ -7,6 +7,7 @@ import com.magmaguy.elitemobs.config.enchantments.EnchantmentsConfig;
 import com.magmaguy.elitemobs.config.enchantments.premade.SoulbindConfig;
 import com.magmaguy.elitemobs.entitytracker.EntityTracker;
 import com.magmaguy.elitemobs.items.EliteItemLore;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import com.magmaguy.elitemobs.utils.VisualDisplay;
 import com.magmaguy.magmacore.util.ChatColorConverter;
 import org.bukkit.Bukkit;
@@ -67,7 +68,7 @@ public class SoulbindEnchantment extends CustomEnchantment {
                     return;
                 TextDisplay soulboundPlayer = VisualDisplay.generateTemporaryTextDisplay(item.getLocation().clone().add(new Vector(0, -50, 0)), ChatColorConverter.convert(
                         SoulbindConfig.hologramStrings.replace("$player", player.getDisplayName())));
-                new BukkitRunnable() {
+                new PowerTask() {
                     final Location lastLocation = item.getLocation().clone();
                     int counter = 0;
 
@@ -84,7 +85,7 @@ public class SoulbindEnchantment extends CustomEnchantment {
                         if (counter == 1)
                             soulboundPlayer.teleport(item.getLocation().clone().add(new Vector(0, 0.5, 0)));
                     }
-                }.runTaskTimer(MetadataHandler.PLUGIN, 1, 1);
+                }.runTaskTimer(1, 1);
             }
         }.runTaskLater(MetadataHandler.PLUGIN, 20 * 3);
     }
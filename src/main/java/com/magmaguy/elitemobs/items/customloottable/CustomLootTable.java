@@ -91,6 +91,10 @@ public class CustomLootTable implements Serializable {
         new ItemStackCustomLootEntry(entries, itemStack);
     }
 
+    public void generateEliteEntry(String serializedItemStack) {
+        new ItemStackCustomLootEntry(entries, serializedItemStack);
+    }
+
     public void bossDrop(Player player, int level, Location dropLocation, EliteEntity eliteEntity) {
         for (CustomLootEntry customLootEntry : entries) {
             if (customLootEntry.willDrop(player)) {
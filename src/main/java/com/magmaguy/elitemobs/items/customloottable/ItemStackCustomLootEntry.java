@@ -2,6 +2,7 @@ package com.magmaguy.elitemobs.items.customloottable;
 
 import com.magmaguy.elitemobs.utils.ObjectSerializer;
 import com.magmaguy.magmacore.util.Logger;
+import lombok.Getter;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
@@ -9,6 +10,7 @@ import java.io.Serializable;
 import java.util.List;
 
 public class ItemStackCustomLootEntry extends CustomLootEntry implements Serializable {
+    @Getter
     private final String serializedItemStack;
 
     public ItemStackCustomLootEntry(List<CustomLootEntry> entries, ItemStack itemStack) {
@@ -17,6 +19,12 @@ public class ItemStackCustomLootEntry extends CustomLootEntry implements Seriali
         entries.add(this);
     }
 
+    public ItemStackCustomLootEntry(List<CustomLootEntry> entries, String serializedItemStack) {
+        super();
+        this.serializedItemStack = serializedItemStack;
+        entries.add(this);
+    }
+
     public ItemStack generateItemStack() {
         try {
             return ObjectSerializer.itemStackArrayFromBase64(serializedItemStack);
@@ -24,9 +24,22 @@ public class MaterialGenerator {
 
     public static Material generateMaterial(double itemTier) {
 
-        List<Material> localValidMaterials = (List<Material>) validProceduralMaterials.clone();
+        List<Material> localValidMaterials = getValidMaterials(itemTier);
+
+        if (localValidMaterials.isEmpty()) return null;
+
+        return localValidMaterials.get(ThreadLocalRandom.current().nextInt(localValidMaterials.size()));
+
+    }
 
-        if (localValidMaterials.isEmpty()) initializeValidProceduralMaterials();
+    /**
+     * @return Materials procedurally generated items of this tier can have, picked from with equal odds
+     */
+    public static List<Material> getValidMaterials(double itemTier) {
+
+        if (validProceduralMaterials.isEmpty()) initializeValidProceduralMaterials();
+
+        List<Material> localValidMaterials = (List<Material>) validProceduralMaterials.clone();
 
         if (itemTier < CombatSystem.DIAMOND_TIER_LEVEL + ItemSettingsConfig.getMinimumProcedurallyGeneratedDiamondLootLevelPlusSeven())
             localValidMaterials.remove(TRIDENT);
@@ -87,9 +100,7 @@ public class MaterialGenerator {
             localValidMaterials.remove(GOLDEN_AXE);
         }
 
-        if (localValidMaterials.isEmpty()) return null;
-
-        return localValidMaterials.get(ThreadLocalRandom.current().nextInt(localValidMaterials.size()));
+        return localValidMaterials;
 
     }
 
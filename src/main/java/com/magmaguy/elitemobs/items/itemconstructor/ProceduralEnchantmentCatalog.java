@@ -0,0 +1,384 @@
+package com.magmaguy.elitemobs.items.itemconstructor;
+
+import com.magmaguy.elitemobs.combatsystem.CombatSystem;
+import com.magmaguy.elitemobs.config.ItemSettingsConfig;
+import com.magmaguy.elitemobs.config.LegacyValueConverter;
+import com.magmaguy.elitemobs.config.ProceduralItemGenerationSettingsConfig;
+import com.magmaguy.elitemobs.config.enchantments.EnchantmentsConfig;
+import com.magmaguy.elitemobs.config.enchantments.EnchantmentsConfigFields;
+import com.magmaguy.elitemobs.items.customenchantments.CriticalStrikesEnchantment;
+import com.magmaguy.elitemobs.items.customenchantments.HunterEnchantment;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Enchantments procedurally generated items can get, worked out once per material from the enchantment configs instead
+ * of for every item.
+ * <p>
+ * Each material gets a {@link SecondaryEnchantmentTable} built from its enchantment pool. Most of the pool is always
+ * there, some of it is a coin flip between two enchantments, like fortune and silk touch. Enchantments that are
+ * disabled, or not enabled for procedurally generated items, are left out when compiling. The catalog never changes
+ * once compiled and takes the random generator as an argument, so it can be used from any thread. It gets compiled
+ * again with the configs on reload.
+ */
+public class ProceduralEnchantmentCatalog {
+    private static volatile ProceduralEnchantmentCatalog instance = null;
+    private final EnumMap<Material, MaterialEnchantments> materials = new EnumMap<>(Material.class);
+    private final double customEnchantmentChance;
+
+    private ProceduralEnchantmentCatalog() {
+        customEnchantmentChance = ProceduralItemGenerationSettingsConfig.getCustomEnchantmentChance();
+        HashMap<String, Entry> entries = new HashMap<>();
+        for (Map.Entry<String, EnchantmentsConfigFields> configEntry : EnchantmentsConfig.getEnchantments().entrySet()) {
+            EnchantmentsConfigFields enchantmentsConfigFields = configEntry.getValue();
+            if (!enchantmentsConfigFields.isEnabled() || !enchantmentsConfigFields.isEnabledForProcedurallyGeneratedItems())
+                continue;
+            String name = configEntry.getKey().replace(".yml", "").toLowerCase(Locale.ROOT);
+            if (enchantmentsConfigFields.getMaxLevel() < 1) continue;
+            entries.put(name, new Entry(name, enchantmentsConfigFields.getEnchantment(), enchantmentsConfigFields.getMaxLevel()));
+        }
+        boolean useHoesAsWeapons = ItemSettingsConfig.isUseHoesAsWeapons();
+        for (Material material : Material.values()) {
+            if (material.isLegacy()) continue;
+            SecondaryEnchantmentTable.Builder<Entry> table = new SecondaryEnchantmentTable.Builder<>();
+            addSlots(material, useHoesAsWeapons, entries, table);
+            SecondaryEnchantmentTable<Entry> secondaryEnchantments = table.build();
+            String customEnchantmentName = getCustomEnchantment(material);
+            Entry customEnchantment = customEnchantmentName == null ? null : getEntry(entries, customEnchantmentName);
+            if (secondaryEnchantments.isEmpty() && customEnchantment == null) continue;
+            materials.put(material, new MaterialEnchantments(CombatSystem.getMaterialTier(material), secondaryEnchantments, customEnchantment));
+        }
+    }
+
+    /**
+     * Compiles the catalog from the current configs. Call after the enchantment and item configs are loaded.
+     */
+    public static void initialize() {
+        instance = new ProceduralEnchantmentCatalog();
+    }
+
+    public static ProceduralEnchantmentCatalog getInstance() {
+        ProceduralEnchantmentCatalog catalog = instance;
+        if (catalog == null) {
+            catalog = new ProceduralEnchantmentCatalog();
+            instance = catalog;
+        }
+        return catalog;
+    }
+
+    /**
+     * Picks the vanilla enchantments of a procedurally generated item.
+     *
+     * @param itemTier Tier of the item, the tier of the material gets taken out of it here
+     * @return Enchantment levels, empty if the item gets no enchantments
+     */
+    public HashMap<Enchantment, Integer> rollEnchantments(Material material, double itemTier, RandomGenerator random) {
+        return rollSecondaryEnchantments(material, itemTier, random, entry -> entry.enchantment);
+    }
+
+    /**
+     * Same as {@link #rollEnchantments(Material, double, RandomGenerator)}, by lowercase enchantment name.
+     */
+    public HashMap<String, Integer> rollEnchantmentNames(Material material, double itemTier, RandomGenerator random) {
+        return rollSecondaryEnchantments(material, itemTier, random, entry -> entry.name);
+    }
+
+    /**
+     * Picks the custom enchantment of a procedurally generated item. Right now there is only one per material.
+     *
+     * @return Custom enchantment levels by name, empty if the item gets none
+     */
+    public HashMap<String, Integer> rollCustomEnchantments(Material material, double itemTier, RandomGenerator random) {
+        HashMap<String, Integer> enchantmentMap = new HashMap<>();
+        //No enchantments for items too low tier to have one
+        if (itemTier < 2) return enchantmentMap;
+        MaterialEnchantments materialEnchantments = materials.get(material);
+        if (materialEnchantments == null || materialEnchantments.customEnchantment == null) return enchantmentMap;
+        int level = random.nextInt(materialEnchantments.customEnchantment.maxLevel) + 1;
+        if (random.nextDouble() > customEnchantmentChance) return enchantmentMap;
+        enchantmentMap.put(materialEnchantments.customEnchantment.name, level);
+        return enchantmentMap;
+    }
+
+    private <T> HashMap<T, Integer> rollSecondaryEnchantments(Material material, double itemTier, RandomGenerator random, Function<Entry, T> key) {
+        HashMap<T, Integer> enchantmentMap = new HashMap<>();
+        MaterialEnchantments materialEnchantments = materials.get(material);
+        //No enchantments for items too low tier to have one
+        if (materialEnchantments == null || itemTier - materialEnchantments.materialTier < 1) return enchantmentMap;
+        materialEnchantments.secondaryEnchantments.roll(itemTier - materialEnchantments.materialTier, random, (entry, level) -> {
+            T enchantmentKey = key.apply(entry);
+            if (enchantmentKey != null) enchantmentMap.put(enchantmentKey, level);
+        });
+        return enchantmentMap;
+    }
+
+    /*
+    Primary enchantments get instantly validated and applies since there is only one per item type
+    Secondary enchantments get added to a common pool to be randomized later
+     */
+    private static void addSlots(Material material, boolean useHoesAsWeapons, HashMap<String, Entry> entries, SecondaryEnchantmentTable.Builder<Entry> table) {
+        switch (material) {
+            case TRIDENT:
+                addCoinFlip(table, entries, "LOYALTY", "CHANNELING");
+                add(table, entries, "RIPTIDE");
+                add(table, entries, "IMPALING");
+            case DIAMOND_SWORD:
+            case GOLDEN_SWORD:
+            case IRON_SWORD:
+            case STONE_SWORD:
+            case WOODEN_SWORD:
+                add(table, entries, "SHARPNESS");
+                add(table, entries, "BANE_OF_ARTHROPODS");
+                add(table, entries, "SMITE");
+                add(table, entries, "UNBREAKING");
+                add(table, entries, "FIRE_ASPECT");
+                add(table, entries, "KNOCKBACK");
+                add(table, entries, "LOOTING");
+                add(table, entries, "MENDING");
+                add(table, entries, "SWEEPING_EDGE");
+                add(table, entries, "VANISHING_CURSE");
+                break;
+            case BOW:
+                add(table, entries, "POWER");
+                add(table, entries, "FLAME");
+                add(table, entries, "INFINITY");
+                add(table, entries, "PUNCH");
+                add(table, entries, "UNBREAKING");
+                add(table, entries, "MENDING");
+                add(table, entries, "VANISHING_CURSE");
+                break;
+            case CROSSBOW:
+                add(table, entries, "POWER");
+                add(table, entries, "QUICK_CHARGE");
+                add(table, entries, "MULTISHOT");
+                add(table, entries, "PIERCING");
+                add(table, entries, "UNBREAKING");
+                add(table, entries, "MENDING");
+                add(table, entries, "VANISHING_CURSE");
+                break;
+            case DIAMOND_PICKAXE:
+            case GOLDEN_PICKAXE:
+            case IRON_PICKAXE:
+            case STONE_PICKAXE:
+            case WOODEN_PICKAXE:
+                add(table, entries, "EFFICIENCY");
+                add(table, entries, "UNBREAKING");
+                add(table, entries, "MENDING");
+                add(table, entries, "VANISHING_CURSE");
+                //TODO: this doesn't take config into account
+                addCoinFlip(table, entries, "FORTUNE", "SILK_TOUCH");
+                break;
+            case DIAMOND_SHOVEL:
+            case GOLDEN_SHOVEL:
+            case IRON_SHOVEL:
+            case STONE_SHOVEL:
+            case WOODEN_SHOVEL:
+                add(table, entries, "EFFICIENCY");
+                add(table, entries, "UNBREAKING");
+                add(table, entries, "MENDING");
+                add(table, entries, "VANISHING_CURSE");
+                addCoinFlip(table, entries, "FORTUNE", "SILK_TOUCH");
+                break;
+            case DIAMOND_HOE:
+            case GOLDEN_HOE:
+            case IRON_HOE:
+            case STONE_HOE:
+            case WOODEN_HOE:
+                if (useHoesAsWeapons)
+                    add(table, entries, "SHARPNESS");
+                add(table, entries, "EFFICIENCY");
+                add(table, entries, "UNBREAKING");
+                add(table, entries, "MENDING");
+                add(table, entries, "VANISHING_CURSE");
+                addCoinFlip(table, entries, "FORTUNE", "SILK_TOUCH");
+                break;
+            case SHIELD:
+                add(table, entries, "UNBREAKING");
+                add(table, entries, "MENDING");
+                add(table, entries, "VANISHING_CURSE");
+                break;
+            case DIAMOND_AXE:
+            case GOLDEN_AXE:
+            case IRON_AXE:
+            case STONE_AXE:
+            case WOODEN_AXE:
+                add(table, entries, "SHARPNESS");
+                add(table, entries, "BANE_OF_ARTHROPODS");
+                add(table, entries, "SMITE");
+                add(table, entries, "UNBREAKING");
+                add(table, entries, "MENDING");
+                add(table, entries, "VANISHING_CURSE");
+                add(table, entries, "EFFICIENCY");
+                add(table, entries, "FORTUNE");
+                break;
+            case CHAINMAIL_HELMET:
+            case DIAMOND_HELMET:
+            case GOLDEN_HELMET:
+            case IRON_HELMET:
+            case LEATHER_HELMET:
+            case TURTLE_HELMET:
+                add(table, entries, "PROTECTION");
+                add(table, entries, "BINDING_CURSE");
+                add(table, entries, "UNBREAKING");
+                add(table, entries, "MENDING");
+                add(table, entries, "RESPIRATION");
+                add(table, entries, "BLAST_PROTECTION");
+                add(table, entries, "FIRE_PROTECTION");
+                add(table, entries, "PROJECTILE_PROTECTION");
+                add(table, entries, "THORNS");
+                add(table, entries, "VANISHING_CURSE");
+                add(table, entries, "AQUA_AFFINITY");
+                break;
+            case CHAINMAIL_CHESTPLATE:
+            case DIAMOND_CHESTPLATE:
+            case GOLDEN_CHESTPLATE:
+            case IRON_CHESTPLATE:
+            case LEATHER_CHESTPLATE:
+                add(table, entries, "PROTECTION");
+                add(table, entries, "UNBREAKING");
+                add(table, entries, "MENDING");
+                add(table, entries, "BLAST_PROTECTION");
+                add(table, entries, "FIRE_PROTECTION");
+                add(table, entries, "PROJECTILE_PROTECTION");
+                add(table, entries, "THORNS");
+                add(table, entries, "VANISHING_CURSE");
+                break;
+            case CHAINMAIL_LEGGINGS:
+            case DIAMOND_LEGGINGS:
+            case GOLDEN_LEGGINGS:
+            case IRON_LEGGINGS:
+            case LEATHER_LEGGINGS:
+                add(table, entries, "PROTECTION");
+                add(table, entries, "BINDING_CURSE");
+                add(table, entries, "UNBREAKING");
+                add(table, entries, "MENDING");
+                add(table, entries, "BLAST_PROTECTION");
+                add(table, entries, "FIRE_PROTECTION");
+                add(table, entries, "PROJECTILE_PROTECTION");
+                add(table, entries, "THORNS");
+                add(table, entries, "VANISHING_CURSE");
+                break;
+            case CHAINMAIL_BOOTS:
+            case DIAMOND_BOOTS:
+            case GOLDEN_BOOTS:
+            case IRON_BOOTS:
+            case LEATHER_BOOTS:
+                add(table, entries, "PROTECTION");
+                add(table, entries, "BINDING_CURSE");
+                add(table, entries, "UNBREAKING");
+                add(table, entries, "MENDING");
+                add(table, entries, "BLAST_PROTECTION");
+                add(table, entries, "FEATHER_FALLING");
+                add(table, entries, "FIRE_PROTECTION");
+                add(table, entries, "PROJECTILE_PROTECTION");
+                add(table, entries, "THORNS");
+                add(table, entries, "VANISHING_CURSE");
+                add(table, entries, "DEPTH_STRIDER");
+                add(table, entries, "FROST_WALKER");
+                add(table, entries, "SOUL_SPEED");
+                break;
+            case FISHING_ROD:
+                add(table, entries, "UNBREAKING");
+                add(table, entries, "VANISHING_CURSE");
+                add(table, entries, "MENDING");
+                add(table, entries, "LUCK_OF_THE_SEA");
+                add(table, entries, "LURE");
+                break;
+            case SHEARS:
+                add(table, entries, "EFFICIENCY");
+                add(table, entries, "VANISHING_CURSE");
+                add(table, entries, "MENDING");
+                add(table, entries, "UNBREAKING");
+                break;
+        }
+    }
+
+    private static void add(SecondaryEnchantmentTable.Builder<Entry> table, HashMap<String, Entry> entries, String name) {
+        Entry entry = getEntry(entries, name);
+        if (entry == null) return;
+        //Make sure vanishing and binding curses aren't always there
+        if (name.equals("VANISHING_CURSE") || name.equals("BINDING_CURSE")) table.addCurse(entry, entry.maxLevel);
+        else table.add(entry, entry.maxLevel);
+    }
+
+    private static void addCoinFlip(SecondaryEnchantmentTable.Builder<Entry> table, HashMap<String, Entry> entries, String name, String alternativeName) {
+        Entry entry = getEntry(entries, name);
+        Entry alternative = getEntry(entries, alternativeName);
+        table.addCoinFlip(entry, entry == null ? 0 : entry.maxLevel, alternative, alternative == null ? 0 : alternative.maxLevel);
+    }
+
+    //Same name resolution as EnchantmentsConfig#getEnchantment
+    private static Entry getEntry(HashMap<String, Entry> entries, String name) {
+        return entries.get(LegacyValueConverter.parseEnchantment(name).toLowerCase(Locale.ROOT));
+    }
+
+    private static String getCustomEnchantment(Material material) {
+        switch (material) {
+            case DIAMOND_SWORD:
+            case GOLDEN_SWORD:
+            case IRON_SWORD:
+            case STONE_SWORD:
+            case WOODEN_SWORD:
+            case TRIDENT:
+            case BOW:
+            case CROSSBOW:
+            case DIAMOND_AXE:
+            case GOLDEN_AXE:
+            case IRON_AXE:
+            case STONE_AXE:
+            case WOODEN_AXE:
+                return CriticalStrikesEnchantment.key;
+            case CHAINMAIL_HELMET:
+            case DIAMOND_HELMET:
+            case GOLDEN_HELMET:
+            case IRON_HELMET:
+            case LEATHER_HELMET:
+            case CHAINMAIL_CHESTPLATE:
+            case DIAMOND_CHESTPLATE:
+            case GOLDEN_CHESTPLATE:
+            case IRON_CHESTPLATE:
+            case LEATHER_CHESTPLATE:
+            case CHAINMAIL_LEGGINGS:
+            case DIAMOND_LEGGINGS:
+            case GOLDEN_LEGGINGS:
+            case IRON_LEGGINGS:
+            case LEATHER_LEGGINGS:
+            case CHAINMAIL_BOOTS:
+            case DIAMOND_BOOTS:
+            case GOLDEN_BOOTS:
+            case IRON_BOOTS:
+            case LEATHER_BOOTS:
+                return HunterEnchantment.key;
+            default:
+                return null;
+        }
+    }
+
+    private static class MaterialEnchantments {
+        private final int materialTier;
+        private final SecondaryEnchantmentTable<Entry> secondaryEnchantments;
+        private final Entry customEnchantment;
+
+        private MaterialEnchantments(int materialTier, SecondaryEnchantmentTable<Entry> secondaryEnchantments, Entry customEnchantment) {
+            this.materialTier = materialTier;
+            this.secondaryEnchantments = secondaryEnchantments;
+            this.customEnchantment = customEnchantment;
+        }
+    }
+
+    private static class Entry {
+        private final String name;
+        private final Enchantment enchantment;
+        private final int maxLevel;
+
+        private Entry(String name, Enchantment enchantment, int maxLevel) {
+            this.name = name;
+            this.enchantment = enchantment;
+            this.maxLevel = maxLevel;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.magmaguy.elitemobs.items.itemconstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Secondary enchantment roll of one material, with everything that does not depend on the roll worked out up front.
+ * <p>
+ * The only random part of the enchantment pool is a handful of fifty-fifty slots: coin flips between two enchantments
+ * and curses that only show up half the time. Every outcome of those is equally likely, so each one gets its own
+ * precomputed candidate array and level total, and a roll picks one with a single random int. The tier only enters the
+ * roll as a cap on those level totals, and the level picks are uniform, so there are no weights to accumulate.
+ * <p>
+ * Rolls work in per-thread scratch arrays and hand their results to a callback, so they do not allocate. The table
+ * itself never changes once built and has no server dependencies.
+ *
+ * @param <T> Type of the enchantments
+ */
+class SecondaryEnchantmentTable<T> {
+    private static final ThreadLocal<int[]> scratch = ThreadLocal.withInitial(() -> new int[64]);
+    private final Object[] enchantments;
+    private final int[] maxLevels;
+    //Indices of the candidate enchantments of every outcome of the fifty-fifty slots
+    private final int[][] variants;
+    private final int[] variantLevels;
+    private final int maxCandidates;
+
+    private SecondaryEnchantmentTable(Builder<T> builder) {
+        enchantments = builder.enchantments.toArray();
+        maxLevels = new int[enchantments.length];
+        for (int i = 0; i < maxLevels.length; i++) maxLevels[i] = builder.maxLevels.get(i);
+        List<int[]> randomSlots = new ArrayList<>();
+        List<Integer> fixedSlots = new ArrayList<>();
+        for (int[] slot : builder.slots)
+            if (slot[1] == slot[0]) fixedSlots.add(slot[0]);
+            else randomSlots.add(slot);
+        //Picked with one random int, so the amount of outcomes has to stay well within an int
+        if (randomSlots.size() > 16)
+            throw new IllegalArgumentException("Too many coin flip or curse slots: " + randomSlots.size());
+        variants = new int[1 << randomSlots.size()][];
+        variantLevels = new int[variants.length];
+        int largestVariant = 0;
+        for (int variant = 0; variant < variants.length; variant++) {
+            //Same enchantment in several slots only counts once, like it did in the old pool map
+            boolean[] picked = new boolean[enchantments.length];
+            for (int fixedSlot : fixedSlots) picked[fixedSlot] = true;
+            for (int slot = 0; slot < randomSlots.size(); slot++) {
+                int pick = randomSlots.get(slot)[(variant >> slot) & 1];
+                if (pick >= 0) picked[pick] = true;
+            }
+            int count = 0;
+            for (boolean isPicked : picked) if (isPicked) count++;
+            int[] candidates = new int[count];
+            count = 0;
+            for (int i = 0; i < picked.length; i++)
+                if (picked[i]) {
+                    candidates[count++] = i;
+                    variantLevels[variant] += maxLevels[i];
+                }
+            variants[variant] = candidates;
+            largestVariant = Math.max(largestVariant, candidates.length);
+        }
+        maxCandidates = largestVariant;
+    }
+
+    /**
+     * Rolls the secondary enchantments.
+     *
+     * @param itemTier Tier of the item past the tier of its material
+     * @param results  Gets every picked enchantment with its level
+     */
+    @SuppressWarnings("unchecked")
+    void roll(double itemTier, RandomGenerator random, ObjIntConsumer<T> results) {
+        if (itemTier < 1) return;
+        int variant = variants.length == 1 ? 0 : random.nextInt(variants.length);
+        int[] candidates = variants[variant];
+        int totalLevels = variantLevels[variant];
+
+        int maxSecondaryEnchantmentLevel = totalLevels < itemTier - 2 ? totalLevels : (int) itemTier;
+        int secondaryEnchantmentCount = random.nextInt(maxSecondaryEnchantmentLevel + 1);
+        if (itemTier < 2 || secondaryEnchantmentCount < 1 || candidates.length == 0) return;
+
+        //Picked levels go in the first half, the candidates that are not maxed yet in the second half
+        int[] buffer = scratch.get();
+        if (buffer.length < maxCandidates * 2) {
+            buffer = new int[maxCandidates * 2];
+            scratch.set(buffer);
+        }
+        int candidateCount = candidates.length;
+        for (int i = 0; i < candidateCount; i++) {
+            buffer[i] = 0;
+            buffer[candidateCount + i] = i;
+        }
+        //Keep adding a level to a random enchantment on a coin flip until one comes up tails or every one is maxed
+        int openCount = candidateCount;
+        while (openCount > 0 && random.nextBoolean()) {
+            int openIndex = candidateCount + random.nextInt(openCount);
+            int candidate = buffer[openIndex];
+            if (++buffer[candidate] >= maxLevels[candidates[candidate]])
+                buffer[openIndex] = buffer[candidateCount + --openCount];
+        }
+
+        for (int i = 0; i < candidateCount; i++)
+            if (buffer[i] > 0) results.accept((T) enchantments[candidates[i]], buffer[i]);
+    }
+
+    /**
+     * @return Whether rolls can ever pick anything
+     */
+    boolean isEmpty() {
+        return maxCandidates == 0;
+    }
+
+    static class Builder<T> {
+        private final List<T> enchantments = new ArrayList<>();
+        private final List<Integer> maxLevels = new ArrayList<>();
+        private final HashMap<T, Integer> indices = new HashMap<>();
+        //Index picked on heads and on tails, -1 for nothing, both the same for slots that always get picked
+        private final List<int[]> slots = new ArrayList<>();
+
+        /**
+         * Enchantment that is always in the pool. Enchantments with a max level under 1 are left out.
+         */
+        Builder<T> add(T enchantment, int maxLevel) {
+            int index = index(enchantment, maxLevel);
+            if (index >= 0) slots.add(new int[]{index, index});
+            return this;
+        }
+
+        /**
+         * Enchantment that is only in the pool half the time.
+         */
+        Builder<T> addCurse(T enchantment, int maxLevel) {
+            int index = index(enchantment, maxLevel);
+            if (index >= 0) slots.add(new int[]{index, -1});
+            return this;
+        }
+
+        /**
+         * One of two enchantments, each half the time. Either can be null.
+         */
+        Builder<T> addCoinFlip(T enchantment, int maxLevel, T alternative, int alternativeMaxLevel) {
+            int index = index(enchantment, maxLevel);
+            int alternativeIndex = index(alternative, alternativeMaxLevel);
+            if (index >= 0 || alternativeIndex >= 0) slots.add(new int[]{index, alternativeIndex});
+            return this;
+        }
+
+        private int index(T enchantment, int maxLevel) {
+            if (enchantment == null || maxLevel < 1) return -1;
+            Integer index = indices.get(enchantment);
+            if (index != null) return index;
+            enchantments.add(enchantment);
+            maxLevels.add(maxLevel);
+            indices.put(enchantment, enchantments.size() - 1);
+            return enchantments.size() - 1;
+        }
+
+        SecondaryEnchantmentTable<T> build() {
+            return new SecondaryEnchantmentTable<>(this);
+        }
+    }
+}
@@ -14,25 +14,27 @@ import com.magmaguy.elitemobs.events.TimedEvent;
 import com.magmaguy.elitemobs.mobconstructor.custombosses.CustomBossEntity;
 import com.magmaguy.elitemobs.playerdata.database.PlayerData;
 import com.magmaguy.elitemobs.thirdparty.worldguard.WorldGuardFlagChecker;
+import com.magmaguy.elitemobs.utils.ChunkKeyedMap;
+import com.magmaguy.elitemobs.utils.ChunkVectorizer;
 import com.magmaguy.magmacore.instance.MatchInstance;
 import com.magmaguy.magmacore.util.Logger;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.*;
-import org.bukkit.block.Block;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Zombie;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class CustomSpawn {
 
+    //Columns checked per async round, and rounds of columns before waiting a minute to try again
+    private static final int SEARCH_BATCH_SIZE = 10;
+    private static final int MAX_SEARCH_TRIES = 100;
     @Getter
     private final CustomSpawnConfigFields customSpawnConfigFields;
     @Getter
@@ -45,6 +47,7 @@ public class CustomSpawn {
     private World world;
     private TimedEvent timedEvent;
     private int allTries = 0;
+    private int searchTries = 0;
     @Getter
     @Setter
     private Location spawnLocation;
@@ -108,12 +111,7 @@ public class CustomSpawn {
     public void queueSpawn() {
         //Make sure a location exists
         if (spawnLocation == null)
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    generateCustomSpawn();
-                }
-            }.runTaskAsynchronously(MetadataHandler.PLUGIN);
+            generateCustomSpawn();
         else
             spawn();
     }
@@ -165,45 +163,100 @@ public class CustomSpawn {
 
     private void generateCustomSpawn() {
         //If the global cooldown if enforced and this is a timed event wait for the cd to be over
-
         if (timedEvent != null && System.currentTimeMillis() < TimedEvent.getNextEventStartMinimum()) {
-            Bukkit.getScheduler().scheduleAsyncDelayedTask(MetadataHandler.PLUGIN, this::generateCustomSpawn, 20 * 60L);
+            Bukkit.getScheduler().runTaskLater(MetadataHandler.PLUGIN, this::generateCustomSpawn, 20 * 60L);
             return;
         }
 
+        if (!keepTrying) return;
 
-        int maxTries = 100;
-        int tries = 0;
-        while (tries < maxTries && spawnLocation == null) {
-            if (!keepTrying)
-                return;
-            tries++;
+        //Locations left over from earlier searches for the same custom spawn
+        if (customSpawnConfigFields != null) {
+            Location pooledLocation = CustomSpawnLocationFinder.takePooledLocation(customSpawnConfigFields, world, timedEvent != null);
+            while (pooledLocation != null) {
+                if (CustomSpawnLocationFinder.isStillClear(pooledLocation, customSpawnConfigFields) &&
+                        isValidSpawnLocation(pooledLocation)) {
+                    spawnLocation = pooledLocation;
+                    spawn();
+                    return;
+                }
+                pooledLocation = CustomSpawnLocationFinder.takePooledLocation(customSpawnConfigFields, world, timedEvent != null);
+            }
+        }
+
+        searchTries = 0;
+        searchSpawnLocations();
+    }
+
+    /**
+     * Picks a batch of random columns and snapshots their chunks on the main thread, checks their blocks from an async
+     * task, and then comes back to the main thread for the checks that need the live world.
+     */
+    private void searchSpawnLocations() {
+        List<CustomSpawnLocationFinder.Candidate> candidates = new ArrayList<>();
+        HashMap<UUID, ChunkKeyedMap<ChunkSnapshot>> snapshots = new HashMap<>();
+        for (int i = 0; i < SEARCH_BATCH_SIZE && searchTries < MAX_SEARCH_TRIES && keepTrying; i++) {
+            searchTries++;
             allTries++;
-            this.spawnLocation = generateRandomSpawnLocation();
-            if (spawnLocation != null)
-                break;
+            CustomSpawnLocationFinder.Candidate candidate = generateCandidate(snapshots);
+            if (candidate != null) candidates.add(candidate);
         }
 
-        if (spawnLocation == null) {
-            if (keepTrying) {
-                new BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        generateCustomSpawn();
-                    }
-                }.runTaskLaterAsynchronously(MetadataHandler.PLUGIN, 20 * 60);
-            } else {
-                customBossEntities.forEach((customBossEntity -> {
-                    if (customBossEntity.summoningEntity != null)
-                        customBossEntity.summoningEntity.removeReinforcement(customBossEntity);
-                }));
+        if (!keepTrying) {
+            onSearchFailed();
+            return;
+        }
+
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                List<Location> locations = new ArrayList<>();
+                for (CustomSpawnLocationFinder.Candidate candidate : candidates) {
+                    Location location = CustomSpawnLocationFinder.evaluate(candidate, customSpawnConfigFields);
+                    if (location != null) locations.add(location);
+                }
+                if (!MetadataHandler.PLUGIN.isEnabled()) return;
+                Bukkit.getScheduler().runTask(MetadataHandler.PLUGIN, () -> onSearchResults(locations));
             }
+        }.runTaskAsynchronously(MetadataHandler.PLUGIN);
+    }
+
+    private void onSearchResults(List<Location> locations) {
+        if (!keepTrying) {
+            onSearchFailed();
+            return;
+        }
+        for (Location location : locations) {
+            if (!isValidSpawnLocation(location)) continue;
+            if (spawnLocation == null) spawnLocation = location;
+            else
+                //Searches in a fixed world can find locations in EliteMobs worlds even for events, keep those from other events
+                CustomSpawnLocationFinder.pool(customSpawnConfigFields, location,
+                        timedEvent != null && !EliteMobsWorld.isEliteMobsWorld(location.getWorld().getUID()));
+        }
+
+        if (spawnLocation != null) spawn();
+        else if (searchTries < MAX_SEARCH_TRIES)
+            Bukkit.getScheduler().runTaskLater(MetadataHandler.PLUGIN, this::searchSpawnLocations, 1);
+        else onSearchFailed();
+    }
+
+    private void onSearchFailed() {
+        if (keepTrying) {
+            Bukkit.getScheduler().runTaskLater(MetadataHandler.PLUGIN, this::generateCustomSpawn, 20 * 60);
         } else {
-            spawn();
+            customBossEntities.forEach((customBossEntity -> {
+                if (customBossEntity.summoningEntity != null)
+                    customBossEntity.summoningEntity.removeReinforcement(customBossEntity);
+            }));
         }
     }
 
-    public Location generateRandomSpawnLocation() {
+    /**
+     * Picks a random column around a random valid player. The column is only kept if its chunk is already loaded, in
+     * which case a snapshot of the chunk gets attached to it for the async checks.
+     */
+    private CustomSpawnLocationFinder.Candidate generateCandidate(HashMap<UUID, ChunkKeyedMap<ChunkSnapshot>> snapshots) {
         if (customSpawnConfigFields == null) {
             Logger.warn("Something tried to spawn but has invalid custom spawn config fields! This isn't good.", true);
             Logger.warn("Bosses: ");
@@ -216,6 +269,7 @@ public class CustomSpawn {
                 Logger.warn("Event: " + timedEvent.getCustomEventsConfigFields().getFilename());
                 timedEvent.end();
             }
+            keepTrying = false;
             return null;
         }
 
@@ -274,7 +328,7 @@ public class CustomSpawn {
         if (ThreadLocalRandom.current().nextBoolean())
             randomizedVector.setX(randomizedVector.getX() * -1);
         if (ThreadLocalRandom.current().nextBoolean())
-            randomizedVector.setY(randomizedVector.getY() * -1);
+            randomizedVector.setZ(randomizedVector.getZ() * -1);
 
         //Temp location - do not run checks on it yet
         Location location = selectedPlayer.getLocation().clone().add(randomizedVector);
@@ -282,84 +336,49 @@ public class CustomSpawn {
         location.setY(ThreadLocalRandom.current().nextInt(-0, 256));
         World world = location.getWorld();
 
-        if (!customSpawnConfigFields.getValidBiomesStrings().isEmpty() && !customSpawnConfigFields.getValidBiomesStrings().contains(location.getBlock().getBiome()))
-            return null;
+        //Never load chunks just to look for a spawn location
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+        if (world == null || !world.isChunkLoaded(chunkX, chunkZ)) return null;
+        ChunkKeyedMap<ChunkSnapshot> worldSnapshots = snapshots.computeIfAbsent(world.getUID(), k -> new ChunkKeyedMap<>());
+        ChunkSnapshot snapshot = worldSnapshots.get(ChunkVectorizer.pack(chunkX, chunkZ));
+        if (snapshot == null) {
+            snapshot = world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(true, true, false);
+            worldSnapshots.put(ChunkVectorizer.pack(chunkX, chunkZ), snapshot);
+        }
+        return new CustomSpawnLocationFinder.Candidate(location, snapshot);
+    }
 
-        //Set Y level - Location isn't final yet
-        if (customSpawnConfigFields.isSurfaceSpawn())
-            //this won't work for Nether environments, but who wants surface spawns on the Nether?
-            location = Objects.requireNonNull(location.getWorld()).getHighestBlockAt(location).getLocation().add(new Vector(0.5, 1, 0.5));
-        else if (customSpawnConfigFields.isUndergroundSpawn()) {
-            int highestBlockYAt = Objects.requireNonNull(location.getWorld()).getHighestBlockYAt(location);
-            //Let's hope there's caves
-            if (location.getY() > highestBlockYAt ||
-                    location.getY() > highestBlockYAt / 2D) {
-                for (int y = (int) location.getY(); y > -64; y--) {
-                    Location tempLocation = location.clone();
-                    tempLocation.setY(y);
-                    if (location.getBlock().getType().equals(Material.VOID_AIR)) return null;
-                    if (y < customSpawnConfigFields.getLowestYLevel()) return null;
-                    Block groundBlock = location.clone().subtract(new Vector(0, 1, 0)).getBlock();
-                    if (!groundBlock.getType().isSolid()) continue;
-                    //Check temp location block
-                    if (!tempLocation.getBlock().getType().isAir()) continue;
-                    //Check block above temp location
-                    if (!tempLocation.add(new Vector(0, 1, 0)).getBlock().getType().isAir()) continue;
-                    location = tempLocation;
-                    break;
-                }
-            } else {
-                for (int y = (int) location.getY(); y < highestBlockYAt; y++) {
-                    Location tempLocation = location.clone();
-                    tempLocation.setY(y);
-                    if (location.getBlock().getType().equals(Material.VOID_AIR)) return null;
-                    if (y < customSpawnConfigFields.getLowestYLevel()) return null;
-                    Block groundBlock = location.clone().subtract(new Vector(0, 1, 0)).getBlock();
-                    if (!groundBlock.getType().isSolid()) continue;
-                    //Check temp location block
-                    if (!tempLocation.getBlock().getType().isAir()) continue;
-                    //Check block above temp location
-                    if (!tempLocation.add(new Vector(0, 1, 0)).getBlock().getType().isAir()) continue;
-                    location = tempLocation;
-                    break;
-                }
-            }
-        } else
-            //Straight upwards check
-            location.setY(getHighestValidBlock(location, getHighestValidBlock(location, customSpawnConfigFields.getHighestYLevel())));
+    /**
+     * Checks that need the live world, run on the main thread once the block checks passed.
+     */
+    private boolean isValidSpawnLocation(Location location) {
+        World world = location.getWorld();
+        if (world == null || !world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4))
+            return false;
 
         //Prevent spawning right on top of players
-        assert world != null;
         for (Player player : world.getPlayers())
             if (player.getLocation().distanceSquared(location) < Math.pow(24, 2))
-                return null;
-
-        //Nether ceiling check
-        if (location.getY() > 127 && world.getEnvironment().equals(World.Environment.NETHER))
-            return null;
-
-        //Custom height check
-        if (location.getY() == -100 || location.getY() > customSpawnConfigFields.getHighestYLevel() || location.getY() < customSpawnConfigFields.getLowestYLevel())
-            return null;
+                return false;
 
         //Check WorldGuard flags
         if (EliteMobs.worldGuardIsEnabled) {
             if (!WorldGuardFlagChecker.doEventFlag(location))
-                return null;
+                return false;
 
             if (!WorldGuardFlagChecker.doEliteMobsSpawnFlag(location))
-                return null;
+                return false;
 
             if (!WorldGuardFlagChecker.doMobSpawnFlag(location))
-                return null;
+                return false;
         }
 
         //Light level check - following 1.18 rules
         if (!customSpawnConfigFields.isCanSpawnInLight())
-            if (location.getBlock().getLightLevel() > 8)
-                return null;
+            return location.getBlock().getLightLevel() <= 8;
 
-        return location;
+        return true;
     }
 
 }
@@ -0,0 +1,207 @@
+package com.magmaguy.elitemobs.mobconstructor;
+
+import com.magmaguy.elitemobs.config.customspawns.CustomSpawnConfigFields;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * Block checks for {@link CustomSpawn} locations. Candidates carry a {@link ChunkSnapshot} taken on the main thread, so
+ * the surface, underground, biome and height rules can be checked from an async task without touching the live world.
+ * <p>
+ * Searches run in batches and often find more than one valid location. The extra ones are kept in a short-lived pool per
+ * custom spawn config, so the next timed event or reinforcement using the same config can skip the search. Timed events
+ * never spawn in EliteMobs worlds while other searches can, so the two get separate pools. Pooled locations get their
+ * blocks checked again in the live world, along with the other main thread checks, before being used.
+ */
+public class CustomSpawnLocationFinder {
+    //Same meaning as the return values of CustomSpawn#getHighestValidBlock
+    static final int ABOVE_HIGHEST_Y_LEVEL = -1;
+    static final int NO_VALID_BLOCK = -100;
+    private static final int MAXIMUM_POOLED_LOCATIONS = 8;
+    private static final long POOLED_LOCATION_LIFETIME_MILLIS = 60000;
+    private static final HashMap<CustomSpawnConfigFields, ArrayDeque<PooledLocation>> locationPools = new HashMap<>();
+    //Locations found by timed event searches, which leave out EliteMobs worlds
+    private static final HashMap<CustomSpawnConfigFields, ArrayDeque<PooledLocation>> eventLocationPools = new HashMap<>();
+
+    private CustomSpawnLocationFinder() {
+    }
+
+    /**
+     * Takes a location found by an earlier search. Only call from the main thread.
+     *
+     * @param customSpawnConfigFields Custom spawn the location has to be valid for
+     * @param world                   World the location has to be in, null for any world
+     * @param timedEvent              Whether the location is for a timed event
+     * @return A pooled location, or null if there are none left
+     */
+    static Location takePooledLocation(CustomSpawnConfigFields customSpawnConfigFields, World world, boolean timedEvent) {
+        ArrayDeque<PooledLocation> pool = getPools(timedEvent).get(customSpawnConfigFields);
+        if (pool == null) return null;
+        long now = System.currentTimeMillis();
+        Iterator<PooledLocation> iterator = pool.iterator();
+        while (iterator.hasNext()) {
+            PooledLocation pooledLocation = iterator.next();
+            if (now - pooledLocation.timestamp > POOLED_LOCATION_LIFETIME_MILLIS) {
+                iterator.remove();
+                continue;
+            }
+            if (world != null && !world.equals(pooledLocation.location.getWorld())) continue;
+            iterator.remove();
+            return pooledLocation.location;
+        }
+        return null;
+    }
+
+    static void pool(CustomSpawnConfigFields customSpawnConfigFields, Location location, boolean timedEvent) {
+        ArrayDeque<PooledLocation> pool = getPools(timedEvent).computeIfAbsent(customSpawnConfigFields, k -> new ArrayDeque<>());
+        if (pool.size() >= MAXIMUM_POOLED_LOCATIONS) pool.pollFirst();
+        pool.addLast(new PooledLocation(location, System.currentTimeMillis()));
+    }
+
+    private static HashMap<CustomSpawnConfigFields, ArrayDeque<PooledLocation>> getPools(boolean timedEvent) {
+        return timedEvent ? eventLocationPools : locationPools;
+    }
+
+    public static void shutdown() {
+        locationPools.clear();
+        eventLocationPools.clear();
+    }
+
+    /**
+     * Checks that the blocks of a pooled location still allow a spawn, since they might have changed since the search
+     * found it. Only call from the main thread.
+     */
+    static boolean isStillClear(Location location, CustomSpawnConfigFields customSpawnConfigFields) {
+        World world = location.getWorld();
+        if (world == null || !world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4))
+            return false;
+        int y = location.getBlockY();
+        if (y - 1 < world.getMinHeight() || y + 1 >= world.getMaxHeight()) return false;
+        Material floor = world.getBlockAt(location.getBlockX(), y - 1, location.getBlockZ()).getType();
+        if (!world.getBlockAt(location.getBlockX(), y, location.getBlockZ()).getType().isAir()) return false;
+        //Surface spawns only need to stay on top of the terrain
+        if (customSpawnConfigFields.isSurfaceSpawn()) return !floor.isAir();
+        return floor.isSolid() && world.getBlockAt(location.getBlockX(), y + 1, location.getBlockZ()).getType().isAir();
+    }
+
+    /**
+     * Applies the block based rules of the custom spawn to a candidate. Safe to run off the main thread.
+     *
+     * @return The adjusted spawn location, or null if the candidate is not valid
+     */
+    static Location evaluate(Candidate candidate, CustomSpawnConfigFields customSpawnConfigFields) {
+        ChunkSnapshot snapshot = candidate.snapshot;
+        int blockX = (int) Math.floor(candidate.x);
+        int blockZ = (int) Math.floor(candidate.z);
+        int x = blockX & 15;
+        int z = blockZ & 15;
+
+        if (!customSpawnConfigFields.getValidBiomes().isEmpty() &&
+                !customSpawnConfigFields.getValidBiomes().contains(snapshot.getBiome(x, clampY(candidate, candidate.y), z)))
+            return null;
+
+        double spawnX = candidate.x;
+        double spawnZ = candidate.z;
+        int y;
+        if (customSpawnConfigFields.isSurfaceSpawn()) {
+            //this won't work for Nether environments, but who wants surface spawns on the Nether?
+            y = snapshot.getHighestBlockYAt(x, z) + 1;
+            spawnX = blockX + 0.5;
+            spawnZ = blockZ + 0.5;
+        } else if (customSpawnConfigFields.isUndergroundSpawn())
+            y = getUndergroundY(candidate, x, z, customSpawnConfigFields.getLowestYLevel());
+        else
+            //Straight upwards check
+            y = getHighestValidY(candidate, x, z, customSpawnConfigFields.getHighestYLevel());
+
+        if (y == NO_VALID_BLOCK || y == ABOVE_HIGHEST_Y_LEVEL) return null;
+
+        //Nether ceiling check
+        if (y > 127 && candidate.environment == World.Environment.NETHER) return null;
+
+        //Custom height check
+        if (y > customSpawnConfigFields.getHighestYLevel() || y < customSpawnConfigFields.getLowestYLevel()) return null;
+
+        return new Location(candidate.world, spawnX, y, spawnZ);
+    }
+
+    //Snapshot version of CustomSpawn#getHighestValidBlock
+    private static int getHighestValidY(Candidate candidate, int x, int z, int highestYLevel) {
+        for (int y = candidate.y; y < candidate.maxHeight; y++) {
+            if (y > highestYLevel) return ABOVE_HIGHEST_Y_LEVEL;
+            if (!getType(candidate, x, y - 1, z).isSolid()) continue;
+            if (!getType(candidate, x, y, z).isAir()) continue;
+            if (!getType(candidate, x, y + 1, z).isAir()) continue;
+            return y;
+        }
+        return NO_VALID_BLOCK;
+    }
+
+    //Looks for a cave pocket, downwards if the starting point is in the upper half of the terrain and upwards otherwise
+    private static int getUndergroundY(Candidate candidate, int x, int z, int lowestYLevel) {
+        int highestBlockY = candidate.snapshot.getHighestBlockYAt(x, z);
+        boolean downwards = candidate.y > highestBlockY || candidate.y > highestBlockY / 2D;
+        int y = candidate.y;
+        while (downwards ? y > candidate.minHeight : y < highestBlockY) {
+            if (y < lowestYLevel) return NO_VALID_BLOCK;
+            Material material = getType(candidate, x, y, z);
+            if (material == Material.VOID_AIR) return NO_VALID_BLOCK;
+            if (material.isAir() &&
+                    getType(candidate, x, y - 1, z).isSolid() &&
+                    getType(candidate, x, y + 1, z).isAir())
+                return y;
+            y += downwards ? -1 : 1;
+        }
+        return NO_VALID_BLOCK;
+    }
+
+    private static Material getType(Candidate candidate, int x, int y, int z) {
+        if (y < candidate.minHeight || y >= candidate.maxHeight) return Material.VOID_AIR;
+        return candidate.snapshot.getBlockType(x, y, z);
+    }
+
+    private static int clampY(Candidate candidate, int y) {
+        return Math.max(candidate.minHeight, Math.min(candidate.maxHeight - 1, y));
+    }
+
+    /**
+     * A column picked on the main thread, with everything needed to check it from another thread.
+     */
+    static class Candidate {
+        private final World world;
+        private final World.Environment environment;
+        private final double x;
+        private final int y;
+        private final double z;
+        private final ChunkSnapshot snapshot;
+        private final int minHeight;
+        private final int maxHeight;
+
+        Candidate(Location location, ChunkSnapshot snapshot) {
+            this.world = location.getWorld();
+            this.environment = world.getEnvironment();
+            this.x = location.getX();
+            this.y = location.getBlockY();
+            this.z = location.getZ();
+            this.snapshot = snapshot;
+            this.minHeight = world.getMinHeight();
+            this.maxHeight = world.getMaxHeight();
+        }
+    }
+
+    private static class PooledLocation {
+        private final Location location;
+        private final long timestamp;
+
+        private PooledLocation(Location location, long timestamp) {
+            this.location = location;
+            this.timestamp = timestamp;
+        }
+    }
+}
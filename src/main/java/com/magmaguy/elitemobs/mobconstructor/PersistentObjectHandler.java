@@ -1,8 +1,8 @@
 package com.magmaguy.elitemobs.mobconstructor;
 
-import com.google.common.collect.ArrayListMultimap;
 import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.InstancedDungeonRemoveEvent;
+import com.magmaguy.elitemobs.utils.ChunkKeyedMap;
 import com.magmaguy.elitemobs.utils.ChunkVectorizer;
 import lombok.Getter;
 import org.bukkit.Bukkit;
@@ -18,20 +18,24 @@ import org.bukkit.event.world.WorldLoadEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 
 public class PersistentObjectHandler {
 
     /*
-    This ArrayListMultiMap keeps two types of string keys: The first type is a world name and the second type is a chunk vector converted to a string
+    Objects in loaded worlds are indexed by world UUID and packed chunk coordinates, objects in unloaded worlds by world name
      */
-    private static final ArrayListMultimap<String, PersistentObjectHandler> persistentObjects = ArrayListMultimap.create();
+    private static final HashMap<UUID, ChunkKeyedMap<List<PersistentObjectHandler>>> chunkObjects = new HashMap<>();
+    private static final HashMap<String, List<PersistentObjectHandler>> worldObjects = new HashMap<>();
     private final PersistentObject persistentObject;
     private final String worldName;
     @Getter
     private Location persistentLocation;
-    private String chunk;
+    private UUID chunkWorldUUID = null;
+    private long chunkKey;
 
     /**
      * Used to store the locations of custom bosses that have gone into unloaded chunks.
@@ -54,7 +58,19 @@ public class PersistentObjectHandler {
      * Clears all data for a correct shutdown
      */
     public static void shutdown() {
-        persistentObjects.clear();
+        chunkObjects.clear();
+        worldObjects.clear();
+    }
+
+    /**
+     * Gets the objects stored in a chunk without copying anything.
+     *
+     * @return The live list of objects, or null if the chunk has none
+     */
+    private static List<PersistentObjectHandler> getChunkObjects(Chunk chunk) {
+        ChunkKeyedMap<List<PersistentObjectHandler>> worldChunks = chunkObjects.get(chunk.getWorld().getUID());
+        if (worldChunks == null) return null;
+        return worldChunks.get(ChunkVectorizer.pack(chunk));
     }
 
     /**
@@ -65,12 +81,19 @@ public class PersistentObjectHandler {
      */
     private void addChunkKey(PersistentObjectHandler simplePersistentEntity) {
         if (persistentLocation.getWorld() == null) return;
-        this.chunk = ChunkVectorizer.hash(persistentLocation.getBlockX() >> 4, persistentLocation.getBlockZ() >> 4, persistentLocation.getWorld().getUID()) + "";
-        persistentObjects.put(simplePersistentEntity.chunk, simplePersistentEntity);
+        this.chunkWorldUUID = persistentLocation.getWorld().getUID();
+        this.chunkKey = ChunkVectorizer.pack(persistentLocation.getBlockX() >> 4, persistentLocation.getBlockZ() >> 4);
+        ChunkKeyedMap<List<PersistentObjectHandler>> worldChunks = chunkObjects.computeIfAbsent(chunkWorldUUID, k -> new ChunkKeyedMap<>());
+        List<PersistentObjectHandler> handlers = worldChunks.get(chunkKey);
+        if (handlers == null) {
+            handlers = new ArrayList<>(1);
+            worldChunks.put(chunkKey, handlers);
+        }
+        handlers.add(simplePersistentEntity);
     }
 
     private void addWorldKey(PersistentObjectHandler persistentObjectHandler) {
-        persistentObjects.put(persistentObjectHandler.worldName, persistentObjectHandler);
+        worldObjects.computeIfAbsent(persistentObjectHandler.worldName, k -> new ArrayList<>()).add(persistentObjectHandler);
     }
 
     public void worldLoad(World world) {
@@ -103,17 +126,23 @@ public class PersistentObjectHandler {
     }
 
     public void remove() {
-        persistentObjects.remove(this.chunk, this);
-        persistentObjects.remove(this.worldName, this);
+        if (chunkWorldUUID != null) {
+            ChunkKeyedMap<List<PersistentObjectHandler>> worldChunks = chunkObjects.get(chunkWorldUUID);
+            if (worldChunks != null) {
+                List<PersistentObjectHandler> handlers = worldChunks.get(chunkKey);
+                if (handlers != null && handlers.remove(this) && handlers.isEmpty()) {
+                    worldChunks.remove(chunkKey);
+                    if (worldChunks.isEmpty()) chunkObjects.remove(chunkWorldUUID);
+                }
+            }
+            chunkWorldUUID = null;
+        }
+        List<PersistentObjectHandler> handlers = worldObjects.get(worldName);
+        if (handlers != null && handlers.remove(this) && handlers.isEmpty()) worldObjects.remove(worldName);
     }
 
     public static class PersistentObjectHandlerEvents implements Listener {
 
-        private static int chunkLocation(Chunk chunk) {
-            return ChunkVectorizer.hash(chunk);
-        }
-
-
         /**
          * Behavior that runs when a chunk loads, spawning the entity
          */
@@ -131,22 +160,32 @@ public class PersistentObjectHandler {
 
         private static void unloadWorld(World world) {
             List<PersistentObjectHandler> copy = new ArrayList<>();
-            for (PersistentObjectHandler persistentObjectHandler : persistentObjects.values())
-                if (Objects.equals(persistentObjectHandler.worldName, world.getName()))
-                    copy.add(persistentObjectHandler);
+            ChunkKeyedMap<List<PersistentObjectHandler>> worldChunks = chunkObjects.get(world.getUID());
+            if (worldChunks != null)
+                worldChunks.forEachValue(handlers -> {
+                    for (PersistentObjectHandler persistentObjectHandler : handlers)
+                        if (Objects.equals(persistentObjectHandler.worldName, world.getName()))
+                            copy.add(persistentObjectHandler);
+                });
+            List<PersistentObjectHandler> worldHandlers = worldObjects.get(world.getName());
+            if (worldHandlers != null) copy.addAll(worldHandlers);
             copy.forEach(PersistentObjectHandler::worldUnload);
         }
 
         private static void loadWorld(World world) {
-            List<PersistentObjectHandler> copy = new ArrayList<>(persistentObjects.get(world.getName()));
+            List<PersistentObjectHandler> worldHandlers = worldObjects.get(world.getName());
+            if (worldHandlers == null) return;
+            List<PersistentObjectHandler> copy = new ArrayList<>(worldHandlers);
             copy.forEach(persistentObjectHandler -> persistentObjectHandler.worldLoad(world));
         }
 
         //Store world names and serialized locations
         @EventHandler(ignoreCancelled = true, priority = EventPriority.HIGHEST)
         public void chunkLoadEvent(ChunkLoadEvent event) {
-            int chunkLocation = chunkLocation(event.getChunk());
-            List<PersistentObjectHandler> simplePersistentEntityList = new ArrayList<>(persistentObjects.get(chunkLocation + ""));
+            List<PersistentObjectHandler> handlers = getChunkObjects(event.getChunk());
+            //Most chunks have nothing stored in them, so only copy when there is something to load
+            if (handlers == null) return;
+            List<PersistentObjectHandler> simplePersistentEntityList = new ArrayList<>(handlers);
             Bukkit.getScheduler().scheduleSyncDelayedTask(MetadataHandler.PLUGIN, () -> loadChunk(simplePersistentEntityList), 1L);
         }
 
@@ -162,14 +201,15 @@ public class PersistentObjectHandler {
 
         @EventHandler (priority = EventPriority.LOWEST)
         public void chunkUnloadEvent(ChunkUnloadEvent event) {
-            int chunkLocation = chunkLocation(event.getChunk());
-            List<PersistentObjectHandler> simplePersistentEntityList = new ArrayList<>(persistentObjects.get(chunkLocation + ""));
-            unloadChunk(simplePersistentEntityList);
+            List<PersistentObjectHandler> handlers = getChunkObjects(event.getChunk());
+            if (handlers == null) return;
+            //Copied as unloading can move objects between chunks
+            unloadChunk(new ArrayList<>(handlers));
         }
 
         @EventHandler
         public void onInstanceRemove(InstancedDungeonRemoveEvent event) {
-            persistentObjects.removeAll(event.getDungeonInstance().getInstancedWorldName());
+            worldObjects.remove(event.getDungeonInstance().getInstancedWorldName());
         }
 
     }
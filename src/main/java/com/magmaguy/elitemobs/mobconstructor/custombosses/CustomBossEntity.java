@@ -1,6 +1,5 @@
 package com.magmaguy.elitemobs.mobconstructor.custombosses;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.EliteMobEnterCombatEvent;
 import com.magmaguy.elitemobs.api.EliteMobExitCombatEvent;
 import com.magmaguy.elitemobs.api.EliteMobRemoveEvent;
@@ -41,7 +40,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.CreatureSpawnEvent;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
 import javax.annotation.Nullable;
@@ -49,10 +47,8 @@ import java.util.*;
 
 public class CustomBossEntity extends EliteEntity implements Listener, PersistentObject, PersistentMovingEntity {
 
-    public static Set<CustomBossEntity> dynamicLevelBossEntities = new HashSet<>();
     @Getter
     protected static HashSet<CustomBossEntity> trackableCustomBosses = new HashSet<>();
-    private static BukkitTask dynamicLevelUpdater = null;
     private final List<BukkitTask> globalReinforcements = new ArrayList<>();
     @Getter
     protected CustomBossesConfigFields customBossesConfigFields;
@@ -139,41 +135,15 @@ public class CustomBossEntity extends EliteEntity implements Listener, Persisten
 
     public static void addToUpdatingDynamicLevels(CustomBossEntity customBossEntity) {
         if (!customBossEntity.dynamicLevel) return;
-        dynamicLevelBossEntities.add(customBossEntity);
+        DynamicLevelEngine.add(customBossEntity);
     }
 
     public static void startUpdatingDynamicLevels() {
-        dynamicLevelUpdater = new BukkitRunnable() {
-            @Override
-            public void run() {
-                Iterator<CustomBossEntity> iterator = dynamicLevelBossEntities.iterator();
-                while (iterator.hasNext()) {
-                    CustomBossEntity customBossEntity = iterator.next();
-                    if (!customBossEntity.isValid()) {
-                        iterator.remove(); // Remove from the list instead of canceling
-                        continue; // Skip to the next iteration
-                    }
-                    int currentLevel = customBossEntity.getLevel();
-                    customBossEntity.getDynamicLevel(customBossEntity.getLocation());
-                    int newLevel = customBossEntity.getLevel();
-
-                    if (currentLevel == newLevel) {
-                        continue; // Skip to the next iteration if the level hasn't changed
-                    }
-
-                    // In theory, the damage should update automatically; the only thing that needs updating should be the health
-                    customBossEntity.setMaxHealth();
-                    customBossEntity.setNormalizedHealth();
-                    CustomBossMegaConsumer.setName(customBossEntity.getLivingEntity(), customBossEntity, customBossEntity.level);
-                }
-            }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 20 * 5L, 20 * 5L);
+        DynamicLevelEngine.start();
     }
 
     public static void shutdown() {
-        if (dynamicLevelUpdater != null)
-            dynamicLevelUpdater.cancel();
-        dynamicLevelBossEntities.clear();
+        DynamicLevelEngine.shutdown();
     }
 
     @Override
@@ -425,8 +395,22 @@ public class CustomBossEntity extends EliteEntity implements Listener, Persisten
      * Upsettingly due to how chunk generation works regional bosses in general don't play along well with dynamic bosses
      */
     private void startUpdatingDynamicLevel() {
-        if (dynamicLevelUpdater != null) return;
-        dynamicLevelBossEntities.add(this);
+        DynamicLevelEngine.add(this);
+    }
+
+    /**
+     * Applies a new dynamic level, see {@link DynamicLevelEngine}.
+     *
+     * @return Whether the level changed
+     */
+    boolean updateDynamicLevel(int newLevel) {
+        if (newLevel == level) return false;
+        super.setLevel(newLevel);
+        // In theory, the damage should update automatically; the only thing that needs updating should be the health
+        setMaxHealth();
+        setNormalizedHealth();
+        CustomBossMegaConsumer.setName(livingEntity, this, level);
+        return true;
     }
 
     private void startBossTrails() {
@@ -504,7 +488,7 @@ public class CustomBossEntity extends EliteEntity implements Listener, Persisten
 
     @Override
     public void remove(RemovalReason removalReason) {
-        dynamicLevelBossEntities.remove(this);
+        DynamicLevelEngine.remove(this);
         if (livingEntity != null) persistentLocation = livingEntity.getLocation();
         //Remove the living entity
         super.remove(removalReason);
@@ -0,0 +1,200 @@
+package com.magmaguy.elitemobs.mobconstructor.custombosses;
+
+import com.magmaguy.elitemobs.MetadataHandler;
+import com.magmaguy.elitemobs.playerdata.ElitePlayerInventory;
+import com.magmaguy.elitemobs.utils.ChunkKeyedMap;
+import com.magmaguy.elitemobs.utils.ChunkVectorizer;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+
+/**
+ * Keeps the level of dynamic level custom bosses in line with the gear of the players around them.
+ * <p>
+ * Every cycle the online players get sorted into regions as wide as the range at which players affect a boss, along
+ * with their gear level. The players that can affect a region are gathered once per cycle for all the bosses in it,
+ * and each boss then only checks those. A boss only gets its level, health and name updated when the players in range
+ * or their levels changed since its last check.
+ * <p>
+ * The bosses of a cycle are spread evenly over the ticks of the cycle instead of all being checked on the same tick.
+ */
+public class DynamicLevelEngine {
+    private static final int CYCLE_TICKS = 20 * 5;
+    private static final Set<CustomBossEntity> bosses = new HashSet<>();
+    //Signature of the players that were in range of each boss on its last check, see PlayerThreat#signature
+    private static final HashMap<CustomBossEntity, Long> inputSignatures = new HashMap<>();
+    private static final HashMap<UUID, ChunkKeyedMap<List<PlayerThreat>>> playerRegions = new HashMap<>();
+    private static final HashMap<UUID, ChunkKeyedMap<List<PlayerThreat>>> regionCandidates = new HashMap<>();
+    private static final List<CustomBossEntity> cycleBosses = new ArrayList<>();
+    private static BukkitTask task = null;
+    private static int range = 16;
+    private static int cycleTick = 0;
+    private static int cycleIndex = 0;
+    private static int bossesPerTick = 0;
+    @Getter
+    private static int lastCycleChecks = 0;
+    @Getter
+    private static int lastCycleUpdates = 0;
+    private static int cycleChecks = 0;
+    private static int cycleUpdates = 0;
+
+    private DynamicLevelEngine() {
+    }
+
+    public static void start() {
+        if (task != null) return;
+        range = (int) (16L * (Bukkit.getViewDistance() + 2));
+        task = new BukkitRunnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }.runTaskTimer(MetadataHandler.PLUGIN, CYCLE_TICKS, 1);
+    }
+
+    public static void shutdown() {
+        if (task != null) task.cancel();
+        task = null;
+        bosses.clear();
+        inputSignatures.clear();
+        playerRegions.clear();
+        regionCandidates.clear();
+        cycleBosses.clear();
+        cycleTick = 0;
+        cycleIndex = 0;
+    }
+
+    public static void add(CustomBossEntity customBossEntity) {
+        bosses.add(customBossEntity);
+    }
+
+    public static void remove(CustomBossEntity customBossEntity) {
+        bosses.remove(customBossEntity);
+        inputSignatures.remove(customBossEntity);
+    }
+
+    public static int getBossCount() {
+        return bosses.size();
+    }
+
+    private static void tick() {
+        if (cycleTick == 0) startCycle();
+        int end = Math.min(cycleBosses.size(), cycleIndex + bossesPerTick);
+        for (; cycleIndex < end; cycleIndex++)
+            update(cycleBosses.get(cycleIndex));
+        cycleTick++;
+        if (cycleTick >= CYCLE_TICKS) endCycle();
+    }
+
+    private static void startCycle() {
+        cycleBosses.clear();
+        cycleBosses.addAll(bosses);
+        cycleIndex = 0;
+        bossesPerTick = (cycleBosses.size() + CYCLE_TICKS - 1) / CYCLE_TICKS;
+        playerRegions.clear();
+        regionCandidates.clear();
+        if (cycleBosses.isEmpty()) return;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            ElitePlayerInventory playerInventory = ElitePlayerInventory.getPlayer(player);
+            if (playerInventory == null) continue;
+            PlayerThreat playerThreat = new PlayerThreat(player, playerInventory.getNaturalMobSpawnLevel(false));
+            long key = ChunkVectorizer.pack(region(playerThreat.x), region(playerThreat.z));
+            ChunkKeyedMap<List<PlayerThreat>> regions = playerRegions.computeIfAbsent(player.getWorld().getUID(), k -> new ChunkKeyedMap<>());
+            List<PlayerThreat> regionPlayers = regions.get(key);
+            if (regionPlayers == null) {
+                regionPlayers = new ArrayList<>();
+                regions.put(key, regionPlayers);
+            }
+            regionPlayers.add(playerThreat);
+        }
+    }
+
+    private static void endCycle() {
+        cycleTick = 0;
+        cycleBosses.clear();
+        playerRegions.clear();
+        regionCandidates.clear();
+        lastCycleChecks = cycleChecks;
+        lastCycleUpdates = cycleUpdates;
+        cycleChecks = 0;
+        cycleUpdates = 0;
+    }
+
+    private static void update(CustomBossEntity customBossEntity) {
+        if (!customBossEntity.isValid()) {
+            remove(customBossEntity);
+            return;
+        }
+        Location location = customBossEntity.getLocation();
+        if (location == null || location.getWorld() == null) return;
+        cycleChecks++;
+
+        int bossLevel = 1;
+        long inputSignature = 0;
+        for (PlayerThreat playerThreat : getCandidates(location)) {
+            if (!playerThreat.isInRange(location)) continue;
+            inputSignature += playerThreat.signature;
+            if (playerThreat.level > bossLevel) bossLevel = playerThreat.level;
+        }
+
+        Long previousSignature = inputSignatures.put(customBossEntity, inputSignature);
+        if (previousSignature != null && previousSignature == inputSignature) return;
+        if (customBossEntity.updateDynamicLevel(bossLevel)) cycleUpdates++;
+    }
+
+    /**
+     * Players that can be in range of a location, gathered once per region per cycle from the surrounding regions.
+     */
+    private static List<PlayerThreat> getCandidates(Location location) {
+        UUID worldUUID = location.getWorld().getUID();
+        ChunkKeyedMap<List<PlayerThreat>> regions = playerRegions.get(worldUUID);
+        if (regions == null) return Collections.emptyList();
+        int regionX = region(location.getX());
+        int regionZ = region(location.getZ());
+        long key = ChunkVectorizer.pack(regionX, regionZ);
+        ChunkKeyedMap<List<PlayerThreat>> worldCandidates = regionCandidates.computeIfAbsent(worldUUID, k -> new ChunkKeyedMap<>());
+        List<PlayerThreat> candidates = worldCandidates.get(key);
+        if (candidates != null) return candidates;
+        candidates = new ArrayList<>();
+        for (int x = regionX - 1; x <= regionX + 1; x++)
+            for (int z = regionZ - 1; z <= regionZ + 1; z++) {
+                List<PlayerThreat> regionPlayers = regions.get(ChunkVectorizer.pack(x, z));
+                if (regionPlayers != null) candidates.addAll(regionPlayers);
+            }
+        worldCandidates.put(key, candidates);
+        return candidates;
+    }
+
+    //Regions are as wide as the range, so everything in range is in the 3x3 regions around a location
+    private static int region(double coordinate) {
+        return Math.floorDiv((int) Math.floor(coordinate), range);
+    }
+
+    private static class PlayerThreat {
+        private final double x, y, z;
+        private final int level;
+        //Order independent when summed, changes when a player comes in or out of range or changes level
+        private final long signature;
+
+        private PlayerThreat(Player player, int level) {
+            Location location = player.getLocation();
+            this.x = location.getX();
+            this.y = location.getY();
+            this.z = location.getZ();
+            this.level = level;
+            this.signature = (player.getUniqueId().getMostSignificantBits() ^ player.getUniqueId().getLeastSignificantBits()) * 31 + level;
+        }
+
+        private boolean isInRange(Location location) {
+            double distanceX = x - location.getX();
+            double distanceY = y - location.getY();
+            double distanceZ = z - location.getZ();
+            return distanceX * distanceX + distanceY * distanceY + distanceZ * distanceZ <= (double) range * range;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.magmaguy.elitemobs.mobspawning;
 
 import com.magmaguy.elitemobs.EliteMobs;
-import com.magmaguy.elitemobs.adventurersguild.GuildRank;
 import com.magmaguy.elitemobs.config.AdventurersGuildConfig;
 import com.magmaguy.elitemobs.config.DefaultConfig;
 import com.magmaguy.elitemobs.config.MobCombatSettingsConfig;
@@ -9,11 +8,9 @@ import com.magmaguy.elitemobs.config.ValidWorldsConfig;
 import com.magmaguy.elitemobs.config.mobproperties.MobPropertiesConfig;
 import com.magmaguy.elitemobs.entitytracker.EntityTracker;
 import com.magmaguy.elitemobs.items.MobTierCalculator;
-import com.magmaguy.elitemobs.items.customenchantments.HunterEnchantment;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.mobconstructor.mobdata.aggressivemobs.EliteMobProperties;
 import com.magmaguy.elitemobs.playerdata.ElitePlayerInventory;
-import com.magmaguy.elitemobs.playerdata.database.PlayerData;
 import com.magmaguy.elitemobs.thirdparty.worldguard.WorldGuardCompatibility;
 import com.magmaguy.elitemobs.thirdparty.worldguard.WorldGuardFlagChecker;
 import com.magmaguy.elitemobs.thirdparty.worldguard.WorldGuardSpawnEventBypasser;
@@ -29,7 +26,6 @@ import org.bukkit.event.entity.CreatureSpawnEvent;
 
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.bukkit.event.entity.CreatureSpawnEvent.SpawnReason.*;
 
@@ -58,6 +54,18 @@ public class NaturalMobSpawnEventHandler implements Listener {
                 eliteMobLevel = individualPlayerThreat;
         }
 
+        return getNaturalMobLevel(spawnLocation, eliteMobLevel, playerCount);
+    }
+
+    /**
+     * Same as {@link #getNaturalMobLevel(Location, List)}, using the levels already gathered by {@link PlayerScanner#scan(Location)}.
+     */
+    public static int getNaturalMobLevel(Location spawnLocation, PlayerScanner.NearbyPlayers nearbyPlayers) {
+        return getNaturalMobLevel(spawnLocation, nearbyPlayers.getHighestNaturalMobSpawnLevel(), nearbyPlayers.getPlayerCount());
+    }
+
+    private static int getNaturalMobLevel(Location spawnLocation, int eliteMobLevel, int playerCount) {
+
         /*
         Party system modifier
         Each player adds a +2 tier bonus
@@ -123,28 +131,21 @@ public class NaturalMobSpawnEventHandler implements Listener {
 
         double validChance = MobCombatSettingsConfig.getAggressiveMobConversionPercentage();
 
-        List<Player> nearbyPlayers = PlayerScanner.getNearbyPlayers(livingEntity.getLocation());
-
-        double huntingGearChanceAdder = HunterEnchantment.getHuntingGearBonus(nearbyPlayers);
-        validChance += huntingGearChanceAdder;
+        Location spawnLocation = livingEntity.getLocation();
+        PlayerScanner.NearbyPlayers nearbyPlayers = PlayerScanner.scan(spawnLocation);
 
-        AtomicInteger peacefulModeDebuffs = new AtomicInteger();
-        nearbyPlayers.forEach(player -> {
-            //Handles situations where fake players got caught in the detection
-            if (PlayerData.getPlayerData(player.getUniqueId()) != null && GuildRank.getActiveGuildRank(player) == 0)
-                peacefulModeDebuffs.getAndIncrement();
-        });
+        validChance += nearbyPlayers.getHunterChance();
 
-        validChance -= peacefulModeDebuffs.get() * AdventurersGuildConfig.getPeacefulModeEliteChanceDecrease();
+        validChance -= nearbyPlayers.getPeacefulPlayerCount() * AdventurersGuildConfig.getPeacefulModeEliteChanceDecrease();
 
         if (ThreadLocalRandom.current().nextDouble() >= validChance) return;
 
-        int eliteMobLevel = getNaturalMobLevel(livingEntity.getLocation(), nearbyPlayers);
+        int eliteMobLevel = getNaturalMobLevel(spawnLocation, nearbyPlayers);
 
         //Takes worldguard minimum and maximum level flags into account
         if (EliteMobs.worldGuardIsEnabled) {
-            Integer minLevel = WorldGuardFlagChecker.getRegionMinimumLevel(livingEntity.getLocation());
-            Integer maxLevel = WorldGuardFlagChecker.getRegionMaximumLevel(livingEntity.getLocation());
+            Integer minLevel = WorldGuardFlagChecker.getRegionMinimumLevel(spawnLocation);
+            Integer maxLevel = WorldGuardFlagChecker.getRegionMaximumLevel(spawnLocation);
             if (minLevel != null)
                 eliteMobLevel = minLevel > eliteMobLevel ? minLevel : eliteMobLevel;
             if (maxLevel != null)
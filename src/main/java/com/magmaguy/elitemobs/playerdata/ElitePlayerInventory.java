@@ -7,25 +7,43 @@ import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.player.PlayerLoginEvent;
-import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockDispenseArmorEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.*;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.*;
 
 public class ElitePlayerInventory {
 
+    private static final int ALL_SLOTS = (1 << PlayerItem.EquipmentSlot.values().length) - 1;
+    //Some changes fire no event at all, like /give into the held slot or other plugins editing worn items
+    private static final long FULL_REFRESH_TICKS = 20L * 5;
     public static HashMap<UUID, ElitePlayerInventory> playerInventories = new HashMap<>();
     public final PlayerItem helmet, chestplate, leggings, boots, mainhand, offhand;
     private final Player player;
     //Used by elite scripts
     private final HashSet<String> customMetadata = new HashSet<>();
-    private boolean isUpdateLock = false;
+    //One bit per PlayerItem.EquipmentSlot ordinal, set by equipment change events and cleared on the next update
+    private int dirtySlots = 0;
 
     /**
      * Object of the player's inventory for EliteMobs.
      * For performance reasons, values are cached and updated only when strictly necessary.
      * Stores already parsed logic for weapon and armor tiers, as well as potion effects associated to weapons.
+     * Equipment change events mark the slots that might have changed, and getters called with update set to true
+     * only re-read those slots. Every slot of every online player also gets re-read every few seconds to catch the
+     * changes that no event reports.
      *
      * @param player Inventory th
      */
@@ -44,66 +62,97 @@ public class ElitePlayerInventory {
         return playerInventories.get(player.getUniqueId());
     }
 
+    public static void markAllDirty(Player player) {
+        ElitePlayerInventory elitePlayerInventory = getPlayer(player);
+        if (elitePlayerInventory != null) elitePlayerInventory.markAllDirty();
+    }
+
     public static void initialize() {
         for (Player player : Bukkit.getOnlinePlayers())
             playerInventories.put(player.getUniqueId(), new ElitePlayerInventory(player));
+        new BukkitRunnable() {
+            @Override
+            public void run() {
+                for (ElitePlayerInventory elitePlayerInventory : playerInventories.values())
+                    elitePlayerInventory.markAllDirty();
+            }
+        }.runTaskTimer(MetadataHandler.PLUGIN, FULL_REFRESH_TICKS, FULL_REFRESH_TICKS);
+    }
+
+    private static int slotBit(PlayerItem.EquipmentSlot equipmentSlot) {
+        return 1 << equipmentSlot.ordinal();
+    }
+
+    public void markDirty(PlayerItem.EquipmentSlot equipmentSlot) {
+        dirtySlots |= slotBit(equipmentSlot);
+    }
+
+    public void markAllDirty() {
+        dirtySlots = ALL_SLOTS;
+    }
+
+    /**
+     * Re-reads the slots that changed since the last update. Slots nothing happened to keep their cached values, so
+     * getters asking for an update only cost a bit check when the equipment did not change.
+     */
+    private void updateDirtySlots() {
+        if (dirtySlots == 0) return;
+        int slots = dirtySlots;
+        dirtySlots = 0;
+        if ((slots & slotBit(PlayerItem.EquipmentSlot.HELMET)) != 0)
+            helmet.fullUpdate(player.getInventory().getHelmet());
+        if ((slots & slotBit(PlayerItem.EquipmentSlot.CHESTPLATE)) != 0)
+            chestplate.fullUpdate(player.getInventory().getChestplate());
+        if ((slots & slotBit(PlayerItem.EquipmentSlot.LEGGINGS)) != 0)
+            leggings.fullUpdate(player.getInventory().getLeggings());
+        if ((slots & slotBit(PlayerItem.EquipmentSlot.BOOTS)) != 0)
+            boots.fullUpdate(player.getInventory().getBoots());
+        if ((slots & slotBit(PlayerItem.EquipmentSlot.MAINHAND)) != 0)
+            mainhand.fullUpdate(player.getInventory().getItemInMainHand());
+        if ((slots & slotBit(PlayerItem.EquipmentSlot.OFFHAND)) != 0)
+            offhand.fullUpdate(player.getInventory().getItemInOffHand());
     }
 
     public double getEliteDamage(boolean update) {
-        if (isUpdateLock) update = false;
-        double eliteDamage = helmet.getEliteDamage(player.getInventory().getHelmet(), update) +
-                chestplate.getEliteDamage(player.getInventory().getChestplate(), update) +
-                leggings.getEliteDamage(player.getInventory().getLeggings(), update) +
-                boots.getEliteDamage(player.getInventory().getBoots(), update) +
-                mainhand.getEliteDamage(player.getInventory().getItemInMainHand(), update) +
-                offhand.getEliteDamage(player.getInventory().getItemInOffHand(), update);
-        updateLock();
-        return eliteDamage;
+        if (update) updateDirtySlots();
+        return helmet.eliteDamage +
+                chestplate.eliteDamage +
+                leggings.eliteDamage +
+                boots.eliteDamage +
+                mainhand.eliteDamage +
+                offhand.eliteDamage;
     }
 
     public double getEliteDefense(boolean update) {
-        if (isUpdateLock) update = false;
-        double defense = helmet.getEliteDefense(player.getInventory().getHelmet(), update) +
-                chestplate.getEliteDefense(player.getInventory().getChestplate(), update) +
-                leggings.getEliteDefense(player.getInventory().getLeggings(), update) +
-                boots.getEliteDefense(player.getInventory().getBoots(), update) +
-                mainhand.getEliteDefense(player.getInventory().getItemInMainHand(), update) +
-                offhand.getEliteDefense(player.getInventory().getItemInOffHand(), update);
-        updateLock();
-        return defense;
+        if (update) updateDirtySlots();
+        return helmet.eliteDamageReduction +
+                chestplate.eliteDamageReduction +
+                leggings.eliteDamageReduction +
+                boots.eliteDamageReduction +
+                mainhand.eliteDamageReduction +
+                offhand.eliteDamageReduction;
     }
 
     public double getEliteProjectileProtection(boolean update) {
-        if (isUpdateLock) update = false;
-
-        double eliteProjectileProtection = (helmet.getProtectionProjectile(player.getInventory().getHelmet(), update) +
-                chestplate.getProtectionProjectile(player.getInventory().getChestplate(), update) +
-                leggings.getProtectionProjectile(player.getInventory().getLeggings(), update) +
-                boots.getProtectionProjectile(player.getInventory().getBoots(), update) +
-                mainhand.getProtectionProjectile(player.getInventory().getItemInMainHand(), update) +
-                offhand.getProtectionProjectile(player.getInventory().getItemInOffHand(), update))
+        if (update) updateDirtySlots();
+        return (helmet.protectionProjectile +
+                chestplate.protectionProjectile +
+                leggings.protectionProjectile +
+                boots.protectionProjectile +
+                mainhand.protectionProjectile +
+                offhand.protectionProjectile)
                 / 6d;
-        updateLock();
-        return eliteProjectileProtection;
     }
 
     public double getEliteBlastProtection(boolean update) {
-        if (isUpdateLock) update = false;
-        double eliteBlastProtection = (helmet.getBlastProtection(player.getInventory().getHelmet(), update) +
-                chestplate.getBlastProtection(player.getInventory().getChestplate(), update) +
-                leggings.getBlastProtection(player.getInventory().getLeggings(), update) +
-                boots.getBlastProtection(player.getInventory().getBoots(), update) +
-                mainhand.getBlastProtection(player.getInventory().getItemInMainHand(), update) +
-                offhand.getBlastProtection(player.getInventory().getItemInOffHand(), update))
+        if (update) updateDirtySlots();
+        return (helmet.blastProtection +
+                chestplate.blastProtection +
+                leggings.blastProtection +
+                boots.blastProtection +
+                mainhand.blastProtection +
+                offhand.blastProtection)
                 / 6d;
-        updateLock();
-        return eliteBlastProtection;
-    }
-
-    private boolean updateLock() {
-        isUpdateLock = true;
-        Bukkit.getScheduler().runTaskLater(MetadataHandler.PLUGIN, () -> isUpdateLock = false, 1);
-        return true;
     }
 
     /**
@@ -112,35 +161,29 @@ public class ElitePlayerInventory {
      * @return Tier of the weapon in the main hand.
      */
     public int getWeaponLevel(boolean update) {
-        if (isUpdateLock) update = false;
-        int weaponLevel = mainhand.getTier(player.getInventory().getItemInMainHand(), update);
-        updateLock();
-        return weaponLevel;
+        if (update) updateDirtySlots();
+        return mainhand.itemTier;
     }
 
     public int getFullPlayerTier(boolean update) {
-        if (isUpdateLock) update = false;
-        int fullPlayerTier = (int) ((helmet.getTier(player.getInventory().getHelmet(), update) +
-                chestplate.getTier(player.getInventory().getChestplate(), update) +
-                leggings.getTier(player.getInventory().getLeggings(), update) +
-                boots.getTier(player.getInventory().getBoots(), update) +
-                mainhand.getTier(player.getInventory().getItemInMainHand(), update))
+        if (update) updateDirtySlots();
+        return (int) ((helmet.itemTier +
+                chestplate.itemTier +
+                leggings.itemTier +
+                boots.itemTier +
+                mainhand.itemTier)
                 / 5D);
-        updateLock();
-        return fullPlayerTier;
     }
 
     public int getNaturalMobSpawnLevel(boolean update) {
-        if (isUpdateLock) update = false;
+        if (update) updateDirtySlots();
         if (player.getGameMode().equals(GameMode.SPECTATOR)) return 0;
-        int naturalMobSpawnLevel = (int) ((helmet.getTier(player.getInventory().getHelmet(), update) +
-                chestplate.getTier(player.getInventory().getChestplate(), update) +
-                leggings.getTier(player.getInventory().getLeggings(), update) +
-                boots.getTier(player.getInventory().getBoots(), update) +
-                mainhand.getTier(player.getInventory().getItemInMainHand(), update))
+        return (int) ((helmet.itemTier +
+                chestplate.itemTier +
+                leggings.itemTier +
+                boots.itemTier +
+                mainhand.itemTier)
                 / 5D * MobTierCalculator.PER_TIER_LEVEL_INCREASE);
-        updateLock();
-        return naturalMobSpawnLevel;
     }
 
     /**
@@ -149,15 +192,14 @@ public class ElitePlayerInventory {
      * @return ArrayList of all continuous potion effects.
      */
     public ArrayList<ElitePotionEffect> getContinuousPotionEffects(boolean update) {
-        if (isUpdateLock) update = false;
+        if (update) updateDirtySlots();
         ArrayList<ElitePotionEffect> elitePotionEffects = new ArrayList<>();
-        elitePotionEffects.addAll(helmet.getContinuousPotionEffects(player.getInventory().getHelmet(), update));
-        elitePotionEffects.addAll(chestplate.getContinuousPotionEffects(player.getInventory().getChestplate(), update));
-        elitePotionEffects.addAll(leggings.getContinuousPotionEffects(player.getInventory().getLeggings(), update));
-        elitePotionEffects.addAll(boots.getContinuousPotionEffects(player.getInventory().getBoots(), update));
-        elitePotionEffects.addAll(mainhand.getContinuousPotionEffects(player.getInventory().getItemInMainHand(), update));
-        elitePotionEffects.addAll(offhand.getContinuousPotionEffects(player.getInventory().getItemInOffHand(), update));
-        updateLock();
+        elitePotionEffects.addAll(helmet.continuousPotionEffects);
+        elitePotionEffects.addAll(chestplate.continuousPotionEffects);
+        elitePotionEffects.addAll(leggings.continuousPotionEffects);
+        elitePotionEffects.addAll(boots.continuousPotionEffects);
+        elitePotionEffects.addAll(mainhand.continuousPotionEffects);
+        elitePotionEffects.addAll(offhand.continuousPotionEffects);
         return elitePotionEffects;
     }
 
@@ -167,58 +209,47 @@ public class ElitePlayerInventory {
      * @return ArrayList of all onHit potion effects.
      */
     public ArrayList<ElitePotionEffect> getOnHitPotionEffects(boolean update) {
-        if (isUpdateLock) update = false;
+        if (update) updateDirtySlots();
         ArrayList<ElitePotionEffect> elitePotionEffects = new ArrayList<>();
-        elitePotionEffects.addAll(helmet.getOnHitPotionEffects(player.getInventory().getHelmet(), update));
-        elitePotionEffects.addAll(chestplate.getOnHitPotionEffects(player.getInventory().getChestplate(), update));
-        elitePotionEffects.addAll(leggings.getOnHitPotionEffects(player.getInventory().getLeggings(), update));
-        elitePotionEffects.addAll(boots.getOnHitPotionEffects(player.getInventory().getBoots(), update));
-        elitePotionEffects.addAll(mainhand.getOnHitPotionEffects(player.getInventory().getItemInMainHand(), update));
-        elitePotionEffects.addAll(offhand.getOnHitPotionEffects(player.getInventory().getItemInOffHand(), update));
-        updateLock();
+        elitePotionEffects.addAll(helmet.onHitPotionEffects);
+        elitePotionEffects.addAll(chestplate.onHitPotionEffects);
+        elitePotionEffects.addAll(leggings.onHitPotionEffects);
+        elitePotionEffects.addAll(boots.onHitPotionEffects);
+        elitePotionEffects.addAll(mainhand.onHitPotionEffects);
+        elitePotionEffects.addAll(offhand.onHitPotionEffects);
         return elitePotionEffects;
     }
 
     public double getCritChance(boolean update) {
-        if (isUpdateLock) update = false;
-        double critChance = mainhand.getCritChance(player.getInventory().getItemInMainHand(), update);
-        updateLock();
-        return critChance;
+        if (update) updateDirtySlots();
+        return mainhand.critChance;
     }
 
     public double getLightningChance(boolean update) {
-        if (isUpdateLock) update = false;
-        double lightningChance = mainhand.getLightningChance(player.getInventory().getItemInMainHand(), update);
-        updateLock();
-        return lightningChance;
+        if (update) updateDirtySlots();
+        return mainhand.lightningChance;
     }
 
     public double getHunterChance(boolean update) {
-        if (isUpdateLock) update = false;
-        double hunterChance = helmet.getHunterChance(player.getInventory().getHelmet(), update) +
-                chestplate.getHunterChance(player.getInventory().getChestplate(), update) +
-                leggings.getHunterChance(player.getInventory().getLeggings(), update) +
-                boots.getHunterChance(player.getInventory().getBoots(), update);
-        updateLock();
-        return hunterChance;
+        if (update) updateDirtySlots();
+        return helmet.hunterChance +
+                chestplate.hunterChance +
+                leggings.hunterChance +
+                boots.hunterChance;
     }
 
     public double getPlasmaBootsLevel(boolean update) {
-        if (isUpdateLock) update = false;
-        double plasmaBootsLevel = boots.getPlasmaBootsLevel(player.getInventory().getBoots(), update);
-        updateLock();
-        return plasmaBootsLevel;
+        if (update) updateDirtySlots();
+        return boots.plasmaBootsLevel;
     }
 
     public double getEarthquakeLevel(boolean update) {
         //todo: should earthquake really apply for things other than the boots?
-        if (isUpdateLock) update = false;
-        double earthquakeLevel = helmet.getEarthquakeLevel(player.getInventory().getHelmet(), update) +
-                chestplate.getEarthquakeLevel(player.getInventory().getChestplate(), update) +
-                leggings.getEarthquakeLevel(player.getInventory().getLeggings(), update) +
-                boots.getEarthquakeLevel(player.getInventory().getBoots(), update);
-        updateLock();
-        return earthquakeLevel;
+        if (update) updateDirtySlots();
+        return helmet.earthquakeLevel +
+                chestplate.earthquakeLevel +
+                leggings.earthquakeLevel +
+                boots.earthquakeLevel;
     }
 
     /**
@@ -234,15 +265,13 @@ public class ElitePlayerInventory {
     }
 
     public double getLoudStrikesBonusMultiplier(boolean update) {
-        if (isUpdateLock) update = false;
-        double loudStrikesBonusMultiplier = helmet.getLoudStrikesBonus(player.getInventory().getHelmet(), update) +
-                chestplate.getLoudStrikesBonus(player.getInventory().getChestplate(), update) +
-                leggings.getLoudStrikesBonus(player.getInventory().getLeggings(), update) +
-                boots.getLoudStrikesBonus(player.getInventory().getBoots(), update) +
-                mainhand.getLoudStrikesBonus(player.getInventory().getItemInMainHand(), update) +
-                offhand.getLoudStrikesBonus(player.getInventory().getItemInOffHand(), update);
-        updateLock();
-        return loudStrikesBonusMultiplier;
+        if (update) updateDirtySlots();
+        return helmet.loudStrikesBonus +
+                chestplate.loudStrikesBonus +
+                leggings.loudStrikesBonus +
+                boots.loudStrikesBonus +
+                mainhand.loudStrikesBonus +
+                offhand.loudStrikesBonus;
     }
 
     public boolean hasTag(String string) {
@@ -271,5 +300,145 @@ public class ElitePlayerInventory {
         public void onPlayerLogout(PlayerQuitEvent event) {
             playerInventories.remove(event.getPlayer().getUniqueId());
         }
+
+        //The inventory might not be fully loaded at login
+        @EventHandler
+        public void onPlayerJoin(PlayerJoinEvent event) {
+            markAllDirty(event.getPlayer());
+        }
+
+        //Clicks and drags in any open inventory can move items in and out of the hotbar and the armor slots
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onInventoryClick(InventoryClickEvent event) {
+            if (event.getWhoClicked() instanceof Player player) markAllDirty(player);
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onInventoryDrag(InventoryDragEvent event) {
+            if (event.getWhoClicked() instanceof Player player) markAllDirty(player);
+        }
+
+        @EventHandler
+        public void onInventoryClose(InventoryCloseEvent event) {
+            if (event.getPlayer() instanceof Player player) markAllDirty(player);
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onItemHeld(PlayerItemHeldEvent event) {
+            markHandsDirty(event.getPlayer());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onSwapHands(PlayerSwapHandItemsEvent event) {
+            markHandsDirty(event.getPlayer());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onDrop(PlayerDropItemEvent event) {
+            markHandsDirty(event.getPlayer());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onPickup(EntityPickupItemEvent event) {
+            if (event.getEntity() instanceof Player player) markHandsDirty(player);
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onConsume(PlayerItemConsumeEvent event) {
+            markHandsDirty(event.getPlayer());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onBlockPlace(BlockPlaceEvent event) {
+            markHandsDirty(event.getPlayer());
+        }
+
+        //Right-clicking armor equips it without going through the inventory
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onInteract(PlayerInteractEvent event) {
+            if (!event.hasItem()) return;
+            if (event.getAction() != Action.RIGHT_CLICK_AIR && event.getAction() != Action.RIGHT_CLICK_BLOCK) return;
+            PlayerItem.EquipmentSlot armorSlot = switch (event.getMaterial().getEquipmentSlot()) {
+                case HEAD -> PlayerItem.EquipmentSlot.HELMET;
+                case CHEST -> PlayerItem.EquipmentSlot.CHESTPLATE;
+                case LEGS -> PlayerItem.EquipmentSlot.LEGGINGS;
+                case FEET -> PlayerItem.EquipmentSlot.BOOTS;
+                default -> null;
+            };
+            if (armorSlot == null) return;
+            ElitePlayerInventory elitePlayerInventory = getPlayer(event.getPlayer());
+            if (elitePlayerInventory == null) return;
+            elitePlayerInventory.markDirty(armorSlot);
+            //The armor leaves the hand it was in, and might swap with what was worn
+            markHandsDirty(event.getPlayer());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onDispenseArmor(BlockDispenseArmorEvent event) {
+            if (event.getTargetEntity() instanceof Player player) markAllDirty(player);
+        }
+
+        //Durability only matters once an item reaches its last use, which is when it stops counting until repaired
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onItemDamage(PlayerItemDamageEvent event) {
+            int maxDurability = event.getItem().getType().getMaxDurability();
+            if (maxDurability == 0) return;
+            if (getDamage(event.getItem()) + event.getDamage() + 1 < maxDurability) return;
+            markItemSlotDirty(event.getPlayer(), event.getItem());
+        }
+
+        //Mending an item on its last use makes it count again
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onItemMend(PlayerItemMendEvent event) {
+            int maxDurability = event.getItem().getType().getMaxDurability();
+            if (maxDurability == 0) return;
+            if (getDamage(event.getItem()) + 1 < maxDurability) return;
+            markItemSlotDirty(event.getPlayer(), event.getItem());
+        }
+
+        @EventHandler
+        public void onItemBreak(PlayerItemBreakEvent event) {
+            markAllDirty(event.getPlayer());
+        }
+
+        @EventHandler
+        public void onRespawn(PlayerRespawnEvent event) {
+            markAllDirty(event.getPlayer());
+        }
+
+        @EventHandler
+        public void onWorldChange(PlayerChangedWorldEvent event) {
+            markAllDirty(event.getPlayer());
+        }
+
+        private int getDamage(ItemStack itemStack) {
+            return itemStack.getItemMeta() instanceof Damageable damageable ? damageable.getDamage() : 0;
+        }
+
+        //The durability events do not say which slot the item is in
+        private void markItemSlotDirty(Player player, ItemStack itemStack) {
+            ElitePlayerInventory elitePlayerInventory = getPlayer(player);
+            if (elitePlayerInventory == null) return;
+            PlayerInventory inventory = player.getInventory();
+            if (itemStack.equals(inventory.getItemInMainHand()))
+                elitePlayerInventory.markDirty(PlayerItem.EquipmentSlot.MAINHAND);
+            else if (itemStack.equals(inventory.getItemInOffHand()))
+                elitePlayerInventory.markDirty(PlayerItem.EquipmentSlot.OFFHAND);
+            else if (itemStack.equals(inventory.getHelmet()))
+                elitePlayerInventory.markDirty(PlayerItem.EquipmentSlot.HELMET);
+            else if (itemStack.equals(inventory.getChestplate()))
+                elitePlayerInventory.markDirty(PlayerItem.EquipmentSlot.CHESTPLATE);
+            else if (itemStack.equals(inventory.getLeggings()))
+                elitePlayerInventory.markDirty(PlayerItem.EquipmentSlot.LEGGINGS);
+            else if (itemStack.equals(inventory.getBoots()))
+                elitePlayerInventory.markDirty(PlayerItem.EquipmentSlot.BOOTS);
+        }
+
+        private void markHandsDirty(Player player) {
+            ElitePlayerInventory elitePlayerInventory = getPlayer(player);
+            if (elitePlayerInventory == null) return;
+            elitePlayerInventory.markDirty(PlayerItem.EquipmentSlot.MAINHAND);
+            elitePlayerInventory.markDirty(PlayerItem.EquipmentSlot.OFFHAND);
+        }
     }
 }
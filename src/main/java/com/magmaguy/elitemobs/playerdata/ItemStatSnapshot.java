@@ -0,0 +1,164 @@
+package com.magmaguy.elitemobs.playerdata;
+
+import com.magmaguy.elitemobs.MetadataHandler;
+import com.magmaguy.elitemobs.api.utils.EliteItemManager;
+import com.magmaguy.elitemobs.config.enchantments.EnchantmentsConfig;
+import com.magmaguy.elitemobs.items.ItemTagger;
+import com.magmaguy.elitemobs.items.customenchantments.*;
+import com.magmaguy.elitemobs.items.potioneffects.ElitePotionEffect;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Decoded EliteMobs stats of an item. Reading tiers, elite attributes, enchantments and potion effects means going
+ * through the item meta and its persistent data container several times, so it is done once per distinct item and the
+ * result is shared by every player holding an identical copy of it.
+ * <p>
+ * Snapshots are keyed by the material and the item meta minus durability, which covers the persistent data container
+ * and the enchantments, and kept in a bounded least recently used cache. They depend on the item and enchantment
+ * configs, so the cache is cleared when the plugin shuts down or reloads.
+ * <p>
+ * The cache is only used from the main thread, as even lookups reorder it. Callers on other threads, like
+ * PlaceholderAPI expansions, get a freshly decoded snapshot instead.
+ */
+@Getter
+public class ItemStatSnapshot {
+    private static final int MAXIMUM_CACHE_SIZE = 512;
+    private static final Map<ItemKey, ItemStatSnapshot> cache = new LinkedHashMap<>(MAXIMUM_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ItemKey, ItemStatSnapshot> eldest) {
+            return size() > MAXIMUM_CACHE_SIZE;
+        }
+    };
+    @Getter
+    private static long cacheHits = 0;
+    @Getter
+    private static long cacheMisses = 0;
+    private static volatile NamespacedKey criticalStrikesKey = null;
+    private static NamespacedKey lightningKey = null;
+    private static NamespacedKey plasmaBootsKey = null;
+    private static NamespacedKey hunterKey = null;
+    private static NamespacedKey earthquakeKey = null;
+    private static NamespacedKey loudStrikesKey = null;
+
+    private final double weaponLevel;
+    private final double armorLevel;
+    private final double eliteAttributeDamage;
+    private final double eliteEnchantmentDamage;
+    private final double eliteDefense;
+    private final double protectionProjectile;
+    private final double blastProtection;
+    private final int damageArthropodsLevel;
+    private final int damageUndeadLevel;
+    private final int thornsLevel;
+    private final double critChance;
+    private final double lightningChance;
+    private final double plasmaBootsLevel;
+    private final double hunterChance;
+    private final double earthquakeLevel;
+    private final double loudStrikesBonus;
+    private final List<ElitePotionEffect> continuousPotionEffects;
+    private final List<ElitePotionEffect> onHitPotionEffects;
+
+    private ItemStatSnapshot(ItemStack itemStack, ItemMeta itemMeta) {
+        if (criticalStrikesKey == null) initializeKeys();
+        this.weaponLevel = EliteItemManager.getWeaponLevel(itemStack);
+        this.armorLevel = EliteItemManager.getArmorLevel(itemStack);
+        this.eliteAttributeDamage = EliteItemManager.getEliteDamageFromEliteAttributes(itemStack);
+        this.eliteEnchantmentDamage = EliteItemManager.getEliteDamageFromEnchantments(itemStack);
+        this.eliteDefense = EliteItemManager.getEliteDefense(itemStack) + EliteItemManager.getBonusEliteDefense(itemStack);
+        this.continuousPotionEffects = Collections.unmodifiableList(ItemTagger.getPotionEffects(itemMeta, ItemTagger.continuousPotionEffectKey));
+        this.onHitPotionEffects = Collections.unmodifiableList(ItemTagger.getPotionEffects(itemMeta, ItemTagger.onHitPotionEffectKey));
+        this.protectionProjectile = ItemTagger.getEnchantment(itemMeta, Enchantment.PROJECTILE_PROTECTION.getKey());
+        this.blastProtection = ItemTagger.getEnchantment(itemMeta, Enchantment.BLAST_PROTECTION.getKey());
+        this.damageArthropodsLevel = ItemTagger.getEnchantment(itemMeta, Enchantment.BANE_OF_ARTHROPODS.getKey());
+        this.damageUndeadLevel = ItemTagger.getEnchantment(itemMeta, Enchantment.SMITE.getKey());
+        this.thornsLevel = ItemTagger.getEnchantment(itemMeta, Enchantment.THORNS.getKey());
+        this.critChance = ItemTagger.getEnchantment(itemMeta, criticalStrikesKey) / 10D;
+        this.lightningChance = Math.pow(ItemTagger.getEnchantment(itemMeta, lightningKey), 2) / 1000D;
+        this.plasmaBootsLevel = ItemTagger.getEnchantment(itemMeta, plasmaBootsKey);
+        this.hunterChance = ItemTagger.getEnchantment(itemMeta, hunterKey) * EnchantmentsConfig.getEnchantment("hunter.yml").getFileConfiguration().getDouble("hunterSpawnBonus");
+        this.earthquakeLevel = ItemTagger.getEnchantment(itemMeta, earthquakeKey);
+        this.loudStrikesBonus = ItemTagger.getEnchantment(itemMeta, loudStrikesKey) / 3D;
+    }
+
+    private static void initializeKeys() {
+        lightningKey = new NamespacedKey(MetadataHandler.PLUGIN, LightningEnchantment.key);
+        plasmaBootsKey = new NamespacedKey(MetadataHandler.PLUGIN, PlasmaBootsEnchantment.key);
+        hunterKey = new NamespacedKey(MetadataHandler.PLUGIN, HunterEnchantment.key);
+        earthquakeKey = new NamespacedKey(MetadataHandler.PLUGIN, EarthquakeEnchantment.key);
+        loudStrikesKey = new NamespacedKey(MetadataHandler.PLUGIN, LoudStrikesEnchantment.key);
+        //Set last, as it is the one checked to know whether the keys are ready
+        criticalStrikesKey = new NamespacedKey(MetadataHandler.PLUGIN, CriticalStrikesEnchantment.key);
+    }
+
+    /**
+     * Gets the decoded stats of an item, decoding them only if no identical item was seen before. Off the main thread
+     * the item always gets decoded.
+     *
+     * @param itemStack Item to read. The amount is not part of the key, stacks of the same item share their snapshot.
+     * @return The stats of the item
+     */
+    public static ItemStatSnapshot of(ItemStack itemStack) {
+        //getItemMeta() hands out a copy, so the key can not be changed by later edits to the item
+        ItemMeta itemMeta = itemStack.getItemMeta();
+        //Durability does not change any stat, leaving it out keeps worn copies of an item on the same snapshot
+        if (itemMeta instanceof Damageable damageable && damageable.hasDamage()) damageable.setDamage(0);
+        if (!Bukkit.isPrimaryThread()) return new ItemStatSnapshot(itemStack, itemMeta);
+        ItemKey itemKey = new ItemKey(itemStack.getType(), itemMeta);
+        ItemStatSnapshot itemStatSnapshot = cache.get(itemKey);
+        if (itemStatSnapshot != null) {
+            cacheHits++;
+            return itemStatSnapshot;
+        }
+        cacheMisses++;
+        itemStatSnapshot = new ItemStatSnapshot(itemStack, itemMeta);
+        cache.put(itemKey, itemStatSnapshot);
+        return itemStatSnapshot;
+    }
+
+    public static int getCachedItemCount() {
+        return cache.size();
+    }
+
+    public static void shutdown() {
+        cache.clear();
+        //Keys get rebuilt on next use, as the plugin instance changes on reload
+        criticalStrikesKey = null;
+    }
+
+    private static class ItemKey {
+        private final Material material;
+        private final ItemMeta itemMeta;
+        private final int hash;
+
+        private ItemKey(Material material, ItemMeta itemMeta) {
+            this.material = material;
+            this.itemMeta = itemMeta;
+            this.hash = 31 * material.hashCode() + Objects.hashCode(itemMeta);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof ItemKey other)) return false;
+            return material == other.material && hash == other.hash && Objects.equals(itemMeta, other.itemMeta);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
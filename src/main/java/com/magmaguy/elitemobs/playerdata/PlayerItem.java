@@ -1,19 +1,16 @@
 package com.magmaguy.elitemobs.playerdata;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.utils.EliteItemManager;
 import com.magmaguy.elitemobs.config.ItemSettingsConfig;
 import com.magmaguy.elitemobs.config.enchantments.EnchantmentsConfig;
 import com.magmaguy.elitemobs.instanced.dungeons.DungeonInstance;
 import com.magmaguy.elitemobs.items.ItemTagger;
-import com.magmaguy.elitemobs.items.customenchantments.*;
+import com.magmaguy.elitemobs.items.customenchantments.SoulbindEnchantment;
 import com.magmaguy.elitemobs.items.potioneffects.ElitePotionEffect;
 import com.magmaguy.elitemobs.playerdata.database.PlayerData;
 import com.magmaguy.elitemobs.utils.BossBarUtil;
 import com.magmaguy.magmacore.util.ChatColorConverter;
 import org.bukkit.Material;
-import org.bukkit.NamespacedKey;
-import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.Damageable;
@@ -31,16 +28,16 @@ public class PlayerItem {
     public int damageArthropodsLevel = 0;
     public int damageUndeadLevel = 0;
     public int thornsLevel = 0;
-    private double plasmaBootsLevel = 0;
-    private double critChance = 0;
-    private double hunterChance = 0;
-    private double lightningChance = 0;
-    private double earthquakeLevel = 0;
-    private double eliteDamageReduction = 0;
-    private double protectionProjectile = 0;
-    private double eliteDamage = 0;
-    private double blastProtection = 0;
-    private double loudStrikesBonus = 0;
+    double plasmaBootsLevel = 0;
+    double critChance = 0;
+    double hunterChance = 0;
+    double lightningChance = 0;
+    double earthquakeLevel = 0;
+    double eliteDamageReduction = 0;
+    double protectionProjectile = 0;
+    double eliteDamage = 0;
+    double blastProtection = 0;
+    double loudStrikesBonus = 0;
 
     private boolean displayingAsBroken = false;
 
@@ -67,7 +64,7 @@ public class PlayerItem {
         return ((Damageable) itemStack.getItemMeta()).getDamage() + 1 >= itemStack.getType().getMaxDurability();
     }
 
-    private boolean fullUpdate(ItemStack itemStack) {
+    boolean fullUpdate(ItemStack itemStack) {
 
         //case when both are null
         if (itemStack == null && this.itemStack == null)
@@ -104,16 +101,19 @@ public class PlayerItem {
             }
         }
 
+        //Decoded once per distinct item and shared between every player holding a copy of it
+        ItemStatSnapshot itemStatSnapshot = ItemStatSnapshot.of(itemStack);
+
         //Neither offhand nor armor contribute to baseline damage outside of the enchants, so we reset the damage before anything
         this.eliteDamage = 0;
 
         //case when the item changed during runtime to another valid ItemStack
         this.itemStack = itemStack;
         if (equipmentSlot.equals(EquipmentSlot.MAINHAND)) {
-            this.itemTier = (int) Math.round(EliteItemManager.getWeaponLevel(itemStack));
-            this.eliteDamage = EliteItemManager.getEliteDamageFromEliteAttributes(itemStack);
+            this.itemTier = (int) Math.round(itemStatSnapshot.getWeaponLevel());
+            this.eliteDamage = itemStatSnapshot.getEliteAttributeDamage();
         } else
-            this.itemTier = (int) Math.round(EliteItemManager.getArmorLevel(itemStack));
+            this.itemTier = (int) Math.round(itemStatSnapshot.getArmorLevel());
 
         //Level sync for instanced dungeons - limits the max level of the item
         if (PlayerData.getMatchInstance(player) != null &&
@@ -126,23 +126,23 @@ public class PlayerItem {
             }
         }
 
-        this.continuousPotionEffects = ItemTagger.getPotionEffects(itemStack.getItemMeta(), ItemTagger.continuousPotionEffectKey);
-        this.onHitPotionEffects = ItemTagger.getPotionEffects(itemStack.getItemMeta(), ItemTagger.onHitPotionEffectKey);
+        this.continuousPotionEffects = new ArrayList<>(itemStatSnapshot.getContinuousPotionEffects());
+        this.onHitPotionEffects = new ArrayList<>(itemStatSnapshot.getOnHitPotionEffects());
 
         //Enchantments are global, any inventory slot will add to the total of any enchantment
-        this.eliteDamageReduction = EliteItemManager.getEliteDefense(itemStack) + EliteItemManager.getBonusEliteDefense(itemStack);
-        this.protectionProjectile = ItemTagger.getEnchantment(itemStack.getItemMeta(), Enchantment.PROJECTILE_PROTECTION.getKey());
-        this.blastProtection = ItemTagger.getEnchantment(itemStack.getItemMeta(), Enchantment.BLAST_PROTECTION.getKey());
-        this.damageArthropodsLevel = ItemTagger.getEnchantment(itemStack.getItemMeta(), Enchantment.BANE_OF_ARTHROPODS.getKey());
-        this.damageUndeadLevel = ItemTagger.getEnchantment(itemStack.getItemMeta(), Enchantment.SMITE.getKey());
-        this.critChance = ItemTagger.getEnchantment(itemStack.getItemMeta(), new NamespacedKey(MetadataHandler.PLUGIN, CriticalStrikesEnchantment.key)) / 10D;
-        this.lightningChance = Math.pow(ItemTagger.getEnchantment(itemStack.getItemMeta(), new NamespacedKey(MetadataHandler.PLUGIN, LightningEnchantment.key)), 2) / 1000D;
-        this.plasmaBootsLevel = ItemTagger.getEnchantment(itemStack.getItemMeta(), new NamespacedKey(MetadataHandler.PLUGIN, PlasmaBootsEnchantment.key));
-        this.hunterChance = ItemTagger.getEnchantment(itemStack.getItemMeta(), new NamespacedKey(MetadataHandler.PLUGIN, HunterEnchantment.key)) * EnchantmentsConfig.getEnchantment("hunter.yml").getFileConfiguration().getDouble("hunterSpawnBonus");
-        this.earthquakeLevel = ItemTagger.getEnchantment(itemStack.getItemMeta(), new NamespacedKey(MetadataHandler.PLUGIN, EarthquakeEnchantment.key));
-        this.thornsLevel = ItemTagger.getEnchantment(itemStack.getItemMeta(), Enchantment.THORNS.getKey());
-        this.loudStrikesBonus = ItemTagger.getEnchantment(itemStack.getItemMeta(), new NamespacedKey(MetadataHandler.PLUGIN, LoudStrikesEnchantment.key)) / 3d;
-        eliteDamage += EliteItemManager.getEliteDamageFromEnchantments(itemStack);
+        this.eliteDamageReduction = itemStatSnapshot.getEliteDefense();
+        this.protectionProjectile = itemStatSnapshot.getProtectionProjectile();
+        this.blastProtection = itemStatSnapshot.getBlastProtection();
+        this.damageArthropodsLevel = itemStatSnapshot.getDamageArthropodsLevel();
+        this.damageUndeadLevel = itemStatSnapshot.getDamageUndeadLevel();
+        this.critChance = itemStatSnapshot.getCritChance();
+        this.lightningChance = itemStatSnapshot.getLightningChance();
+        this.plasmaBootsLevel = itemStatSnapshot.getPlasmaBootsLevel();
+        this.hunterChance = itemStatSnapshot.getHunterChance();
+        this.earthquakeLevel = itemStatSnapshot.getEarthquakeLevel();
+        this.thornsLevel = itemStatSnapshot.getThornsLevel();
+        this.loudStrikesBonus = itemStatSnapshot.getLoudStrikesBonus();
+        eliteDamage += itemStatSnapshot.getEliteEnchantmentDamage();
 
         return true;
 
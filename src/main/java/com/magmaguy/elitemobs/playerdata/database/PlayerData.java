@@ -1,13 +1,13 @@
 package com.magmaguy.elitemobs.playerdata.database;
 
 import com.magmaguy.elitemobs.MetadataHandler;
-import com.magmaguy.elitemobs.config.DatabaseConfig;
 import com.magmaguy.elitemobs.instanced.MatchInstance;
+import com.magmaguy.elitemobs.playerdata.ElitePlayerInventory;
 import com.magmaguy.elitemobs.quests.CustomQuest;
 import com.magmaguy.elitemobs.quests.Quest;
+import com.magmaguy.elitemobs.quests.QuestCodec;
 import com.magmaguy.elitemobs.quests.playercooldowns.PlayerQuestCooldowns;
 import com.magmaguy.elitemobs.utils.ConfigurationLocation;
-import com.magmaguy.elitemobs.utils.ObjectSerializer;
 import com.magmaguy.magmacore.util.Logger;
 import lombok.Getter;
 import lombok.Setter;
@@ -29,6 +29,7 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class PlayerData {
@@ -85,6 +86,8 @@ public class PlayerData {
     @Getter
     @Setter
     private MatchInstance matchInstance = null;
+    //Encoded quests keyed by quest ID, lets quest progress only re-encode the quest that changed
+    private final Map<UUID, byte[]> encodedQuests = new HashMap<>();
 
     public PlayerData(UUID uuid) {
         Player player = Bukkit.getPlayer(uuid);
@@ -97,26 +100,20 @@ public class PlayerData {
         new BukkitRunnable() {
             @Override
             public void run() {
-                Statement statement = null;
-                try {
-                    statement = getConnection().createStatement();
-                    ResultSet resultSet = statement.executeQuery("SELECT * FROM " + PLAYER_DATA_TABLE_NAME + " WHERE PlayerUUID = '" + uuid + "';");
-                    if (resultSet.next()) {
-                        readExistingData(statement, uuid, resultSet);
-                    } else {
-                        writeNewData(statement, uuid);
-                    }
-                    resultSet.close();
-                    statement.close();
-                } catch (Exception e) {
-                    if (statement != null) {
-                        try {
-                            statement.close();
-                        } catch (SQLException throwables) {
-                            Logger.warn("Failed to close statement after failing player data creation!");
-                            throwables.printStackTrace();
+                //Make sure writes queued during a previous session are on disk before reading the row back
+                PlayerDataWriter.flush(uuid);
+                PlayerDataRow.written(uuid);
+                try (PlayerDataConnectionPool.PooledConnection pooledConnection = PlayerDataConnectionPool.borrow()) {
+                    PreparedStatement statement = pooledConnection.prepare("SELECT * FROM " + PLAYER_DATA_TABLE_NAME + " WHERE PlayerUUID = ?;");
+                    statement.setString(1, uuid.toString());
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        if (resultSet.next()) {
+                            readExistingData(uuid, resultSet);
+                            return;
                         }
                     }
+                    writeNewData(pooledConnection, uuid);
+                } catch (Exception e) {
                     Logger.warn("Something went wrong while generating a new player entry. This is bad! Tell the dev.");
                     Logger.warn(e.getClass().getName() + ": " + e.getMessage());
                 }
@@ -129,11 +126,23 @@ public class PlayerData {
     }
 
     public static void updateQuestStatus(UUID uuid) {
+        updateQuestStatus(uuid, null);
+    }
+
+    /**
+     * Saves the player's quests. When a specific quest is passed, only that quest gets re-encoded.
+     *
+     * @param uuid  Player UUID
+     * @param quest Quest that changed, or null if the whole quest list should be re-encoded
+     */
+    public static void updateQuestStatus(UUID uuid, Quest quest) {
         List<Quest> playerQuests = getQuests(uuid);
         try {
-            setDatabaseValue(uuid, "QuestStatus", ObjectSerializer.toString((ArrayList) playerQuests));
-            if (playerDataHashMap.containsKey(uuid))
-                playerDataHashMap.get(uuid).quests = playerQuests;
+            PlayerData playerData = playerDataHashMap.get(uuid);
+            Map<UUID, byte[]> encodedQuests = playerData == null ? new HashMap<>() : playerData.encodedQuests;
+            setDatabaseValue(uuid, "QuestStatus", QuestCodec.encodeQuests(playerQuests, encodedQuests, quest));
+            if (playerData != null)
+                playerData.quests = playerQuests;
         } catch (Exception ex) {
             Logger.warn("Failed to serialize player quest data!");
             ex.printStackTrace();
@@ -249,7 +258,7 @@ public class PlayerData {
     public static List<Quest> getQuests(UUID uuid) {
         try {
             if (!isInMemory(uuid))
-                return (List<Quest>) ObjectSerializer.fromString((String) getDatabaseBlob(uuid, "QuestStatus"));
+                return QuestCodec.decodeQuests(uuid, getDatabaseBlob(uuid, "QuestStatus"));
             if (playerDataHashMap.get(uuid) == null) return new ArrayList<>();
             return playerDataHashMap.get(uuid).quests == null ? new ArrayList<>() : playerDataHashMap.get(uuid).quests;
         } catch (Exception ex) {
@@ -271,7 +280,7 @@ public class PlayerData {
         List<Quest> questList = null;
         try {
             if (!isInMemory(uuid))
-                questList = (List<Quest>) ObjectSerializer.fromString((String) getDatabaseBlob(uuid, "QuestStatus"));
+                questList = QuestCodec.decodeQuests(uuid, getDatabaseBlob(uuid, "QuestStatus"));
             else
                 questList = playerDataHashMap.get(uuid).quests;
         } catch (Exception ex) {
@@ -299,15 +308,11 @@ public class PlayerData {
         updateQuestStatus(uuid);
     }
 
-    public static void updateQuestStatus(UUID uuid, Quest quest) {
-        updateQuestStatus(uuid);
-    }
-
     @Nullable
     public static PlayerQuestCooldowns getPlayerQuestCooldowns(UUID uuid) {
         try {
             if (!isInMemory(uuid))
-                return (PlayerQuestCooldowns) ObjectSerializer.fromString((String) getDatabaseBlob(uuid, "PlayerQuestCooldowns"));
+                return QuestCodec.decodeCooldowns(getDatabaseBlob(uuid, "PlayerQuestCooldowns"));
             if (playerDataHashMap.get(uuid) == null) return PlayerQuestCooldowns.initializePlayer();
             return playerDataHashMap.get(uuid).playerQuestCooldowns == null ? PlayerQuestCooldowns.initializePlayer() : playerDataHashMap.get(uuid).playerQuestCooldowns;
         } catch (Exception ex) {
@@ -321,7 +326,9 @@ public class PlayerData {
 
     public static void updatePlayerQuestCooldowns(UUID uuid, PlayerQuestCooldowns playerQuestCooldowns) {
         try {
-            setDatabaseValue(uuid, "PlayerQuestCooldowns", ObjectSerializer.toString(playerQuestCooldowns));
+            setDatabaseValue(uuid, "PlayerQuestCooldowns", QuestCodec.encodeCooldowns(playerQuestCooldowns));
+            if (playerDataHashMap.containsKey(uuid))
+                playerDataHashMap.get(uuid).playerQuestCooldowns = playerQuestCooldowns;
         } catch (Exception ex) {
             Logger.warn("Failed to register player quest cooldowns!");
             ex.printStackTrace();
@@ -329,45 +336,23 @@ public class PlayerData {
     }
 
     public static void setDatabaseValue(UUID uuid, String key, Object value) {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                Statement statement = null;
-                try {
-                    statement = getConnection().createStatement();
-                    String sql;
-                    if (value instanceof String) {
-                        sql = "UPDATE " + PLAYER_DATA_TABLE_NAME + " SET " + key + " = '" + value + "' WHERE PlayerUUID = '" + uuid.toString() + "';";
-                    } else if (value instanceof Boolean) {
-                        sql = "UPDATE " + PLAYER_DATA_TABLE_NAME + " SET " + key + " = " + (((Boolean) value) ? 1 : 0) + " WHERE PlayerUUID = '" + uuid.toString() + "';";
-                    } else {
-                        sql = "UPDATE " + PLAYER_DATA_TABLE_NAME + " SET " + key + " = " + value + " WHERE PlayerUUID = '" + uuid.toString() + "';";
-                    }
-                    statement.executeUpdate(sql);
-                    statement.close();
-                } catch (Exception e) {
-                    Logger.warn("Failed to update database value.");
-                    e.printStackTrace();
-                }
-            }
-        }.runTaskAsynchronously(MetadataHandler.PLUGIN);
+        PlayerDataWriter.queue(uuid, key, value);
+        PlayerDataRow.invalidate(uuid);
     }
 
-    private static Object getDatabaseBlob(UUID uuid, String value) {
-        try {
-            Statement statement = getConnection().createStatement();
-            ResultSet resultSet = statement.executeQuery("SELECT * FROM " + PLAYER_DATA_TABLE_NAME + " WHERE PlayerUUID = '" + uuid.toString() + "';");
-            byte[] bytes = resultSet.getBytes(value);
-            resultSet.close();
-            statement.close();
-            if (bytes == null) return null;
-            return new String(bytes);
-        } catch (Exception e) {
+    private static byte[] getDatabaseBlob(UUID uuid, String value) {
+        if (PlayerDataWriter.hasPendingValue(uuid, value)) {
+            Object pendingValue = PlayerDataWriter.getPendingValue(uuid, value);
+            if (pendingValue instanceof String) return ((String) pendingValue).getBytes(StandardCharsets.UTF_8);
+            return (byte[]) pendingValue;
+        }
+        PlayerDataRow playerDataRow = PlayerDataRow.fetch(uuid);
+        if (playerDataRow == null) {
             Logger.warn("Failed to get blob value from database!");
             Logger.warn("UUID: " + uuid + " | Value: " + value);
-            e.printStackTrace();
             return null;
         }
+        return playerDataRow.getBytes(value);
     }
 
     public static int getScore(UUID uuid) {
@@ -478,87 +463,61 @@ public class PlayerData {
     public static void setMatchInstance(Player player, MatchInstance newMatchInstance) {
         if (playerDataHashMap.get(player.getUniqueId()) != null)
             playerDataHashMap.get(player.getUniqueId()).matchInstance = newMatchInstance;
+        //Dungeon level sync caps the item levels
+        ElitePlayerInventory.markAllDirty(player);
     }
 
     private static Boolean getDatabaseBoolean(UUID uuid, String value) {
-        try {
-            Statement statement = getConnection().createStatement();
-            ResultSet resultSet = statement.executeQuery("SELECT * FROM " + PLAYER_DATA_TABLE_NAME + " WHERE PlayerUUID = '" + uuid.toString() + "';");
-            boolean reply = resultSet.getBoolean(value);
-            resultSet.close();
-            statement.close();
-            return reply;
-        } catch (Exception e) {
+        if (PlayerDataWriter.hasPendingValue(uuid, value))
+            return (Boolean) PlayerDataWriter.getPendingValue(uuid, value);
+        PlayerDataRow playerDataRow = PlayerDataRow.fetch(uuid);
+        if (playerDataRow == null) {
             Logger.warn("Failed to get boolean value from database!");
-            e.printStackTrace();
             return null;
         }
+        return playerDataRow.getBoolean(value);
     }
 
     private static String getDatabaseString(UUID uuid, String value) {
-        try {
-            Statement statement = getConnection().createStatement();
-            ResultSet resultSet = statement.executeQuery("SELECT * FROM " + PLAYER_DATA_TABLE_NAME + " WHERE PlayerUUID = '" + uuid.toString() + "';");
-            String reply = resultSet.getString(value);
-            resultSet.close();
-            statement.close();
-            return reply;
-        } catch (Exception e) {
+        if (PlayerDataWriter.hasPendingValue(uuid, value))
+            return (String) PlayerDataWriter.getPendingValue(uuid, value);
+        PlayerDataRow playerDataRow = PlayerDataRow.fetch(uuid);
+        if (playerDataRow == null) {
             Logger.warn("Failed to get string value from database!");
-            e.printStackTrace();
             return null;
         }
+        return playerDataRow.getString(value);
     }
 
     private static Double getDatabaseDouble(UUID uuid, String value) {
-        try {
-            Statement statement = getConnection().createStatement();
-            ResultSet resultSet = statement.executeQuery("SELECT * FROM " + PLAYER_DATA_TABLE_NAME + " WHERE PlayerUUID = '" + uuid.toString() + "';");
-            double reply = resultSet.getDouble(value);
-            resultSet.close();
-            statement.close();
-            return reply;
-        } catch (Exception e) {
+        if (PlayerDataWriter.hasPendingValue(uuid, value))
+            return (Double) PlayerDataWriter.getPendingValue(uuid, value);
+        PlayerDataRow playerDataRow = PlayerDataRow.fetch(uuid);
+        if (playerDataRow == null) {
             Logger.warn("Failed to get double value from database!");
-            e.printStackTrace();
             return null;
         }
+        return playerDataRow.getDouble(value);
     }
 
     private static Integer getDatabaseInteger(UUID uuid, String value) {
-        try {
-            Statement statement = getConnection().createStatement();
-            ResultSet resultSet = statement.executeQuery("SELECT * FROM " + PLAYER_DATA_TABLE_NAME + " WHERE PlayerUUID = '" + uuid.toString() + "';");
-            int reply = resultSet.getInt(value);
-            resultSet.close();
-            statement.close();
-            return reply;
-        } catch (Exception e) {
+        if (PlayerDataWriter.hasPendingValue(uuid, value))
+            return (Integer) PlayerDataWriter.getPendingValue(uuid, value);
+        PlayerDataRow playerDataRow = PlayerDataRow.fetch(uuid);
+        if (playerDataRow == null) {
             Logger.warn("Failed to get integer value from database!");
-            e.printStackTrace();
             return null;
         }
+        return playerDataRow.getInt(value);
     }
 
+    /**
+     * Dedicated connection for schema generation and data migration. Regular reads and writes go through
+     * {@link PlayerDataConnectionPool}.
+     */
     public static Connection getConnection() throws Exception {
-        File dataFolder = new File(MetadataHandler.PLUGIN.getDataFolder(), "data/" + DATABASE_NAME);
-        if (connection == null || connection.isClosed()) {
-            if (!DatabaseConfig.isUseMySQL()) {
-                Class.forName("org.sqlite.JDBC");
-                connection = DriverManager.getConnection("jdbc:sqlite:" + dataFolder);
-                connection.setAutoCommit(true);
-            } else {
-                Class.forName("com.mysql.jdbc.Driver");
-                String URL = "jdbc:mysql://" + DatabaseConfig.getMysqlHost() + ":"
-                        + DatabaseConfig.getMysqlPort() + "/" + DatabaseConfig.mysqlDatabaseName
-                        + "?useSSL=" + DatabaseConfig.useSSL
-                        + "&createDatabaseIfNotExist=true";
-                String USER = DatabaseConfig.getMysqlUsername();
-                String PASS = DatabaseConfig.getMysqlPassword();
-                connection = DriverManager.getConnection(URL, USER, PASS);
-                connection.setAutoCommit(true);
-            }
-        }
+        if (connection == null || connection.isClosed())
+            connection = PlayerDataConnectionPool.openConnection();
         return connection;
     }
 
@@ -567,6 +526,8 @@ public class PlayerData {
         try {
             Logger.info("Opened database successfully");
             GenerateDatabase.generate();
+            PlayerDataConnectionPool.initialize();
+            PlayerDataWriter.initialize();
             for (Player player : Bukkit.getOnlinePlayers())
                 new PlayerData(player.getUniqueId());
         } catch (Exception e) {
@@ -579,6 +540,9 @@ public class PlayerData {
     }
 
     public static void closeConnection() {
+        PlayerDataWriter.shutdown();
+        PlayerDataConnectionPool.shutdown();
+        PlayerDataRow.shutdown();
         try {
             if (connection == null) return;
             connection.close();
@@ -587,7 +551,7 @@ public class PlayerData {
         }
     }
 
-    private void readExistingData(Statement statement, UUID uuid, ResultSet resultSet) throws Exception {
+    private void readExistingData(UUID uuid, ResultSet resultSet) throws Exception {
         playerDataHashMap.put(uuid, this);
         currency = resultSet.getDouble("Currency");
         guildPrestigeLevel = resultSet.getInt("GuildPrestigeLevel");
@@ -600,13 +564,17 @@ public class PlayerData {
         questsCompleted = resultSet.getInt("QuestsCompleted");
         backTeleportLocation = ConfigurationLocation.serialize(resultSet.getString("BackTeleportLocation"));
 
-        if (resultSet.getBytes("QuestStatus") != null) {
+        byte[] questStatus = resultSet.getBytes("QuestStatus");
+        if (questStatus != null) {
             try {
-                quests = (List<Quest>) ObjectSerializer.fromString(new String(resultSet.getBytes("QuestStatus"), StandardCharsets.UTF_8));
+                quests = QuestCodec.decodeQuests(uuid, questStatus);
                 //Serializes ItemStack which require specific handling, necessary recovering the rewards
                 for (Quest quest : quests)
                     if (quest instanceof CustomQuest)
                         ((CustomQuest) quest).applyTemporaryPermissions(Bukkit.getPlayer(uuid));
+                //One-time migration from the old Java serialization format
+                if (QuestCodec.isLegacy(questStatus))
+                    updateQuestStatus(uuid);
             } catch (Exception ex) {
                 Logger.warn("Failed to serialize quest data for player " + Bukkit.getPlayer(uuid) + " ! This player's quest data will be wiped to prevent future errors.");
                 try {
@@ -618,10 +586,13 @@ public class PlayerData {
             }
         }
 
-        if (resultSet.getBytes("PlayerQuestCooldowns") != null) {
+        byte[] questCooldowns = resultSet.getBytes("PlayerQuestCooldowns");
+        if (questCooldowns != null) {
             try {
-                playerQuestCooldowns = (PlayerQuestCooldowns) ObjectSerializer.fromString(new String(resultSet.getBytes("PlayerQuestCooldowns"), StandardCharsets.UTF_8));
+                playerQuestCooldowns = QuestCodec.decodeCooldowns(questCooldowns);
                 playerQuestCooldowns.startCooldowns(uuid);
+                if (QuestCodec.isLegacy(questCooldowns))
+                    updatePlayerQuestCooldowns(uuid, playerQuestCooldowns);
             } catch (Exception exception) {
                 Logger.warn("Failed to get player quest cooldowns!  ! This player's quest cooldowns will be wiped to prevent future errors.");
                 try {
@@ -648,7 +619,7 @@ public class PlayerData {
         Logger.info("User " + uuid + " data successfully read!");
     }
 
-    private void writeNewData(Statement statement, UUID uuid) throws Exception {
+    private void writeNewData(PlayerDataConnectionPool.PooledConnection pooledConnection, UUID uuid) throws Exception {
         playerDataHashMap.put(uuid, this);
         currency = 0;
         guildPrestigeLevel = 0;
@@ -659,8 +630,7 @@ public class PlayerData {
         highestLevelKilled = 0;
         deaths = 0;
         questsCompleted = 0;
-        statement = getConnection().createStatement();
-        String sql = "INSERT INTO " + PLAYER_DATA_TABLE_NAME + " (" +
+        PreparedStatement statement = pooledConnection.prepare("INSERT INTO " + PLAYER_DATA_TABLE_NAME + " (" +
                 "PlayerUUID," +
                 " DisplayName," +
                 " Currency," +
@@ -672,30 +642,12 @@ public class PlayerData {
                 " HighestLevelKilled," +
                 " Deaths," +
                 " QuestsCompleted) " +
-                //identifier
-                "VALUES ('" + uuid + "'," +
-                //display name
-                " '" + Bukkit.getPlayer(uuid).getName() + "'," +
-                //currency
-                " 0," +
-                //guild_prestige_level
-                " 0," +
-                //guild_max_level
-                " 1," +
-                //guild_active_level
-                " 1," +
-                //score
-                "0," +
-                //kills
-                "0," +
-                //highestLevelKilled
-                "0," +
-                //deaths
-                "0," +
-                //questsCompleted
-                "0);";
-        statement.executeUpdate(sql);
-        statement.close();
+                "VALUES (?, ?, 0, 0, 1, 1, 0, 0, 0, 0, 0);");
+        //identifier
+        statement.setString(1, uuid.toString());
+        //display name
+        statement.setString(2, Bukkit.getPlayer(uuid).getName());
+        statement.executeUpdate();
         Logger.info("No player entry detected, generating new entry!");
     }
 
@@ -718,6 +670,7 @@ public class PlayerData {
                 public void run() {
                     clearPlayerData(event.getPlayer().getUniqueId());
                     setDisplayName(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+                    PlayerDataWriter.flush(event.getPlayer().getUniqueId());
                 }
             }.runTaskLaterAsynchronously(MetadataHandler.PLUGIN, 20);
         }
@@ -0,0 +1,177 @@
+package com.magmaguy.elitemobs.playerdata.database;
+
+import com.magmaguy.elitemobs.MetadataHandler;
+import com.magmaguy.elitemobs.config.DatabaseConfig;
+import com.magmaguy.magmacore.util.Logger;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed-size pool of database connections for the player data table. Each connection keeps its own prepared statement
+ * cache, so hot queries such as row lookups and write-behind updates only get parsed once per connection.
+ * <p>
+ * SQLite connections run in WAL mode so that readers never wait on the write-behind flush.
+ */
+public class PlayerDataConnectionPool {
+    private static final long BORROW_TIMEOUT_SECONDS = 10;
+    private static final List<PooledConnection> allConnections = new CopyOnWriteArrayList<>();
+    private static BlockingQueue<PooledConnection> idleConnections = null;
+    private static Callable<Connection> connectionOpener = PlayerDataConnectionPool::openConnection;
+
+    private PlayerDataConnectionPool() {
+    }
+
+    public static void initialize() throws Exception {
+        initialize(DatabaseConfig.getConnectionPoolSize(), PlayerDataConnectionPool::openConnection);
+    }
+
+    /**
+     * Opens the pool with the given connections instead of the configured database, used by the benchmarks.
+     */
+    static synchronized void initialize(int poolSize, Callable<Connection> opener) throws Exception {
+        shutdown();
+        poolSize = Math.max(1, poolSize);
+        connectionOpener = opener;
+        idleConnections = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            PooledConnection pooledConnection = new PooledConnection(connectionOpener.call());
+            allConnections.add(pooledConnection);
+            idleConnections.add(pooledConnection);
+        }
+    }
+
+    /**
+     * Borrows a connection from the pool. Always use in a try-with-resources block, closing returns it to the pool.
+     */
+    public static PooledConnection borrow() throws SQLException {
+        if (idleConnections == null) throw new SQLException("The player data connection pool is not initialized!");
+        try {
+            PooledConnection pooledConnection = idleConnections.poll(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (pooledConnection == null)
+                throw new SQLException("Timed out waiting for a player data database connection!");
+            pooledConnection.revalidate();
+            return pooledConnection;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a player data database connection!", e);
+        }
+    }
+
+    public static synchronized void shutdown() {
+        for (PooledConnection pooledConnection : allConnections)
+            pooledConnection.closeConnection();
+        allConnections.clear();
+        idleConnections = null;
+    }
+
+    static Connection openConnection() throws Exception {
+        Connection connection;
+        if (!DatabaseConfig.isUseMySQL()) {
+            connection = openSQLiteConnection(new File(MetadataHandler.PLUGIN.getDataFolder(), "data/" + PlayerData.getDATABASE_NAME()));
+        } else {
+            Class.forName("com.mysql.jdbc.Driver");
+            String URL = "jdbc:mysql://" + DatabaseConfig.getMysqlHost() + ":"
+                    + DatabaseConfig.getMysqlPort() + "/" + DatabaseConfig.mysqlDatabaseName
+                    + "?useSSL=" + DatabaseConfig.useSSL
+                    + "&createDatabaseIfNotExist=true";
+            String USER = DatabaseConfig.getMysqlUsername();
+            String PASS = DatabaseConfig.getMysqlPassword();
+            connection = DriverManager.getConnection(URL, USER, PASS);
+        }
+        connection.setAutoCommit(true);
+        return connection;
+    }
+
+    static Connection openSQLiteConnection(File file) throws Exception {
+        Class.forName("org.sqlite.JDBC");
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL;");
+            statement.execute("PRAGMA busy_timeout=5000;");
+        }
+        connection.setAutoCommit(true);
+        return connection;
+    }
+
+    public static class PooledConnection implements AutoCloseable {
+        private final Map<String, PreparedStatement> preparedStatements = new HashMap<>();
+        private Connection connection;
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        public Connection getConnection() {
+            return connection;
+        }
+
+        /**
+         * Returns a cached prepared statement for this connection. Parameters from previous uses are cleared.
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement preparedStatement = preparedStatements.get(sql);
+            if (preparedStatement == null || preparedStatement.isClosed()) {
+                preparedStatement = connection.prepareStatement(sql);
+                preparedStatements.put(sql, preparedStatement);
+            } else
+                preparedStatement.clearParameters();
+            return preparedStatement;
+        }
+
+        //MySQL drops idle connections, so reopen them when needed instead of failing the borrower
+        private void revalidate() throws SQLException {
+            if (!connection.isClosed() && connection.isValid(2)) return;
+            Logger.info("Reopening stale player data database connection.");
+            closeConnection();
+            try {
+                connection = connectionOpener.call();
+            } catch (Exception e) {
+                //Put the connection back so the pool does not shrink when the database is briefly unreachable
+                idleConnections.offer(this);
+                throw new SQLException("Failed to reopen player data database connection!", e);
+            }
+        }
+
+        private void closeConnection() {
+            for (PreparedStatement preparedStatement : preparedStatements.values())
+                try {
+                    preparedStatement.close();
+                } catch (SQLException ignored) {
+                }
+            preparedStatements.clear();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                Logger.warn("Could not correctly close database connection.");
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                Logger.warn("Failed to reset player data database connection before returning it to the pool.");
+            }
+            BlockingQueue<PooledConnection> queue = idleConnections;
+            if (queue != null && allConnections.contains(this)) queue.offer(this);
+            else closeConnection();
+        }
+    }
+}
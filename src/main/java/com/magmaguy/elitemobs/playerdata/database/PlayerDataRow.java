@@ -0,0 +1,167 @@
+package com.magmaguy.elitemobs.playerdata.database;
+
+import com.magmaguy.magmacore.util.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snapshot of a full player data row, used for offline lookups. The whole row is read with a single prepared query and
+ * kept for a few seconds, so commands and menus that show several stats of an offline player only hit the database
+ * once.
+ * <p>
+ * Every queued or committed write to a player gives them a new write version. A read only gets cached if no version
+ * newer than its start was handed out for that player while it ran, so a read that raced a write can not put an old row
+ * back in the cache. Versions of players with nothing left to write get dropped, and expired rows get swept on every
+ * write-behind tick, so neither map grows with every player ever looked up.
+ */
+public class PlayerDataRow {
+    private static final long CACHE_DURATION_MILLIS = 5000;
+    private static final Map<UUID, PlayerDataRow> cachedRows = new ConcurrentHashMap<>();
+    private static final Map<UUID, Long> writeVersions = new ConcurrentHashMap<>();
+    private static final AtomicLong versionCounter = new AtomicLong();
+    //Highest version that got dropped, reads older than it can not tell whether it was for their player
+    private static final AtomicLong forgottenVersion = new AtomicLong();
+    private final Map<String, Object> values;
+    private final long readTime;
+
+    private PlayerDataRow(Map<String, Object> values) {
+        this.values = values;
+        this.readTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Gets the row for this player, reading it from the database if there is no recent copy.
+     *
+     * @return The row, or null if the player has no entry or the database could not be read
+     */
+    public static PlayerDataRow fetch(UUID uuid) {
+        PlayerDataRow cachedRow = cachedRows.get(uuid);
+        if (cachedRow != null) {
+            if (!cachedRow.isExpired()) return cachedRow;
+            cachedRows.remove(uuid, cachedRow);
+        }
+        long readVersion = versionCounter.get();
+        PlayerDataRow playerDataRow = read(uuid);
+        if (playerDataRow == null) cachedRows.remove(uuid);
+        else if (isUnchangedSince(uuid, readVersion)) {
+            cachedRows.put(uuid, playerDataRow);
+            //A write that landed between the version check and the put must not leave this row behind
+            if (!isUnchangedSince(uuid, readVersion)) cachedRows.remove(uuid, playerDataRow);
+        }
+        return playerDataRow;
+    }
+
+    private static boolean isUnchangedSince(UUID uuid, long readVersion) {
+        return writeVersions.getOrDefault(uuid, 0L) <= readVersion && forgottenVersion.get() <= readVersion;
+    }
+
+    /**
+     * Drops the cached copy of the row, called whenever a value for this player gets queued for writing.
+     */
+    public static void invalidate(UUID uuid) {
+        writeVersions.put(uuid, versionCounter.incrementAndGet());
+        cachedRows.remove(uuid);
+    }
+
+    /**
+     * Drops the cached copy of the row once a write for this player committed, and forgets their write version if
+     * nothing else is queued for them.
+     */
+    static void written(UUID uuid) {
+        invalidate(uuid);
+        if (PlayerDataWriter.hasPendingRow(uuid)) return;
+        Long writeVersion = writeVersions.get(uuid);
+        if (writeVersion == null) return;
+        //Raised before the removal so a read checking in between still sees the version
+        forgottenVersion.accumulateAndGet(writeVersion, Math::max);
+        //A write queued in the meantime keeps its newer version
+        writeVersions.remove(uuid, writeVersion);
+    }
+
+    /**
+     * Removes the rows that are too old to be served. Runs on every write-behind tick.
+     */
+    static void removeExpired() {
+        cachedRows.values().removeIf(PlayerDataRow::isExpired);
+    }
+
+    public static void shutdown() {
+        cachedRows.clear();
+        writeVersions.clear();
+    }
+
+    private static PlayerDataRow read(UUID uuid) {
+        try (PlayerDataConnectionPool.PooledConnection pooledConnection = PlayerDataConnectionPool.borrow()) {
+            PreparedStatement statement = pooledConnection.prepare("SELECT * FROM " + PlayerData.getPLAYER_DATA_TABLE_NAME() + " WHERE PlayerUUID = ?;");
+            statement.setString(1, uuid.toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) return null;
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                Map<String, Object> values = new HashMap<>();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    Object value = resultSet.getObject(i);
+                    if (value != null) values.put(metaData.getColumnName(i), value);
+                }
+                return new PlayerDataRow(values);
+            }
+        } catch (Exception e) {
+            Logger.warn("Failed to read player data row from database!");
+            Logger.warn("UUID: " + uuid);
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private boolean isExpired() {
+        return System.currentTimeMillis() - readTime >= CACHE_DURATION_MILLIS;
+    }
+
+    public boolean has(String column) {
+        return values.containsKey(column);
+    }
+
+    public String getString(String column) {
+        Object value = values.get(column);
+        if (value == null) return null;
+        if (value instanceof byte[]) return new String((byte[]) value, StandardCharsets.UTF_8);
+        return value.toString();
+    }
+
+    public byte[] getBytes(String column) {
+        Object value = values.get(column);
+        if (value == null) return null;
+        if (value instanceof byte[]) return (byte[]) value;
+        return value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public int getInt(String column) {
+        Object value = values.get(column);
+        if (value instanceof Number) return ((Number) value).intValue();
+        if (value instanceof Boolean) return ((Boolean) value) ? 1 : 0;
+        if (value instanceof String) return Integer.parseInt((String) value);
+        return 0;
+    }
+
+    public double getDouble(String column) {
+        Object value = values.get(column);
+        if (value instanceof Number) return ((Number) value).doubleValue();
+        if (value instanceof String) return Double.parseDouble((String) value);
+        return 0;
+    }
+
+    public boolean getBoolean(String column) {
+        Object value = values.get(column);
+        if (value instanceof Boolean) return (Boolean) value;
+        if (value instanceof Number) return ((Number) value).intValue() != 0;
+        if (value instanceof String) return value.equals("1") || Boolean.parseBoolean((String) value);
+        return false;
+    }
+}
@@ -0,0 +1,164 @@
+package com.magmaguy.elitemobs.playerdata.database;
+
+import com.magmaguy.elitemobs.MetadataHandler;
+import com.magmaguy.elitemobs.config.DatabaseConfig;
+import com.magmaguy.magmacore.util.Logger;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind store for the player data table. Setters in {@link PlayerData} update the in-memory record and mark the
+ * column as dirty here; a single asynchronous task then writes every dirty row in one transaction. Multiple writes to
+ * the same column between flushes get coalesced into a single update.
+ * <p>
+ * Pending rows are copied on every change and only leave the queue once their transaction committed, so offline reads
+ * keep seeing them while the write is in flight and changes queued during the write are kept for the next flush.
+ */
+public class PlayerDataWriter {
+    //Database nulls are queued as this placeholder, so a null lookup always means nothing is queued for the column
+    private static final Object NULL_VALUE = new Object();
+    private static final Map<UUID, Map<String, Object>> pendingRows = new ConcurrentHashMap<>();
+    private static final Object flushLock = new Object();
+    private static BukkitTask flushTask = null;
+
+    private PlayerDataWriter() {
+    }
+
+    public static void initialize() {
+        if (flushTask != null) flushTask.cancel();
+        int interval = DatabaseConfig.getWriteBehindIntervalTicks();
+        if (interval <= 0) {
+            Logger.warn("writeBehindIntervalTicks in database.yml must be above 0, using 100 instead.");
+            interval = 100;
+        }
+        flushTask = Bukkit.getScheduler().runTaskTimerAsynchronously(
+                MetadataHandler.PLUGIN,
+                PlayerDataWriter::flushAll,
+                interval,
+                interval);
+    }
+
+    /**
+     * Queues a column update. Only the latest value for each column is kept until the next flush.
+     */
+    public static void queue(UUID uuid, String key, Object value) {
+        pendingRows.compute(uuid, (k, row) -> {
+            Map<String, Object> newRow = row == null ? new HashMap<>() : new HashMap<>(row);
+            newRow.put(key, value == null ? NULL_VALUE : value);
+            return newRow;
+        });
+    }
+
+    static boolean hasPendingRow(UUID uuid) {
+        return pendingRows.containsKey(uuid);
+    }
+
+    public static boolean hasPendingValue(UUID uuid, String key) {
+        Map<String, Object> row = pendingRows.get(uuid);
+        return row != null && row.containsKey(key);
+    }
+
+    /**
+     * Returns the value waiting to be written for this column, so that offline reads never see data older than what
+     * the plugin already wrote. Check {@link #hasPendingValue(UUID, String)} first, as null is a valid value.
+     */
+    public static Object getPendingValue(UUID uuid, String key) {
+        Map<String, Object> row = pendingRows.get(uuid);
+        if (row == null) return null;
+        Object value = row.get(key);
+        return value == NULL_VALUE ? null : value;
+    }
+
+    /**
+     * Writes every pending row. Blocking, so this should only run from async tasks or during shutdown.
+     */
+    public static void flushAll() {
+        PlayerDataRow.removeExpired();
+        if (pendingRows.isEmpty()) return;
+        List<UUID> uuids = new ArrayList<>(pendingRows.keySet());
+        flush(uuids);
+    }
+
+    /**
+     * Writes the pending row for a single player. Used on logout and before loading a player's row so the read always
+     * reflects earlier writes.
+     */
+    public static void flush(UUID uuid) {
+        if (!pendingRows.containsKey(uuid)) return;
+        flush(List.of(uuid));
+    }
+
+    private static void flush(List<UUID> uuids) {
+        synchronized (flushLock) {
+            //Rows never change once queued, a newer change replaces the whole row
+            Map<UUID, Map<String, Object>> rows = new HashMap<>();
+            for (UUID uuid : uuids) {
+                Map<String, Object> row = pendingRows.get(uuid);
+                if (row != null && !row.isEmpty()) rows.put(uuid, row);
+            }
+            if (rows.isEmpty()) return;
+            try (PlayerDataConnectionPool.PooledConnection pooledConnection = PlayerDataConnectionPool.borrow()) {
+                Connection connection = pooledConnection.getConnection();
+                connection.setAutoCommit(false);
+                try {
+                    for (Map.Entry<UUID, Map<String, Object>> entry : rows.entrySet())
+                        writeRow(pooledConnection, entry.getKey(), entry.getValue());
+                    connection.commit();
+                } catch (Exception exception) {
+                    //The rows are still queued, so the next flush tries again
+                    connection.rollback();
+                    throw exception;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+                //Rows that got changed again during the write stay queued with the newer values
+                for (Map.Entry<UUID, Map<String, Object>> entry : rows.entrySet()) {
+                    pendingRows.remove(entry.getKey(), entry.getValue());
+                    //Rows read before the commit are older than the database now
+                    PlayerDataRow.written(entry.getKey());
+                }
+            } catch (Exception e) {
+                Logger.warn("Failed to write pending player data to the database, will retry on the next flush.");
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static void writeRow(PlayerDataConnectionPool.PooledConnection pooledConnection, UUID uuid, Map<String, Object> row) throws Exception {
+        //Sorted so that rows touching the same columns share one cached prepared statement
+        List<String> keys = new ArrayList<>(row.keySet());
+        keys.sort(null);
+        StringBuilder sql = new StringBuilder("UPDATE " + PlayerData.getPLAYER_DATA_TABLE_NAME() + " SET ");
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(keys.get(i)).append(" = ?");
+        }
+        sql.append(" WHERE PlayerUUID = ?;");
+        PreparedStatement statement = pooledConnection.prepare(sql.toString());
+        for (int i = 0; i < keys.size(); i++) {
+            Object value = row.get(keys.get(i));
+            if (value == NULL_VALUE) statement.setObject(i + 1, null);
+            else if (value instanceof Boolean) statement.setInt(i + 1, ((Boolean) value) ? 1 : 0);
+            else statement.setObject(i + 1, value);
+        }
+        statement.setString(keys.size() + 1, uuid.toString());
+        statement.executeUpdate();
+    }
+
+    public static void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flushAll();
+    }
+}
@@ -1,16 +1,15 @@
 package com.magmaguy.elitemobs.powers;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.EliteMobDamagedByPlayerEvent;
 import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.MinorPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.Location;
 import org.bukkit.entity.Arrow;
 import org.bukkit.entity.EntityType;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.Objects;
@@ -23,18 +22,12 @@ public class ArrowRain extends MinorPower implements Listener {
     }
 
     public static void doArrowRain(EliteEntity eliteEntity) {
-        new BukkitRunnable() {
+        new PowerTask(eliteEntity) {
             final Location initialLocation = eliteEntity.getLivingEntity().getLocation().clone();
             int counter = 0;
 
             @Override
             public void run() {
-
-                if (!eliteEntity.isValid()) {
-                    cancel();
-                    return;
-                }
-
                 if (counter > 10 * 20) {
                     cancel();
                     eliteEntity.getLivingEntity().teleport(initialLocation);
@@ -46,7 +39,7 @@ public class ArrowRain extends MinorPower implements Listener {
                 if (counter > 20)
                     doArrows(eliteEntity.getLivingEntity().getLocation().clone().add(new Vector(0, 10, 0)), eliteEntity);
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private static void doArrows(Location location, EliteEntity eliteEntity) {
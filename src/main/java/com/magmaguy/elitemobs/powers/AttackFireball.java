@@ -1,16 +1,15 @@
 package com.magmaguy.elitemobs.powers;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.EliteMobTargetPlayerEvent;
 import com.magmaguy.elitemobs.combatsystem.EliteProjectile;
 import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.powers.meta.MinorPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.GameMode;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.projectiles.ProjectileSource;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 /**
@@ -44,7 +43,7 @@ public class AttackFireball extends MinorPower implements Listener {
 
     private void repeatingFireballTask(Monster monster, AttackFireball attackFireball) {
 
-        new BukkitRunnable() {
+        new PowerTask() {
 
             @Override
             public void run() {
@@ -63,7 +62,7 @@ public class AttackFireball extends MinorPower implements Listener {
 
             }
 
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 20L * 8);
+        }.runTaskTimer(0, 20L * 8);
 
     }
 
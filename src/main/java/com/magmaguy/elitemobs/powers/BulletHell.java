@@ -1,6 +1,5 @@
 package com.magmaguy.elitemobs.powers;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.EliteMobDamagedByPlayerEvent;
 import com.magmaguy.elitemobs.api.internal.RemovalReason;
 import com.magmaguy.elitemobs.combatsystem.EliteProjectile;
@@ -8,6 +7,7 @@ import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.entitytracker.EntityTracker;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.BossPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -18,7 +18,6 @@ import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.concurrent.ThreadLocalRandom;
@@ -29,7 +28,7 @@ public class BulletHell extends BossPower implements Listener {
     }
 
     private static void trackingArrowLoop(Player player, Arrow arrow) {
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -51,7 +50,7 @@ public class BulletHell extends BossPower implements Listener {
                 }
                 counter++;
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private static Vector arrowAdjustmentVector(Arrow arrow, Player player) {
@@ -74,18 +73,12 @@ public class BulletHell extends BossPower implements Listener {
         eliteEntity.getLivingEntity().setAI(false);
         if (eliteEntity.getLivingEntity().getLocation().clone().add(new Vector(0, 10, 0)).getBlock().getType().equals(Material.AIR))
             eliteEntity.getLivingEntity().teleport(eliteEntity.getLivingEntity().getLocation().clone().add(new Vector(0, 10, 0)));
-        new BukkitRunnable() {
+        new PowerTask(eliteEntity) {
             final Location initialLocation = eliteEntity.getLivingEntity().getLocation().clone();
             int counter = 0;
 
             @Override
             public void run() {
-
-                if (!eliteEntity.isValid()) {
-                    cancel();
-                    return;
-                }
-
                 eliteEntity.getLivingEntity().getWorld().spawnParticle(Particle.DRIPPING_WATER, eliteEntity.getLivingEntity().getLocation(), 10, 1, 1, 1);
 
                 for (Entity nearbyEntity : eliteEntity.getLivingEntity().getNearbyEntities(20, 20, 20))
@@ -105,7 +98,7 @@ public class BulletHell extends BossPower implements Listener {
                 }
 
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 10);
+        }.runTaskTimer(0, 10);
     }
 
 }
@@ -5,6 +5,7 @@ import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.entitytracker.EntityTracker;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.CombatEnterScanPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.Entity;
@@ -47,7 +48,7 @@ public class ChannelHealing extends CombatEnterScanPower {
         super.setInCooldown(healer, true);
         healer.getLivingEntity().setAI(false);
         damagedEntity.setHealing(true);
-        new BukkitRunnable() {
+        new PowerTask() {
             int timer = 0;
 
             @Override
@@ -87,7 +88,7 @@ public class ChannelHealing extends CombatEnterScanPower {
                 timer++;
 
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0L, 2L);
+        }.runTaskTimer(0L, 2L);
     }
 
     @Override
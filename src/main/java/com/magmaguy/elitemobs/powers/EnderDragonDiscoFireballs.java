@@ -6,6 +6,7 @@ import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.entitytracker.EntityTracker;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.CombatEnterScanPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import com.magmaguy.elitemobs.utils.EnderDragonPhaseSimplifier;
 import org.bukkit.Location;
 import org.bukkit.Particle;
@@ -56,7 +57,7 @@ public class EnderDragonDiscoFireballs extends CombatEnterScanPower {
     private void doPower(EliteEntity eliteEntity) {
         doCooldown(eliteEntity);
 
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -93,7 +94,7 @@ public class EnderDragonDiscoFireballs extends CombatEnterScanPower {
 
                 counter++;
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private void generateLocations() {
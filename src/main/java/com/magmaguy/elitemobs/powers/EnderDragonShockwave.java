@@ -6,6 +6,7 @@ import com.magmaguy.elitemobs.events.BossCustomAttackDamage;
 import com.magmaguy.elitemobs.explosionregen.Explosion;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.CombatEnterScanPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import com.magmaguy.elitemobs.utils.EnderDragonPhaseSimplifier;
 import org.bukkit.Location;
 import org.bukkit.Particle;
@@ -60,7 +61,7 @@ public class EnderDragonShockwave extends CombatEnterScanPower {
     private void doPower(EliteEntity eliteEntity) {
         doCooldown(eliteEntity);
 
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -97,7 +98,7 @@ public class EnderDragonShockwave extends CombatEnterScanPower {
 
                 counter++;
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     //todo: move this to its own class, make sure it only generates once ever and then just randomizes rotations
@@ -6,6 +6,7 @@ import com.magmaguy.elitemobs.config.powers.PowersConfigFields;
 import com.magmaguy.elitemobs.explosionregen.Explosion;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.CombatEnterScanPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import com.magmaguy.elitemobs.utils.EnderDragonPhaseSimplifier;
 import org.bukkit.Location;
 import org.bukkit.Particle;
@@ -59,17 +60,11 @@ public class EnderDragonTornado extends CombatEnterScanPower {
                 .toLocation(eliteEntity.getLivingEntity().getWorld());
 
         tornadoSpeed = tornadoEye.clone().subtract(eliteEntity.getLivingEntity().getLocation()).toVector().setY(0).normalize().multiply(0.2);
-        new BukkitRunnable() {
+        new PowerTask(eliteEntity) {
             int counter = 0;
 
             @Override
             public void run() {
-
-                if (!eliteEntity.isValid()) {
-                    cancel();
-                    return;
-                }
-
                 if (eliteEntity.getLivingEntity().getType().equals(EntityType.ENDER_DRAGON))
                     ((EnderDragon) eliteEntity.getLivingEntity()).setPhase(EnderDragon.Phase.SEARCH_FOR_BREATH_ATTACK_TARGET);
 
@@ -92,7 +87,7 @@ public class EnderDragonTornado extends CombatEnterScanPower {
 
                 counter++;
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private void doTornadoParticles() {
@@ -1,18 +1,17 @@
 package com.magmaguy.elitemobs.powers;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.EliteMobDamagedByPlayerEvent;
 import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.events.BossCustomAttackDamage;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.BossPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.concurrent.ThreadLocalRandom;
@@ -26,7 +25,7 @@ public class Firestorm extends BossPower implements Listener {
     private static void doFirestorm(EliteEntity eliteEntity) {
         if (eliteEntity == null || !eliteEntity.isValid()) return;
         eliteEntity.getLivingEntity().setAI(false);
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -49,14 +48,14 @@ public class Firestorm extends BossPower implements Listener {
                     doFlamePyrePhase1(randomLocation, eliteEntity);
                 }
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     /**
      * Warning phase
      */
     private static void doFlamePyrePhase1(Location location, EliteEntity eliteEntity) {
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -67,7 +66,7 @@ public class Firestorm extends BossPower implements Listener {
                 cancel();
                 doFlamePyrePhase2(location, eliteEntity);
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private static void spawnPhase1Particle(Location location, Particle particle) {
@@ -85,7 +84,7 @@ public class Firestorm extends BossPower implements Listener {
      * First damage phase
      */
     private static void doFlamePyrePhase2(Location location, EliteEntity eliteEntity) {
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -98,7 +97,7 @@ public class Firestorm extends BossPower implements Listener {
                 cancel();
                 doFlamePyrePhase3(location, eliteEntity);
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private static void spawnPhase2Particle(Location location, Particle particle) {
@@ -122,7 +121,7 @@ public class Firestorm extends BossPower implements Listener {
      * Second damage phase / last warning phase
      */
     private static void doFlamePyrePhase3(Location location, EliteEntity eliteEntity) {
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -135,7 +134,7 @@ public class Firestorm extends BossPower implements Listener {
                 cancel();
                 doFlamePyrePhase4(location, eliteEntity);
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private static void spawnPhase3Particle(Location location, Particle particle) {
@@ -148,7 +147,7 @@ public class Firestorm extends BossPower implements Listener {
      * @param eliteEntity
      */
     private static void doFlamePyrePhase4(Location location, EliteEntity eliteEntity) {
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -159,7 +158,7 @@ public class Firestorm extends BossPower implements Listener {
                 if (counter < 20 * 2) return;
                 cancel();
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     @EventHandler
@@ -1,12 +1,12 @@
 package com.magmaguy.elitemobs.powers;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.EliteMobDamagedByPlayerEvent;
 import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.config.powers.PowersConfigFields;
 import com.magmaguy.elitemobs.explosionregen.Explosion;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.BossPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.*;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
@@ -16,7 +16,6 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.inventory.meta.FireworkMeta;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
@@ -33,18 +32,12 @@ public class FireworksBarrage extends BossPower {
         if (eliteEntity.getLivingEntity().getLocation().clone().add(new Vector(0, 10, 0)).getBlock().getType().equals(Material.AIR))
             if (!eliteEntity.getLivingEntity().getType().equals(EntityType.GHAST))
                 eliteEntity.getLivingEntity().teleport(eliteEntity.getLivingEntity().getLocation().clone().add(new Vector(0, 10, 0)));
-        new BukkitRunnable() {
+        new PowerTask(eliteEntity) {
             final Location initialLocation = eliteEntity.getLivingEntity().getLocation().clone();
             int counter = 0;
 
             @Override
             public void run() {
-
-                if (!eliteEntity.isValid()) {
-                    cancel();
-                    return;
-                }
-
                 for (int i = 0; i < 2; i++) {
                     Firework firework = (Firework) eliteEntity.getLivingEntity().getWorld().spawnEntity(eliteEntity.getLivingEntity().getLocation(), EntityType.FIREWORK_ROCKET);
                     FireworkMeta fireworkMeta = firework.getFireworkMeta();
@@ -82,7 +75,7 @@ public class FireworksBarrage extends BossPower {
                 }
 
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 10);
+        }.runTaskTimer(0, 10);
     }
 
     public static class FireworksBarrageEvents implements Listener {
@@ -100,7 +93,7 @@ public class FireworksBarrage extends BossPower {
 
     private class FireworkTask {
         public FireworkTask(Firework firework, Location targetLocation, EliteEntity eliteEntity) {
-            new BukkitRunnable() {
+            new PowerTask() {
                 int counter = 0;
 
                 @Override
@@ -120,7 +113,7 @@ public class FireworksBarrage extends BossPower {
                         Explosion.generateFakeExplosion(blockList, eliteEntity.getLivingEntity(), (PowersConfigFields) getPowersConfigFields(), firework.getLocation());
                     }
                 }
-            }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+            }.runTaskTimer(0, 1);
 
         }
     }
@@ -1,18 +1,17 @@
 package com.magmaguy.elitemobs.powers;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.EliteMobDamagedByPlayerEvent;
 import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.events.BossCustomAttackDamage;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.BossPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -40,7 +39,7 @@ public class FlamePyre extends BossPower implements Listener {
      */
     private void doFlamePyrePhase1(EliteEntity eliteEntity) {
         eliteEntity.getLivingEntity().setAI(false);
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -55,7 +54,7 @@ public class FlamePyre extends BossPower implements Listener {
                 cancel();
                 doFlamePyrePhase2(eliteEntity);
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private void spawnPhase1Particle(Location location, Particle particle) {
@@ -73,15 +72,11 @@ public class FlamePyre extends BossPower implements Listener {
      * First damage phase
      */
     private void doFlamePyrePhase2(EliteEntity eliteEntity) {
-        new BukkitRunnable() {
+        new PowerTask(eliteEntity) {
             int counter = 0;
 
             @Override
             public void run() {
-                if (!eliteEntity.isValid()) {
-                    cancel();
-                    return;
-                }
                 counter++;
                 spawnPhase1Particle(eliteEntity.getLivingEntity().getLocation().clone(), Particle.FLAME);
                 doDamage(eliteEntity, 0.5, 50, 0.5);
@@ -90,7 +85,7 @@ public class FlamePyre extends BossPower implements Listener {
                 cancel();
                 doFlamePyrePhase3(eliteEntity);
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private void spawnPhase2Particle(Location location, Particle particle) {
@@ -116,15 +111,11 @@ public class FlamePyre extends BossPower implements Listener {
      * @param eliteEntity
      */
     private void doFlamePyrePhase3(EliteEntity eliteEntity) {
-        new BukkitRunnable() {
+        new PowerTask(eliteEntity) {
             int counter = 0;
 
             @Override
             public void run() {
-                if (!eliteEntity.isValid()) {
-                    cancel();
-                    return;
-                }
                 counter++;
                 spawnPhase2Particle(eliteEntity.getLivingEntity().getLocation().clone(), Particle.FLAME);
                 doDamage(eliteEntity, 3, 50, 3);
@@ -133,7 +124,7 @@ public class FlamePyre extends BossPower implements Listener {
                 cancel();
                 doFlamePyrePhase4(eliteEntity);
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private void spawnPhase3Particle(Location location, Particle particle) {
@@ -144,15 +135,11 @@ public class FlamePyre extends BossPower implements Listener {
      * Final/full damage phase
      */
     private void doFlamePyrePhase4(EliteEntity eliteEntity) {
-        new BukkitRunnable() {
+        new PowerTask(eliteEntity) {
             int counter = 0;
 
             @Override
             public void run() {
-                if (!eliteEntity.isValid()) {
-                    cancel();
-                    return;
-                }
                 counter++;
                 spawnPhase3Particle(eliteEntity.getLivingEntity().getLocation().clone(), Particle.FLAME);
                 doDamage(eliteEntity, 5, 50, 5);
@@ -160,7 +147,7 @@ public class FlamePyre extends BossPower implements Listener {
                 cancel();
                 eliteEntity.getLivingEntity().setAI(true);
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
 }
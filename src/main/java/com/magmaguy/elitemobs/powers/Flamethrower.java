@@ -1,18 +1,17 @@
 package com.magmaguy.elitemobs.powers;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.EliteMobDamagedByPlayerEvent;
 import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.events.BossCustomAttackDamage;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.BossPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
@@ -53,17 +52,11 @@ public class Flamethrower extends BossPower implements Listener {
 
         eliteEntity.getLivingEntity().setAI(false);
 
-        new BukkitRunnable() {
+        new PowerTask(eliteEntity) {
             int counter = 0;
 
             @Override
             public void run() {
-
-                if (!eliteEntity.isValid()) {
-                    cancel();
-                    return;
-                }
-
                 doParticleEffect(eliteEntity, fixedPlayerLocation, Particle.SMOKE);
                 counter++;
 
@@ -73,7 +66,7 @@ public class Flamethrower extends BossPower implements Listener {
 
             }
 
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
 
     }
 
@@ -111,16 +104,11 @@ public class Flamethrower extends BossPower implements Listener {
      */
     private void doFlamethrowerPhase2(EliteEntity eliteEntity, Location fixedPlayerLocation) {
         List<Location> damagePoints = generateDamagePoints(eliteEntity, fixedPlayerLocation);
-        new BukkitRunnable() {
+        new PowerTask(eliteEntity) {
             int timer = 0;
 
             @Override
             public void run() {
-                if (!eliteEntity.isValid()) {
-                    cancel();
-                    return;
-                }
-
                 doParticleEffect(eliteEntity, fixedPlayerLocation, Particle.FLAME);
                 doDamage(damagePoints, eliteEntity);
                 timer++;
@@ -128,7 +116,7 @@ public class Flamethrower extends BossPower implements Listener {
                 doFlamethrowerPhase3(eliteEntity, fixedPlayerLocation);
                 cancel();
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     /**
@@ -137,22 +125,18 @@ public class Flamethrower extends BossPower implements Listener {
      * @param eliteEntity
      */
     private void doFlamethrowerPhase3(EliteEntity eliteEntity, Location fixedPlayerLocation) {
-        new BukkitRunnable() {
+        new PowerTask(eliteEntity) {
             int timer = 0;
 
             @Override
             public void run() {
-                if (!eliteEntity.isValid()) {
-                    cancel();
-                    return;
-                }
                 timer++;
                 doParticleEffect(eliteEntity, fixedPlayerLocation, Particle.SMOKE);
                 if (timer < 20) return;
                 cancel();
                 eliteEntity.getLivingEntity().setAI(true);
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
 }
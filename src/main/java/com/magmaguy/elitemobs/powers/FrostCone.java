@@ -8,6 +8,7 @@ import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.BossPower;
 import com.magmaguy.elitemobs.powers.meta.ProjectileTagger;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
@@ -42,7 +43,7 @@ public class FrostCone extends BossPower implements Listener {
             return;
         eliteEntity.getLivingEntity().setAI(false);
 
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -69,7 +70,7 @@ public class FrostCone extends BossPower implements Listener {
                     createSnowball(eliteEntity, damager);
 
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
 
 
     }
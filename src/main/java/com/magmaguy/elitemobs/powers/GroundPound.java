@@ -5,6 +5,7 @@ import com.magmaguy.elitemobs.api.EliteMobDamagedByPlayerEvent;
 import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.MinorPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import com.magmaguy.elitemobs.utils.NonSolidBlockTypes;
 import org.bukkit.Location;
 import org.bukkit.Particle;
@@ -63,15 +64,11 @@ public class GroundPound extends MinorPower implements Listener {
         }.runTaskLater(MetadataHandler.PLUGIN, 1);
 
         //step 2: make boss go down
-        new BukkitRunnable() {
+        new PowerTask(eliteEntity) {
             int counter = 0;
 
             @Override
             public void run() {
-                if (!eliteEntity.isValid()) {
-                    cancel();
-                    return;
-                }
                 counter++;
                 if (!NonSolidBlockTypes.isPassthrough(eliteEntity.getLivingEntity().getLocation().clone().subtract(new Vector(0, 0.2, 0)).getBlock().getType())) {
 
@@ -120,7 +117,7 @@ public class GroundPound extends MinorPower implements Listener {
                     cancel();
 
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 20, 1);
+        }.runTaskTimer(20, 1);
 
     }
 
@@ -5,6 +5,7 @@ import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.events.BossCustomAttackDamage;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.CombatEnterScanPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import com.magmaguy.magmacore.util.Logger;
 import org.bukkit.Color;
 import org.bukkit.GameMode;
@@ -69,7 +70,7 @@ public class PhotonRay extends CombatEnterScanPower {
     private void createRay(Player target, Location sourceLocation, EliteEntity sourceEntity) {
         sourceEntity.getLivingEntity().setAI(false);
 
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
             Vector laserVector = generateRayVector(sourceLocation, target.getLocation());
 
@@ -93,7 +94,7 @@ public class PhotonRay extends CombatEnterScanPower {
                 counter++;
 
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 2);
+        }.runTaskTimer(0, 2);
     }
 
     private void doRaytraceLaser(Vector laserVector, Location source, boolean warningPhase, EliteEntity eliteEntity) {
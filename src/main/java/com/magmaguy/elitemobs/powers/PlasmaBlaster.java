@@ -4,6 +4,7 @@ import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.CombatEnterScanPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.Color;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
@@ -48,7 +49,7 @@ public class PlasmaBlaster extends CombatEnterScanPower {
     }
 
     private void createProjectile(Vector shotVector, Location sourceLocation, EliteEntity sourceEntity, Player player) {
-        new BukkitRunnable() {
+        new PowerTask() {
             final Location currentLocation = sourceLocation.clone().add(new Vector(0, 1, 0));
             int counter = 0;
 
@@ -68,7 +69,7 @@ public class PlasmaBlaster extends CombatEnterScanPower {
                 currentLocation.add(shotVector);
                 if (!currentLocation.getBlock().isPassable()) cancel();
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private void doDamage(Player player, EliteEntity sourceEntity) {
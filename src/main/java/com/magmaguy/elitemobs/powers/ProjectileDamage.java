@@ -1,14 +1,13 @@
 package com.magmaguy.elitemobs.powers;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.entitytracker.EntityTracker;
 import com.magmaguy.elitemobs.events.BossCustomAttackDamage;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.Iterator;
 import java.util.List;
@@ -17,7 +16,7 @@ public class ProjectileDamage {
 
     public static void doGoldNuggetDamage(List<Item> goldNuggets, EliteEntity eliteEntity) {
 
-        new BukkitRunnable() {
+        new PowerTask() {
 
             int timer = 0;
 
@@ -67,7 +66,7 @@ public class ProjectileDamage {
 
             }
 
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
 
     }
 
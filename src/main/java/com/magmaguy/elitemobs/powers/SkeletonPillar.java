@@ -1,9 +1,9 @@
 package com.magmaguy.elitemobs.powers;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.EliteMobDamagedByPlayerEvent;
 import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.powers.meta.MajorPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import com.magmaguy.elitemobs.powerstances.GenericRotationMatrixMath;
 import org.bukkit.Location;
 import org.bukkit.Particle;
@@ -11,7 +11,6 @@ import org.bukkit.Sound;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -43,7 +42,7 @@ public class SkeletonPillar extends MajorPower implements Listener {
         Location location2 = event.getEliteMobEntity().getLivingEntity().getLocation().clone()
                 .add(locationMover(event.getEliteMobEntity().getLivingEntity().getLocation().clone(), 20, -7));
 
-        new BukkitRunnable() {
+        new PowerTask() {
 
             int timer = 1;
 
@@ -72,7 +71,7 @@ public class SkeletonPillar extends MajorPower implements Listener {
 
             }
 
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
 
     }
 
@@ -106,7 +105,7 @@ public class SkeletonPillar extends MajorPower implements Listener {
 
     private void playPillarSong(Location location) {
         soundLocation = location;
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -252,7 +251,7 @@ public class SkeletonPillar extends MajorPower implements Listener {
                         break;
                 }
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 1, 2);
+        }.runTaskTimer(1, 2);
     }
 
     private void playSound(float pitch) {
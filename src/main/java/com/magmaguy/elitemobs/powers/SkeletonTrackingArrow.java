@@ -1,10 +1,10 @@
 package com.magmaguy.elitemobs.powers;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.EliteMobTargetPlayerEvent;
 import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.meta.MajorPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.GameMode;
 import org.bukkit.Particle;
 import org.bukkit.entity.Arrow;
@@ -12,7 +12,6 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 public class SkeletonTrackingArrow extends MajorPower implements Listener {
@@ -22,7 +21,7 @@ public class SkeletonTrackingArrow extends MajorPower implements Listener {
     }
 
     private static void trackingArrowLoop(Player player, Arrow arrow) {
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -42,7 +41,7 @@ public class SkeletonTrackingArrow extends MajorPower implements Listener {
                 }
                 counter++;
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private static Vector arrowAdjustmentVector(Arrow arrow, Player player) {
@@ -60,7 +59,7 @@ public class SkeletonTrackingArrow extends MajorPower implements Listener {
     }
 
     private void repeatingTrackingArrowTask(EliteEntity eliteEntity, SkeletonTrackingArrow skeletonTrackingArrow) {
-        new BukkitRunnable() {
+        new PowerTask() {
 
             @Override
             public void run() {
@@ -80,7 +79,7 @@ public class SkeletonTrackingArrow extends MajorPower implements Listener {
                         }
             }
 
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 20 * 8);
+        }.runTaskTimer(0, 20 * 8);
     }
 
 }
@@ -10,6 +10,7 @@ import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.mobconstructor.custombosses.CustomBossEntity;
 import com.magmaguy.elitemobs.mobconstructor.custombosses.RegionalBossEntity;
 import com.magmaguy.elitemobs.powers.meta.BossPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -42,18 +43,12 @@ public class SpiritWalk extends BossPower implements Listener {
         Vector toDestination = finalLocation.clone().subtract(entityLocation.clone()).toVector().normalize().divide(new Vector(2, 2, 2));
         eliteEntity.setCombatGracePeriod(20 * 20);
 
-        new BukkitRunnable() {
+        new PowerTask(eliteEntity) {
 
             int counter = 0;
 
             @Override
             public void run() {
-
-                if (!eliteEntity.isValid()) {
-                    cancel();
-                    return;
-                }
-
                 if (eliteEntity.getLivingEntity().getLocation().clone().distance(finalLocation) < 2 || counter > 20 * 10) {
 
                     eliteEntity.getLivingEntity().teleport(finalLocation);
@@ -70,7 +65,7 @@ public class SpiritWalk extends BossPower implements Listener {
 
             }
 
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
 
     }
 
@@ -92,18 +87,13 @@ public class SpiritWalk extends BossPower implements Listener {
                             vehicle.remove();
                     }
 
-                    new BukkitRunnable() {
+                    new PowerTask(eliteEntity) {
                         final Entity vehicle = eliteEntity.getLivingEntity().getVehicle();
 
                         int counter = 0;
 
                         @Override
                         public void run() {
-                            if (!eliteEntity.isValid()) {
-                                cancel();
-                                return;
-                            }
-
                             if (eliteEntity.getLivingEntity().isInsideVehicle())
                                 eliteEntity.getLivingEntity().leaveVehicle();
 
@@ -152,7 +142,7 @@ public class SpiritWalk extends BossPower implements Listener {
 
                         }
 
-                    }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+                    }.runTaskTimer(0, 1);
                 }
 
         );
@@ -201,7 +191,7 @@ public class SpiritWalk extends BossPower implements Listener {
     }
 
     public void initializeSpiritWalk(EliteEntity eliteEntity) {
-        new BukkitRunnable() {
+        new PowerTask() {
 
             int counter = 1;
 
@@ -239,7 +229,7 @@ public class SpiritWalk extends BossPower implements Listener {
 
             }
 
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
 
     }
 
@@ -1,17 +1,16 @@
 package com.magmaguy.elitemobs.powers;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.EliteMobTargetPlayerEvent;
 import com.magmaguy.elitemobs.combatsystem.EliteProjectile;
 import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.powers.meta.MajorPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.GameMode;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.projectiles.ProjectileSource;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.HashMap;
@@ -49,7 +48,7 @@ public class TrackingFireball extends MajorPower {
 
             public TrackingFireballTasks(Monster monster, TrackingFireball trackingFireball) {
 
-                new BukkitRunnable() {
+                new PowerTask() {
 
                     @Override
                     public void run() {
@@ -68,7 +67,7 @@ public class TrackingFireball extends MajorPower {
 
                     }
 
-                }.runTaskTimer(MetadataHandler.PLUGIN, 0, 20 * 8);
+                }.runTaskTimer(0, 20 * 8);
 
             }
 
@@ -84,7 +83,7 @@ public class TrackingFireball extends MajorPower {
                     repeatingFireball.setShooter((ProjectileSource) entity);
                     trackingFireballs.put(repeatingFireball.getUniqueId(), this);
 
-                    new BukkitRunnable() {
+                    new PowerTask() {
                         int counter = 0;
 
                         @Override
@@ -108,7 +107,7 @@ public class TrackingFireball extends MajorPower {
                             }
                             counter++;
                         }
-                    }.runTaskTimer(MetadataHandler.PLUGIN, 1, 1);
+                    }.runTaskTimer(1, 1);
                 }
 
 
@@ -5,6 +5,7 @@ import com.magmaguy.elitemobs.api.EliteMobDamagedByPlayerEvent;
 import com.magmaguy.elitemobs.config.MobCombatSettingsConfig;
 import com.magmaguy.elitemobs.config.powers.PowersConfig;
 import com.magmaguy.elitemobs.powers.meta.MajorPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.Entity;
@@ -38,7 +39,7 @@ public class ZombieBloat extends MajorPower implements Listener {
         /*
         Create early warning that entity is about to bloat
          */
-        new BukkitRunnable() {
+        new PowerTask() {
 
             final LivingEntity eventZombie = (LivingEntity) event.getEntity();
             int timer = 0;
@@ -64,7 +65,7 @@ public class ZombieBloat extends MajorPower implements Listener {
                 timer++;
             }
 
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     private void bloatEffect(LivingEntity eventZombie) {
@@ -128,7 +129,7 @@ public class ZombieBloat extends MajorPower implements Listener {
         if (!MobCombatSettingsConfig.isEnableWarningVisualEffects())
             return;
 
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -145,7 +146,7 @@ public class ZombieBloat extends MajorPower implements Listener {
                 counter++;
             }
 
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
 }
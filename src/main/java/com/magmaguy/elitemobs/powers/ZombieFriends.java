@@ -7,6 +7,7 @@ import com.magmaguy.elitemobs.config.powers.premade.ZombieFriendsConfig;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.mobconstructor.custombosses.CustomBossEntity;
 import com.magmaguy.elitemobs.powers.meta.MajorPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import com.magmaguy.magmacore.util.ChatColorConverter;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -37,7 +38,7 @@ public class ZombieFriends extends MajorPower implements Listener {
         CustomBossEntity reinforcement2 = CustomBossEntity.createCustomBossEntity("zombie_friends_friend.yml");
         reinforcement2.spawn(event.getEntity().getLocation(), event.getEliteMobEntity().getLevel(), false);
 
-        new BukkitRunnable() {
+        new PowerTask() {
             @Override
             public void run() {
                 if (!event.getEliteMobEntity().isValid() || !reinforcement1.isValid() && !reinforcement2.isValid()) {
@@ -78,7 +79,7 @@ public class ZombieFriends extends MajorPower implements Listener {
 
                 }
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 20, 20 * 8);
+        }.runTaskTimer(20, 20 * 8);
 
     }
 
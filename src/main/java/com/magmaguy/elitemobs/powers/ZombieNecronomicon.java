@@ -1,6 +1,5 @@
 package com.magmaguy.elitemobs.powers;
 
-import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.EliteMobDamagedByPlayerEvent;
 import com.magmaguy.elitemobs.api.internal.RemovalReason;
 import com.magmaguy.elitemobs.config.MobCombatSettingsConfig;
@@ -9,6 +8,7 @@ import com.magmaguy.elitemobs.entitytracker.EntityTracker;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.mobconstructor.custombosses.CustomBossEntity;
 import com.magmaguy.elitemobs.powers.meta.MajorPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import com.magmaguy.elitemobs.powerstances.GenericRotationMatrixMath;
 import com.magmaguy.elitemobs.powerstances.VisualItemInitializer;
 import com.magmaguy.magmacore.util.Logger;
@@ -20,7 +20,6 @@ import org.bukkit.entity.LivingEntity;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
@@ -64,7 +63,7 @@ public class ZombieNecronomicon extends MajorPower implements Listener {
         if (!MobCombatSettingsConfig.isEnableWarningVisualEffects())
             return;
 
-        new BukkitRunnable() {
+        new PowerTask() {
             final HashMap<Integer, List<Item>> fourTrack = new HashMap<>();
             int counter = 0;
 
@@ -99,7 +98,7 @@ public class ZombieNecronomicon extends MajorPower implements Listener {
                 counter++;
             }
 
-        }.runTaskTimer(MetadataHandler.PLUGIN, 5, 5);
+        }.runTaskTimer(5, 5);
 
     }
 
@@ -148,7 +147,7 @@ public class ZombieNecronomicon extends MajorPower implements Listener {
 
     private void nameScroller(LivingEntity livingEntity, ZombieNecronomicon zombieNecronomicon) {
 
-        new BukkitRunnable() {
+        new PowerTask() {
             final String fullChant = convert(PowersConfig.getPower("zombie_necronomicon.yml").getFileConfiguration().getString("summoningChant"));
 
             @Override
@@ -167,7 +166,7 @@ public class ZombieNecronomicon extends MajorPower implements Listener {
                 zombieNecronomicon.chantIndex++;
             }
 
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
 
     }
 
@@ -175,7 +174,7 @@ public class ZombieNecronomicon extends MajorPower implements Listener {
 
         LivingEntity targetter = eliteEntity.getLivingEntity();
 
-        new BukkitRunnable() {
+        new PowerTask() {
 
             @Override
             public void run() {
@@ -260,7 +259,7 @@ public class ZombieNecronomicon extends MajorPower implements Listener {
 
             }
 
-        }.runTaskTimer(MetadataHandler.PLUGIN, 20 * 3L, 20 * 3L);
+        }.runTaskTimer(20 * 3L, 20 * 3L);
 
     }
 
@@ -7,6 +7,7 @@ import com.magmaguy.elitemobs.config.powers.premade.ZombieParentsConfig;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.mobconstructor.custombosses.CustomBossEntity;
 import com.magmaguy.elitemobs.powers.meta.MajorPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import com.magmaguy.magmacore.util.Logger;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -24,7 +25,7 @@ public class ZombieParents extends MajorPower implements Listener {
     }
 
     private static void startDialog(CustomBossEntity reinforcementMom, CustomBossEntity reinforcementDad, EliteEntity bossEntity) {
-        new BukkitRunnable() {
+        new PowerTask() {
             @Override
             public void run() {
                 if (!bossEntity.isValid()) {
@@ -34,7 +35,7 @@ public class ZombieParents extends MajorPower implements Listener {
                     doDialog(reinforcementDad, reinforcementMom, bossEntity);
                 }
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 20, 20L * 8);
+        }.runTaskTimer(20, 20L * 8);
     }
 
     private static void doDeathMessages(CustomBossEntity reinforcementDad, CustomBossEntity reinforcementMom) {
@@ -5,6 +5,7 @@ import com.magmaguy.elitemobs.api.EliteMobEnterCombatEvent;
 import com.magmaguy.elitemobs.api.EliteMobExitCombatEvent;
 import com.magmaguy.elitemobs.config.powers.PowersConfigFields;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import com.magmaguy.elitemobs.utils.EnderDragonPhaseSimplifier;
 import org.bukkit.entity.EnderDragon;
 import org.bukkit.entity.Entity;
@@ -106,7 +107,7 @@ public abstract class Bombardment extends MajorPower implements Listener {
 
         firingTimer = 0;
 
-        new BukkitRunnable() {
+        new PowerTask() {
 
             @Override
             public void run() {
@@ -120,7 +121,7 @@ public abstract class Bombardment extends MajorPower implements Listener {
                 taskBehavior(eliteEntity);
 
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 1);
+        }.runTaskTimer(0, 1);
     }
 
     public abstract void taskBehavior(EliteEntity eliteEntity);
@@ -0,0 +1,73 @@
+package com.magmaguy.elitemobs.powers.scheduler;
+
+import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
+import lombok.Getter;
+
+/**
+ * Drop-in replacement for {@link org.bukkit.scheduler.BukkitRunnable} for power and enchantment animations. Instead of
+ * getting its own Bukkit task, it runs from the shared {@link PowerTickScheduler}.
+ * <p>
+ * Tasks created with an owner are cancelled automatically, without running, as soon as the owner is no longer valid.
+ */
+public abstract class PowerTask implements Runnable {
+    //Anonymous tasks are accounted under the power or enchantment that declared them
+    private static final ClassValue<String> taskNames = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            Class<?> clazz = type;
+            while (clazz.getEnclosingClass() != null) clazz = clazz.getEnclosingClass();
+            return clazz.getSimpleName();
+        }
+    };
+    @Getter
+    private final String name;
+    private final EliteEntity owner;
+    @Getter
+    private boolean cancelled = false;
+    //Scheduling state, only touched by the scheduler
+    long period = 0;
+    long nextRunTick = 0;
+    boolean scheduled = false;
+
+    public PowerTask() {
+        this(null);
+    }
+
+    public PowerTask(EliteEntity owner) {
+        this.owner = owner;
+        this.name = resolveName();
+    }
+
+    public PowerTask(EliteEntity owner, String name) {
+        this.owner = owner;
+        this.name = name;
+    }
+
+    private String resolveName() {
+        return taskNames.get(getClass());
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    boolean isOwnerInvalid() {
+        return owner != null && !owner.isValid();
+    }
+
+    public PowerTask runTask() {
+        return runTaskLater(0);
+    }
+
+    public PowerTask runTaskLater(long delay) {
+        if (scheduled) throw new IllegalStateException("Power task " + name + " is already scheduled!");
+        PowerTickScheduler.schedule(this, delay, 0);
+        return this;
+    }
+
+    public PowerTask runTaskTimer(long delay, long period) {
+        if (scheduled) throw new IllegalStateException("Power task " + name + " is already scheduled!");
+        PowerTickScheduler.schedule(this, delay, Math.max(1, period));
+        return this;
+    }
+}
@@ -0,0 +1,167 @@
+package com.magmaguy.elitemobs.powers.scheduler;
+
+import com.magmaguy.elitemobs.MetadataHandler;
+import com.magmaguy.elitemobs.config.DefaultConfig;
+import com.magmaguy.magmacore.util.Logger;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Runs every {@link PowerTask} from a single Bukkit task. Tasks are stored in a timing wheel of 64 slots, one per tick,
+ * so each tick only looks at the tasks that landed in its slot. Tasks due further than a full turn of the wheel stay in
+ * their slot until their tick comes up.
+ * <p>
+ * Each tick has a time budget, set in config.yml. Tasks still due once it runs out are pushed back by a tick and run
+ * first on the next one. The time spent in each power is tracked for the stats command.
+ */
+public class PowerTickScheduler {
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    @SuppressWarnings("unchecked")
+    private static final List<PowerTask>[] wheel = new List[WHEEL_SIZE];
+    private static final HashMap<String, TaskCost> taskCosts = new HashMap<>();
+    private static List<PowerTask> deferredTasks = new ArrayList<>();
+    private static BukkitTask driverTask = null;
+    private static long currentTick = 0;
+    @Getter
+    private static int scheduledTaskCount = 0;
+    @Getter
+    private static long deferredTaskRuns = 0;
+    @Getter
+    private static long lastTickNanos = 0;
+
+    static {
+        for (int i = 0; i < WHEEL_SIZE; i++) wheel[i] = new ArrayList<>();
+    }
+
+    private PowerTickScheduler() {
+    }
+
+    static void schedule(PowerTask powerTask, long delay, long period) {
+        if (driverTask == null) start();
+        powerTask.period = period;
+        powerTask.scheduled = true;
+        scheduledTaskCount++;
+        insert(powerTask, currentTick + Math.max(1, delay));
+    }
+
+    private static void insert(PowerTask powerTask, long runTick) {
+        powerTask.nextRunTick = runTick;
+        wheel[(int) (runTick & WHEEL_MASK)].add(powerTask);
+    }
+
+    private static void start() {
+        driverTask = Bukkit.getScheduler().runTaskTimer(MetadataHandler.PLUGIN, PowerTickScheduler::tick, 1, 1);
+    }
+
+    public static void shutdown() {
+        if (driverTask != null) {
+            driverTask.cancel();
+            driverTask = null;
+        }
+        for (List<PowerTask> slot : wheel) {
+            for (PowerTask powerTask : slot) powerTask.cancel();
+            slot.clear();
+        }
+        for (PowerTask powerTask : deferredTasks) powerTask.cancel();
+        deferredTasks.clear();
+        taskCosts.clear();
+        scheduledTaskCount = 0;
+        currentTick = 0;
+    }
+
+    private static void tick() {
+        currentTick++;
+        long startTime = System.nanoTime();
+        long budgetNanos = (long) (DefaultConfig.getPowerTickBudgetMilliseconds() * 1000000D);
+        long deadline = budgetNanos > 0 ? startTime + budgetNanos : Long.MAX_VALUE;
+
+        //Swapped out first, tasks scheduled while running must not end up in the list being iterated
+        List<PowerTask> deferred = deferredTasks;
+        deferredTasks = new ArrayList<>();
+        int slotIndex = (int) (currentTick & WHEEL_MASK);
+        List<PowerTask> slot = wheel[slotIndex];
+        wheel[slotIndex] = new ArrayList<>();
+
+        boolean overBudget = runAll(deferred, deadline, false);
+        runAll(slot, deadline, overBudget);
+        lastTickNanos = System.nanoTime() - startTime;
+    }
+
+    private static boolean runAll(List<PowerTask> powerTasks, long deadline, boolean overBudget) {
+        for (PowerTask powerTask : powerTasks) {
+            if (powerTask.isCancelled()) {
+                unschedule(powerTask);
+                continue;
+            }
+            //Only part of a longer delay, wait for the next turn of the wheel
+            if (powerTask.nextRunTick > currentTick) {
+                wheel[(int) (powerTask.nextRunTick & WHEEL_MASK)].add(powerTask);
+                continue;
+            }
+            if (powerTask.isOwnerInvalid()) {
+                powerTask.cancel();
+                unschedule(powerTask);
+                continue;
+            }
+            if (overBudget || System.nanoTime() > deadline) {
+                overBudget = true;
+                deferredTaskRuns++;
+                deferredTasks.add(powerTask);
+                continue;
+            }
+            run(powerTask);
+            if (powerTask.isCancelled() || powerTask.period <= 0) unschedule(powerTask);
+            else insert(powerTask, currentTick + powerTask.period);
+        }
+        return overBudget;
+    }
+
+    private static void run(PowerTask powerTask) {
+        long taskStart = System.nanoTime();
+        try {
+            powerTask.run();
+        } catch (Exception e) {
+            Logger.warn("Power task " + powerTask.getName() + " threw an exception!");
+            e.printStackTrace();
+        }
+        taskCosts.computeIfAbsent(powerTask.getName(), k -> new TaskCost()).add(System.nanoTime() - taskStart);
+    }
+
+    private static void unschedule(PowerTask powerTask) {
+        powerTask.scheduled = false;
+        scheduledTaskCount--;
+    }
+
+    /**
+     * @return The tasks that used the most time since startup, most expensive first
+     */
+    public static List<String> getCostReport(int amount) {
+        List<String> report = new ArrayList<>();
+        taskCosts.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> -entry.getValue().totalNanos))
+                .limit(amount)
+                .forEach(entry -> report.add(entry.getKey() + ": " + entry.getValue().runs + " runs, "
+                        + String.format("%.2f", entry.getValue().totalNanos / 1000000D) + "ms total, "
+                        + String.format("%.3f", entry.getValue().maxNanos / 1000000D) + "ms max"));
+        return report;
+    }
+
+    private static class TaskCost {
+        private long runs = 0;
+        private long totalNanos = 0;
+        private long maxNanos = 0;
+
+        private void add(long nanos) {
+            runs++;
+            totalNanos += nanos;
+            if (nanos > maxNanos) maxNanos = nanos;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.magmaguy.elitemobs.mobconstructor.custombosses.CustomBossEntity;
 import com.magmaguy.elitemobs.pathfinding.Navigation;
 import com.magmaguy.elitemobs.playerdata.ElitePlayerInventory;
 import com.magmaguy.elitemobs.powers.meta.CustomSummonPower;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import com.magmaguy.elitemobs.powers.scripts.caching.ScriptActionBlueprint;
 import com.magmaguy.elitemobs.powers.scripts.enums.ActionType;
 import com.magmaguy.elitemobs.utils.AttributeManager;
@@ -33,6 +34,7 @@ import org.bukkit.util.Vector;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 /**
  * Handles the execution of script actions for EliteMobs.
@@ -55,6 +57,8 @@ public class ScriptAction {
     private final Map<String, EliteScript> eliteScriptMap;
     private final EliteScript eliteScript;
     private final ScriptTargets finalScriptTargets;
+    private final ScriptRelativeVector scriptRelativeVector;
+    private final Consumer<ScriptActionData> compiledAction;
 
     /**
      * Constructs a new ScriptAction with the given blueprint, script map, and elite script.
@@ -70,9 +74,13 @@ public class ScriptAction {
                 ? new ScriptTargets(blueprint.getFinalTarget(), eliteScript)
                 : null;
         this.scriptConditions = new ScriptConditions(blueprint.getConditionsBlueprint(), eliteScript, true);
-        this.scriptParticles = new ScriptParticles(blueprint.getScriptParticlesBlueprint());
+        this.scriptParticles = new ScriptParticles(blueprint.getScriptParticlesBlueprint(), eliteScript);
+        this.scriptRelativeVector = blueprint.getScriptRelativeVectorBlueprint() != null
+                ? new ScriptRelativeVector(blueprint.getScriptRelativeVectorBlueprint(), eliteScript)
+                : null;
         this.eliteScriptMap = eliteScriptMap;
         this.eliteScript = eliteScript;
+        this.compiledAction = compileAction();
     }
 
     /**
@@ -159,7 +167,7 @@ public class ScriptAction {
     private void runScriptTask(ScriptActionData scriptActionData) {
         if (blueprint.getRepeatEvery().getValue() > 0) {
             // If it's a repeating task, schedule it accordingly.
-            new BukkitRunnable() {
+            new PowerTask() {
                 int counter = 0;
 
                 @Override
@@ -183,7 +191,7 @@ public class ScriptAction {
 
                     runActions(scriptActionData);
                 }
-            }.runTaskTimer(MetadataHandler.PLUGIN, 0, blueprint.getRepeatEvery().getValue());
+            }.runTaskTimer(0, blueprint.getRepeatEvery().getValue());
         } else {
             if (blueprint.getConditionsBlueprint() != null
                     && !scriptConditions.meetsActionConditions(scriptActionData)) {
@@ -194,7 +202,57 @@ public class ScriptAction {
     }
 
     /**
-     * Routes the action type to the corresponding action execution method.
+     * Resolves the method an action type runs once, when the action is loaded, instead of on every run.
+     *
+     * @return The method to run, or null if the action type is not valid.
+     */
+    private Consumer<ScriptActionData> compileAction() {
+        if (blueprint.getActionType() == null) return null;
+        return switch (blueprint.getActionType()) {
+            case TELEPORT -> this::runTeleport;
+            case MESSAGE -> this::runMessage;
+            case ACTION_BAR_MESSAGE -> this::runActionBarMessage;
+            case TITLE_MESSAGE -> this::runTitleMessage;
+            case BOSS_BAR_MESSAGE -> this::runBossBarMessage;
+            case POTION_EFFECT -> this::runPotionEffect;
+            case DAMAGE -> this::runDamage;
+            case SET_ON_FIRE -> this::runSetOnFire;
+            case VISUAL_FREEZE -> this::runVisualFreeze;
+            case PLACE_BLOCK -> this::runPlaceBlock;
+            case RUN_COMMAND_AS_PLAYER -> this::runPlayerCommand;
+            case RUN_COMMAND_AS_CONSOLE -> this::runConsoleCommand;
+            case STRIKE_LIGHTNING -> this::runStrikeLightning;
+            case SPAWN_PARTICLE -> this::runSpawnParticle;
+            case SET_MOB_AI -> this::runSetMobAI;
+            case SET_MOB_AWARE -> this::runSetMobAware;
+            case PLAY_SOUND -> this::runPlaySound;
+            case PUSH -> this::runPush;
+            case SUMMON_REINFORCEMENT -> this::runSummonReinforcement;
+            case RUN_SCRIPT -> this::runAdditionalScripts;
+            case SPAWN_FIREWORKS -> this::runSpawnFireworks;
+            case MAKE_INVULNERABLE -> this::runMakeInvulnerable;
+            case TAG -> this::runTag;
+            case UNTAG -> this::runUntag;
+            case SET_TIME -> this::runSetTime;
+            case SET_WEATHER -> this::runSetWeather;
+            case PLAY_ANIMATION -> this::runPlayAnimation;
+            case SPAWN_FALLING_BLOCK -> this::runSpawnFallingBlock;
+            case MODIFY_DAMAGE -> this::runModifyDamage;
+            case SUMMON_ENTITY -> this::runSummonEntity;
+            case NAVIGATE -> this::runNavigate;
+            case SCALE -> this::runScale;
+            case SET_FACING -> this::setFacing;
+            default -> {
+                Logger.warn("Unknown action type '"
+                        + blueprint.getActionType() + "' in script '"
+                        + blueprint.getScriptName() + "' for file '" + blueprint.getScriptFilename() + "'");
+                yield null;
+            }
+        };
+    }
+
+    /**
+     * Runs the method the action type was compiled to.
      *
      * @param scriptActionData The data for the current action.
      */
@@ -205,44 +263,7 @@ public class ScriptAction {
             return;
         }
 
-        switch (blueprint.getActionType()) {
-            case TELEPORT -> runTeleport(scriptActionData);
-            case MESSAGE -> runMessage(scriptActionData);
-            case ACTION_BAR_MESSAGE -> runActionBarMessage(scriptActionData);
-            case TITLE_MESSAGE -> runTitleMessage(scriptActionData);
-            case BOSS_BAR_MESSAGE -> runBossBarMessage(scriptActionData);
-            case POTION_EFFECT -> runPotionEffect(scriptActionData);
-            case DAMAGE -> runDamage(scriptActionData);
-            case SET_ON_FIRE -> runSetOnFire(scriptActionData);
-            case VISUAL_FREEZE -> runVisualFreeze(scriptActionData);
-            case PLACE_BLOCK -> runPlaceBlock(scriptActionData);
-            case RUN_COMMAND_AS_PLAYER -> runPlayerCommand(scriptActionData);
-            case RUN_COMMAND_AS_CONSOLE -> runConsoleCommand(scriptActionData);
-            case STRIKE_LIGHTNING -> runStrikeLightning(scriptActionData);
-            case SPAWN_PARTICLE -> runSpawnParticle(scriptActionData);
-            case SET_MOB_AI -> runSetMobAI(scriptActionData);
-            case SET_MOB_AWARE -> runSetMobAware(scriptActionData);
-            case PLAY_SOUND -> runPlaySound(scriptActionData);
-            case PUSH -> runPush(scriptActionData);
-            case SUMMON_REINFORCEMENT -> runSummonReinforcement(scriptActionData);
-            case RUN_SCRIPT -> runAdditionalScripts(scriptActionData);
-            case SPAWN_FIREWORKS -> runSpawnFireworks(scriptActionData);
-            case MAKE_INVULNERABLE -> runMakeInvulnerable(scriptActionData);
-            case TAG -> runTag(scriptActionData);
-            case UNTAG -> runUntag(scriptActionData);
-            case SET_TIME -> runSetTime(scriptActionData);
-            case SET_WEATHER -> runSetWeather(scriptActionData);
-            case PLAY_ANIMATION -> runPlayAnimation(scriptActionData);
-            case SPAWN_FALLING_BLOCK -> runSpawnFallingBlock(scriptActionData);
-            case MODIFY_DAMAGE -> runModifyDamage(scriptActionData);
-            case SUMMON_ENTITY -> runSummonEntity(scriptActionData);
-            case NAVIGATE -> runNavigate(scriptActionData);
-            case SCALE -> runScale(scriptActionData);
-            case SET_FACING -> setFacing(scriptActionData);
-            default -> Logger.warn("Unknown action type '"
-                    + blueprint.getActionType() + "' in script '"
-                    + blueprint.getScriptName() + "' for file '" + blueprint.getScriptFilename() + "'");
-        }
+        if (compiledAction != null) compiledAction.accept(scriptActionData);
 
         if (!blueprint.getActionType().equals(ActionType.RUN_SCRIPT)) {
             runAdditionalScripts(scriptActionData);
@@ -580,9 +601,14 @@ public class ScriptAction {
                  LANDING_LOCATION -> true;
             default -> false;
         };
+        //Zones recalculated on every run get walked directly instead of being turned into locations first
+        if (!scriptConditions.filtersLocations() && !blueprint.isDebug() &&
+                scriptTargets.forEachZoneLocation(scriptActionData, (world, x, y, z) ->
+                        scriptParticles.visualize(scriptActionData, world, x + 0.5, y, z + 0.5)))
+            return;
         getLocationTargets(scriptActionData).forEach(location -> {
             Location targetLocation = needsCentering ? location.clone().add(0.5, 0, 0.5) : location;
-            scriptParticles.visualize(scriptActionData, targetLocation, eliteScript);
+            scriptParticles.visualize(scriptActionData, targetLocation);
         });
     }
 
@@ -648,8 +674,8 @@ public class ScriptAction {
      * @param scriptActionData The data for the script action.
      */
     private void runPush(ScriptActionData scriptActionData) {
-        Vector velocity = blueprint.getScriptRelativeVectorBlueprint() != null
-                ? new ScriptRelativeVector(blueprint.getScriptRelativeVectorBlueprint(), eliteScript, scriptActionData.getEliteEntity().getLocation()).getVector(scriptActionData)
+        Vector velocity = scriptRelativeVector != null
+                ? scriptRelativeVector.getVector(scriptActionData, scriptActionData.getEliteEntity().getLocation())
                 : blueprint.getVValue();
 
         // Ensure velocity is finite, otherwise default to zero vector
@@ -695,8 +721,8 @@ public class ScriptAction {
         getLocationTargets(scriptActionData).forEach(location -> {
             CustomBossEntity customBossEntity = CustomSummonPower.summonReinforcement(scriptActionData.getEliteEntity(), location, blueprint.getSValue(), blueprint.getDuration().getValue());
             if (customBossEntity != null && customBossEntity.getLivingEntity() != null) {
-                Vector velocity = blueprint.getScriptRelativeVectorBlueprint() != null
-                        ? new ScriptRelativeVector(blueprint.getScriptRelativeVectorBlueprint(), eliteScript, customBossEntity.getLivingEntity().getLocation()).getVector(scriptActionData)
+                Vector velocity = scriptRelativeVector != null
+                        ? scriptRelativeVector.getVector(scriptActionData, customBossEntity.getLivingEntity().getLocation())
                         : blueprint.getVValue();
                 if (velocity != null) {
                     customBossEntity.getLivingEntity().setVelocity(velocity);
@@ -952,8 +978,8 @@ public class ScriptAction {
                 fallingBlock.setDropItem(false);
                 fallingBlock.setHurtEntities(false);
 
-                Vector velocity = blueprint.getScriptRelativeVectorBlueprint() != null
-                        ? new ScriptRelativeVector(blueprint.getScriptRelativeVectorBlueprint(), eliteScript, location).getVector(scriptActionData)
+                Vector velocity = scriptRelativeVector != null
+                        ? scriptRelativeVector.getVector(scriptActionData, location)
                         : blueprint.getVValue();
 
                 if (velocity != null) {
@@ -994,8 +1020,8 @@ public class ScriptAction {
         }
 
         getLocationTargets(scriptActionData).forEach(location -> {
-            Vector velocity = blueprint.getScriptRelativeVectorBlueprint() != null
-                    ? new ScriptRelativeVector(blueprint.getScriptRelativeVectorBlueprint(), eliteScript, location).getVector(scriptActionData)
+            Vector velocity = scriptRelativeVector != null
+                    ? scriptRelativeVector.getVector(scriptActionData, location)
                     : blueprint.getVValue();
 
             try {
@@ -1015,7 +1041,7 @@ public class ScriptAction {
 
                 if (!blueprint.getLandingScripts().isEmpty()) {
                     FallingEntityDataPair dataPair = new FallingEntityDataPair(this, scriptActionData);
-                    new BukkitRunnable() {
+                    new PowerTask() {
                         final int maxTicks = 20 * 60 * 5;
                         int counter = 0;
 
@@ -1027,7 +1053,7 @@ public class ScriptAction {
                             }
                             counter++;
                         }
-                    }.runTaskTimer(MetadataHandler.PLUGIN, 1, 1);
+                    }.runTaskTimer(1, 1);
                 }
             } catch (Exception e) {
                 Logger.warn("Failed to summon entity at location '" + location + "' in script '" + blueprint.getScriptName() + "': " + e.getMessage());
@@ -1083,8 +1109,8 @@ public class ScriptAction {
     }
 
     private void setFacing(ScriptActionData scriptActionData) {
-        Vector direction = blueprint.getScriptRelativeVectorBlueprint() != null
-                ? new ScriptRelativeVector(blueprint.getScriptRelativeVectorBlueprint(), eliteScript, scriptActionData.getEliteEntity().getLocation()).getVector(scriptActionData)
+        Vector direction = scriptRelativeVector != null
+                ? scriptRelativeVector.getVector(scriptActionData, scriptActionData.getEliteEntity().getLocation())
                 : blueprint.getVValue();
 
         if (direction == null) {
@@ -310,6 +310,13 @@ public class ScriptConditions {
         return originalLocations;
     }
 
+    /**
+     * @return Whether {@link #validateLocations(ScriptActionData, Collection)} can remove or replace locations
+     */
+    protected boolean filtersLocations() {
+        return scriptTargets != null;
+    }
+
     /**
      * Validates and filters entities based on the conditions.
      * Removes entities that do not meet the conditions.
@@ -4,39 +4,86 @@ import com.magmaguy.elitemobs.powers.scripts.caching.ScriptParticlesBlueprint;
 import org.bukkit.Color;
 import org.bukkit.Location;
 import org.bukkit.Particle;
+import org.bukkit.World;
 import org.bukkit.util.Vector;
 
+import java.util.List;
+
 public class ScriptParticles {
 
     ScriptParticlesBlueprint particlesBlueprint;
+    private final List<ScriptParticle> scriptParticles;
 
-    public ScriptParticles(ScriptParticlesBlueprint particlesBlueprint) {
+    public ScriptParticles(ScriptParticlesBlueprint particlesBlueprint, EliteScript eliteScript) {
         this.particlesBlueprint = particlesBlueprint;
+        this.scriptParticles = particlesBlueprint.getParticleBlueprints().stream()
+                .map(particleBlueprint -> new ScriptParticle(particleBlueprint, eliteScript)).toList();
+    }
+
+    public void visualize(ScriptActionData scriptActionData, Location location) {
+        for (ScriptParticle scriptParticle : scriptParticles)
+            scriptParticle.visualize(scriptActionData, location.getWorld(), location.getX(), location.getY(), location.getZ(), location);
     }
 
-    public void visualize(ScriptActionData scriptActionData, Location location, EliteScript eliteScript) {
-        particlesBlueprint.getParticleBlueprints().forEach(particleBlueprint -> new ScriptParticle(particleBlueprint).visualize(scriptActionData, location, eliteScript));
+    /**
+     * Same as {@link #visualize(ScriptActionData, Location)} for callers walking raw coordinates, such as zone shapes.
+     * A location only gets created if a particle has a relative vector.
+     */
+    public void visualize(ScriptActionData scriptActionData, World world, double locationX, double locationY, double locationZ) {
+        for (ScriptParticle scriptParticle : scriptParticles)
+            scriptParticle.visualize(scriptActionData, world, locationX, locationY, locationZ, null);
     }
 
     private class ScriptParticle {
 
         private final ScriptParticlesBlueprint.ScriptParticleBlueprint particleBlueprint;
+        private final ScriptRelativeVector scriptRelativeVector;
+        //Only built up front when the colors are fixed, random colors are rolled for every particle
+        private final Particle.DustOptions dustOptions;
+        private final Particle.DustTransition dustTransition;
 
-        public ScriptParticle(ScriptParticlesBlueprint.ScriptParticleBlueprint scriptParticlesBlueprint) {
+        public ScriptParticle(ScriptParticlesBlueprint.ScriptParticleBlueprint scriptParticlesBlueprint, EliteScript eliteScript) {
             this.particleBlueprint = scriptParticlesBlueprint;
+            this.scriptRelativeVector = particleBlueprint.getRelativeVectorBlueprint() != null
+                    ? new ScriptRelativeVector(particleBlueprint.getRelativeVectorBlueprint(), eliteScript)
+                    : null;
+            boolean fixedColor = !particleBlueprint.getRed().isRandom() && !particleBlueprint.getGreen().isRandom() && !particleBlueprint.getBlue().isRandom();
+            boolean fixedToColor = !particleBlueprint.getToRed().isRandom() && !particleBlueprint.getToGreen().isRandom() && !particleBlueprint.getToBlue().isRandom();
+            this.dustOptions = fixedColor && particleBlueprint.getParticle().equals(Particle.DUST) ? createDustOptions() : null;
+            this.dustTransition = fixedColor && fixedToColor && particleBlueprint.getParticle().equals(Particle.DUST_COLOR_TRANSITION) ? createDustTransition() : null;
+        }
+
+        private Particle.DustOptions createDustOptions() {
+            return new Particle.DustOptions(
+                    Color.fromRGB(
+                            particleBlueprint.getRed().getValue(),
+                            particleBlueprint.getGreen().getValue(),
+                            particleBlueprint.getBlue().getValue()),
+                    1);
+        }
+
+        private Particle.DustTransition createDustTransition() {
+            return new Particle.DustTransition(
+                    Color.fromRGB(
+                            particleBlueprint.getRed().getValue(),
+                            particleBlueprint.getGreen().getValue(),
+                            particleBlueprint.getBlue().getValue()),
+                    Color.fromRGB(
+                            particleBlueprint.getToRed().getValue(),
+                            particleBlueprint.getToGreen().getValue(),
+                            particleBlueprint.getToBlue().getValue()),
+                    1);
         }
 
-        private void visualize(ScriptActionData scriptActionData, Location location, EliteScript eliteScript) {
+        private void visualize(ScriptActionData scriptActionData, World world, double locationX, double locationY, double locationZ, Location location) {
             double x = particleBlueprint.getX().getValue();
             double y = particleBlueprint.getY().getValue();
             double z = particleBlueprint.getZ().getValue();
             int amount = particleBlueprint.getAmount().getValue();
 
-            if (particleBlueprint.getRelativeVectorBlueprint() != null) {
-                ScriptRelativeVector scriptRelativeVector = null;
-                scriptRelativeVector = new ScriptRelativeVector(this.particleBlueprint.getRelativeVectorBlueprint(), eliteScript, location);
-
-                Vector movementVector = scriptRelativeVector.getVector(scriptActionData);
+            if (scriptRelativeVector != null) {
+                if (location == null) location = new Location(world, locationX, locationY, locationZ);
+                Vector movementVector = scriptRelativeVector.getVector(scriptActionData, location);
                 amount = 0;
                 x = movementVector.getX();
                 y = movementVector.getY();
@@ -45,43 +92,33 @@ public class ScriptParticles {
 
 
             if (particleBlueprint.getParticle().equals(Particle.DUST))
-                location.getWorld().spawnParticle(
+                world.spawnParticle(
                         particleBlueprint.getParticle(),
-                        location,
+                        locationX,
+                        locationY,
+                        locationZ,
                         amount,
                         x,
                         y,
                         z,
                         particleBlueprint.getSpeed().getValue(),
-                        new Particle.DustOptions(
-                                Color.fromRGB(
-                                        particleBlueprint.getRed().getValue(),
-                                        particleBlueprint.getGreen().getValue(),
-                                        particleBlueprint.getBlue().getValue()),
-                                1));
+                        dustOptions != null ? dustOptions : createDustOptions());
             else if (particleBlueprint.getParticle().equals(Particle.DUST_COLOR_TRANSITION))
-                location.getWorld().spawnParticle(
+                world.spawnParticle(
                         particleBlueprint.getParticle(),
-                        location,
+                        locationX,
+                        locationY,
+                        locationZ,
                         amount,
                         x,
                         y,
                         z,
                         (double) particleBlueprint.getSpeed().getValue(),
-                        new Particle.DustTransition(
-                                Color.fromRGB(
-                                        particleBlueprint.getRed().getValue(),
-                                        particleBlueprint.getGreen().getValue(),
-                                        particleBlueprint.getBlue().getValue()),
-                                Color.fromRGB(
-                                        particleBlueprint.getToRed().getValue(),
-                                        particleBlueprint.getToGreen().getValue(),
-                                        particleBlueprint.getToBlue().getValue()),
-                                1));
+                        dustTransition != null ? dustTransition : createDustTransition());
             else if (particleBlueprint.getParticle().equals(Particle.WITCH)
                 //|| particleBlueprint.getParticle().equals(Particle.WITCH_AMBIENT) todo: 1.20.6 changed this name
             ) {
-                location.getWorld().spawnParticle(
+                world.spawnParticle(
                         particleBlueprint.getParticle(),
                         x,
                         y,
@@ -91,9 +128,11 @@ public class ScriptParticles {
                         particleBlueprint.getGreen().getValue(),
                         particleBlueprint.getBlue().getValue());
             } else
-                location.getWorld().spawnParticle(
+                world.spawnParticle(
                         particleBlueprint.getParticle(),
-                        location,
+                        locationX,
+                        locationY,
+                        locationZ,
                         amount,
                         x,
                         y,
@@ -5,18 +5,22 @@ import com.magmaguy.elitemobs.powers.scripts.enums.TargetType;
 import org.bukkit.Location;
 import org.bukkit.util.Vector;
 
+import java.util.Collection;
+
+/**
+ * Vector between two targets of a script. The targets are resolved once when the script is loaded, so the same instance
+ * is reused for every run and every location it applies to, with the action location passed along each time.
+ */
 public class ScriptRelativeVector {
     private final ScriptRelativeVectorBlueprint scriptRelativeVectorBlueprint;
     private ScriptTargets sourceTarget = null;
     private ScriptTargets destinationTarget = null;
     private Vector cachedVector = null;
-    private Location actionLocation = null;
     private boolean sourceIsAction = false;
     private boolean destinationIsAction = false;
 
-    public ScriptRelativeVector(ScriptRelativeVectorBlueprint scriptRelativeVectorBlueprint, EliteScript eliteScript, Location actionLocation) {
+    public ScriptRelativeVector(ScriptRelativeVectorBlueprint scriptRelativeVectorBlueprint, EliteScript eliteScript) {
         this.scriptRelativeVectorBlueprint = scriptRelativeVectorBlueprint;
-        this.actionLocation = actionLocation;
         if (!scriptRelativeVectorBlueprint.getSourceTarget().getTargetType().equals(TargetType.ACTION_TARGET)) {
             sourceTarget = new ScriptTargets(scriptRelativeVectorBlueprint.getSourceTarget(), eliteScript);
         } else {
@@ -28,24 +32,13 @@ public class ScriptRelativeVector {
             destinationIsAction = true;
     }
 
-    public Vector getVector(ScriptActionData scriptActionData) {
+    public Vector getVector(ScriptActionData scriptActionData, Location actionLocation) {
         if (cachedVector != null) return cachedVector;
-        Location sourceLocation = null;
-        if (sourceIsAction) {
-            sourceLocation = actionLocation.clone();
-        } else if (sourceTarget != null && !sourceTarget.getTargetLocations(scriptActionData).isEmpty())
-            sourceLocation = sourceTarget.getTargetLocations(scriptActionData).iterator().next();
-        else
-            return new Vector(0, 0, 0);
-
-        Location destinationLocation = null;
+        Location sourceLocation = sourceIsAction ? actionLocation : getFirstLocation(sourceTarget, scriptActionData);
+        if (sourceLocation == null) return new Vector(0, 0, 0);
 
-        if (destinationIsAction)
-            destinationLocation = actionLocation.clone();
-        else if (destinationTarget != null && !destinationTarget.getTargetLocations(scriptActionData).isEmpty())
-            destinationLocation = destinationTarget.getTargetLocations(scriptActionData).iterator().next().clone();
-        else
-            return new Vector(0, 0, 0);
+        Location destinationLocation = destinationIsAction ? actionLocation : getFirstLocation(destinationTarget, scriptActionData);
+        if (destinationLocation == null) return new Vector(0, 0, 0);
 
         Vector vector = destinationLocation.clone().subtract(sourceLocation).toVector();
         if (scriptRelativeVectorBlueprint.isNormalize()) vector.normalize();
@@ -54,7 +47,14 @@ public class ScriptRelativeVector {
         return vector;
     }
 
-    public void cacheVector(ScriptActionData scriptActionData) {
-        cachedVector = getVector(scriptActionData);
+    private Location getFirstLocation(ScriptTargets scriptTargets, ScriptActionData scriptActionData) {
+        if (scriptTargets == null) return null;
+        Collection<Location> locations = scriptTargets.getTargetLocations(scriptActionData);
+        if (locations.isEmpty()) return null;
+        return locations.iterator().next();
+    }
+
+    public void cacheVector(ScriptActionData scriptActionData, Location actionLocation) {
+        cachedVector = getVector(scriptActionData, actionLocation);
     }
 }
@@ -1,5 +1,6 @@
 package com.magmaguy.elitemobs.powers.scripts;
 
+import com.magmaguy.elitemobs.entitytracker.EntitySpatialGrid;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.scripts.caching.ScriptTargetsBlueprint;
 import com.magmaguy.elitemobs.utils.ConfigurationLocation;
@@ -7,14 +8,15 @@ import com.magmaguy.magmacore.util.Logger;
 import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
+import org.bukkit.util.BoundingBox;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class ScriptTargets {
@@ -30,11 +32,16 @@ public class ScriptTargets {
     private List anonymousTargets = null;
     @Getter
     private ScriptRelativeVector scriptRelativeVector = null;
+    //Built once and reused for every location the offsets get applied to
+    private final ScriptRelativeVector offsetRelativeVector;
 
     public ScriptTargets(ScriptTargetsBlueprint targetBlueprint, EliteScript eliteScript) {
         this.targetBlueprint = targetBlueprint;
         this.eliteScript = eliteScript;
         this.scriptZone = eliteScript.getScriptZone();
+        this.offsetRelativeVector = targetBlueprint != null && targetBlueprint.getScriptRelativeVectorBlueprint() != null
+                ? new ScriptRelativeVector(targetBlueprint.getScriptRelativeVectorBlueprint(), eliteScript)
+                : null;
     }
 
     public List getAnonymousTargets(boolean locations, ScriptActionData scriptActionData) {
@@ -49,12 +56,41 @@ public class ScriptTargets {
 
     public void setAnonymousTargets(List anonymousTargets) {
         //Animated zones can't be cached!
-        if (getTargetBlueprint().isTrack() || eliteScript.getScriptZone().getZoneBlueprint().getAnimationDuration().getValue() > 1)
+        if (isRecalculatedEveryRun())
             return;
         //Non-animated zones must be cached for script inheritance and such
         this.anonymousTargets = anonymousTargets;
     }
 
+    private boolean isRecalculatedEveryRun() {
+        return getTargetBlueprint().isTrack() || eliteScript.getScriptZone().getZoneBlueprint().getAnimationDuration().getValue() > 1;
+    }
+
+    /**
+     * Walks zone target locations as raw coordinates instead of collecting them. Only targets that get recalculated on
+     * every run and have no offsets can be walked, as anything else has to be kept around as a list.
+     *
+     * @return False if the targets can't be walked, in which case {@link #getTargetLocations(ScriptActionData)} should
+     * be used instead
+     */
+    protected boolean forEachZoneLocation(ScriptActionData scriptActionData, ScriptZone.ZoneLocationVisitor visitor) {
+        if (anonymousTargets != null || !isRecalculatedEveryRun()) return false;
+        if (targetBlueprint.getOffset().getValue().length() != 0 || targetBlueprint.getScriptRelativeVectorBlueprint() != null)
+            return false;
+        ScriptActionData zoneActionData = switch (targetBlueprint.getTargetType()) {
+            case ZONE_FULL, ZONE_BORDER -> scriptActionData;
+            case INHERIT_SCRIPT_ZONE_FULL, INHERIT_SCRIPT_ZONE_BORDER -> scriptActionData.getInheritedScriptActionData();
+            default -> null;
+        };
+        if (zoneActionData == null) return false;
+        if (zoneActionData.getScriptZone() == null) {
+            Logger.warn("Your script " + targetBlueprint.getScriptName() + " uses " + targetBlueprint.getTargetType().toString() + " but does not have a valid Zone defined!");
+            return true;
+        }
+        eliteScript.getScriptZone().forEachZoneLocation(zoneActionData, this, visitor);
+        return true;
+    }
+
     //Parse all string-based configuration locations
     public Location processLocationFromString(EliteEntity eliteEntity,
                                               String locationString,
@@ -92,8 +128,8 @@ public class ScriptTargets {
             anonymousTargets = new ArrayList<>(getTargetLocations(scriptActionData));
         }
         if (!getTargetBlueprint().isTrack() && targetBlueprint.getScriptRelativeVectorBlueprint() != null) {
-            scriptRelativeVector = new ScriptRelativeVector(targetBlueprint.getScriptRelativeVectorBlueprint(), eliteScript, null);
-            scriptRelativeVector.cacheVector(scriptActionData);
+            scriptRelativeVector = new ScriptRelativeVector(targetBlueprint.getScriptRelativeVectorBlueprint(), eliteScript);
+            scriptRelativeVector.cacheVector(scriptActionData, null);
         }
     }
 
@@ -118,24 +154,14 @@ public class ScriptTargets {
             case WORLD_PLAYERS:
                 return new ArrayList<>(eliteEntityLocation.getWorld().getPlayers());
             case NEARBY_PLAYERS:
-                return eliteEntityLocation.getWorld()
-                        .getNearbyEntities(
-                                eliteEntityLocation,
-                                targetBlueprint.getRange().getValue(),
-                                targetBlueprint.getRange().getValue(),
-                                targetBlueprint.getRange().getValue(),
-                                (entity -> entity.getType() == EntityType.PLAYER))
-                        .stream().map(Player.class::cast).collect(Collectors.toSet());
+                return new HashSet<>(EntitySpatialGrid.getPlayers(eliteEntityLocation.getWorld(), getRangeBox(eliteEntityLocation)));
             case NEARBY_MOBS:
-                return eliteEntityLocation.getWorld()
-                        .getNearbyEntities(
-                                eliteEntityLocation,
-                                targetBlueprint.getRange().getValue(),
-                                targetBlueprint.getRange().getValue(),
-                                targetBlueprint.getRange().getValue(),
-                                (entity -> entity.getType() != EntityType.PLAYER && entity instanceof LivingEntity &&
-                                        !entity.getUniqueId().equals(scriptActionData.getEliteEntity().getUnsyncedLivingEntity().getUniqueId())))
-                        .stream().map(LivingEntity.class::cast).collect(Collectors.toSet());
+                UUID eliteUUID = scriptActionData.getEliteEntity().getUnsyncedLivingEntity().getUniqueId();
+                Collection<LivingEntity> nearbyMobs = new HashSet<>();
+                for (LivingEntity livingEntity : EntitySpatialGrid.getLivingEntities(eliteEntityLocation.getWorld(), getRangeBox(eliteEntityLocation)))
+                    if (!(livingEntity instanceof Player) && !livingEntity.getUniqueId().equals(eliteUUID))
+                        nearbyMobs.add(livingEntity);
+                return nearbyMobs;
             case DIRECT_TARGET:
                 return new ArrayList<>(List.of(scriptActionData.getDirectTarget()));
             case SELF:
@@ -161,6 +187,11 @@ public class ScriptTargets {
         }
     }
 
+    private BoundingBox getRangeBox(Location center) {
+        double range = targetBlueprint.getRange().getValue();
+        return BoundingBox.of(center, range, range, range);
+    }
+
     /**
      * Obtains the target locations for a script. Some scripts require locations instead of living entities, and this
      * method obtains those locations from the potential targets.
@@ -172,8 +203,6 @@ public class ScriptTargets {
             return (List<Location>) anonymousTargets;
         }
 
-        Collection<Location> newLocations = null;
-
         switch (this.getTargetBlueprint().getTargetType()) {
             case ALL_PLAYERS, WORLD_PLAYERS, NEARBY_PLAYERS, DIRECT_TARGET, SELF, NEARBY_MOBS:
                 return getTargetEntities(scriptActionData).stream().map(targetEntity -> addOffsets(targetEntity.getLocation(), scriptActionData)).collect(Collectors.toSet());
@@ -185,23 +214,18 @@ public class ScriptTargets {
                 return getLocations(scriptActionData.getEliteEntity(), scriptActionData);
             case LANDING_LOCATION:
                 return new ArrayList<>(List.of(scriptActionData.getLandingLocation().clone()));
+            //Zones apply the coverage while walking their shapes
             case ZONE_FULL, ZONE_BORDER:
-                newLocations = getLocationFromZone(scriptActionData);
-                break;
+                return getLocationFromZone(scriptActionData);
             case INHERIT_SCRIPT_ZONE_FULL, INHERIT_SCRIPT_ZONE_BORDER:
-                newLocations = getLocationFromZone(scriptActionData.getInheritedScriptActionData());
-                break;
+                return getLocationFromZone(scriptActionData.getInheritedScriptActionData());
             case INHERIT_SCRIPT_TARGET:
                 return scriptActionData.getInheritedScriptActionData().getScriptTargets().getAnonymousTargets(
                         true, scriptActionData.getInheritedScriptActionData());
             default:
                 Logger.warn("Failed to get target type in script " + getTargetBlueprint().getScriptName() + " !");
+                return new ArrayList<>();
         }
-
-        if (targetBlueprint.getCoverage().getValue() < 1)
-            newLocations.removeIf(targetLocation -> ThreadLocalRandom.current().nextDouble() > targetBlueprint.getCoverage().getValue());
-
-        return newLocations;
     }
 
     private Collection<Location> getLocationFromZone(ScriptActionData scriptActionData) {
@@ -227,19 +251,15 @@ public class ScriptTargets {
 
     private Location addOffsets(Location originalLocation, ScriptActionData scriptActionData) {
         Location location = originalLocation.clone().add(targetBlueprint.getOffset().getValue());
-        //if (scriptRelativeVector == null)
-        if (targetBlueprint.getScriptRelativeVectorBlueprint() != null)
-            scriptRelativeVector = new ScriptRelativeVector(targetBlueprint.getScriptRelativeVectorBlueprint(), eliteScript, location);
-        else
-            return location;
+        if (offsetRelativeVector == null) return location;
 
-        location.add(scriptRelativeVector.getVector(scriptActionData));
+        location.add(offsetRelativeVector.getVector(scriptActionData, location));
 
         return location;
     }
 
     private Collection<Location> addOffsets(Collection<Location> locations, ScriptActionData scriptActionData) {
-        if (targetBlueprint.getOffset().getValue().length() == 0 && scriptRelativeVector == null) return locations;
+        if (targetBlueprint.getOffset().getValue().length() == 0 && offsetRelativeVector == null) return locations;
         locations.forEach(entry -> addOffsets(entry, scriptActionData));
         return locations;
     }
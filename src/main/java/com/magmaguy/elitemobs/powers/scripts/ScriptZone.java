@@ -3,10 +3,12 @@ package com.magmaguy.elitemobs.powers.scripts;
 import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.api.ScriptZoneEnterEvent;
 import com.magmaguy.elitemobs.api.ScriptZoneLeaveEvent;
+import com.magmaguy.elitemobs.entitytracker.EntitySpatialGrid;
 import com.magmaguy.elitemobs.entitytracker.EntityTracker;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.scripts.caching.ScriptTargetsBlueprint;
 import com.magmaguy.elitemobs.powers.scripts.caching.ScriptZoneBlueprint;
+import com.magmaguy.elitemobs.powers.scripts.enums.Filter;
 import com.magmaguy.elitemobs.powers.scripts.enums.TargetType;
 import com.magmaguy.elitemobs.utils.EventCaller;
 import com.magmaguy.elitemobs.utils.shapes.*;
@@ -19,7 +21,6 @@ import org.bukkit.entity.LivingEntity;
 import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Represents a zone defined in an EliteScript, handling shape generation, entity retrieval,
@@ -142,6 +143,7 @@ public class ScriptZone {
 
     /**
      * Retrieves locations within the zone based on the provided script action data and target.
+     * The coverage of the target is applied while walking the shapes, so skipped locations are never created.
      *
      * @param scriptActionData The data for the current script action.
      * @param actionTarget     The action target requesting locations.
@@ -149,19 +151,14 @@ public class ScriptZone {
      */
     protected Collection<Location> getZoneLocations(ScriptActionData scriptActionData, ScriptTargets actionTarget) {
         try {
-            switch (actionTarget.getTargetBlueprint().getTargetType()) {
-                case ZONE_FULL:
-                    return consolidateLists(generateShapes(scriptActionData, false).stream().map(Shape::getLocations).collect(Collectors.toSet()));
-                case ZONE_BORDER:
-                    return consolidateLists(generateShapes(scriptActionData, false).stream().map(Shape::getEdgeLocations).collect(Collectors.toSet()));
-                case INHERIT_SCRIPT_ZONE_FULL:
-                    return consolidateLists(generateShapes(scriptActionData.getInheritedScriptActionData(), false).stream().map(Shape::getLocations).collect(Collectors.toSet()));
-                case INHERIT_SCRIPT_ZONE_BORDER:
-                    return consolidateLists(generateShapes(scriptActionData.getInheritedScriptActionData(), false).stream().map(Shape::getEdgeLocations).collect(Collectors.toSet()));
-                default:
-                    Logger.warn("Couldn't parse target type '" + actionTarget.getTargetBlueprint().getTargetType() + "' in script zone.");
-                    return Collections.emptyList();
-            }
+            TargetType targetType = actionTarget.getTargetBlueprint().getTargetType();
+            List<Shape> shapes = getTargetedShapes(scriptActionData, targetType);
+            if (shapes == null) return Collections.emptyList();
+            Collection<Location> locations = new ArrayList<>();
+            boolean edgeOnly = isBorderTarget(targetType);
+            double coverage = actionTarget.getTargetBlueprint().getCoverage().getValue();
+            for (Shape shape : shapes) shape.addLocations(locations, coverage, edgeOnly);
+            return locations;
         } catch (Exception e) {
             Logger.warn("Error retrieving zone locations: " + e.getMessage());
             return Collections.emptyList();
@@ -169,15 +166,45 @@ public class ScriptZone {
     }
 
     /**
-     * Consolidates a collection of location collections into a single collection.
+     * Walks the locations within the zone without collecting them, for actions that run once per location.
+     * The coverage of the target is applied during the walk.
      *
-     * @param originalLocations The original collection of location collections.
-     * @return A consolidated collection of locations.
+     * @param scriptActionData The data for the current script action.
+     * @param actionTarget     The action target requesting locations.
+     * @param visitor          Called with the coordinates of each location that made it through the coverage.
      */
-    private Collection<Location> consolidateLists(Collection<Collection<Location>> originalLocations) {
-        Collection<Location> parsedLocations = new ArrayList<>();
-        originalLocations.forEach(parsedLocations::addAll);
-        return parsedLocations;
+    protected void forEachZoneLocation(ScriptActionData scriptActionData, ScriptTargets actionTarget, ZoneLocationVisitor visitor) {
+        try {
+            TargetType targetType = actionTarget.getTargetBlueprint().getTargetType();
+            List<Shape> shapes = getTargetedShapes(scriptActionData, targetType);
+            if (shapes == null) return;
+            boolean edgeOnly = isBorderTarget(targetType);
+            double coverage = actionTarget.getTargetBlueprint().getCoverage().getValue();
+            for (Shape shape : shapes) {
+                World world = shape.getCenter().getWorld();
+                VoxelVisitor voxelVisitor = (x, y, z) -> visitor.visit(world, x, y, z);
+                if (edgeOnly) shape.forEachEdgeLocation(coverage, voxelVisitor);
+                else shape.forEachLocation(coverage, voxelVisitor);
+            }
+        } catch (Exception e) {
+            Logger.warn("Error retrieving zone locations: " + e.getMessage());
+        }
+    }
+
+    private List<Shape> getTargetedShapes(ScriptActionData scriptActionData, TargetType targetType) {
+        switch (targetType) {
+            case ZONE_FULL, ZONE_BORDER:
+                return generateShapes(scriptActionData, false);
+            case INHERIT_SCRIPT_ZONE_FULL, INHERIT_SCRIPT_ZONE_BORDER:
+                return generateShapes(scriptActionData.getInheritedScriptActionData(), false);
+            default:
+                Logger.warn("Couldn't parse target type '" + targetType + "' in script zone.");
+                return null;
+        }
+    }
+
+    private boolean isBorderTarget(TargetType targetType) {
+        return targetType == TargetType.ZONE_BORDER || targetType == TargetType.INHERIT_SCRIPT_ZONE_BORDER;
     }
 
     /**
@@ -307,6 +334,7 @@ public class ScriptZone {
 
     /**
      * Retrieves living entities within the given shapes based on the target type.
+     * Only the entities around each shape are checked, see {@link EntitySpatialGrid}.
      *
      * @param shapes     The shapes defining the zone.
      * @param targetType The target type (ZONE_FULL or ZONE_BORDER).
@@ -314,76 +342,26 @@ public class ScriptZone {
      */
     private Collection<LivingEntity> getEntitiesInArea(List<Shape> shapes, TargetType targetType) {
         Set<LivingEntity> validatedEntities = new HashSet<>();
+        Filter filter = zoneBlueprint.getFilter() != null ? zoneBlueprint.getFilter() : Filter.LIVING;
+        boolean fullZone = targetType.equals(TargetType.ZONE_FULL);
 
         for (Shape shape : shapes) {
-            Collection<? extends LivingEntity> livingEntities = zoneBlueprint.getFilter() != null ? switch (zoneBlueprint.getFilter()) {
-                case PLAYER -> filterByPlayer(shape.getCenter());
-                case ELITE -> filterByElite(shape.getCenter());
-                case LIVING -> filterByLiving(shape.getCenter());
-            } : filterByLiving(shape.getCenter());
-
-            for (LivingEntity livingEntity : livingEntities) {
-                boolean contains = targetType.equals(TargetType.ZONE_FULL) ? shape.contains(livingEntity) : shape.borderContains(livingEntity.getLocation());
+            World world = shape.getCenter().getWorld();
+            if (world == null) {
+                Logger.warn("World is null in getEntitiesInArea.");
+                continue;
+            }
+            EntitySpatialGrid.forEachCandidate(world, shape.getBounds(), filter == Filter.PLAYER, livingEntity -> {
+                if (filter == Filter.ELITE && EntityTracker.getEliteMobEntity(livingEntity) == null) return;
+                boolean contains = fullZone ? shape.contains(livingEntity) : shape.borderContains(livingEntity.getLocation());
                 if (contains) {
                     validatedEntities.add(livingEntity);
                 }
-            }
+            });
         }
         return validatedEntities;
     }
 
-    /**
-     * Filters players in the world at the given location.
-     *
-     * @param center The center location.
-     * @return A collection of players.
-     */
-    private Collection<LivingEntity> filterByPlayer(Location center) {
-        World world = center.getWorld();
-        if (world != null) {
-            return new ArrayList<>(world.getPlayers());
-        } else {
-            Logger.warn("World is null in filterByPlayer.");
-            return Collections.emptyList();
-        }
-    }
-
-    /**
-     * Filters elite entities in the world at the given location.
-     *
-     * @param center The center location.
-     * @return A collection of elite entities.
-     */
-    private Collection<LivingEntity> filterByElite(Location center) {
-        World world = center.getWorld();
-        if (world != null) {
-            return world.getEntities().stream()
-                    .filter(entity -> entity instanceof LivingEntity)
-                    .filter(entity -> EntityTracker.getEliteMobEntity(entity) != null)
-                    .map(entity -> (LivingEntity) entity)
-                    .collect(Collectors.toList());
-        } else {
-            Logger.warn("World is null in filterByElite.");
-            return Collections.emptyList();
-        }
-    }
-
-    /**
-     * Filters all living entities in the world at the given location.
-     *
-     * @param center The center location.
-     * @return A collection of living entities.
-     */
-    private Collection<LivingEntity> filterByLiving(Location center) {
-        World world = center.getWorld();
-        if (world != null) {
-            return world.getLivingEntities();
-        } else {
-            Logger.warn("World is null in filterByLiving.");
-            return Collections.emptyList();
-        }
-    }
-
     /**
      * A task that listens for entities entering or leaving the zone.
      */
@@ -431,4 +409,12 @@ public class ScriptZone {
             }
         }
     }
+
+    /**
+     * Receives zone locations as raw coordinates, see {@link #forEachZoneLocation}.
+     */
+    @FunctionalInterface
+    public interface ZoneLocationVisitor {
+        void visit(World world, double x, double y, double z);
+    }
 }
@@ -3,6 +3,7 @@ package com.magmaguy.elitemobs.powers.specialpowers;
 import com.magmaguy.elitemobs.MetadataHandler;
 import com.magmaguy.elitemobs.mobconstructor.EliteEntity;
 import com.magmaguy.elitemobs.powers.EnderDragonEmpoweredLightning;
+import com.magmaguy.elitemobs.powers.scheduler.PowerTask;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.EnderCrystal;
 import org.bukkit.entity.EntityType;
@@ -10,7 +11,6 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Vector;
 
 import java.util.concurrent.ThreadLocalRandom;
@@ -18,7 +18,7 @@ import java.util.concurrent.ThreadLocalRandom;
 public class EnderCrystalLightningRod {
 
     public EnderCrystalLightningRod(EliteEntity eliteEntity, EnderCrystal enderCrystal) {
-        new BukkitRunnable() {
+        new PowerTask() {
             int counter = 0;
 
             @Override
@@ -39,7 +39,7 @@ public class EnderCrystalLightningRod {
 
                 counter++;
             }
-        }.runTaskTimer(MetadataHandler.PLUGIN, 0, 20);
+        }.runTaskTimer(0, 20);
     }
 
     public static class EnderCrystalLightningRodEvents implements Listener {
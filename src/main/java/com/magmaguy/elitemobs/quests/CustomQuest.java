@@ -36,6 +36,18 @@ public class CustomQuest extends Quest {
         super.questTaker = customQuestsConfigFields.getTurnInNPC();
     }
 
+    /**
+     * Restores a quest saved by {@link QuestCodec}. Objectives and rewards get rebuilt from the current configuration.
+     */
+    CustomQuest(UUID playerUUID, UUID questID, UUID objectivesUUID, CustomQuestsConfigFields customQuestsConfigFields) {
+        super(playerUUID, questID, new QuestObjectives(objectivesUUID, new QuestReward(customQuestsConfigFields, playerUUID), null), customQuestsConfigFields.getQuestLevel());
+        this.customQuestsConfigFields = customQuestsConfigFields;
+        this.configurationFilename = customQuestsConfigFields.getFilename();
+        super.questObjectives.setQuest(this);
+        super.questName = customQuestsConfigFields.getQuestName();
+        super.questTaker = customQuestsConfigFields.getTurnInNPC();
+    }
+
     public static CustomQuest getQuest(String questFilename, Player player) {
         if (CustomQuestsConfig.getCustomQuests().get(questFilename) == null) return null;
         Quest quest = null;
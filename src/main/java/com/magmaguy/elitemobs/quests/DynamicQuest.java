@@ -17,6 +17,7 @@ import org.bukkit.scheduler.BukkitTask;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.UUID;
 
 public class DynamicQuest extends Quest {
 
@@ -26,10 +27,23 @@ public class DynamicQuest extends Quest {
 
     public DynamicQuest(Player player, int questLevel, QuestObjectives questObjectives) {
         super(player, questObjectives, questLevel);
-        super.questName = DynamicQuestMenuConfig.getQuestName()
+        super.questName = generateQuestName(questLevel, questObjectives);
+        questObjectives.setQuest(this);
+    }
+
+    /**
+     * Restores a quest saved by {@link QuestCodec}.
+     */
+    DynamicQuest(UUID playerUUID, UUID questID, int questLevel, QuestObjectives questObjectives) {
+        super(playerUUID, questID, questObjectives, questLevel);
+        super.questName = generateQuestName(questLevel, questObjectives);
+        questObjectives.setQuest(this);
+    }
+
+    private static String generateQuestName(int questLevel, QuestObjectives questObjectives) {
+        return DynamicQuestMenuConfig.getQuestName()
                 .replace("$amount", questObjectives.getObjectives().get(0).getTargetAmount() + "")
                 .replace("$name", ChatColor.stripColor(EliteMobProperties.getPluginData(((DynamicKillObjective) questObjectives.getObjectives().get(0)).getEntityType()).getName(questLevel * 10)));
-        questObjectives.setQuest(this);
     }
 
     public static void startRandomizingQuests() {
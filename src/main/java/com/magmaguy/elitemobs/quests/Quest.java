@@ -26,7 +26,7 @@ public class Quest implements Serializable {
     @Getter
     protected final QuestObjectives questObjectives;
     @Getter
-    private final UUID questID = UUID.randomUUID();
+    private final UUID questID;
     @Getter
     protected String questName;
     @Getter
@@ -47,6 +47,7 @@ public class Quest implements Serializable {
     private boolean accepted = false;
 
     public Quest(Player player, QuestObjectives questObjectives, int questLevel) {
+        this.questID = UUID.randomUUID();
         this.playerUUID = player.getUniqueId();
         this.questObjectives = questObjectives;
         this.questLevel = questLevel;
@@ -61,6 +62,16 @@ public class Quest implements Serializable {
         }
     }
 
+    /**
+     * Restores a quest saved by {@link QuestCodec}. Restored quests do not get added to the pending quests.
+     */
+    protected Quest(UUID playerUUID, UUID questID, QuestObjectives questObjectives, int questLevel) {
+        this.playerUUID = playerUUID;
+        this.questID = questID;
+        this.questObjectives = questObjectives;
+        this.questLevel = questLevel;
+    }
+
     public static void stopPlayerQuest(Player player, String questID) {
         if (PlayerData.getQuests(player.getUniqueId()) == null ||
                 PlayerData.getQuest(player.getUniqueId(), questID) == null) {
@@ -81,6 +92,13 @@ public class Quest implements Serializable {
         return quest;
     }
 
+    /**
+     * Returns the turn in NPC as set on the quest, without falling back to the quest giver
+     */
+    String getRawQuestTaker() {
+        return questTaker;
+    }
+
     public String getQuestTaker() {
         return questTaker.isEmpty() ? questGiver : questTaker;
     }
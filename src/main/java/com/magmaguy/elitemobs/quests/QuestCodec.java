@@ -0,0 +1,348 @@
+package com.magmaguy.elitemobs.quests;
+
+import com.magmaguy.elitemobs.config.customquests.CustomQuestsConfig;
+import com.magmaguy.elitemobs.config.customquests.CustomQuestsConfigFields;
+import com.magmaguy.elitemobs.items.customloottable.CurrencyCustomLootEntry;
+import com.magmaguy.elitemobs.items.customloottable.CustomLootEntry;
+import com.magmaguy.elitemobs.items.customloottable.CustomLootTable;
+import com.magmaguy.elitemobs.items.customloottable.ItemStackCustomLootEntry;
+import com.magmaguy.elitemobs.quests.objectives.DynamicKillObjective;
+import com.magmaguy.elitemobs.quests.objectives.Objective;
+import com.magmaguy.elitemobs.quests.objectives.QuestObjectives;
+import com.magmaguy.elitemobs.quests.playercooldowns.PlayerQuestCooldowns;
+import com.magmaguy.elitemobs.quests.playercooldowns.QuestCooldown;
+import com.magmaguy.elitemobs.quests.rewards.QuestReward;
+import com.magmaguy.magmacore.util.Logger;
+import org.bukkit.entity.EntityType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Versioned binary format for the QuestStatus and PlayerQuestCooldowns database columns.
+ * <p>
+ * Quests are stored as length-prefixed segments, one per quest. Segments get cached per player, so progressing a
+ * single objective only re-encodes the quest that changed and copies the rest. Custom quests only store their
+ * configuration filename and progress, the objectives and rewards get rebuilt from the configuration when read.
+ * <p>
+ * Data written by older versions through Java serialization is still read, and gets rewritten in this format on the
+ * next save.
+ */
+public class QuestCodec {
+    private static final byte[] QUEST_MAGIC = {'E', 'M', 'Q'};
+    private static final byte[] COOLDOWN_MAGIC = {'E', 'M', 'C'};
+    private static final byte VERSION = 1;
+    private static final byte CUSTOM_QUEST = 1;
+    private static final byte DYNAMIC_QUEST = 2;
+    private static final byte CURRENCY_REWARD = 1;
+    private static final byte ITEM_REWARD = 2;
+
+    private QuestCodec() {
+    }
+
+    /**
+     * Returns whether the data was written by the legacy Java serialization format and should be migrated.
+     */
+    public static boolean isLegacy(byte[] data) {
+        return data != null && data.length > 0 && !hasMagic(data, QUEST_MAGIC) && !hasMagic(data, COOLDOWN_MAGIC);
+    }
+
+    public static List<Quest> decodeQuests(UUID playerUUID, byte[] data) throws IOException {
+        if (data == null || data.length == 0) return new ArrayList<>();
+        if (!hasMagic(data, QUEST_MAGIC)) return readLegacy(data);
+        DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(data));
+        inputStream.skipBytes(QUEST_MAGIC.length);
+        byte version = inputStream.readByte();
+        if (version > VERSION)
+            throw new IOException("Quest data was saved by a newer EliteMobs version (format " + version + ")");
+        int questCount = inputStream.readInt();
+        List<Quest> quests = new ArrayList<>(questCount);
+        for (int i = 0; i < questCount; i++) {
+            byte[] segment = new byte[inputStream.readInt()];
+            inputStream.readFully(segment);
+            Quest quest = decodeQuest(playerUUID, segment);
+            if (quest != null) quests.add(quest);
+        }
+        return quests;
+    }
+
+    /**
+     * Encodes the quest list. Segments for quests other than the changed quest are reused from the cache when
+     * available.
+     *
+     * @param quests       Quests to encode
+     * @param segmentCache Per-player cache of encoded quests, keyed by quest ID
+     * @param changedQuest Quest that changed since the last encode, or null to re-encode every quest
+     * @return Encoded quest data
+     */
+    public static byte[] encodeQuests(List<Quest> quests, Map<UUID, byte[]> segmentCache, Quest changedQuest) throws IOException {
+        if (changedQuest == null) segmentCache.clear();
+        else segmentCache.remove(changedQuest.getQuestID());
+        List<byte[]> segments = new ArrayList<>(quests.size());
+        int totalLength = QUEST_MAGIC.length + 1 + 4;
+        Set<UUID> liveQuests = new HashSet<>();
+        for (Quest quest : quests) {
+            if (!(quest instanceof CustomQuest) && !(quest instanceof DynamicQuest)) continue;
+            liveQuests.add(quest.getQuestID());
+            byte[] segment = segmentCache.get(quest.getQuestID());
+            if (segment == null) {
+                segment = encodeQuest(quest);
+                segmentCache.put(quest.getQuestID(), segment);
+            }
+            segments.add(segment);
+            totalLength += 4 + segment.length;
+        }
+        segmentCache.keySet().retainAll(liveQuests);
+
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(totalLength);
+        DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream);
+        outputStream.write(QUEST_MAGIC);
+        outputStream.writeByte(VERSION);
+        outputStream.writeInt(segments.size());
+        for (byte[] segment : segments) {
+            outputStream.writeInt(segment.length);
+            outputStream.write(segment);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    public static PlayerQuestCooldowns decodeCooldowns(byte[] data) throws IOException {
+        if (data == null || data.length == 0) return PlayerQuestCooldowns.initializePlayer();
+        if (!hasMagic(data, COOLDOWN_MAGIC)) return readLegacy(data);
+        DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(data));
+        inputStream.skipBytes(COOLDOWN_MAGIC.length);
+        byte version = inputStream.readByte();
+        if (version > VERSION)
+            throw new IOException("Quest cooldown data was saved by a newer EliteMobs version (format " + version + ")");
+        PlayerQuestCooldowns playerQuestCooldowns = PlayerQuestCooldowns.initializePlayer();
+        int cooldownCount = inputStream.readInt();
+        for (int i = 0; i < cooldownCount; i++)
+            playerQuestCooldowns.getQuestCooldowns().add(new QuestCooldown(
+                    readString(inputStream),
+                    inputStream.readBoolean(),
+                    inputStream.readLong()));
+        return playerQuestCooldowns;
+    }
+
+    public static byte[] encodeCooldowns(PlayerQuestCooldowns playerQuestCooldowns) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream);
+        outputStream.write(COOLDOWN_MAGIC);
+        outputStream.writeByte(VERSION);
+        outputStream.writeInt(playerQuestCooldowns.getQuestCooldowns().size());
+        for (QuestCooldown questCooldown : playerQuestCooldowns.getQuestCooldowns()) {
+            writeString(outputStream, questCooldown.getPermission());
+            outputStream.writeBoolean(questCooldown.isPermanent());
+            outputStream.writeLong(questCooldown.getTargetUnixTime());
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    private static byte[] encodeQuest(Quest quest) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream);
+        QuestObjectives questObjectives = quest.getQuestObjectives();
+        outputStream.writeByte(quest instanceof CustomQuest ? CUSTOM_QUEST : DYNAMIC_QUEST);
+        writeUUID(outputStream, quest.getQuestID());
+        writeUUID(outputStream, questObjectives.getUuid());
+        outputStream.writeInt(quest.getQuestLevel());
+        outputStream.writeBoolean(quest.isAccepted());
+        writeString(outputStream, quest.getQuestGiver());
+        writeString(outputStream, quest.getRawQuestTaker());
+        outputStream.writeBoolean(questObjectives.isMarkedOver());
+        outputStream.writeBoolean(questObjectives.isTurnedIn());
+        outputStream.writeBoolean(questObjectives.isForceOver());
+
+        if (quest instanceof CustomQuest customQuest) {
+            writeString(outputStream, customQuest.getConfigurationFilename());
+            List<Objective> objectives = questObjectives.getObjectives() == null ? List.of() : questObjectives.getObjectives();
+            outputStream.writeInt(objectives.size());
+            for (Objective objective : objectives) {
+                outputStream.writeInt(objective == null ? 0 : objective.getCurrentAmount());
+                outputStream.writeBoolean(objective != null && objective.isObjectiveCompleted());
+            }
+        } else {
+            DynamicKillObjective dynamicKillObjective = (DynamicKillObjective) questObjectives.getObjectives().get(0);
+            writeString(outputStream, dynamicKillObjective.getEntityType().name());
+            outputStream.writeInt(dynamicKillObjective.getTargetAmount());
+            outputStream.writeInt(dynamicKillObjective.getCurrentAmount());
+            outputStream.writeBoolean(dynamicKillObjective.isObjectiveCompleted());
+            QuestReward questReward = questObjectives.getQuestReward();
+            outputStream.writeInt(questReward.getRewardLevel());
+            List<CustomLootEntry> rewardEntries = new ArrayList<>();
+            for (CustomLootEntry customLootEntry : questReward.getCustomLootTable().getEntries())
+                if (customLootEntry instanceof CurrencyCustomLootEntry || customLootEntry instanceof ItemStackCustomLootEntry)
+                    rewardEntries.add(customLootEntry);
+            outputStream.writeInt(rewardEntries.size());
+            for (CustomLootEntry customLootEntry : rewardEntries)
+                if (customLootEntry instanceof CurrencyCustomLootEntry currencyCustomLootEntry) {
+                    outputStream.writeByte(CURRENCY_REWARD);
+                    outputStream.writeInt(currencyCustomLootEntry.getCurrencyAmount());
+                } else {
+                    outputStream.writeByte(ITEM_REWARD);
+                    writeString(outputStream, ((ItemStackCustomLootEntry) customLootEntry).getSerializedItemStack());
+                }
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    private static Quest decodeQuest(UUID playerUUID, byte[] segment) throws IOException {
+        DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(segment));
+        byte questType = inputStream.readByte();
+        UUID questID = readUUID(inputStream);
+        UUID objectivesUUID = readUUID(inputStream);
+        int questLevel = inputStream.readInt();
+        boolean accepted = inputStream.readBoolean();
+        String questGiver = readString(inputStream);
+        String questTaker = readString(inputStream);
+        boolean over = inputStream.readBoolean();
+        boolean turnedIn = inputStream.readBoolean();
+        boolean forceOver = inputStream.readBoolean();
+
+        Quest quest;
+        switch (questType) {
+            case CUSTOM_QUEST -> {
+                String configurationFilename = readString(inputStream);
+                CustomQuestsConfigFields customQuestsConfigFields = CustomQuestsConfig.getCustomQuests().get(configurationFilename);
+                if (customQuestsConfigFields == null) {
+                    Logger.warn("Custom Quest " + configurationFilename + " no longer exists, it will be removed from player " + playerUUID + "'s quests.");
+                    return null;
+                }
+                quest = new CustomQuest(playerUUID, questID, objectivesUUID, customQuestsConfigFields);
+                List<Objective> objectives = quest.getQuestObjectives().getObjectives();
+                int objectiveCount = inputStream.readInt();
+                for (int i = 0; i < objectiveCount; i++) {
+                    int currentAmount = inputStream.readInt();
+                    boolean completed = inputStream.readBoolean();
+                    //Objectives are matched by position, entries for objectives removed from the config are dropped
+                    if (objectives == null || i >= objectives.size() || objectives.get(i) == null) continue;
+                    objectives.get(i).setCurrentAmount(currentAmount);
+                    objectives.get(i).setObjectiveCompleted(completed);
+                }
+            }
+            case DYNAMIC_QUEST -> {
+                EntityType entityType = EntityType.valueOf(readString(inputStream));
+                DynamicKillObjective dynamicKillObjective = new DynamicKillObjective(inputStream.readInt(), entityType, questLevel);
+                dynamicKillObjective.setCurrentAmount(inputStream.readInt());
+                dynamicKillObjective.setObjectiveCompleted(inputStream.readBoolean());
+                int rewardLevel = inputStream.readInt();
+                CustomLootTable customLootTable = new CustomLootTable();
+                int rewardCount = inputStream.readInt();
+                for (int i = 0; i < rewardCount; i++) {
+                    byte rewardType = inputStream.readByte();
+                    if (rewardType == CURRENCY_REWARD) customLootTable.generateCurrencyEntry(inputStream.readInt());
+                    else if (rewardType == ITEM_REWARD) customLootTable.generateEliteEntry(readString(inputStream));
+                    else throw new IOException("Unknown dynamic quest reward type " + rewardType);
+                }
+                QuestObjectives questObjectives = new QuestObjectives(objectivesUUID,
+                        new QuestReward(rewardLevel, playerUUID, customLootTable),
+                        new ArrayList<>(List.of(dynamicKillObjective)));
+                quest = new DynamicQuest(playerUUID, questID, questLevel, questObjectives);
+            }
+            default -> {
+                Logger.warn("Skipped unknown quest type " + questType + " for player " + playerUUID);
+                return null;
+            }
+        }
+        quest.setAccepted(accepted);
+        quest.setQuestGiver(questGiver == null ? "" : questGiver);
+        if (quest instanceof DynamicQuest && questTaker != null) quest.setQuestTaker(questTaker);
+        quest.getQuestObjectives().setOver(over);
+        quest.getQuestObjectives().setTurnedIn(turnedIn);
+        quest.getQuestObjectives().setForceOver(forceOver);
+        return quest;
+    }
+
+    private static boolean hasMagic(byte[] data, byte[] magic) {
+        if (data.length < magic.length) return false;
+        for (int i = 0; i < magic.length; i++)
+            if (data[i] != magic[i]) return false;
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T readLegacy(byte[] data) throws IOException {
+        byte[] decoded = Base64.getDecoder().decode(new String(data, StandardCharsets.UTF_8).trim());
+        try (ObjectInputStream objectInputStream = new LegacyObjectInputStream(new ByteArrayInputStream(decoded))) {
+            return (T) objectInputStream.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Failed to read legacy quest data", e);
+        }
+    }
+
+    private static void writeUUID(DataOutputStream outputStream, UUID uuid) throws IOException {
+        outputStream.writeLong(uuid.getMostSignificantBits());
+        outputStream.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUUID(DataInputStream inputStream) throws IOException {
+        return new UUID(inputStream.readLong(), inputStream.readLong());
+    }
+
+    //Length-prefixed instead of writeUTF as serialized reward items can go over the 64kb writeUTF limit
+    private static void writeString(DataOutputStream outputStream, String string) throws IOException {
+        if (string == null) {
+            outputStream.writeInt(-1);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        outputStream.writeInt(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    private static String readString(DataInputStream inputStream) throws IOException {
+        int length = inputStream.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        inputStream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads data from the old Java serialization format. Quest classes have gained constructors and accessors since
+     * that data was written, which changes their default serialVersionUID, so the local class description is used
+     * whenever the serialized fields are otherwise identical.
+     */
+    private static class LegacyObjectInputStream extends ObjectInputStream {
+        private LegacyObjectInputStream(InputStream inputStream) throws IOException {
+            super(inputStream);
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            ObjectStreamClass streamDescriptor = super.readClassDescriptor();
+            Class<?> localClass;
+            try {
+                localClass = Class.forName(streamDescriptor.getName(), false, QuestCodec.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                return streamDescriptor;
+            }
+            ObjectStreamClass localDescriptor = ObjectStreamClass.lookup(localClass);
+            if (localDescriptor == null || localDescriptor.getSerialVersionUID() == streamDescriptor.getSerialVersionUID())
+                return streamDescriptor;
+            if (!sameFields(streamDescriptor, localDescriptor)) return streamDescriptor;
+            return localDescriptor;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(desc.getName(), false, QuestCodec.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+
+        private static boolean sameFields(ObjectStreamClass streamDescriptor, ObjectStreamClass localDescriptor) {
+            ObjectStreamField[] streamFields = streamDescriptor.getFields();
+            ObjectStreamField[] localFields = localDescriptor.getFields();
+            if (streamFields.length != localFields.length) return false;
+            for (int i = 0; i < streamFields.length; i++)
+                if (!streamFields[i].getName().equals(localFields[i].getName()) ||
+                        streamFields[i].getTypeCode() != localFields[i].getTypeCode())
+                    return false;
+            return true;
+        }
+    }
+}
@@ -14,6 +14,7 @@ public abstract class Objective implements Serializable {
     //todo: this class should be the one that handles giving out quest rewards
 
     @Getter
+    @Setter
     protected boolean objectiveCompleted = false;
 
     @Getter
@@ -27,7 +27,7 @@ import java.util.concurrent.ThreadLocalRandom;
 public class QuestObjectives implements Serializable {
 
     @Getter
-    private final UUID uuid = UUID.randomUUID();
+    private final UUID uuid;
     @Getter
     @Setter
     protected QuestReward questReward;
@@ -37,10 +37,12 @@ public class QuestObjectives implements Serializable {
     //The CustomQuest this objective belongs to
     @Getter
     private Quest quest;
+    @Setter
     private boolean over = false;
     @Getter
     @Setter
     private boolean turnedIn = false;
+    @Getter
     @Setter
     private boolean forceOver = false;
 
@@ -48,6 +50,7 @@ public class QuestObjectives implements Serializable {
      * Used for dynamic quests
      */
     public QuestObjectives(int questLevel) {
+        this.uuid = UUID.randomUUID();
         generateRandomObjective(questLevel);
     }
 
@@ -57,9 +60,23 @@ public class QuestObjectives implements Serializable {
      * @param customQuestReward Predetermined Quest Reward
      */
     public QuestObjectives(QuestReward customQuestReward) {
+        this.uuid = UUID.randomUUID();
         this.questReward = customQuestReward;
     }
 
+    /**
+     * Used when restoring saved quests
+     *
+     * @param uuid        Saved objectives UUID
+     * @param questReward Restored quest reward
+     * @param objectives  Restored objectives, null for custom quests as those get rebuilt from the configuration
+     */
+    public QuestObjectives(UUID uuid, QuestReward questReward, List<Objective> objectives) {
+        this.uuid = uuid;
+        this.questReward = questReward;
+        this.objectives = objectives;
+    }
+
     private void generateRandomObjective(int questLevel) {
         int killAmount = ThreadLocalRandom.current().nextInt(1 + questLevel, 1 + questLevel * 10);
         EntityType entityType = QuestsConfig.getQuestEntityTypes().get(ThreadLocalRandom.current().nextInt(QuestsConfig.getQuestEntityTypes().size()));
@@ -95,6 +112,14 @@ public class QuestObjectives implements Serializable {
         return checkOver;
     }
 
+    /**
+     * Returns whether the quest was already marked as over by {@link #updateQuestStatus(UUID)}, unlike {@link #isOver()}
+     * which checks the objectives. This is the state that gets saved.
+     */
+    public boolean isMarkedOver() {
+        return over;
+    }
+
     public void updateQuestStatus(UUID playerUUID) {
         //This checks if the player managed to try to progress an already over and turned in quest, which would reward them again.
         //This would in theory only be possible for quests that display the "completed" status, but should still be inaccessible in theory.
@@ -40,11 +40,24 @@ public class QuestReward implements Serializable {
      * Vanilla Items: material=X:amount=Y:chance=Z
      */
     public QuestReward(CustomQuestsConfigFields customQuestsConfigFields, Player player) {
+        this(customQuestsConfigFields, player.getUniqueId());
+    }
+
+    public QuestReward(CustomQuestsConfigFields customQuestsConfigFields, UUID playerUUID) {
         this.rewardLevel = customQuestsConfigFields.getQuestLevel() * 10;
-        this.playerUUID = player.getUniqueId();
+        this.playerUUID = playerUUID;
         this.customLootTable = new CustomLootTable(customQuestsConfigFields);
     }
 
+    /**
+     * Used when restoring saved dynamic quest rewards
+     */
+    public QuestReward(int rewardLevel, UUID playerUUID, CustomLootTable customLootTable) {
+        this.rewardLevel = rewardLevel;
+        this.playerUUID = playerUUID;
+        this.customLootTable = customLootTable;
+    }
+
     public void doRewards() {
         customLootTable.questDrop(Bukkit.getPlayer(playerUUID), rewardLevel);
     }
@@ -0,0 +1,135 @@
+package com.magmaguy.elitemobs.tagger;
+
+import com.magmaguy.elitemobs.MetadataHandler;
+import lombok.Getter;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityRemoveEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.util.HashMap;
+import java.util.UUID;
+
+/**
+ * In-memory copy of the tags {@link PersistentTagger} stores on entities, keyed by entity UUID. The persistent data
+ * container is only read the first time an entity gets checked, which is what lets tags survive restarts, and every
+ * check after that is a single map lookup. Entries are kept in sync when tags get written and dropped when the entity
+ * is removed or unloaded.
+ */
+public class EntityTagCache implements Listener {
+    static final int ELITE_ENTITY = 1;
+    static final int NPC_ENTITY = 1 << 1;
+    static final int SUPER_MOB = 1 << 2;
+    static final int VISUAL_EFFECT = 1 << 3;
+    static final int ELITE_PROJECTILE = 1 << 4;
+    private static final HashMap<UUID, EntityTags> cachedTags = new HashMap<>();
+    private static NamespacedKey eliteEntityKey = null;
+    private static NamespacedKey npcEntityKey = null;
+    private static NamespacedKey superMobKey = null;
+    private static NamespacedKey visualEffectKey = null;
+    private static NamespacedKey eliteProjectileKey = null;
+    @Getter
+    private static long containerReads = 0;
+
+    public static void initialize() {
+        eliteEntityKey = new NamespacedKey(MetadataHandler.PLUGIN, PersistentTagger.getELITE_ENTITY());
+        npcEntityKey = new NamespacedKey(MetadataHandler.PLUGIN, PersistentTagger.getNPC_ENTITY());
+        superMobKey = new NamespacedKey(MetadataHandler.PLUGIN, PersistentTagger.getSUPER_MOB());
+        visualEffectKey = new NamespacedKey(MetadataHandler.PLUGIN, PersistentTagger.getVISUAL_EFFECT());
+        eliteProjectileKey = new NamespacedKey(MetadataHandler.PLUGIN, PersistentTagger.getELITE_PROJECTILE());
+    }
+
+    public static void shutdown() {
+        cachedTags.clear();
+        //Keys get rebuilt on next use, as the plugin instance changes on reload
+        eliteEntityKey = null;
+    }
+
+    public static int getCachedEntityCount() {
+        return cachedTags.size();
+    }
+
+    private static int flag(String key) {
+        if (key.equals(PersistentTagger.getELITE_ENTITY())) return ELITE_ENTITY;
+        if (key.equals(PersistentTagger.getNPC_ENTITY())) return NPC_ENTITY;
+        if (key.equals(PersistentTagger.getSUPER_MOB())) return SUPER_MOB;
+        if (key.equals(PersistentTagger.getVISUAL_EFFECT())) return VISUAL_EFFECT;
+        if (key.equals(PersistentTagger.getELITE_PROJECTILE())) return ELITE_PROJECTILE;
+        return 0;
+    }
+
+    private static EntityTags get(Entity entity) {
+        EntityTags entityTags = cachedTags.get(entity.getUniqueId());
+        if (entityTags != null) return entityTags;
+        if (eliteEntityKey == null) initialize();
+        entityTags = read(entity.getPersistentDataContainer());
+        //Entities that are not in the world yet or are already gone would never get their entry cleaned up
+        if (entity.isValid()) cachedTags.put(entity.getUniqueId(), entityTags);
+        return entityTags;
+    }
+
+    private static EntityTags read(PersistentDataContainer container) {
+        containerReads++;
+        EntityTags entityTags = new EntityTags();
+        String eliteUUID = container.get(eliteEntityKey, PersistentDataType.STRING);
+        if (eliteUUID != null) {
+            entityTags.flags |= ELITE_ENTITY;
+            entityTags.eliteUUID = UUID.fromString(eliteUUID);
+        }
+        String npcUUID = container.get(npcEntityKey, PersistentDataType.STRING);
+        if (npcUUID != null) {
+            entityTags.flags |= NPC_ENTITY;
+            entityTags.npcUUID = UUID.fromString(npcUUID);
+        }
+        if (container.has(superMobKey, PersistentDataType.STRING)) entityTags.flags |= SUPER_MOB;
+        if (container.has(visualEffectKey, PersistentDataType.STRING)) entityTags.flags |= VISUAL_EFFECT;
+        if (container.has(eliteProjectileKey, PersistentDataType.STRING)) entityTags.flags |= ELITE_PROJECTILE;
+        return entityTags;
+    }
+
+    /**
+     * Records a tag that was just written to the entity's persistent data container.
+     */
+    static void onTag(Entity entity, String key, String value) {
+        int flag = flag(key);
+        if (flag == 0) return;
+        EntityTags entityTags = get(entity);
+        entityTags.flags |= flag;
+        if (flag == ELITE_ENTITY) entityTags.eliteUUID = UUID.fromString(value);
+        else if (flag == NPC_ENTITY) entityTags.npcUUID = UUID.fromString(value);
+    }
+
+    static boolean has(Entity entity, int flag) {
+        return (get(entity).flags & flag) != 0;
+    }
+
+    static UUID getEliteUUID(Entity entity) {
+        return get(entity).eliteUUID;
+    }
+
+    static UUID getNPCUUID(Entity entity) {
+        return get(entity).npcUUID;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntityRemove(EntityRemoveEvent event) {
+        cachedTags.remove(event.getEntity().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities())
+            cachedTags.remove(entity.getUniqueId());
+    }
+
+    private static class EntityTags {
+        private int flags = 0;
+        private UUID eliteUUID = null;
+        private UUID npcUUID = null;
+    }
+}
@@ -32,6 +32,7 @@ public class PersistentTagger {
     public static void tag(@NotNull Entity entity, String key, String value) {
         if (entity == null) return;
         entity.getPersistentDataContainer().set(new NamespacedKey(MetadataHandler.PLUGIN, key), PersistentDataType.STRING, value);
+        EntityTagCache.onTag(entity, key, value);
     }
 
     public static void tagElite(Entity entity, @NotNull UUID eliteUUID) {
@@ -40,11 +41,12 @@ public class PersistentTagger {
 
     public static boolean isEliteEntity(Entity entity) {
         if (entity == null) return false;
-        return entity.getPersistentDataContainer().has(new NamespacedKey(MetadataHandler.PLUGIN, ELITE_ENTITY), PersistentDataType.STRING);
+        return EntityTagCache.has(entity, EntityTagCache.ELITE_ENTITY);
     }
 
     public static EliteEntity getEliteEntity(Entity entity) {
-        UUID uuid = getUUID(entity, ELITE_ENTITY);
+        if (entity == null) return null;
+        UUID uuid = EntityTagCache.getEliteUUID(entity);
         if (uuid == null) return null;
         return EntityTracker.getEliteMobEntities().get(uuid);
     }
@@ -55,11 +57,12 @@ public class PersistentTagger {
 
     public static boolean isNPC(Entity entity) {
         if (entity == null) return false;
-        return entity.getPersistentDataContainer().has(new NamespacedKey(MetadataHandler.PLUGIN, NPC_ENTITY), PersistentDataType.STRING);
+        return EntityTagCache.has(entity, EntityTagCache.NPC_ENTITY);
     }
 
     public static NPCEntity getNPC(Entity entity) {
-        UUID uuid = getUUID(entity, NPC_ENTITY);
+        if (entity == null) return null;
+        UUID uuid = EntityTagCache.getNPCUUID(entity);
         if (uuid == null) return null;
         return EntityTracker.getNpcEntities().get(uuid);
     }
@@ -70,7 +73,7 @@ public class PersistentTagger {
 
     public static boolean isSuperMob(Entity entity) {
         if (entity == null) return false;
-        return entity.getPersistentDataContainer().has(new NamespacedKey(MetadataHandler.PLUGIN, SUPER_MOB), PersistentDataType.STRING);
+        return EntityTagCache.has(entity, EntityTagCache.SUPER_MOB);
     }
 
     public static void tagVisualEffect(Entity entity) {
@@ -79,7 +82,7 @@ public class PersistentTagger {
 
     public static boolean isVisualEffect(Entity entity) {
         if (entity == null) return false;
-        return entity.getPersistentDataContainer().has(new NamespacedKey(MetadataHandler.PLUGIN, VISUAL_EFFECT), PersistentDataType.STRING);
+        return EntityTagCache.has(entity, EntityTagCache.VISUAL_EFFECT);
     }
 
     public static void tagEliteProjectile(Projectile projectile) {
@@ -88,7 +91,7 @@ public class PersistentTagger {
 
     public static boolean isEliteProjectile(Entity entity) {
         if (entity == null) return false;
-        return entity.getPersistentDataContainer().has(new NamespacedKey(MetadataHandler.PLUGIN, ELITE_PROJECTILE), PersistentDataType.STRING);
+        return EntityTagCache.has(entity, EntityTagCache.ELITE_PROJECTILE);
     }
 
     @Nullable
@@ -1,46 +1,37 @@
 package com.magmaguy.elitemobs.thirdparty.worldguard;
 
-import com.sk89q.worldedit.bukkit.BukkitAdapter;
-import com.sk89q.worldguard.WorldGuard;
 import com.sk89q.worldguard.protection.ApplicableRegionSet;
 import com.sk89q.worldguard.protection.flags.Flag;
 import com.sk89q.worldguard.protection.flags.Flags;
 import com.sk89q.worldguard.protection.flags.StateFlag;
-import com.sk89q.worldguard.protection.regions.RegionContainer;
-import com.sk89q.worldguard.protection.regions.RegionQuery;
 import org.bukkit.Location;
 
 import javax.annotation.Nullable;
 
+/**
+ * Flag checks for EliteMobs features. Regions are resolved through {@link WorldGuardRegionCache}, so repeated checks in
+ * the same area do not each go through a WorldGuard query.
+ */
 public class WorldGuardFlagChecker {
 
     private WorldGuardFlagChecker() {
     }
 
     public static Boolean checkNullableFlag(Location location, StateFlag stateFlag) {
-        com.sk89q.worldedit.util.Location wgLocation = BukkitAdapter.adapt(location);
-        RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
-        RegionQuery query = container.createQuery();
-        ApplicableRegionSet set = query.getApplicableRegions(wgLocation);
+        ApplicableRegionSet set = WorldGuardRegionCache.getApplicableRegions(location);
         StateFlag.State state = set.queryState(null, stateFlag);
         if (state == null) return null;
         return state == StateFlag.State.ALLOW;
     }
 
     public static Boolean checkFlag(Location location, StateFlag stateFlag) {
-        com.sk89q.worldedit.util.Location wgLocation = BukkitAdapter.adapt(location);
-        RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
-        RegionQuery query = container.createQuery();
-        ApplicableRegionSet set = query.getApplicableRegions(wgLocation);
+        ApplicableRegionSet set = WorldGuardRegionCache.getApplicableRegions(location);
         return set.testState(null, stateFlag);
     }
 
     @Nullable
     public static Integer getIntegerFlagValue(Location location, Flag flag) {
-        com.sk89q.worldedit.util.Location wgLocation = BukkitAdapter.adapt(location);
-        RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
-        RegionQuery query = container.createQuery();
-        ApplicableRegionSet set = query.getApplicableRegions(wgLocation);
+        ApplicableRegionSet set = WorldGuardRegionCache.getApplicableRegions(location);
         Object object = set.queryValue(null, flag);
         return object == null ? null : (Integer) object;
     }
@@ -56,34 +47,22 @@ public class WorldGuardFlagChecker {
     }
 
     public static boolean doExplosionRegenFlag(Location location) {
-        com.sk89q.worldedit.util.Location wgLocation = BukkitAdapter.adapt(location);
-        RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
-        RegionQuery query = container.createQuery();
-        ApplicableRegionSet set = query.getApplicableRegions(wgLocation);
+        ApplicableRegionSet set = WorldGuardRegionCache.getApplicableRegions(location);
         return set.testState(null, WorldGuardCompatibility.getELITEMOBS_EXPLOSION_REGEN());
     }
 
     public static boolean doEventFlag(Location location) {
-        com.sk89q.worldedit.util.Location wgLocation = BukkitAdapter.adapt(location);
-        RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
-        RegionQuery query = container.createQuery();
-        ApplicableRegionSet set = query.getApplicableRegions(wgLocation);
+        ApplicableRegionSet set = WorldGuardRegionCache.getApplicableRegions(location);
         return set.testState(null, WorldGuardCompatibility.getELITEMOBS_EVENTS());
     }
 
     public static boolean doEliteMobsSpawnFlag(Location location) {
-        com.sk89q.worldedit.util.Location wgLocation = BukkitAdapter.adapt(location);
-        RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
-        RegionQuery query = container.createQuery();
-        ApplicableRegionSet set = query.getApplicableRegions(wgLocation);
+        ApplicableRegionSet set = WorldGuardRegionCache.getApplicableRegions(location);
         return set.testState(null, WorldGuardCompatibility.getELITEMOBS_SPAWN_FLAG());
     }
 
     public static boolean doMobSpawnFlag(Location location) {
-        com.sk89q.worldedit.util.Location wgLocation = BukkitAdapter.adapt(location);
-        RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
-        RegionQuery query = container.createQuery();
-        ApplicableRegionSet set = query.getApplicableRegions(wgLocation);
+        ApplicableRegionSet set = WorldGuardRegionCache.getApplicableRegions(location);
         return set.testState(null, Flags.MOB_SPAWNING);
     }
 
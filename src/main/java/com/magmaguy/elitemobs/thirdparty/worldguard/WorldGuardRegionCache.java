@@ -0,0 +1,148 @@
+package com.magmaguy.elitemobs.thirdparty.worldguard;
+
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.protection.ApplicableRegionSet;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import com.sk89q.worldguard.protection.regions.RegionContainer;
+import lombok.Getter;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.HashMap;
+import java.util.UUID;
+
+/**
+ * Caches the WorldGuard regions that apply to each 16x16x16 chunk section. Most sections are either outside of every
+ * region or completely inside the same regions, so every location in them gets the same region set and flag checks
+ * for spawns, hits and explosions can skip the WorldGuard query. Sections crossed by a region border, or by a region
+ * that is not a cuboid, are remembered as such and keep going through WorldGuard for each location.
+ * <p>
+ * The cached sets hold the live regions, so flag, priority and parent changes show up right away. Regions being added,
+ * removed or redefined are picked up by comparing the regions of each world at most every few seconds.
+ */
+public class WorldGuardRegionCache {
+    private static final long VALIDATION_INTERVAL_MILLIS = 5000;
+    //Safety valve for servers with huge explored areas, rebuilding is cheap
+    private static final int MAXIMUM_CACHED_SECTIONS = 100000;
+    private static final HashMap<UUID, WorldSections> worldSections = new HashMap<>();
+    private static int cachedSectionCount = 0;
+    @Getter
+    private static long cacheHits = 0;
+    @Getter
+    private static long worldGuardQueries = 0;
+
+    private WorldGuardRegionCache() {
+    }
+
+    public static void shutdown() {
+        worldSections.clear();
+        cachedSectionCount = 0;
+    }
+
+    public static int getCachedSectionCount() {
+        return cachedSectionCount;
+    }
+
+    /**
+     * Gets the regions that apply at a location, from the cache when the location's section is inside the same regions
+     * everywhere.
+     */
+    public static ApplicableRegionSet getApplicableRegions(Location location) {
+        World world = location.getWorld();
+        if (world == null) return query(location);
+        RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
+        RegionManager regionManager = container.get(BukkitAdapter.adapt(world));
+        if (regionManager == null) return query(location);
+
+        if (cachedSectionCount >= MAXIMUM_CACHED_SECTIONS) shutdown();
+        WorldSections sections = worldSections.get(world.getUID());
+        if (sections == null) {
+            sections = new WorldSections(regionManager);
+            worldSections.put(world.getUID(), sections);
+        } else sections.validate(regionManager);
+
+        int sectionX = location.getBlockX() >> 4;
+        int sectionY = location.getBlockY() >> 4;
+        int sectionZ = location.getBlockZ() >> 4;
+        long key = pack(sectionX, sectionY, sectionZ);
+        SectionRegions sectionRegions = sections.sections.get(key);
+        if (sectionRegions != null && sectionRegions.regionSet != null) {
+            cacheHits++;
+            return sectionRegions.regionSet;
+        }
+        ApplicableRegionSet regionSet = query(location);
+        if (sectionRegions == null) {
+            sections.sections.put(key, new SectionRegions(isUniform(regionManager, sectionX, sectionY, sectionZ) ? regionSet : null));
+            cachedSectionCount++;
+        }
+        return regionSet;
+    }
+
+    private static ApplicableRegionSet query(Location location) {
+        worldGuardQueries++;
+        return WorldGuard.getInstance().getPlatform().getRegionContainer().createQuery().getApplicableRegions(BukkitAdapter.adapt(location));
+    }
+
+    /**
+     * A section gets the same regions everywhere if every region touching it covers it entirely. Only cuboids are
+     * checked, other shapes can be concave so their corners being inside does not mean the whole section is.
+     */
+    private static boolean isUniform(RegionManager regionManager, int sectionX, int sectionY, int sectionZ) {
+        BlockVector3 min = BlockVector3.at(sectionX << 4, sectionY << 4, sectionZ << 4);
+        BlockVector3 max = min.add(15, 15, 15);
+        ProtectedCuboidRegion section = new ProtectedCuboidRegion("elitemobs_section", min, max);
+        for (ProtectedRegion region : regionManager.getApplicableRegions(section)) {
+            if (region.getId().equals(ProtectedRegion.GLOBAL_REGION)) continue;
+            if (!(region instanceof ProtectedCuboidRegion)) return false;
+            if (!region.contains(min) || !region.contains(max)) return false;
+        }
+        return true;
+    }
+
+    private static long pack(int sectionX, int sectionY, int sectionZ) {
+        return ((long) sectionX & 0x3FFFFFL) << 42 | ((long) sectionZ & 0x3FFFFFL) << 20 | (sectionY & 0xFFFFFL);
+    }
+
+    private static long fingerprint(RegionManager regionManager) {
+        long fingerprint = regionManager.size();
+        //Redefining a region replaces it with a new object, so identities catch it along with additions and removals
+        for (ProtectedRegion region : regionManager.getRegions().values())
+            fingerprint += (long) System.identityHashCode(region) << 8;
+        return fingerprint;
+    }
+
+    private static class WorldSections {
+        private final HashMap<Long, SectionRegions> sections = new HashMap<>();
+        private long fingerprint;
+        private long lastValidation;
+
+        private WorldSections(RegionManager regionManager) {
+            fingerprint = fingerprint(regionManager);
+            lastValidation = System.currentTimeMillis();
+        }
+
+        private void validate(RegionManager regionManager) {
+            long now = System.currentTimeMillis();
+            if (now - lastValidation < VALIDATION_INTERVAL_MILLIS) return;
+            lastValidation = now;
+            long currentFingerprint = fingerprint(regionManager);
+            if (currentFingerprint == fingerprint) return;
+            fingerprint = currentFingerprint;
+            cachedSectionCount -= sections.size();
+            sections.clear();
+        }
+    }
+
+    private static class SectionRegions {
+        //Null when the section is on a region border and has to be queried per location
+        private final ApplicableRegionSet regionSet;
+
+        private SectionRegions(ApplicableRegionSet regionSet) {
+            this.regionSet = regionSet;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.magmaguy.elitemobs.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Immutable weighted random pick, using Vose's version of the alias method. Building the table is linear in the amount
+ * of entries, every pick after that costs one random int and one random double no matter how many entries there are.
+ * <p>
+ * The table never changes once built, so it can be shared between threads as long as each thread brings its own
+ * {@link RandomGenerator}, like {@link java.util.concurrent.ThreadLocalRandom#current()}.
+ *
+ * @param <T> Type of the entries
+ */
+public class AliasTable<T> {
+    private final Object[] values;
+    private final double[] weights;
+    private final double[] probabilities;
+    private final int[] aliases;
+    private final double totalWeight;
+
+    private AliasTable(List<T> values, List<Double> weights, double totalWeight) {
+        int size = values.size();
+        this.values = values.toArray();
+        this.weights = new double[size];
+        this.probabilities = new double[size];
+        this.aliases = new int[size];
+        this.totalWeight = totalWeight;
+
+        //Scaled so that the average weight is 1, entries under 1 get topped up by entries over 1
+        double[] scaledWeights = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            this.weights[i] = weights.get(i);
+            scaledWeights[i] = this.weights[i] * size / totalWeight;
+            if (scaledWeights[i] < 1) small[smallCount++] = i;
+            else large[largeCount++] = i;
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probabilities[less] = scaledWeights[less];
+            aliases[less] = more;
+            scaledWeights[more] = scaledWeights[more] + scaledWeights[less] - 1;
+            if (scaledWeights[more] < 1) small[smallCount++] = more;
+            else large[largeCount++] = more;
+        }
+        //Whatever is left is 1 give or take rounding errors
+        while (largeCount > 0) probabilities[large[--largeCount]] = 1;
+        while (smallCount > 0) probabilities[small[--smallCount]] = 1;
+    }
+
+    /**
+     * Builds a table from weighted values. Entries with a missing, negative or zero weight can never get picked and are
+     * left out.
+     *
+     * @return The table, or null if no entry has a positive weight
+     */
+    public static <T> AliasTable<T> of(Map<T, Double> weighedValues) {
+        List<T> values = new ArrayList<>(weighedValues.size());
+        List<Double> weights = new ArrayList<>(weighedValues.size());
+        double totalWeight = 0;
+        for (Map.Entry<T, Double> entry : weighedValues.entrySet()) {
+            Double weight = entry.getValue();
+            if (weight == null || !(weight > 0) || weight.isInfinite()) continue;
+            values.add(entry.getKey());
+            weights.add(weight);
+            totalWeight += weight;
+        }
+        if (values.isEmpty()) return null;
+        return new AliasTable<>(values, weights, totalWeight);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T pick(RandomGenerator random) {
+        int column = random.nextInt(values.length);
+        return (T) (random.nextDouble() < probabilities[column] ? values[column] : values[aliases[column]]);
+    }
+
+    /**
+     * @return The chance of a value getting picked, 0 if it is not in the table
+     */
+    public double getChance(T value) {
+        double weight = 0;
+        for (int i = 0; i < values.length; i++)
+            if (values[i].equals(value)) weight += weights[i];
+        return weight / totalWeight;
+    }
+
+    public int size() {
+        return values.length;
+    }
+}
@@ -0,0 +1,121 @@
+package com.magmaguy.elitemobs.utils;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Open addressing hash map keyed by packed chunk coordinates, see {@link ChunkVectorizer#pack(int, int)}. Keys stay
+ * primitive so lookups from chunk events do not box or allocate anything.
+ * <p>
+ * Null values are not supported, a null return from {@link #get(long)} always means the key is absent.
+ */
+public class ChunkKeyedMap<V> {
+    private static final int MINIMUM_CAPACITY = 16;
+    private long[] keys;
+    private Object[] values;
+    private int size = 0;
+    private int mask;
+
+    public ChunkKeyedMap() {
+        keys = new long[MINIMUM_CAPACITY];
+        values = new Object[MINIMUM_CAPACITY];
+        mask = MINIMUM_CAPACITY - 1;
+    }
+
+    private static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = mix(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) return (V) values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) throw new IllegalArgumentException("ChunkKeyedMap does not accept null values!");
+        int slot = mix(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        //Keep the load factor at or below 0.5 so probe chains stay short
+        if (++size * 2 > values.length) resize(values.length * 2);
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = mix(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<V> consumer) {
+        for (Object value : values)
+            if (value != null) consumer.accept((V) value);
+    }
+
+    //Backward shift deletion, linear probing needs the following entries moved up instead of leaving tombstones
+    private void shiftBack(int slot) {
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (values[next] != null) {
+            int ideal = mix(keys[next]) & mask;
+            //Only move the entry if its ideal slot is not between the gap and its current position
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[gap] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++)
+            if (oldValues[i] != null) put(oldKeys[i], (V) oldValues[i]);
+    }
+}
@@ -17,6 +17,18 @@ public class ChunkVectorizer {
         return Objects.hash(x, z, worldUUID);
     }
 
+    /**
+     * Packs chunk coordinates into a single long, unique per chunk within a world. Pair with the world UUID when
+     * chunks from multiple worlds share a collection.
+     */
+    public static long pack(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    public static long pack(Chunk chunk) {
+        return pack(chunk.getX(), chunk.getZ());
+    }
+
     public static Vector hash(double x, double z) {
         Vector vector = new Vector(2);
         vector.addElement(x);
@@ -1,23 +1,129 @@
 package com.magmaguy.elitemobs.utils;
 
+import com.magmaguy.elitemobs.adventurersguild.GuildRank;
+import com.magmaguy.elitemobs.entitytracker.EntitySpatialGrid;
 import com.magmaguy.elitemobs.playerdata.ElitePlayerInventory;
+import com.magmaguy.elitemobs.playerdata.database.PlayerData;
+import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * Finds the players close enough to a location to affect natural elite spawns.
+ * <p>
+ * Players are put in a grid of cells as wide as the scan range once per tick, the first time a scan happens in that
+ * tick, along with what they add to a spawn: their gear level, their hunter gear bonus and whether they are in
+ * peaceful mode. A scan then only looks at the players of the cells around the location instead of every player online.
+ */
 public class PlayerScanner {
     private static final int range = Math.max(Bukkit.getServer().getViewDistance() * 16, 5 * 16);
+    private static final HashMap<UUID, ChunkKeyedMap<List<ScannedPlayer>>> worldGrids = new HashMap<>();
+    private static long gridTick = -1;
 
-    public static List<Player> getNearbyPlayers(Location location) {
-        List<Player> nearbyPlayers = new ArrayList<>();
-        for (Player player : Bukkit.getOnlinePlayers())
-            if (player.getWorld().equals(location.getWorld()) &&
-                    player.getLocation().distanceSquared(location) <= range * range &&
-                    ElitePlayerInventory.playerInventories.get(player.getUniqueId()) != null)
-                nearbyPlayers.add(player);
+    /**
+     * Sums up what the players near a location add to a natural spawn, without building a list of them.
+     *
+     * @param location Spawn location
+     * @return The combined spawn contribution of every player in range
+     */
+    public static NearbyPlayers scan(Location location) {
+        NearbyPlayers nearbyPlayers = new NearbyPlayers();
+        ChunkKeyedMap<List<ScannedPlayer>> grid = getGrid(location.getWorld());
+        if (grid == null) return nearbyPlayers;
+        int cellX = cell(location.getX());
+        int cellZ = cell(location.getZ());
+        for (int x = cellX - 1; x <= cellX + 1; x++)
+            for (int z = cellZ - 1; z <= cellZ + 1; z++) {
+                List<ScannedPlayer> cell = grid.get(ChunkVectorizer.pack(x, z));
+                if (cell == null) continue;
+                for (ScannedPlayer scannedPlayer : cell)
+                    if (scannedPlayer.isInRange(location)) nearbyPlayers.add(scannedPlayer);
+            }
         return nearbyPlayers;
     }
+
+    public static void shutdown() {
+        worldGrids.clear();
+        gridTick = -1;
+    }
+
+    //Cells are as wide as the range, so everything in range is in the 3x3 cells around the location
+    private static int cell(double coordinate) {
+        return Math.floorDiv((int) Math.floor(coordinate), range);
+    }
+
+    private static ChunkKeyedMap<List<ScannedPlayer>> getGrid(World world) {
+        if (world == null) return null;
+        if (gridTick != EntitySpatialGrid.getCurrentTick()) {
+            gridTick = EntitySpatialGrid.getCurrentTick();
+            buildGrids();
+        }
+        return worldGrids.get(world.getUID());
+    }
+
+    private static void buildGrids() {
+        worldGrids.clear();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            ElitePlayerInventory elitePlayerInventory = ElitePlayerInventory.playerInventories.get(player.getUniqueId());
+            if (elitePlayerInventory == null) continue;
+            ScannedPlayer scannedPlayer = new ScannedPlayer(player, elitePlayerInventory);
+            ChunkKeyedMap<List<ScannedPlayer>> grid = worldGrids.computeIfAbsent(player.getWorld().getUID(), k -> new ChunkKeyedMap<>());
+            long key = ChunkVectorizer.pack(cell(scannedPlayer.x), cell(scannedPlayer.z));
+            List<ScannedPlayer> cell = grid.get(key);
+            if (cell == null) {
+                cell = new ArrayList<>();
+                grid.put(key, cell);
+            }
+            cell.add(scannedPlayer);
+        }
+    }
+
+    private static class ScannedPlayer {
+        private final double x, y, z;
+        private final int naturalMobSpawnLevel;
+        private final double hunterChance;
+        private final boolean peaceful;
+
+        private ScannedPlayer(Player player, ElitePlayerInventory elitePlayerInventory) {
+            Location location = player.getLocation();
+            this.x = location.getX();
+            this.y = location.getY();
+            this.z = location.getZ();
+            this.naturalMobSpawnLevel = elitePlayerInventory.getNaturalMobSpawnLevel(true);
+            this.hunterChance = elitePlayerInventory.getHunterChance(true);
+            //Handles situations where fake players got caught in the detection
+            this.peaceful = PlayerData.getPlayerData(player.getUniqueId()) != null && GuildRank.getActiveGuildRank(player) == 0;
+        }
+
+        private boolean isInRange(Location location) {
+            double distanceX = x - location.getX();
+            double distanceY = y - location.getY();
+            double distanceZ = z - location.getZ();
+            return distanceX * distanceX + distanceY * distanceY + distanceZ * distanceZ <= (double) range * range;
+        }
+    }
+
+    @Getter
+    public static class NearbyPlayers {
+        private int playerCount = 0;
+        //Same starting point as the natural level calculation, players under level 1 do not lower it
+        private int highestNaturalMobSpawnLevel = 1;
+        private double hunterChance = 0;
+        private int peacefulPlayerCount = 0;
+
+        private void add(ScannedPlayer scannedPlayer) {
+            playerCount++;
+            if (scannedPlayer.naturalMobSpawnLevel > highestNaturalMobSpawnLevel)
+                highestNaturalMobSpawnLevel = scannedPlayer.naturalMobSpawnLevel;
+            hunterChance += scannedPlayer.hunterChance;
+            if (scannedPlayer.peaceful) peacefulPlayerCount++;
+        }
+    }
 }
@@ -1,7 +1,5 @@
 package com.magmaguy.elitemobs.utils;
 
-import com.magmaguy.elitemobs.items.customitems.CustomItem;
-
 import java.util.HashMap;
 
 public class WeightedProbability {
@@ -22,20 +20,4 @@ public class WeightedProbability {
         return selectedString;
     }
 
-    public static CustomItem pickWeighedProbabilityFromCustomItems(HashMap<CustomItem, Double> weighedValues) {
-        double totalWeight = 0;
-        for (CustomItem customItem : weighedValues.keySet())
-            totalWeight += weighedValues.get(customItem);
-        CustomItem selectedCustomItem = null;
-        double random = Math.random() * totalWeight;
-        for (CustomItem customItem : weighedValues.keySet()) {
-            random -= weighedValues.get(customItem);
-            if (random <= 0) {
-                selectedCustomItem = customItem;
-                break;
-            }
-        }
-        return selectedCustomItem;
-    }
-
 }
@@ -5,10 +5,11 @@ import com.magmaguy.magmacore.util.Logger;
 import org.bukkit.Bukkit;
 
 import java.io.File;
-import java.nio.file.Files;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -50,13 +51,27 @@ public class WorldInstantiator {
                 for (File child : file.listFiles())
                     copy(child, Paths.get(targetPath.toString() + File.separatorChar + child.getName()));
             } else
-                Files.copy(file.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
+                copyFile(file.toPath(), targetPath);
         } catch (Exception ex) {
             Logger.warn("Failed to copy file " + file.toString() + " to " + targetPath.toString());
             ex.printStackTrace();
         }
     }
 
+    /**
+     * Copies a file channel to channel, which lets the operating system do the copy without going through Java buffers.
+     * Hard links are not an option as Minecraft writes region files in place, which would change the blueprint.
+     */
+    private static void copyFile(Path source, Path target) throws IOException {
+        try (FileChannel sourceChannel = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long size = sourceChannel.size();
+            long position = 0;
+            while (position < size)
+                position += sourceChannel.transferTo(position, size - position, targetChannel);
+        }
+    }
+
     public static void recursivelyDelete(File file) {
         if (!file.exists()) {
             Logger.info("Attempted to recursively file " + file.getAbsolutePath() + " which doesn't exist.");
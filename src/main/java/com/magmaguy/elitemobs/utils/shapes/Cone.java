@@ -3,6 +3,7 @@ package com.magmaguy.elitemobs.utils.shapes;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
@@ -102,6 +103,11 @@ public class Cone extends Shape {
         }
     }
 
+    @Override
+    public BoundingBox getBounds() {
+        return BoundingBox.of(top, bottom).expand(baseRadius);
+    }
+
     /**
      * The center of the cone is defined as the midpoint between the top and bottom.
      */
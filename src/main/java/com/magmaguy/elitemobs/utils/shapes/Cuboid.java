@@ -7,6 +7,7 @@ import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -100,6 +101,42 @@ public class Cuboid extends Shape {
         return convert(getLocationVectors());
     }
 
+    @Override
+    public void addLocations(Collection<Location> target, double coverage, boolean edgeOnly) {
+        walk(coverage, edgeOnly, (x, y, z) -> target.add(toLocation(x, y, z)));
+    }
+
+    @Override
+    public void forEachLocation(double coverage, VoxelVisitor visitor) {
+        walk(coverage, false, visitor);
+    }
+
+    @Override
+    public void forEachEdgeLocation(double coverage, VoxelVisitor visitor) {
+        walk(coverage, true, visitor);
+    }
+
+    //Same voxels as the cached vector lists, without building them
+    private void walk(double coverage, boolean edgeOnly, VoxelVisitor visitor) {
+        float xHalf = (float) Math.floor(x / 2f);
+        float zHalf = (float) Math.floor(z / 2f);
+        double xEdge = Math.floor(xBorder / 2d);
+        double zEdge = Math.floor(zBorder / 2d);
+        double centerX = centerLocation.getX();
+        double centerY = centerLocation.getY();
+        double centerZ = centerLocation.getZ();
+        for (int localX = 0; localX < x; localX++)
+            for (int localZ = 0; localZ < z; localZ++)
+                for (int localY = 0; localY < y; localY++) {
+                    double offsetX = localX - xHalf;
+                    double offsetZ = localZ - zHalf;
+                    if (edgeOnly && (localY > yBorder || Math.abs(offsetX) < xEdge && Math.abs(offsetZ) < zEdge))
+                        continue;
+                    if (!sampled(coverage)) continue;
+                    visitor.visit(centerX + offsetX, centerY + localY, centerZ + offsetZ);
+                }
+    }
+
     private List<Location> convert(List<Vector> vectors) {
         return vectors.stream().map(edge -> centerLocation.clone().add(edge)).collect(Collectors.toList());
     }
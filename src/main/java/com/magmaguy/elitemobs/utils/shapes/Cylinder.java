@@ -7,18 +7,16 @@ import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class Cylinder extends Shape {
 
     private final Vector center;
     private final double radius;
     private final double height;
-    private final List<Vector> edgeVectors = null;
     private double borderRadius = 1;
     private Location centerLocation = null;
-    private List<Vector> locationVectors = null;
 
     public Cylinder(Location centerLocation, double radius, double height, double borderRadius) {
         this.centerLocation = centerLocation.clone();
@@ -74,6 +72,12 @@ public class Cylinder extends Shape {
         getLocations().forEach(newLocation -> newLocation.getWorld().spawnParticle(particle, newLocation, 1, 0, 0, 0, 0));
     }
 
+    @Override
+    public BoundingBox getBounds() {
+        return new BoundingBox(centerLocation.getX() - radius, centerLocation.getY(), centerLocation.getZ() - radius,
+                centerLocation.getX() + radius, centerLocation.getY() + height, centerLocation.getZ() + radius);
+    }
+
     @Override
     public Location getCenter() {
         return centerLocation;
@@ -81,37 +85,48 @@ public class Cylinder extends Shape {
 
     @Override
     public List<Location> getEdgeLocations() {
-        if (edgeVectors != null) return convert(edgeVectors);
         List<Location> edgeLocations = new ArrayList<>();
-        getLocations().forEach(iteratedLocation -> {
-            if (borderContains(iteratedLocation))
-                edgeLocations.add(iteratedLocation);
-        });
+        addLocations(edgeLocations, 1, true);
         return edgeLocations;
     }
 
-    private List<Vector> getLocationVectors() {
-        if (locationVectors != null) return locationVectors;
-        locationVectors = new ArrayList<>();
-        for (int x = (int) -radius; x < (int) radius; x++)
-            for (int z = (int) -radius; z < (int) radius; z++)
-                for (int y = 0; y < height; y++) {
-                    Vector newVector = new Vector(x, y, z);
-                    Location newLocation = centerLocation.clone().add(newVector);
-                    if (contains(newLocation)) locationVectors.add(newVector);
-                }
-        return locationVectors;
+    @Override
+    public List<Location> getLocations() {
+        List<Location> locations = new ArrayList<>();
+        addLocations(locations, 1, false);
+        return locations;
     }
 
     @Override
-    public List<Location> getLocations() {
-        if (locationVectors != null) return convert(locationVectors);
-        return convert(getLocationVectors());
+    public void addLocations(Collection<Location> target, double coverage, boolean edgeOnly) {
+        walk(coverage, edgeOnly, (x, y, z) -> target.add(toLocation(x, y, z)));
     }
 
-    private List<Location> convert(List<Vector> vectors) {
-        return vectors.stream().map(edge -> centerLocation.clone().add(edge)).collect(Collectors.toList());
+    @Override
+    public void forEachLocation(double coverage, VoxelVisitor visitor) {
+        walk(coverage, false, visitor);
     }
 
-}
+    @Override
+    public void forEachEdgeLocation(double coverage, VoxelVisitor visitor) {
+        walk(coverage, true, visitor);
+    }
 
+    private void walk(double coverage, boolean edgeOnly, VoxelVisitor visitor) {
+        double radiusSquared = radius * radius;
+        double borderRadiusSquared = borderRadius * borderRadius;
+        double centerX = centerLocation.getX();
+        double centerY = centerLocation.getY();
+        double centerZ = centerLocation.getZ();
+        for (int x = (int) -radius; x < (int) radius; x++)
+            for (int z = (int) -radius; z < (int) radius; z++) {
+                double distanceSquared = x * x + z * z;
+                if (distanceSquared >= radiusSquared) continue;
+                //The border is everything outside the inner cylinder of the border radius
+                if (edgeOnly && distanceSquared < borderRadiusSquared) continue;
+                for (int y = 0; y < height; y++)
+                    if (sampled(coverage)) visitor.visit(centerX + x, centerY + y, centerZ + z);
+            }
+    }
+
+}
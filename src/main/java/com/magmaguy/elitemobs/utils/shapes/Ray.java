@@ -3,6 +3,7 @@ package com.magmaguy.elitemobs.utils.shapes;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
@@ -87,6 +88,14 @@ public class Ray extends Shape {
 
     }
 
+    @Override
+    public BoundingBox getBounds() {
+        if (locations.isEmpty()) return null;
+        BoundingBox boundingBox = BoundingBox.of(locations.get(0), locations.get(0));
+        for (Location location : locations) boundingBox.union(location);
+        return boundingBox.expand(thickness);
+    }
+
     //Children override this
     @Override
     public Location getCenter() {
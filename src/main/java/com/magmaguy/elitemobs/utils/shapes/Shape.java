@@ -3,10 +3,20 @@ package com.magmaguy.elitemobs.utils.shapes;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 public abstract class Shape {
+    /**
+     * Whether a location should be kept for a given coverage, where 1 keeps every location.
+     */
+    protected static boolean sampled(double coverage) {
+        return coverage >= 1 || ThreadLocalRandom.current().nextDouble() <= coverage;
+    }
+
     public abstract boolean contains(Location position);
 
     public abstract boolean contains(LivingEntity livingEntity);
@@ -17,7 +27,53 @@ public abstract class Shape {
 
     public abstract Location getCenter();
 
+    /**
+     * @return A box that contains the whole shape, used to only check nearby entities. Null if the shape can't tell,
+     * in which case every entity in the world gets checked
+     */
+    public BoundingBox getBounds() {
+        return null;
+    }
+
     public abstract List<Location> getEdgeLocations();
 
     public abstract List<Location> getLocations();
+
+    /**
+     * Walks the locations inside the shape without building a list. Each location is visited with a chance equal to
+     * the coverage. Shapes that can compute their voxels directly override this, the rest walk their cached list.
+     */
+    public void forEachLocation(double coverage, VoxelVisitor visitor) {
+        walk(getLocations(), coverage, visitor);
+    }
+
+    /**
+     * Same as {@link #forEachLocation(double, VoxelVisitor)} for the border of the shape.
+     */
+    public void forEachEdgeLocation(double coverage, VoxelVisitor visitor) {
+        walk(getEdgeLocations(), coverage, visitor);
+    }
+
+    /**
+     * Adds the locations inside the shape, or on its border, to a collection. Each location is added with a chance
+     * equal to the coverage, so skipped locations never get created.
+     */
+    public void addLocations(Collection<Location> target, double coverage, boolean edgeOnly) {
+        List<Location> locations = edgeOnly ? getEdgeLocations() : getLocations();
+        if (locations == null) return;
+        for (Location location : locations)
+            if (sampled(coverage)) target.add(location);
+    }
+
+    //Voxel locations keep the world and facing of the center, same as offsetting a clone of it
+    protected Location toLocation(double x, double y, double z) {
+        Location center = getCenter();
+        return new Location(center.getWorld(), x, y, z, center.getYaw(), center.getPitch());
+    }
+
+    private void walk(List<Location> locations, double coverage, VoxelVisitor visitor) {
+        if (locations == null) return;
+        for (Location location : locations)
+            if (sampled(coverage)) visitor.visit(location.getX(), location.getY(), location.getZ());
+    }
 }
@@ -3,17 +3,16 @@ package com.magmaguy.elitemobs.utils.shapes;
 import org.bukkit.Location;
 import org.bukkit.Particle;
 import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class Sphere extends Shape {
 
     protected double radius;
-    protected List<Vector> locationVectors = null;
-    protected List<Vector> edgeVectors = null;
     protected double borderRadius = 1;
     protected Location centerLocation;
 
@@ -47,6 +46,11 @@ public class Sphere extends Shape {
         getLocations().forEach(newLocation -> newLocation.getWorld().spawnParticle(particle, newLocation, 1, 0, 0, 0, 0));
     }
 
+    @Override
+    public BoundingBox getBounds() {
+        return BoundingBox.of(centerLocation, radius, radius, radius);
+    }
+
     @Override
     public Location getCenter() {
         return centerLocation;
@@ -54,35 +58,54 @@ public class Sphere extends Shape {
 
     @Override
     public List<Location> getEdgeLocations() {
-        if (edgeVectors != null) return convert(edgeVectors);
         List<Location> edgeLocations = new ArrayList<>();
-        getLocations().forEach(iteratedLocation -> {
-            if (borderContains(iteratedLocation))
-                edgeLocations.add(iteratedLocation);
-        });
+        addLocations(edgeLocations, 1, true);
         return edgeLocations;
     }
 
-    protected List<Vector> getLocationVectors() {
-        if (locationVectors != null) return locationVectors;
-        locationVectors = new ArrayList<>();
-        for (int x = (int) -radius; x < (int) radius; x++)
-            for (int z = (int) -radius; z < (int) radius; z++)
-                for (int y = (int) -radius; y < radius; y++) {
-                    Vector newVector = new Vector(x, y, z);
-                    Location newLocation = centerLocation.clone().add(newVector);
-                    if (contains(newLocation)) locationVectors.add(newVector);
-                }
-        return locationVectors;
+    @Override
+    public List<Location> getLocations() {
+        List<Location> locations = new ArrayList<>();
+        addLocations(locations, 1, false);
+        return locations;
     }
 
     @Override
-    public List<Location> getLocations() {
-        if (locationVectors != null) return convert(locationVectors);
-        return convert(getLocationVectors());
+    public void addLocations(Collection<Location> target, double coverage, boolean edgeOnly) {
+        walk(coverage, edgeOnly, (x, y, z) -> target.add(toLocation(x, y, z)));
+    }
+
+    @Override
+    public void forEachLocation(double coverage, VoxelVisitor visitor) {
+        walk(coverage, false, visitor);
+    }
+
+    @Override
+    public void forEachEdgeLocation(double coverage, VoxelVisitor visitor) {
+        walk(coverage, true, visitor);
     }
 
-    private List<Location> convert(List<Vector> vectors) {
-        return vectors.stream().map(edge -> centerLocation.clone().add(edge)).collect(Collectors.toList());
+    //Lowest vertical offset from the center that gets walked
+    protected int getMinimumYOffset() {
+        return (int) -radius;
+    }
+
+    private void walk(double coverage, boolean edgeOnly, VoxelVisitor visitor) {
+        double radiusSquared = radius * radius;
+        double borderRadiusSquared = borderRadius * borderRadius;
+        double centerX = centerLocation.getX();
+        double centerY = centerLocation.getY();
+        double centerZ = centerLocation.getZ();
+        int minimumY = getMinimumYOffset();
+        for (int x = (int) -radius; x < (int) radius; x++)
+            for (int z = (int) -radius; z < (int) radius; z++)
+                for (int y = minimumY; y < radius; y++) {
+                    double distanceSquared = x * x + y * y + z * z;
+                    if (distanceSquared >= radiusSquared) continue;
+                    //The border is everything outside the inner sphere of the border radius
+                    if (edgeOnly && distanceSquared < borderRadiusSquared) continue;
+                    if (!sampled(coverage)) continue;
+                    visitor.visit(centerX + x, centerY + y, centerZ + z);
+                }
     }
 }
@@ -0,0 +1,9 @@
+package com.magmaguy.elitemobs.utils.shapes;
+
+/**
+ * Receives the world coordinates of each location visited by a shape walk.
+ */
+@FunctionalInterface
+public interface VoxelVisitor {
+    void visit(double x, double y, double z);
+}